@@ -0,0 +1,37 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.api.incubator.metrics;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleGauge;
+import io.opentelemetry.context.Context;
+
+/**
+ * A {@link DoubleGauge} bound to a fixed set of {@link Attributes}, returned by {@link
+ * ExtendedDoubleGauge#bind(Attributes)}.
+ */
+public interface BoundDoubleGauge {
+
+  /**
+   * Records a value with the bound attributes.
+   *
+   * <p>Note: This may use {@code Context.current()} to pull the context associated with this
+   * measurement.
+   *
+   * @param value The current gauge value.
+   */
+  default void set(double value) {
+    set(value, Context.current());
+  }
+
+  /**
+   * Records a value with the bound attributes.
+   *
+   * @param value The current gauge value.
+   * @param context The explicit context to associate with this measurement.
+   */
+  void set(double value, Context context);
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.api.incubator.metrics;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.context.Context;
+
+/**
+ * A {@link DoubleHistogram} bound to a fixed set of {@link Attributes}, returned by {@link
+ * ExtendedDoubleHistogram#bind(Attributes)}.
+ */
+public interface BoundDoubleHistogram {
+
+  /**
+   * Records a value with the bound attributes.
+   *
+   * <p>Note: This may use {@code Context.current()} to pull the context associated with this
+   * measurement.
+   *
+   * @param value The amount of the measurement. MUST be non-negative.
+   */
+  default void record(double value) {
+    record(value, Context.current());
+  }
+
+  /**
+   * Records a value with the bound attributes.
+   *
+   * @param value The amount of the measurement. MUST be non-negative.
+   * @param context The explicit context to associate with this measurement.
+   */
+  void record(double value, Context context);
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.api.incubator.metrics;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleUpDownCounter;
+import io.opentelemetry.context.Context;
+
+/**
+ * A {@link DoubleUpDownCounter} bound to a fixed set of {@link Attributes}, returned by {@link
+ * ExtendedDoubleUpDownCounter#bind(Attributes)}.
+ */
+public interface BoundDoubleUpDownCounter {
+
+  /**
+   * Records a value with the bound attributes.
+   *
+   * <p>Note: This may use {@code Context.current()} to pull the context associated with this
+   * measurement.
+   *
+   * @param value The increment amount. May be positive, negative or zero.
+   */
+  default void add(double value) {
+    add(value, Context.current());
+  }
+
+  /**
+   * Records a value with the bound attributes.
+   *
+   * @param value The increment amount. May be positive, negative or zero.
+   * @param context The explicit context to associate with this measurement.
+   */
+  void add(double value, Context context);
+}
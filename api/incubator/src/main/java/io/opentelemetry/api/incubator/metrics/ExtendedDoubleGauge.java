@@ -23,4 +23,19 @@ public interface ExtendedDoubleGauge extends DoubleGauge {
   default boolean isEnabled() {
     return true;
   }
+
+  /**
+   * Returns a {@link BoundDoubleGauge} which records to this gauge with the given {@code
+   * attributes}.
+   *
+   * <p>Recording to the bound gauge is equivalent to calling {@link #set(double, Attributes,
+   * Context)} with the same attributes, but allows implementations to resolve the series the
+   * attributes are recorded to once, instead of on every call. This is useful for hot paths which
+   * repeatedly record with a fixed set of attributes, which should hold on to the bound gauge.
+   *
+   * @param attributes the attributes to associate with every value recorded to the bound gauge.
+   */
+  default BoundDoubleGauge bind(Attributes attributes) {
+    return (value, context) -> set(value, attributes, context);
+  }
 }
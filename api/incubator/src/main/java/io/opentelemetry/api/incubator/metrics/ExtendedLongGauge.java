@@ -23,4 +23,18 @@ public interface ExtendedLongGauge extends LongGauge {
   default boolean isEnabled() {
     return true;
   }
+
+  /**
+   * Returns a {@link BoundLongGauge} which records to this gauge with the given {@code attributes}.
+   *
+   * <p>Recording to the bound gauge is equivalent to calling {@link #set(long, Attributes,
+   * Context)} with the same attributes, but allows implementations to resolve the series the
+   * attributes are recorded to once, instead of on every call. This is useful for hot paths which
+   * repeatedly record with a fixed set of attributes, which should hold on to the bound gauge.
+   *
+   * @param attributes the attributes to associate with every value recorded to the bound gauge.
+   */
+  default BoundLongGauge bind(Attributes attributes) {
+    return (value, context) -> set(value, attributes, context);
+  }
 }
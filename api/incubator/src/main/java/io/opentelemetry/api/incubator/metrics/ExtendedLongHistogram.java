@@ -23,4 +23,19 @@ public interface ExtendedLongHistogram extends LongHistogram {
   default boolean isEnabled() {
     return true;
   }
+
+  /**
+   * Returns a {@link BoundLongHistogram} which records to this histogram with the given {@code
+   * attributes}.
+   *
+   * <p>Recording to the bound histogram is equivalent to calling {@link #record(long, Attributes,
+   * Context)} with the same attributes, but allows implementations to resolve the series the
+   * attributes are recorded to once, instead of on every call. This is useful for hot paths which
+   * repeatedly record with a fixed set of attributes, which should hold on to the bound histogram.
+   *
+   * @param attributes the attributes to associate with every value recorded to the bound histogram.
+   */
+  default BoundLongHistogram bind(Attributes attributes) {
+    return (value, context) -> record(value, attributes, context);
+  }
 }
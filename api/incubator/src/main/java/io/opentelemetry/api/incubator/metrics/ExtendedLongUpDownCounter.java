@@ -23,4 +23,19 @@ public interface ExtendedLongUpDownCounter extends LongUpDownCounter {
   default boolean isEnabled() {
     return true;
   }
+
+  /**
+   * Returns a {@link BoundLongUpDownCounter} which records to this counter with the given {@code
+   * attributes}.
+   *
+   * <p>Recording to the bound counter is equivalent to calling {@link #add(long, Attributes,
+   * Context)} with the same attributes, but allows implementations to resolve the series the
+   * attributes are recorded to once, instead of on every call. This is useful for hot paths which
+   * repeatedly record with a fixed set of attributes, which should hold on to the bound counter.
+   *
+   * @param attributes the attributes to associate with every value recorded to the bound counter.
+   */
+  default BoundLongUpDownCounter bind(Attributes attributes) {
+    return (value, context) -> add(value, attributes, context);
+  }
 }
@@ -28,12 +28,13 @@ import org.openjdk.jmh.infra.Blackhole;
 @State(Scope.Benchmark)
 public class ContextBenchmark {
 
-  @Param({"2", "3", "4", "5", "10", "20", "40"})
+  @Param({"1", "2", "3", "4", "5", "8", "10", "20", "32", "40", "64"})
   private int size;
 
   private int middle;
 
   private List<ContextKey<String>> keys;
+  private final ContextKey<String> extraKey = ContextKey.named("extra");
   private Context context = Context.root();
 
   @Setup
@@ -74,6 +75,16 @@ public class ContextBenchmark {
     return Context.root().with(keys.get(0), "value");
   }
 
+  @Benchmark
+  public Context writeOneOnTop() {
+    return context.with(extraKey, "value");
+  }
+
+  @Benchmark
+  public Context overwriteLast() {
+    return context.with(keys.get(size - 1), "other");
+  }
+
   @Benchmark
   public Context writeAll() {
     Context context = Context.root();
@@ -27,6 +27,12 @@ import javax.annotation.Nullable;
 
 final class ArrayBasedContext implements Context {
 
+  /**
+   * The maximum number of entries, beyond which {@link #with(ContextKey, Object)} switches to a
+   * {@link HashTrieContext}, which doesn't scan or copy all entries on every access.
+   */
+  static final int MAX_ENTRIES = 16;
+
   private static final Context ROOT = new ArrayBasedContext(new Object[0]);
 
   // Used by auto-instrumentation agent. Check with auto-instrumentation before making changes to
@@ -76,6 +82,9 @@ final class ArrayBasedContext implements Context {
         return new ArrayBasedContext(newEntries);
       }
     }
+    if (entries.length >= 2 * MAX_ENTRIES) {
+      return HashTrieContext.create(entries, key, value);
+    }
     Object[] newEntries = Arrays.copyOf(entries, entries.length + 2);
     newEntries[newEntries.length - 2] = key;
     newEntries[newEntries.length - 1] = value;
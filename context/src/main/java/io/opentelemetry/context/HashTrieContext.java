@@ -0,0 +1,215 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.context;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Context} for contexts with many entries, which {@link ArrayBasedContext} switches to
+ * once it would hold more than {@link ArrayBasedContext#MAX_ENTRIES} entries. Entries are stored in
+ * a persistent hash array mapped trie indexed by the keys' hash codes, so that {@link
+ * #get(ContextKey)} doesn't scan all entries and {@link #with(ContextKey, Object)} only copies the
+ * nodes on the path to the entry rather than all entries. Keys are still compared by reference, the
+ * hash codes of keys created by {@link ContextKey#named(String)} being their identity hash codes.
+ */
+final class HashTrieContext implements Context {
+
+  private static final int BITS_PER_LEVEL = 5;
+  private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+
+  private static final HashTrieContext EMPTY = new HashTrieContext(new Node(0, new Object[0]));
+
+  /** Returns a context with the {@code entries} of an {@link ArrayBasedContext} and a new entry. */
+  static Context create(Object[] entries, @Nullable Object key, @Nullable Object value) {
+    HashTrieContext context = EMPTY;
+    for (int i = 0; i < entries.length; i += 2) {
+      // null keys can never be looked up, so no need to carry them over
+      if (entries[i] != null) {
+        context = context.with(entries[i], entries[i + 1], hash(entries[i]));
+      }
+    }
+    return key == null ? context : context.with(key, value, hash(key));
+  }
+
+  private final Node root;
+
+  private HashTrieContext(Node root) {
+    this.root = root;
+  }
+
+  @Override
+  @Nullable
+  public <V> V get(ContextKey<V> key) {
+    if (key == null) {
+      return null;
+    }
+    @SuppressWarnings("unchecked")
+    V result = (V) get(key, hash(key));
+    return result;
+  }
+
+  @Override
+  public <V> Context with(ContextKey<V> key, V value) {
+    if (key == null) {
+      return this;
+    }
+    return with(key, value, hash(key));
+  }
+
+  @Nullable
+  private Object get(Object key, int hash) {
+    Node node = root;
+    for (int shift = 0; shift < Integer.SIZE; shift += BITS_PER_LEVEL) {
+      int bit = 1 << ((hash >>> shift) & LEVEL_MASK);
+      if ((node.bitmap & bit) == 0) {
+        return null;
+      }
+      int index = node.index(bit);
+      Object slotKey = node.slots[index];
+      if (slotKey == null) {
+        node = (Node) node.slots[index + 1];
+        continue;
+      }
+      return slotKey == key ? node.slots[index + 1] : null;
+    }
+    // Keys with the same hash
+    for (int i = 0; i < node.slots.length; i += 2) {
+      if (node.slots[i] == key) {
+        return node.slots[i + 1];
+      }
+    }
+    return null;
+  }
+
+  private HashTrieContext with(Object key, @Nullable Object value, int hash) {
+    Node newRoot = with(root, key, value, hash, 0);
+    return newRoot == root ? this : new HashTrieContext(newRoot);
+  }
+
+  private static Node with(Node node, Object key, @Nullable Object value, int hash, int shift) {
+    if (shift >= Integer.SIZE) {
+      // Keys with the same hash
+      for (int i = 0; i < node.slots.length; i += 2) {
+        if (node.slots[i] == key) {
+          return node.slots[i + 1] == value ? node : node.withSlot(i + 1, value);
+        }
+      }
+      Object[] slots = new Object[node.slots.length + 2];
+      System.arraycopy(node.slots, 0, slots, 0, node.slots.length);
+      slots[slots.length - 2] = key;
+      slots[slots.length - 1] = value;
+      return new Node(0, slots);
+    }
+
+    int bit = 1 << ((hash >>> shift) & LEVEL_MASK);
+    int index = node.index(bit);
+    if ((node.bitmap & bit) == 0) {
+      Object[] slots = new Object[node.slots.length + 2];
+      System.arraycopy(node.slots, 0, slots, 0, index);
+      slots[index] = key;
+      slots[index + 1] = value;
+      System.arraycopy(node.slots, index, slots, index + 2, node.slots.length - index);
+      return new Node(node.bitmap | bit, slots);
+    }
+
+    Object slotKey = node.slots[index];
+    Object slotValue = node.slots[index + 1];
+    if (slotKey == null) {
+      Node child = (Node) slotValue;
+      Node newChild = with(child, key, value, hash, shift + BITS_PER_LEVEL);
+      return newChild == child ? node : node.withSlot(index + 1, newChild);
+    }
+    if (slotKey == key) {
+      return slotValue == value ? node : node.withSlot(index + 1, value);
+    }
+    // Another key with the same hash bits at this level, push both down a level.
+    Node child =
+        pair(slotKey, slotValue, hash(slotKey), key, value, hash, shift + BITS_PER_LEVEL);
+    Object[] slots = node.slots.clone();
+    slots[index] = null;
+    slots[index + 1] = child;
+    return new Node(node.bitmap, slots);
+  }
+
+  private static Node pair(
+      Object key1,
+      @Nullable Object value1,
+      int hash1,
+      Object key2,
+      @Nullable Object value2,
+      int hash2,
+      int shift) {
+    if (shift >= Integer.SIZE) {
+      return new Node(0, new Object[] {key1, value1, key2, value2});
+    }
+    int fragment1 = (hash1 >>> shift) & LEVEL_MASK;
+    int fragment2 = (hash2 >>> shift) & LEVEL_MASK;
+    if (fragment1 == fragment2) {
+      return new Node(
+          1 << fragment1,
+          new Object[] {
+            null, pair(key1, value1, hash1, key2, value2, hash2, shift + BITS_PER_LEVEL)
+          });
+    }
+    Object[] slots =
+        fragment1 < fragment2
+            ? new Object[] {key1, value1, key2, value2}
+            : new Object[] {key2, value2, key1, value1};
+    return new Node((1 << fragment1) | (1 << fragment2), slots);
+  }
+
+  private static int hash(Object key) {
+    return key.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("{");
+    appendEntries(root, sb);
+    // get rid of that last pesky comma
+    if (sb.length() > 1) {
+      sb.setLength(sb.length() - 2);
+    }
+    sb.append('}');
+    return sb.toString();
+  }
+
+  private static void appendEntries(Node node, StringBuilder sb) {
+    for (int i = 0; i < node.slots.length; i += 2) {
+      if (node.slots[i] == null) {
+        appendEntries((Node) node.slots[i + 1], sb);
+      } else {
+        sb.append(node.slots[i]).append('=').append(node.slots[i + 1]).append(", ");
+      }
+    }
+  }
+
+  /**
+   * A node of the trie. For each bit set in the {@link #bitmap}, i.e. each populated 5 bit fragment
+   * of the hashes at this node's level, {@link #slots} holds a pair of either a key and its value,
+   * or {@code null} and a child node. Below the last level, a node has no bitmap and its slots hold
+   * the key value pairs of all keys with the same hash.
+   */
+  private static final class Node {
+    private final int bitmap;
+    private final Object[] slots;
+
+    private Node(int bitmap, Object[] slots) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+    }
+
+    private int index(int bit) {
+      return 2 * Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    private Node withSlot(int index, @Nullable Object value) {
+      Object[] slots = this.slots.clone();
+      slots[index] = value;
+      return new Node(bitmap, slots);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HashTrieContextTest {
+
+  @Test
+  void switchesAboveMaxEntries() {
+    Context context = Context.root();
+    for (int i = 0; i < ArrayBasedContext.MAX_ENTRIES; i++) {
+      context = context.with(ContextKey.named("key" + i), i);
+    }
+    assertThat(context).isInstanceOf(ArrayBasedContext.class);
+
+    context = context.with(ContextKey.named("one-more"), 0);
+    assertThat(context).isInstanceOf(HashTrieContext.class);
+  }
+
+  @Test
+  void manyKeys() {
+    List<ContextKey<Integer>> keys = new ArrayList<>();
+    Context context = Context.root();
+    for (int i = 0; i < 1000; i++) {
+      ContextKey<Integer> key = ContextKey.named("key" + i);
+      keys.add(key);
+      context = context.with(key, i);
+    }
+
+    for (int i = 0; i < keys.size(); i++) {
+      assertThat(context.get(keys.get(i))).isEqualTo(i);
+    }
+    assertThat(context.get(ContextKey.named("key0"))).isNull();
+
+    Context updated = context.with(keys.get(5), 500);
+    assertThat(updated.get(keys.get(5))).isEqualTo(500);
+    assertThat(updated.get(keys.get(6))).isEqualTo(6);
+    assertThat(context.get(keys.get(5))).isEqualTo(5);
+
+    assertThat(context.with(keys.get(7), context.get(keys.get(7)))).isSameAs(context);
+  }
+
+  @Test
+  void sameHashCode() {
+    Context context = Context.root();
+    for (int i = 0; i < ArrayBasedContext.MAX_ENTRIES; i++) {
+      context = context.with(ContextKey.named("key" + i), i);
+    }
+
+    ContextKey<String> key1 = new SameHashKey<>();
+    ContextKey<String> key2 = new SameHashKey<>();
+
+    context = context.with(key1, "one").with(key2, "two");
+    assertThat(context.get(key1)).isEqualTo("one");
+    assertThat(context.get(key2)).isEqualTo("two");
+
+    context = context.with(key1, "three");
+    assertThat(context.get(key1)).isEqualTo("three");
+    assertThat(context.get(key2)).isEqualTo("two");
+    assertThat(context.get(new SameHashKey<String>())).isNull();
+  }
+
+  @Test
+  void toStringContainsAllEntries() {
+    Context context = Context.root();
+    for (int i = 0; i <= ArrayBasedContext.MAX_ENTRIES; i++) {
+      context = context.with(ContextKey.named("key" + i), i);
+    }
+
+    assertThat(context.toString()).startsWith("{").endsWith("}").contains("key0=0", "key16=16");
+  }
+
+  /** A key whose hash code is the same as all other instances'. */
+  private static final class SameHashKey<T> implements ContextKey<T> {
+    @Override
+    public int hashCode() {
+      return 42;
+    }
+  }
+}
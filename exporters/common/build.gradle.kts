@@ -26,6 +26,9 @@ dependencies {
   // sun.misc.Unsafe from the JDK isn't found by the compiler, we provide our own trimmed down
   // version that we can compile against.
   compileOnly("io.grpc:grpc-stub")
+  // Optional compression libraries, the compressors are only registered if present at runtime.
+  compileOnly("com.github.luben:zstd-jni")
+  compileOnly("org.lz4:lz4-java")
 
   testImplementation(project(":sdk:common"))
 
@@ -35,6 +38,8 @@ dependencies {
   testImplementation("com.google.api.grpc:proto-google-common-protos")
   testImplementation("io.grpc:grpc-testing")
   testImplementation("edu.berkeley.cs.jqf:jqf-fuzz")
+  testImplementation("com.github.luben:zstd-jni")
+  testImplementation("org.lz4:lz4-java")
   testRuntimeOnly("io.grpc:grpc-netty-shaded")
 }
 
@@ -46,6 +51,8 @@ testing {
       dependencies {
         implementation(project(":exporters:sender:jdk"))
         implementation(project(":exporters:sender:okhttp"))
+
+        implementation("com.linecorp.armeria:armeria-junit5")
       }
       targets {
         all {
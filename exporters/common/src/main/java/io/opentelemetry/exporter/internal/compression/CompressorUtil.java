@@ -47,6 +47,14 @@ public final class CompressorUtil {
 
   private static Map<String, Compressor> buildCompressorRegistry() {
     Map<String, Compressor> compressors = new HashMap<>();
+    // Built-in compressors backed by optional libraries, which SPI providers may override
+    if (isClassPresent("com.github.luben.zstd.ZstdOutputStreamNoFinalizer")
+        && ZstdCompressor.isNativeLibraryAvailable()) {
+      compressors.put(ZstdCompressor.getInstance().getEncoding(), ZstdCompressor.getInstance());
+    }
+    if (isClassPresent("net.jpountz.lz4.LZ4FrameOutputStream")) {
+      compressors.put(Lz4Compressor.getInstance().getEncoding(), Lz4Compressor.getInstance());
+    }
     for (CompressorProvider spi :
         ServiceLoader.load(CompressorProvider.class, CompressorUtil.class.getClassLoader())) {
       Compressor compressor = spi.getInstance();
@@ -56,4 +64,13 @@ public final class CompressorUtil {
     compressors.put(GzipCompressor.getInstance().getEncoding(), GzipCompressor.getInstance());
     return compressors;
   }
+
+  private static boolean isClassPresent(String className) {
+    try {
+      Class.forName(className, false, CompressorUtil.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
 }
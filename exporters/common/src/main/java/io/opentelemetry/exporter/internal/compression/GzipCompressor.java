@@ -7,18 +7,32 @@ package io.opentelemetry.exporter.internal.compression;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.GZIPOutputStream;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 /**
  * Gzip {@link Compressor}.
  *
+ * <p>Unlike {@link java.util.zip.GZIPOutputStream}, which allocates a new {@link Deflater} and with
+ * it native zlib state for every stream, the streams returned by {@link #compress(OutputStream)}
+ * borrow a {@link Deflater} from a pool and return it once closed.
+ *
  * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
  * at any time.
  */
 public final class GzipCompressor implements Compressor {
 
+  // Enough for the exports which are typically in flight at the same time, more deflaters are
+  // created when needed and ended instead of pooled once done.
+  private static final int MAX_POOLED_DEFLATERS = 8;
+
   private static final GzipCompressor INSTANCE = new GzipCompressor();
 
+  private final Queue<Deflater> deflaters = new ArrayBlockingQueue<>(MAX_POOLED_DEFLATERS);
+
   private GzipCompressor() {}
 
   public static GzipCompressor getInstance() {
@@ -32,6 +46,86 @@ public final class GzipCompressor implements Compressor {
 
   @Override
   public OutputStream compress(OutputStream outputStream) throws IOException {
-    return new GZIPOutputStream(outputStream);
+    Deflater deflater = deflaters.poll();
+    if (deflater == null) {
+      deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, /* nowrap= */ true);
+    }
+    return new GzipOutputStream(outputStream, deflater, deflaters);
+  }
+
+  /** Writes the gzip format like {@link java.util.zip.GZIPOutputStream}. */
+  private static final class GzipOutputStream extends DeflaterOutputStream {
+
+    private static final byte[] HEADER = {
+      0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0,
+    };
+    private static final int BUFFER_SIZE = 512;
+
+    private final Queue<Deflater> deflaters;
+    private final CRC32 crc = new CRC32();
+    private boolean trailerWritten;
+    private boolean released;
+
+    private GzipOutputStream(OutputStream out, Deflater deflater, Queue<Deflater> deflaters)
+        throws IOException {
+      super(out, deflater, BUFFER_SIZE);
+      this.deflaters = deflaters;
+      boolean headerWritten = false;
+      try {
+        out.write(HEADER);
+        headerWritten = true;
+      } finally {
+        // The caller never gets the stream to close, so the deflater must be released here
+        if (!headerWritten) {
+          release(deflater, deflaters);
+        }
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      super.write(b, off, len);
+      crc.update(b, off, len);
+    }
+
+    @Override
+    public void finish() throws IOException {
+      if (trailerWritten) {
+        return;
+      }
+      super.finish();
+      trailerWritten = true;
+      byte[] trailer = new byte[8];
+      writeIntLe(trailer, 0, (int) crc.getValue());
+      writeIntLe(trailer, 4, (int) def.getBytesRead());
+      out.write(trailer);
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (released) {
+        return;
+      }
+      try {
+        super.close();
+      } finally {
+        released = true;
+        release(def, deflaters);
+      }
+    }
+
+    private static void release(Deflater deflater, Queue<Deflater> deflaters) {
+      deflater.reset();
+      if (!deflaters.offer(deflater)) {
+        deflater.end();
+      }
+    }
+
+    private static void writeIntLe(byte[] buf, int offset, int value) {
+      buf[offset] = (byte) value;
+      buf[offset + 1] = (byte) (value >> 8);
+      buf[offset + 2] = (byte) (value >> 16);
+      buf[offset + 3] = (byte) (value >> 24);
+    }
   }
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+
+/**
+ * LZ4 {@link Compressor} writing the LZ4 frame format, available if {@code org.lz4:lz4-java} is on
+ * the classpath.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class Lz4Compressor implements Compressor {
+
+  private static final Lz4Compressor INSTANCE = new Lz4Compressor();
+
+  private Lz4Compressor() {}
+
+  public static Lz4Compressor getInstance() {
+    return INSTANCE;
+  }
+
+  @Override
+  public String getEncoding() {
+    return "lz4";
+  }
+
+  @Override
+  public OutputStream compress(OutputStream outputStream) throws IOException {
+    return new LZ4FrameOutputStream(outputStream);
+  }
+}
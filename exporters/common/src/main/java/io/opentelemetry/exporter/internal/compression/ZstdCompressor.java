@@ -0,0 +1,53 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.compression;
+
+import com.github.luben.zstd.RecyclingBufferPool;
+import com.github.luben.zstd.ZstdOutputStreamNoFinalizer;
+import com.github.luben.zstd.util.Native;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Zstandard {@link Compressor}, available if {@code com.github.luben:zstd-jni} is on the classpath
+ * and its native library loads on this platform. The streams' buffers are pooled across exports.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ZstdCompressor implements Compressor {
+
+  private static final ZstdCompressor INSTANCE = new ZstdCompressor();
+
+  private ZstdCompressor() {}
+
+  public static ZstdCompressor getInstance() {
+    return INSTANCE;
+  }
+
+  @Override
+  public String getEncoding() {
+    return "zstd";
+  }
+
+  @Override
+  public OutputStream compress(OutputStream outputStream) throws IOException {
+    return new ZstdOutputStreamNoFinalizer(outputStream, RecyclingBufferPool.INSTANCE);
+  }
+
+  /**
+   * Returns whether zstd-jni's native library can be loaded, without which compressing fails with
+   * an {@link UnsatisfiedLinkError}.
+   */
+  static boolean isNativeLibraryAvailable() {
+    try {
+      Native.load();
+      return true;
+    } catch (LinkageError | RuntimeException e) {
+      return false;
+    }
+  }
+}
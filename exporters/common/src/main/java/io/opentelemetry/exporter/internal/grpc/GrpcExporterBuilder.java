@@ -5,6 +5,8 @@
 
 package io.opentelemetry.exporter.internal.grpc;
 
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+
 import io.grpc.Channel;
 import io.grpc.ManagedChannel;
 import io.opentelemetry.api.GlobalOpenTelemetry;
@@ -14,14 +16,18 @@ import io.opentelemetry.exporter.internal.ExporterBuilderUtil;
 import io.opentelemetry.exporter.internal.TlsConfigHelper;
 import io.opentelemetry.exporter.internal.compression.Compressor;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.spool.Spool;
 import io.opentelemetry.sdk.common.export.RetryPolicy;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.StringJoiner;
@@ -62,6 +68,8 @@ public class GrpcExporterBuilder<T extends Marshaler> {
   private TlsConfigHelper tlsConfigHelper = new TlsConfigHelper();
   @Nullable private RetryPolicy retryPolicy = RetryPolicy.getDefault();
   private Supplier<MeterProvider> meterProviderSupplier = GlobalOpenTelemetry::getMeterProvider;
+  @Nullable private Path spoolDirectory;
+  private long spoolMaxSizeBytes;
 
   // Use Object type since gRPC may not be on the classpath.
   @Nullable private Object grpcChannel;
@@ -147,6 +155,23 @@ public class GrpcExporterBuilder<T extends Marshaler> {
     return this;
   }
 
+  /**
+   * Spools export requests in {@code directory} until they're delivered, so that requests which
+   * couldn't be delivered yet are retried once the endpoint is available again, including by the
+   * next process using the directory. The total size of the spool files is capped at {@code
+   * maxSizeBytes}, beyond which the oldest requests are dropped. See {@link Spool} for what
+   * survives a crash.
+   */
+  public GrpcExporterBuilder<T> setSpool(Path directory, long maxSizeBytes) {
+    Objects.requireNonNull(directory, "directory");
+    checkArgument(
+        maxSizeBytes >= Spool.MIN_SIZE_BYTES,
+        "maxSizeBytes must be at least " + Spool.MIN_SIZE_BYTES);
+    this.spoolDirectory = directory;
+    this.spoolMaxSizeBytes = maxSizeBytes;
+    return this;
+  }
+
   @SuppressWarnings("BuilderReturnThis")
   public GrpcExporterBuilder<T> copy() {
     GrpcExporterBuilder<T> copy =
@@ -170,6 +195,8 @@ public class GrpcExporterBuilder<T extends Marshaler> {
     }
     copy.meterProviderSupplier = meterProviderSupplier;
     copy.grpcChannel = grpcChannel;
+    copy.spoolDirectory = spoolDirectory;
+    copy.spoolMaxSizeBytes = spoolMaxSizeBytes;
     return copy;
   }
 
@@ -211,6 +238,12 @@ public class GrpcExporterBuilder<T extends Marshaler> {
             isPlainHttp ? null : tlsConfigHelper.getSslContext(),
             isPlainHttp ? null : tlsConfigHelper.getTrustManager());
     LOGGER.log(Level.FINE, "Using GrpcSender: " + grpcSender.getClass().getName());
+    if (spoolDirectory != null) {
+      Spool spool = openSpool(spoolDirectory, spoolMaxSizeBytes);
+      if (spool != null) {
+        grpcSender = new SpoolingGrpcSender<>(grpcSender, spool);
+      }
+    }
 
     return new GrpcExporter<>(exporterName, type, grpcSender, meterProviderSupplier);
   }
@@ -242,6 +275,10 @@ public class GrpcExporterBuilder<T extends Marshaler> {
     if (grpcChannel != null) {
       joiner.add("grpcChannel=" + grpcChannel);
     }
+    if (spoolDirectory != null) {
+      joiner.add("spoolDirectory=" + spoolDirectory);
+      joiner.add("spoolMaxSizeBytes=" + spoolMaxSizeBytes);
+    }
     // Note: omit tlsConfigHelper because we can't log the configuration in any readable way
     // Note: omit meterProviderSupplier because we can't log the configuration in any readable way
     return joiner.toString();
@@ -252,6 +289,16 @@ public class GrpcExporterBuilder<T extends Marshaler> {
     return toString(true);
   }
 
+  @Nullable
+  private static Spool openSpool(Path directory, long maxSizeBytes) {
+    try {
+      return Spool.open(directory, maxSizeBytes);
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Failed to open spool, exporting without it: " + directory, e);
+      return null;
+    }
+  }
+
   /**
    * Resolve the {@link GrpcSenderProvider}.
    *
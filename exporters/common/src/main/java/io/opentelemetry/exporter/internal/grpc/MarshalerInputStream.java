@@ -22,15 +22,16 @@
 
 package io.opentelemetry.exporter.internal.grpc;
 
-import com.google.common.io.ByteStreams;
 import io.grpc.Drainable;
 import io.grpc.KnownLength;
+import io.opentelemetry.exporter.internal.marshal.ByteBufferChainOutputStream;
+import io.opentelemetry.exporter.internal.marshal.ByteBufferPool;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
 import javax.annotation.Nullable;
 
 /**
@@ -44,7 +45,11 @@ import javax.annotation.Nullable;
 public final class MarshalerInputStream extends InputStream implements Drainable, KnownLength {
 
   @Nullable private Marshaler message;
-  @Nullable private ByteArrayInputStream partial;
+  // The serialized message once it has been partially read, in buffers borrowed from the shared
+  // pool until fully read or closed
+  @Nullable private ByteBufferChainOutputStream partial;
+  @Nullable private List<ByteBuffer> partialBuffers;
+  private int partialIndex;
 
   /** Creates a new {@link MarshalerInputStream}. */
   public MarshalerInputStream(Marshaler message) {
@@ -59,8 +64,13 @@ public final class MarshalerInputStream extends InputStream implements Drainable
       message.writeBinaryTo(target);
       message = null;
     } else if (partial != null) {
-      written = (int) ByteStreams.copy(partial, target);
-      partial = null;
+      written = 0;
+      byte[] chunk = new byte[8192];
+      int read;
+      while ((read = read(chunk, 0, chunk.length)) != -1) {
+        target.write(chunk, 0, read);
+        written += read;
+      }
     } else {
       written = 0;
     }
@@ -69,52 +79,91 @@ public final class MarshalerInputStream extends InputStream implements Drainable
 
   @Override
   public int read() throws IOException {
-    if (message != null) {
-      partial = new ByteArrayInputStream(toByteArray(message));
-      message = null;
-    }
-    if (partial != null) {
-      return partial.read();
+    ByteBuffer buffer = nextPartialBuffer();
+    if (buffer == null) {
+      return -1;
     }
-    return -1;
+    return buffer.get() & 0xFF;
   }
 
   @Override
   public int read(byte[] b, int off, int len) throws IOException {
-    if (message != null) {
-      int size = message.getBinarySerializedSize();
-      if (size == 0) {
-        message = null;
-        partial = null;
-        return -1;
-      }
+    if (len == 0) {
+      return 0;
+    }
+    ByteBuffer buffer = nextPartialBuffer();
+    if (buffer == null) {
+      return -1;
+    }
+    int count = Math.min(len, buffer.remaining());
+    buffer.get(b, off, count);
+    return count;
+  }
 
+  /**
+   * Returns the next buffer of the serialized message with bytes remaining, serializing the message
+   * first if it hasn't been, or {@code null} once all bytes have been read.
+   */
+  @Nullable
+  private ByteBuffer nextPartialBuffer() throws IOException {
+    if (message != null) {
       // NB: Because this class is Drainable and KnownLength, we do not expect the read methods to
-      // be called in practice. Therefore, we have not copied the branch from upstream that would
-      // serialize straight into the provided array without toByteArray (which requires an entire
-      // CodedOutputStream implementation). If this method were to be called, it is two extra copies
-      // because we also wrap in a ByteArrayOutputStream
-      partial = new ByteArrayInputStream(toByteArray(message));
+      // be called in practice. If they are, the message is serialized into pooled buffers rather
+      // than an array of its full size, and read from those.
+      ByteBufferChainOutputStream serialized =
+          new ByteBufferChainOutputStream(ByteBufferPool.getShared());
+      boolean written = false;
+      try {
+        message.writeBinaryTo(serialized);
+        written = true;
+      } finally {
+        if (!written) {
+          serialized.discard();
+        }
+      }
       message = null;
+      partial = serialized;
+      partialBuffers = serialized.toByteBuffers();
+      partialIndex = 0;
+    }
+    if (partial == null || partialBuffers == null) {
+      return null;
     }
+    while (partialIndex < partialBuffers.size()) {
+      ByteBuffer buffer = partialBuffers.get(partialIndex);
+      if (buffer.hasRemaining()) {
+        return buffer;
+      }
+      partialIndex++;
+    }
+    releasePartial();
+    return null;
+  }
+
+  private void releasePartial() {
     if (partial != null) {
-      return partial.read(b, off, len);
+      partial.reset();
+      partial = null;
+      partialBuffers = null;
     }
-    return -1;
   }
 
-  private static byte[] toByteArray(Marshaler message) throws IOException {
-    ByteArrayOutputStream bos = new ByteArrayOutputStream(message.getBinarySerializedSize());
-    message.writeBinaryTo(bos);
-    return bos.toByteArray();
+  @Override
+  public void close() {
+    message = null;
+    releasePartial();
   }
 
   @Override
   public int available() {
     if (message != null) {
       return message.getBinarySerializedSize();
-    } else if (partial != null) {
-      return partial.available();
+    } else if (partialBuffers != null) {
+      int available = 0;
+      for (int i = partialIndex; i < partialBuffers.size(); i++) {
+        available += partialBuffers.get(i).remaining();
+      }
+      return available;
     }
     return 0;
   }
@@ -0,0 +1,78 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.grpc;
+
+import io.opentelemetry.exporter.internal.RetryUtil;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.spool.Spool;
+import io.opentelemetry.exporter.internal.spool.SpoolingSender;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.io.IOException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link GrpcSender} which spools requests to disk before sending them with another {@link
+ * GrpcSender}, replaying them in order if the endpoint is unavailable.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ *
+ * @see SpoolingSender
+ */
+public final class SpoolingGrpcSender<T extends Marshaler> implements GrpcSender<T> {
+
+  private static final Logger logger = Logger.getLogger(SpoolingGrpcSender.class.getName());
+
+  private final GrpcSender<T> delegate;
+  private final Spool spool;
+  private final SpoolingSender<GrpcResponse> spoolingSender;
+
+  public SpoolingGrpcSender(GrpcSender<T> delegate, Spool spool) {
+    this.delegate = delegate;
+    this.spool = spool;
+    this.spoolingSender =
+        new SpoolingSender<>(
+            spool,
+            new SpoolingSender.Transport<GrpcResponse>() {
+              @Override
+              @SuppressWarnings("unchecked")
+              public void send(
+                  Marshaler request,
+                  int contentLength,
+                  Consumer<GrpcResponse> onResponse,
+                  Consumer<Throwable> onError) {
+                // Replayed requests aren't of the signal specific type, which the senders and the
+                // gRPC stubs only use as a Marshaler.
+                delegate.send((T) request, onResponse, onError);
+              }
+
+              @Override
+              public boolean isRetryable(GrpcResponse response) {
+                return RetryUtil.retryableGrpcStatusCodes()
+                    .contains(String.valueOf(response.grpcStatusValue()));
+              }
+            });
+    spoolingSender.start();
+  }
+
+  @Override
+  public void send(T request, Consumer<GrpcResponse> onResponse, Consumer<Throwable> onError) {
+    spoolingSender.send(request, request.getBinarySerializedSize(), onResponse, onError);
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    spoolingSender.shutdown();
+    try {
+      spool.close();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to close spool", e);
+    }
+    return delegate.shutdown();
+  }
+}
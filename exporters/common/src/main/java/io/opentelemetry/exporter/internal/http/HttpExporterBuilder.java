@@ -5,6 +5,8 @@
 
 package io.opentelemetry.exporter.internal.http;
 
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.internal.ConfigUtil;
 import io.opentelemetry.api.metrics.MeterProvider;
@@ -13,17 +15,22 @@ import io.opentelemetry.exporter.internal.TlsConfigHelper;
 import io.opentelemetry.exporter.internal.auth.Authenticator;
 import io.opentelemetry.exporter.internal.compression.Compressor;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.spool.Spool;
 import io.opentelemetry.sdk.common.export.ProxyOptions;
 import io.opentelemetry.sdk.common.export.RetryPolicy;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.logging.Level;
@@ -62,6 +69,9 @@ public final class HttpExporterBuilder<T extends Marshaler> {
   @Nullable private RetryPolicy retryPolicy = RetryPolicy.getDefault();
   private Supplier<MeterProvider> meterProviderSupplier = GlobalOpenTelemetry::getMeterProvider;
   @Nullable private Authenticator authenticator;
+  @Nullable private Path spoolDirectory;
+  private long spoolMaxSizeBytes;
+  @Nullable private ExecutorService executorService;
 
   public HttpExporterBuilder(String exporterName, String type, String defaultEndpoint) {
     this.exporterName = exporterName;
@@ -138,6 +148,33 @@ public final class HttpExporterBuilder<T extends Marshaler> {
     return this;
   }
 
+  /**
+   * Spools export requests in {@code directory} until they're delivered, so that requests which
+   * couldn't be delivered yet are retried once the endpoint is available again, including by the
+   * next process using the directory. The total size of the spool files is capped at {@code
+   * maxSizeBytes}, beyond which the oldest requests are dropped. See {@link Spool} for what
+   * survives a crash.
+   */
+  public HttpExporterBuilder<T> setSpool(Path directory, long maxSizeBytes) {
+    Objects.requireNonNull(directory, "directory");
+    checkArgument(
+        maxSizeBytes >= Spool.MIN_SIZE_BYTES,
+        "maxSizeBytes must be at least " + Spool.MIN_SIZE_BYTES);
+    this.spoolDirectory = directory;
+    this.spoolMaxSizeBytes = maxSizeBytes;
+    return this;
+  }
+
+  /**
+   * Sets the executor the sender runs its work on, such as marshaling requests and scheduling
+   * retries, for senders which use one. The executor isn't shutdown with the exporter. If unset,
+   * the sender creates its own.
+   */
+  public HttpExporterBuilder<T> setExecutorService(ExecutorService executorService) {
+    this.executorService = executorService;
+    return this;
+  }
+
   public HttpExporterBuilder<T> exportAsJson() {
     this.exportAsJson = true;
     return this;
@@ -160,6 +197,9 @@ public final class HttpExporterBuilder<T extends Marshaler> {
     copy.meterProviderSupplier = meterProviderSupplier;
     copy.authenticator = authenticator;
     copy.proxyOptions = proxyOptions;
+    copy.spoolDirectory = spoolDirectory;
+    copy.spoolMaxSizeBytes = spoolMaxSizeBytes;
+    copy.executorService = executorService;
     return copy;
   }
 
@@ -200,8 +240,18 @@ public final class HttpExporterBuilder<T extends Marshaler> {
             authenticator,
             retryPolicy,
             isPlainHttp ? null : tlsConfigHelper.getSslContext(),
-            isPlainHttp ? null : tlsConfigHelper.getTrustManager());
+            isPlainHttp ? null : tlsConfigHelper.getTrustManager(),
+            executorService);
     LOGGER.log(Level.FINE, "Using HttpSender: " + httpSender.getClass().getName());
+    if (spoolDirectory != null) {
+      if (exportAsJson) {
+        throw new IllegalStateException("Spooling requires exporting in protobuf binary format");
+      }
+      Spool spool = openSpool(spoolDirectory, spoolMaxSizeBytes);
+      if (spool != null) {
+        httpSender = new SpoolingHttpSender(httpSender, spool);
+      }
+    }
 
     return new HttpExporter<>(exporterName, type, httpSender, meterProviderSupplier, exportAsJson);
   }
@@ -231,6 +281,13 @@ public final class HttpExporterBuilder<T extends Marshaler> {
     if (retryPolicy != null) {
       joiner.add("retryPolicy=" + retryPolicy);
     }
+    if (spoolDirectory != null) {
+      joiner.add("spoolDirectory=" + spoolDirectory);
+      joiner.add("spoolMaxSizeBytes=" + spoolMaxSizeBytes);
+    }
+    if (executorService != null) {
+      joiner.add("executorService=" + executorService);
+    }
     // Note: omit tlsConfigHelper because we can't log the configuration in any readable way
     // Note: omit meterProviderSupplier because we can't log the configuration in any readable way
     // Note: omit authenticator because we can't log the configuration in any readable way
@@ -242,6 +299,16 @@ public final class HttpExporterBuilder<T extends Marshaler> {
     return toString(true);
   }
 
+  @Nullable
+  private static Spool openSpool(Path directory, long maxSizeBytes) {
+    try {
+      return Spool.open(directory, maxSizeBytes);
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Failed to open spool, exporting without it: " + directory, e);
+      return null;
+    }
+  }
+
   /**
    * Resolve the {@link HttpSenderProvider}.
    *
@@ -11,6 +11,7 @@ import io.opentelemetry.sdk.common.export.ProxyOptions;
 import io.opentelemetry.sdk.common.export.RetryPolicy;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
@@ -40,4 +41,39 @@ public interface HttpSenderProvider {
       @Nullable RetryPolicy retryPolicy,
       @Nullable SSLContext sslContext,
       @Nullable X509TrustManager trustManager);
+
+  /**
+   * Returns a {@link HttpSender} configured with the provided parameters, which runs its work on
+   * {@code executorService} if not null. The sender doesn't shutdown an executor which is provided
+   * to it. Providers whose HTTP client doesn't run work on an executor ignore it.
+   */
+  @SuppressWarnings("TooManyParameters")
+  default HttpSender createSender(
+      String endpoint,
+      @Nullable Compressor compressor,
+      boolean exportAsJson,
+      String contentType,
+      long timeoutNanos,
+      long connectTimeout,
+      Supplier<Map<String, List<String>>> headerSupplier,
+      @Nullable ProxyOptions proxyOptions,
+      @Nullable Authenticator authenticator,
+      @Nullable RetryPolicy retryPolicy,
+      @Nullable SSLContext sslContext,
+      @Nullable X509TrustManager trustManager,
+      @Nullable ExecutorService executorService) {
+    return createSender(
+        endpoint,
+        compressor,
+        exportAsJson,
+        contentType,
+        timeoutNanos,
+        connectTimeout,
+        headerSupplier,
+        proxyOptions,
+        authenticator,
+        retryPolicy,
+        sslContext,
+        trustManager);
+  }
 }
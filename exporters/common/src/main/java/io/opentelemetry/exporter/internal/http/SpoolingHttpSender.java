@@ -0,0 +1,115 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.http;
+
+import io.opentelemetry.exporter.internal.RetryUtil;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.spool.Spool;
+import io.opentelemetry.exporter.internal.spool.SpoolingSender;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.io.IOException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * An {@link HttpSender} which spools requests to disk before sending them with another {@link
+ * HttpSender}, replaying them in order if the endpoint is unavailable. Only supports requests
+ * serialized in protobuf binary format.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ *
+ * @see SpoolingSender
+ */
+public final class SpoolingHttpSender implements HttpSender {
+
+  private static final Logger logger = Logger.getLogger(SpoolingHttpSender.class.getName());
+
+  private final HttpSender delegate;
+  private final Spool spool;
+  private final SpoolingSender<Response> spoolingSender;
+
+  public SpoolingHttpSender(HttpSender delegate, Spool spool) {
+    this.delegate = delegate;
+    this.spool = spool;
+    this.spoolingSender =
+        new SpoolingSender<>(
+            spool,
+            new SpoolingSender.Transport<Response>() {
+              @Override
+              public void send(
+                  Marshaler request,
+                  int contentLength,
+                  Consumer<Response> onResponse,
+                  Consumer<Throwable> onError) {
+                delegate.send(
+                    request,
+                    contentLength,
+                    response -> onResponse.accept(new BufferedResponse(response)),
+                    onError);
+              }
+
+              @Override
+              public boolean isRetryable(Response response) {
+                return RetryUtil.retryableHttpResponseCodes().contains(response.statusCode());
+              }
+            });
+    spoolingSender.start();
+  }
+
+  @Override
+  public void send(
+      Marshaler marshaler,
+      int contentLength,
+      Consumer<Response> onResponse,
+      Consumer<Throwable> onError) {
+    spoolingSender.send(marshaler, contentLength, onResponse, onError);
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    spoolingSender.shutdown();
+    try {
+      spool.close();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to close spool", e);
+    }
+    return delegate.shutdown();
+  }
+
+  /**
+   * A response whose body can be read more than once, since a retryable failure is passed to the
+   * callbacks of all requests waiting to be delivered.
+   */
+  private static final class BufferedResponse implements Response {
+    private final Response response;
+    @Nullable private byte[] responseBody;
+
+    private BufferedResponse(Response response) {
+      this.response = response;
+    }
+
+    @Override
+    public int statusCode() {
+      return response.statusCode();
+    }
+
+    @Override
+    public String statusMessage() {
+      return response.statusMessage();
+    }
+
+    @Override
+    public synchronized byte[] responseBody() throws IOException {
+      if (responseBody == null) {
+        responseBody = response.responseBody();
+      }
+      return responseBody;
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.marshal;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link OutputStream} writing into a chain of buffers borrowed from a {@link ByteBufferPool},
+ * so that a request can be serialized without an intermediate {@code byte[]} of its full size, and
+ * then handed to a transport as is. Unlike {@link java.io.ByteArrayOutputStream}, which doubles and
+ * copies its array while growing, writing a large request allocates nothing once the pool is warm.
+ *
+ * <p>The buffers stay borrowed until {@link #reset()} is called, which must only happen once the
+ * transport is done with the buffers returned by {@link #toByteBuffers()}. If it can't be known
+ * when the transport is done with them, {@link #discard()} them instead.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ByteBufferChainOutputStream extends OutputStream {
+
+  private final ByteBufferPool pool;
+  private final List<ByteBuffer> buffers = new ArrayList<>();
+  private int size;
+
+  public ByteBufferChainOutputStream(ByteBufferPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public void write(int b) {
+    current().put((byte) b);
+    size++;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+    while (len > 0) {
+      ByteBuffer buffer = current();
+      int count = Math.min(len, buffer.remaining());
+      buffer.put(b, off, count);
+      off += count;
+      len -= count;
+      size += count;
+    }
+  }
+
+  /** Returns the buffer to write into, borrowing a new one if the last one is full. */
+  private ByteBuffer current() {
+    if (!buffers.isEmpty()) {
+      ByteBuffer last = buffers.get(buffers.size() - 1);
+      if (last.hasRemaining()) {
+        return last;
+      }
+    }
+    ByteBuffer buffer = pool.acquire();
+    buffers.add(buffer);
+    return buffer;
+  }
+
+  /** Returns the number of bytes written since the last {@link #reset()}. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns views of the bytes written, one per buffer. Each call returns new views, so the bytes
+   * can be read once per call, for example once per attempt to send a request.
+   */
+  public List<ByteBuffer> toByteBuffers() {
+    List<ByteBuffer> views = new ArrayList<>(buffers.size());
+    for (ByteBuffer buffer : buffers) {
+      ByteBuffer view = buffer.duplicate();
+      view.flip();
+      views.add(view);
+    }
+    return views;
+  }
+
+  /** Discards the bytes written, returning the buffers to the pool. */
+  public void reset() {
+    for (ByteBuffer buffer : buffers) {
+      pool.release(buffer);
+    }
+    buffers.clear();
+    size = 0;
+  }
+
+  /**
+   * Discards the bytes written without returning the buffers to the pool, leaving them to the
+   * garbage collector, since a transport may still read them.
+   */
+  public void discard() {
+    for (ByteBuffer buffer : buffers) {
+      pool.discard(buffer);
+    }
+    buffers.clear();
+    size = 0;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.marshal;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of direct {@link ByteBuffer}s of a fixed size, which serialized requests are
+ * written into by {@link ByteBufferChainOutputStream}. Direct buffers are expensive to allocate and
+ * only freed once garbage collected, so they are reused across requests.
+ *
+ * <p>The pool allocates at most as many direct buffers as it holds, so that requests larger than
+ * the pool can't exhaust the direct memory of the JVM. Once they're all in use, it hands out heap
+ * buffers instead, which aren't pooled.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ByteBufferPool {
+
+  // Visible for testing
+  static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+  // Visible for testing
+  static final int DEFAULT_MAX_POOLED_BUFFERS = 256;
+
+  private static final ByteBufferPool SHARED =
+      new ByteBufferPool(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED_BUFFERS);
+
+  private final int bufferSize;
+  private final int maxPooledBuffers;
+  private final Queue<ByteBuffer> buffers;
+  // The number of direct buffers allocated by this pool which haven't been discarded
+  private final AtomicInteger directBuffers = new AtomicInteger();
+
+  /** Returns a pool shared by users which don't need their own. */
+  public static ByteBufferPool getShared() {
+    return SHARED;
+  }
+
+  /**
+   * Creates a pool of buffers of {@code bufferSize} bytes, keeping at most {@code maxPooledBuffers}
+   * of them.
+   */
+  public ByteBufferPool(int bufferSize, int maxPooledBuffers) {
+    this.bufferSize = bufferSize;
+    this.maxPooledBuffers = maxPooledBuffers;
+    this.buffers = new ArrayBlockingQueue<>(maxPooledBuffers);
+  }
+
+  /**
+   * Returns a cleared buffer from the pool, or a newly allocated one if the pool is empty. The new
+   * buffer is a heap buffer if the pool has allocated as many direct buffers as it can hold.
+   */
+  public ByteBuffer acquire() {
+    ByteBuffer buffer = buffers.poll();
+    if (buffer != null) {
+      buffer.clear();
+      return buffer;
+    }
+    int direct;
+    do {
+      direct = directBuffers.get();
+      if (direct >= maxPooledBuffers) {
+        return ByteBuffer.allocate(bufferSize);
+      }
+    } while (!directBuffers.compareAndSet(direct, direct + 1));
+    return ByteBuffer.allocateDirect(bufferSize);
+  }
+
+  /** Returns the buffer to the pool. It must not be used anymore afterwards. */
+  public void release(ByteBuffer buffer) {
+    if (isPooled(buffer) && !buffers.offer(buffer)) {
+      directBuffers.decrementAndGet();
+    }
+  }
+
+  /**
+   * Leaves a buffer which may still be in use, for example by a transport which abandoned a
+   * request, to the garbage collector instead of returning it to the pool, which allocates a new
+   * one in its place.
+   */
+  public void discard(ByteBuffer buffer) {
+    if (isPooled(buffer)) {
+      directBuffers.decrementAndGet();
+    }
+  }
+
+  private boolean isPooled(ByteBuffer buffer) {
+    return buffer.isDirect() && buffer.capacity() == bufferSize;
+  }
+
+  // Visible for testing
+  int pooledBuffers() {
+    return buffers.size();
+  }
+}
@@ -7,6 +7,7 @@ package io.opentelemetry.exporter.internal.marshal;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
@@ -237,6 +238,18 @@ final class JsonSerializer extends Serializer {
     generator.writeRaw(jsonSerialized);
   }
 
+  @Override
+  public void writeSerializedMessage(SerializedMessage message) throws IOException {
+    // SerializedString encodes the JSON once and keeps the encoded bytes and chars, so the message
+    // is copied as is rather than encoded again in every request.
+    Object encoded = message.getJsonEncoded();
+    if (!(encoded instanceof SerializedString)) {
+      encoded = new SerializedString(message.getJsonSerialized());
+      message.setJsonEncoded(encoded);
+    }
+    generator.writeRaw((SerializedString) encoded);
+  }
+
   @Override
   public void close() throws IOException {
     generator.close();
@@ -268,6 +268,11 @@ final class ProtoSerializer extends Serializer implements AutoCloseable {
     output.writeRawBytes(protoSerialized);
   }
 
+  @Override
+  public void writeSerializedMessage(SerializedMessage message) throws IOException {
+    output.writeRawBytes(message.getProtoSerialized());
+  }
+
   @Override
   public void close() throws IOException {
     try {
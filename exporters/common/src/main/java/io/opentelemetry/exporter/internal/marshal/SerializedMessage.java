@@ -0,0 +1,70 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.marshal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import javax.annotation.Nullable;
+
+/**
+ * The fields of a message serialized up front into both protobuf and JSON, for messages which are
+ * identical in every request, such as those of a resource or an instrumentation scope. Written with
+ * {@link Serializer#writeSerializedMessage(SerializedMessage)}, which copies the encoded bytes as
+ * is for both formats.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class SerializedMessage {
+
+  private final byte[] protoSerialized;
+  private final String jsonSerialized;
+  // The JSON encoded by the JSON serializer, created when first written so that Jackson is only
+  // needed when serializing to JSON.
+  @Nullable private volatile Object jsonEncoded;
+
+  /** Serializes the fields of the {@code marshaler}. */
+  public static SerializedMessage create(Marshaler marshaler) {
+    ByteArrayOutputStream binaryBos =
+        new ByteArrayOutputStream(marshaler.getBinarySerializedSize());
+    try {
+      marshaler.writeBinaryTo(binaryBos);
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Serialization error, this is likely a bug in OpenTelemetry.", e);
+    }
+    return new SerializedMessage(
+        binaryBos.toByteArray(), MarshalerUtil.preserializeJsonFields(marshaler));
+  }
+
+  private SerializedMessage(byte[] protoSerialized, String jsonSerialized) {
+    this.protoSerialized = protoSerialized;
+    this.jsonSerialized = jsonSerialized;
+  }
+
+  /** Returns the size of the fields serialized as protobuf. */
+  public int getBinarySerializedSize() {
+    return protoSerialized.length;
+  }
+
+  byte[] getProtoSerialized() {
+    return protoSerialized;
+  }
+
+  String getJsonSerialized() {
+    return jsonSerialized;
+  }
+
+  @Nullable
+  Object getJsonEncoded() {
+    return jsonEncoded;
+  }
+
+  void setJsonEncoded(Object jsonEncoded) {
+    this.jsonEncoded = jsonEncoded;
+  }
+}
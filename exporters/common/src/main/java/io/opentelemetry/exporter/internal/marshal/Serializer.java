@@ -628,6 +628,9 @@ public abstract class Serializer implements AutoCloseable {
   public abstract void writeSerializedMessage(byte[] protoSerialized, String jsonSerialized)
       throws IOException;
 
+  /** Writes the value for a message field that has been pre-serialized. */
+  public abstract void writeSerializedMessage(SerializedMessage message) throws IOException;
+
   @Override
   public abstract void close() throws IOException;
 }
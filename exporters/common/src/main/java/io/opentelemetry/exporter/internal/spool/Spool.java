@@ -0,0 +1,690 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.spool;
+
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import javax.annotation.Nullable;
+
+/**
+ * A persistent FIFO queue of export requests serialized in protobuf binary format, stored in
+ * memory-mapped segment files so that requests which could not be delivered yet survive a restart
+ * of the process.
+ *
+ * <p>Each segment file starts with a magic number, followed by records. A record is a header
+ * holding the length of the record, the CRC32 of the request and a flag set while the request
+ * hasn't been written yet and once it has been delivered, followed by the request. Requests are
+ * written outside the lock of the spool, into records reserved at the end of the segment, so the
+ * flag is only cleared once the request has been written. Records which were only partially written
+ * when the process died are skipped on recovery, while the checksum detects records torn by a crash
+ * of the system.
+ *
+ * <p>Records are written to the memory-mapped segments without forcing them to disk, which would
+ * cost a disk write per request. Since the operating system writes back the mapped memory, records
+ * survive a crash of the process as soon as they're appended. Records in a segment survive a crash
+ * of the system once the segment is forced to disk, which happens when a new segment is started and
+ * when the spool is closed.
+ *
+ * <p>Requests may be delivered, and removed, in any order. A segment is unmapped and deleted once
+ * all requests in it have been delivered.
+ *
+ * <p>The total size of the segment files is capped. When a new segment would exceed the cap, the
+ * oldest segments are deleted, including requests in them which haven't been delivered yet.
+ *
+ * <p>A directory may only be used by one spool at a time, which is enforced with a file lock.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class Spool implements Closeable {
+
+  private static final Logger logger = Logger.getLogger(Spool.class.getName());
+
+  // Visible for testing
+  static final int DEFAULT_SEGMENT_SIZE_BYTES = 8 * 1024 * 1024;
+
+  // "OTSP"
+  private static final int MAGIC = 0x4f545350;
+  private static final int SEGMENT_HEADER_SIZE = 4;
+  // Record length, CRC32 of the request and delivered flag
+  private static final int RECORD_HEADER_SIZE = 9;
+  // The spool is split into four segments, each of which must fit a record of at least one byte
+  private static final int MIN_SEGMENTS = 4;
+
+  /** The minimum maximum total size of the segment files of a spool. */
+  public static final long MIN_SIZE_BYTES =
+      MIN_SEGMENTS * (SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE + 1);
+
+  private static final String SEGMENT_SUFFIX = ".spool";
+  private static final String LOCK_FILE = "spool.lock";
+
+  private final Path directory;
+  private final long maxSizeBytes;
+  private final int segmentSizeBytes;
+  private final FileChannel lockChannel;
+  private final FileLock fileLock;
+
+  private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+  // The requests which haven't been delivered, by sequence number
+  private final TreeMap<Long, Record> records = new TreeMap<>();
+  // The segment new records are appended to, null until the first record is appended since
+  // segments recovered from a previous process are never appended to.
+  @Nullable private Segment writeSegment;
+  private long totalSizeBytes;
+  private long nextSegmentId;
+  private long nextSequence;
+  private boolean closed;
+
+  private Spool(
+      Path directory,
+      long maxSizeBytes,
+      int segmentSizeBytes,
+      FileChannel lockChannel,
+      FileLock fileLock) {
+    this.directory = directory;
+    this.maxSizeBytes = maxSizeBytes;
+    this.segmentSizeBytes = segmentSizeBytes;
+    this.lockChannel = lockChannel;
+    this.fileLock = fileLock;
+  }
+
+  /**
+   * Opens the spool in {@code directory}, creating the directory if it doesn't exist yet and
+   * recovering the requests which a previous spool in the directory didn't deliver.
+   *
+   * @param directory the directory to store the segment files in.
+   * @param maxSizeBytes the maximum total size of the segment files, at least {@link
+   *     #MIN_SIZE_BYTES}.
+   */
+  public static Spool open(Path directory, long maxSizeBytes) throws IOException {
+    // Use at least a few segments so that dropping the oldest doesn't drop most requests
+    return open(
+        directory,
+        maxSizeBytes,
+        (int) Math.min(DEFAULT_SEGMENT_SIZE_BYTES, maxSizeBytes / MIN_SEGMENTS));
+  }
+
+  // Visible for testing
+  static Spool open(Path directory, long maxSizeBytes, int segmentSizeBytes) throws IOException {
+    if (segmentSizeBytes <= SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE) {
+      throw new IllegalArgumentException("maxSizeBytes is too small: " + maxSizeBytes);
+    }
+    Files.createDirectories(directory);
+    FileChannel lockChannel =
+        FileChannel.open(
+            directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    FileLock fileLock;
+    try {
+      fileLock = lockChannel.tryLock();
+    } catch (OverlappingFileLockException e) {
+      // Locked by this process
+      fileLock = null;
+    } catch (IOException | RuntimeException e) {
+      lockChannel.close();
+      throw e;
+    }
+    if (fileLock == null) {
+      lockChannel.close();
+      throw new IOException("Spool directory is in use: " + directory);
+    }
+    Spool spool = new Spool(directory, maxSizeBytes, segmentSizeBytes, lockChannel, fileLock);
+    try {
+      spool.recover();
+    } catch (IOException | RuntimeException e) {
+      spool.close();
+      throw e;
+    }
+    return spool;
+  }
+
+  private void recover() throws IOException {
+    List<Path> paths = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+      stream.forEach(paths::add);
+    }
+    paths.sort(Comparator.comparing(path -> path.getFileName().toString()));
+    for (Path path : paths) {
+      String name = path.getFileName().toString();
+      long id;
+      try {
+        id = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+      } catch (NumberFormatException e) {
+        logger.log(Level.WARNING, "Ignoring unexpected file in spool directory: " + path);
+        continue;
+      }
+      nextSegmentId = Math.max(nextSegmentId, id + 1);
+      Segment segment = new Segment(path, map(path, Files.size(path)));
+      if (segment.capacity() < SEGMENT_HEADER_SIZE || segment.buffer.getInt(0) != MAGIC) {
+        logger.log(Level.WARNING, "Deleting corrupt spool segment: " + path);
+        delete(segment);
+        continue;
+      }
+      recoverRecords(segment);
+      if (segment.pendingRecords == 0) {
+        delete(segment);
+      } else {
+        segments.addLast(segment);
+        totalSizeBytes += segment.capacity();
+      }
+    }
+  }
+
+  private void recoverRecords(Segment segment) {
+    ByteBuffer buffer = segment.buffer;
+    int position = SEGMENT_HEADER_SIZE;
+    while (position <= segment.capacity() - RECORD_HEADER_SIZE) {
+      int length = buffer.getInt(position);
+      if (length < RECORD_HEADER_SIZE || length > segment.capacity() - position) {
+        break;
+      }
+      int requestLength = length - RECORD_HEADER_SIZE;
+      // Records which have been delivered, or weren't completely written, are skipped
+      if (buffer.get(position + 8) == 0) {
+        if (crc32(buffer, position + RECORD_HEADER_SIZE, requestLength)
+            != buffer.getInt(position + 4)) {
+          logger.log(Level.WARNING, "Ignoring torn records at the end of " + segment.path);
+          break;
+        }
+        long sequence = nextSequence++;
+        records.put(sequence, new Record(sequence, segment, position, requestLength));
+        segment.pendingRecords++;
+      }
+      position += length;
+    }
+    segment.writePosition = position;
+  }
+
+  /**
+   * Appends the request serialized by {@code marshaler} to the spool.
+   *
+   * @return the sequence number of the request, or {@code -1} if the request doesn't fit in the
+   *     spool or the spool has been closed.
+   */
+  public long append(Marshaler marshaler) throws IOException {
+    PreparedRequest prepared = prepare(marshaler);
+    return prepared == null ? -1 : commit(prepared);
+  }
+
+  /**
+   * Writes the request serialized by {@code marshaler} to a record reserved at the end of the
+   * spool, holding the lock of the spool only to reserve the record, so that requests are
+   * serialized concurrently. The request is only added to the spool once {@linkplain
+   * #commit(PreparedRequest) committed}, which is cheap, so that callers can assign it its place in
+   * the spool while holding a lock of their own.
+   *
+   * @return the written request, or {@code null} if the request doesn't fit in the spool or the
+   *     spool has been closed.
+   */
+  @Nullable
+  public PreparedRequest prepare(Marshaler marshaler) throws IOException {
+    int requestLength = marshaler.getBinarySerializedSize();
+    PreparedRequest prepared = reserve(RECORD_HEADER_SIZE + requestLength);
+    if (prepared == null) {
+      return null;
+    }
+    boolean written = false;
+    try {
+      if (prepared.previousSegment != null) {
+        unpin(prepared.previousSegment);
+      }
+      Segment segment = prepared.segment;
+      int position = prepared.position;
+      int requestPosition = position + RECORD_HEADER_SIZE;
+      ByteBuffer request = segment.buffer.duplicate();
+      request.position(requestPosition);
+      request.limit(requestPosition + requestLength);
+      marshaler.writeBinaryTo(new ByteBufferOutputStream(request));
+      if (request.hasRemaining()) {
+        throw new IOException(
+            "Marshaler wrote "
+                + (request.position() - requestPosition)
+                + " bytes, expected "
+                + requestLength);
+      }
+      ByteBuffer buffer = segment.buffer;
+      buffer.putInt(position + 4, crc32(buffer, requestPosition, requestLength));
+      buffer.put(position + 8, (byte) 0);
+      written = true;
+    } finally {
+      if (!written) {
+        abandon(prepared.segment);
+      }
+      unpin(prepared.segment);
+    }
+    return prepared;
+  }
+
+  /**
+   * Adds the request written by {@link #prepare(Marshaler)} to the spool.
+   *
+   * @return the sequence number of the request, or {@code -1} if the request was dropped from the
+   *     full spool or the spool has been closed since it was prepared.
+   */
+  public synchronized long commit(PreparedRequest prepared) {
+    Segment segment = prepared.segment;
+    if (closed || segment.released) {
+      return -1;
+    }
+    long sequence = nextSequence++;
+    records.put(
+        sequence,
+        new Record(
+            sequence, segment, prepared.position, prepared.length - RECORD_HEADER_SIZE));
+    return sequence;
+  }
+
+  /**
+   * Reserves a record of {@code length} bytes at the end of the write segment, starting a new
+   * segment if it doesn't fit. The segment of the record, and the previous write segment if a new
+   * one was started, are pinned so that they stay mapped while they're written and forced to disk
+   * outside the lock.
+   */
+  @Nullable
+  private synchronized PreparedRequest reserve(int length) throws IOException {
+    if (closed) {
+      return null;
+    }
+    Segment previous = null;
+    Segment segment = writeSegment;
+    if (segment == null || segment.capacity() - segment.writePosition < length) {
+      previous = segment;
+      segment = newSegment(length);
+      if (segment == null) {
+        return null;
+      }
+      if (previous != null && previous.released) {
+        previous = null;
+      }
+    }
+
+    int position = segment.writePosition;
+    ByteBuffer buffer = segment.buffer;
+    // Reads as delivered until the request has been written
+    buffer.put(position + 8, (byte) 1);
+    buffer.putInt(position, length);
+    segment.writePosition += length;
+    // Keeps the segment from being deleted as delivered until the request is committed
+    segment.pendingRecords++;
+    segment.pins++;
+    if (previous != null) {
+      previous.pins++;
+    }
+    return new PreparedRequest(segment, position, length, previous);
+  }
+
+  /**
+   * Gives up on a record of {@code segment} whose request failed to be written. The record reads as
+   * delivered.
+   */
+  private synchronized void abandon(Segment segment) {
+    segment.pendingRecords--;
+    if (segment.pendingRecords == 0 && segment != writeSegment && !segment.released) {
+      deleteSegment(segment);
+    }
+  }
+
+  /** Returns the oldest request which hasn't been delivered, or {@code null} if there is none. */
+  @Nullable
+  public synchronized SpooledRequest peek() {
+    return next(-1);
+  }
+
+  /**
+   * Returns the oldest request which hasn't been delivered and whose sequence number is greater
+   * than {@code sequence}, or {@code null} if there is none.
+   */
+  @Nullable
+  public synchronized SpooledRequest next(long sequence) {
+    Map.Entry<Long, Record> entry = records.higherEntry(sequence);
+    if (closed || entry == null) {
+      return null;
+    }
+    Record record = entry.getValue();
+    byte[] request = new byte[record.length];
+    ByteBuffer buffer = record.segment.buffer.duplicate();
+    buffer.position(record.position + RECORD_HEADER_SIZE);
+    buffer.get(request);
+    return new SpooledRequest(record.sequence, request);
+  }
+
+  /**
+   * Marks the request with sequence number {@code sequence} as delivered, deleting its segment once
+   * all requests in the segment have been delivered.
+   *
+   * @return whether the request was removed, false if it had already been removed or dropped.
+   */
+  public synchronized boolean remove(long sequence) {
+    if (closed) {
+      return false;
+    }
+    Record record = records.remove(sequence);
+    if (record == null) {
+      return false;
+    }
+    Segment segment = record.segment;
+    segment.buffer.put(record.position + 8, (byte) 1);
+    segment.pendingRecords--;
+    if (segment.pendingRecords == 0 && segment != writeSegment && !segment.released) {
+      deleteSegment(segment);
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether the request with sequence number {@code sequence} is in the spool, i.e. it
+   * hasn't been removed or dropped and the spool hasn't been closed.
+   */
+  public synchronized boolean contains(long sequence) {
+    return !closed && records.containsKey(sequence);
+  }
+
+  /** Returns the number of requests which haven't been delivered. */
+  public synchronized int size() {
+    return records.size();
+  }
+
+  /**
+   * Flushes the segments to disk and releases the directory. Requests which haven't been delivered
+   * are recovered by the next spool opened in the directory.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    for (Segment segment : segments) {
+      segment.buffer.force();
+      release(segment, /* deleteFile= */ false);
+    }
+    segments.clear();
+    records.clear();
+    writeSegment = null;
+    try {
+      fileLock.release();
+    } finally {
+      lockChannel.close();
+    }
+  }
+
+  @Nullable
+  private Segment newSegment(int recordLength) throws IOException {
+    long capacity = Math.max(segmentSizeBytes, (long) SEGMENT_HEADER_SIZE + recordLength);
+    if (capacity > maxSizeBytes) {
+      return null;
+    }
+    Segment previous = writeSegment;
+    writeSegment = null;
+    if (previous != null) {
+      if (previous.pendingRecords == 0) {
+        deleteSegment(previous);
+      } else {
+        // No more records are appended to the previous segment. So that it survives a system
+        // crash, it's forced to disk once the requests being written to it have been written.
+        previous.forcePending = true;
+      }
+    }
+    while (totalSizeBytes + capacity > maxSizeBytes && !segments.isEmpty()) {
+      dropOldestSegment();
+    }
+
+    Path path =
+        directory.resolve(String.format(Locale.ROOT, "%020d", nextSegmentId++) + SEGMENT_SUFFIX);
+    MappedByteBuffer buffer;
+    try (FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+    buffer.putInt(0, MAGIC);
+    Segment segment = new Segment(path, buffer);
+    segment.writePosition = SEGMENT_HEADER_SIZE;
+    segments.addLast(segment);
+    totalSizeBytes += capacity;
+    writeSegment = segment;
+    return segment;
+  }
+
+  private void dropOldestSegment() {
+    Segment oldest = segments.getFirst();
+    int dropped = 0;
+    // Requests are committed in a different order than their records are reserved in, so the
+    // records of the oldest segment aren't necessarily the oldest records
+    for (Iterator<Record> iterator = records.values().iterator(); iterator.hasNext(); ) {
+      if (iterator.next().segment == oldest) {
+        iterator.remove();
+        dropped++;
+      }
+    }
+    if (dropped > 0) {
+      logger.log(
+          Level.WARNING,
+          "Spool is full, dropping " + dropped + " requests which have not been delivered.");
+    }
+    deleteSegment(oldest);
+  }
+
+  private void deleteSegment(Segment segment) {
+    segments.remove(segment);
+    totalSizeBytes -= segment.capacity();
+    release(segment, /* deleteFile= */ true);
+  }
+
+  /**
+   * Unmaps the segment, and deletes its file if {@code deleteFile}, once no thread writes to it or
+   * forces it to disk anymore.
+   */
+  private static void release(Segment segment, boolean deleteFile) {
+    segment.released = true;
+    segment.deleteFile = deleteFile;
+    if (segment.pins == 0) {
+      unmap(segment);
+    }
+  }
+
+  /**
+   * Unpins the segment, forcing it to disk first if this is the last pin of a segment which is no
+   * longer appended to. Called without holding the lock of the spool.
+   */
+  private void unpin(Segment segment) {
+    if (unpinOrForce(segment)) {
+      try {
+        segment.buffer.force();
+      } finally {
+        // No longer pending, so this unpins the segment
+        unpinOrForce(segment);
+      }
+    }
+  }
+
+  /**
+   * Returns whether the caller has to force the segment to disk, in which case the segment stays
+   * pinned until the caller unpins it again, otherwise unpins the segment.
+   */
+  private synchronized boolean unpinOrForce(Segment segment) {
+    if (segment.pins == 1 && segment.forcePending && !segment.released) {
+      segment.forcePending = false;
+      return true;
+    }
+    segment.pins--;
+    if (segment.pins == 0 && segment.released) {
+      unmap(segment);
+    }
+    return false;
+  }
+
+  private static void unmap(Segment segment) {
+    if (segment.deleteFile) {
+      delete(segment);
+    } else {
+      Unmapper.unmap(segment.buffer);
+    }
+  }
+
+  private static void delete(Segment segment) {
+    // Requests are copied out of the buffer while holding the lock of the spool, and written to it
+    // while the segment is pinned, so nothing accesses the buffer after it has been unmapped
+    Unmapper.unmap(segment.buffer);
+    try {
+      Files.deleteIfExists(segment.path);
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to delete spool segment: " + segment.path, e);
+    }
+  }
+
+  private static MappedByteBuffer map(Path path, long size) throws IOException {
+    try (FileChannel channel =
+        FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+  }
+
+  private static int crc32(ByteBuffer buffer, int position, int length) {
+    ByteBuffer slice = buffer.duplicate();
+    slice.position(position);
+    slice.limit(position + length);
+    CRC32 crc32 = new CRC32();
+    crc32.update(slice);
+    return (int) crc32.getValue();
+  }
+
+  /**
+   * A request read from the spool.
+   *
+   * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+   * at any time.
+   */
+  public static final class SpooledRequest {
+    private final long sequence;
+    private final byte[] request;
+
+    private SpooledRequest(long sequence, byte[] request) {
+      this.sequence = sequence;
+      this.request = request;
+    }
+
+    /** Returns the sequence number to pass to {@link #remove(long)} once delivered. */
+    public long getSequence() {
+      return sequence;
+    }
+
+    /** Returns the request serialized in protobuf binary format. */
+    public byte[] getRequest() {
+      return request;
+    }
+  }
+
+  /**
+   * A request which has been written to the spool but not added to it yet.
+   *
+   * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+   * at any time.
+   */
+  public static final class PreparedRequest {
+    private final Segment segment;
+    private final int position;
+    private final int length;
+    // The previous write segment, if reserving the record started a new segment, which the thread
+    // preparing the request unpins
+    @Nullable private final Segment previousSegment;
+
+    private PreparedRequest(
+        Segment segment, int position, int length, @Nullable Segment previousSegment) {
+      this.segment = segment;
+      this.position = position;
+      this.length = length;
+      this.previousSegment = previousSegment;
+    }
+  }
+
+  private static final class Segment {
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private int writePosition;
+    // The records which haven't been delivered, including those which haven't been committed yet
+    private int pendingRecords;
+    // The number of threads writing to the segment or forcing it to disk, which keep it mapped
+    private int pins;
+    // Whether the segment is no longer appended to and has to be forced to disk once unpinned
+    private boolean forcePending;
+    // Whether the segment has been deleted or the spool closed, in which case the segment is
+    // unmapped once unpinned
+    private boolean released;
+    private boolean deleteFile;
+
+    private Segment(Path path, MappedByteBuffer buffer) {
+      this.path = path;
+      this.buffer = buffer;
+    }
+
+    private int capacity() {
+      return buffer.capacity();
+    }
+  }
+
+  private static final class Record {
+    private final long sequence;
+    private final Segment segment;
+    private final int position;
+    private final int length;
+
+    private Record(long sequence, Segment segment, int position, int length) {
+      this.sequence = sequence;
+      this.segment = segment;
+      this.position = position;
+      this.length = length;
+    }
+  }
+
+  private static final class ByteBufferOutputStream extends OutputStream {
+    private final ByteBuffer buffer;
+
+    private ByteBufferOutputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (!buffer.hasRemaining()) {
+        throw new IOException("Marshaler wrote more than its serialized size");
+      }
+      buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (buffer.remaining() < len) {
+        throw new IOException("Marshaler wrote more than its serialized size");
+      }
+      buffer.put(b, off, len);
+    }
+  }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.spool;
+
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Sends export requests through a {@link Spool}. Each request is appended to the spool before it is
+ * sent, and only removed once the endpoint has responded with anything other than a retryable
+ * error. Requests are sent in the order they were spooled, so requests which failed while the
+ * endpoint was unavailable are replayed before later requests once it has recovered.
+ *
+ * <p>As many requests are in flight at a time as there are requests sent by this process waiting to
+ * be delivered, so that the sender keeps to the concurrency of its callers, such as the maximum
+ * number of concurrent exports of a batch processor. Requests spooled by a previous process are
+ * replayed one at a time.
+ *
+ * <p>Replaying starts when the sender is {@linkplain #start() started}, to deliver requests spooled
+ * by a previous process, and whenever a request is sent while no replay is in progress. It stops at
+ * the first retryable failure, which the callbacks of all requests waiting to be delivered which
+ * aren't in flight are completed with, while their requests stay in the spool. Replaying then
+ * starts again after a delay, which doubles with each consecutive failure up to a maximum, so that
+ * spooled requests are delivered once the endpoint has recovered even if nothing else is sent.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ *
+ * @param <R> the type of response of the {@link Transport}
+ */
+public final class SpoolingSender<R> {
+
+  private static final Logger internalLogger = Logger.getLogger(SpoolingSender.class.getName());
+
+  private static final long INITIAL_REPLAY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final long MAX_REPLAY_DELAY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final ThrottlingLogger logger = new ThrottlingLogger(internalLogger);
+
+  private final Spool spool;
+  private final Transport<R> transport;
+  private final ScheduledExecutorService scheduler;
+  private final long initialReplayDelayNanos;
+
+  private final Object lock = new Object();
+  // The callbacks of requests sent by this process which haven't been delivered, by sequence
+  // number. Guarded by lock.
+  private final NavigableMap<Long, Callbacks<R>> pendingCallbacks = new TreeMap<>();
+  // The sequence numbers of the requests which have been sent and not responded to yet. Guarded by
+  // lock.
+  private final Set<Long> inFlight = new HashSet<>();
+  // Whether spooled requests are being replayed. Guarded by lock.
+  private boolean replaying;
+  // The sequence number of the last request sent by the current replay. Guarded by lock.
+  private long lastSentSequence = -1;
+  // Whether a thread is sending requests, and whether it needs to check for more requests to send
+  // before it stops, so that requests are sent in a loop rather than recursively when the transport
+  // completes them synchronously. Guarded by lock.
+  private boolean sending;
+  private boolean sendAgain;
+  // The replay scheduled after the last retryable failure, if any, and the delay before the next
+  // one. Guarded by lock.
+  @Nullable private ScheduledFuture<?> scheduledReplay;
+  private long replayDelayNanos;
+  // Guarded by lock.
+  private boolean shutdown;
+
+  public SpoolingSender(Spool spool, Transport<R> transport) {
+    this(
+        spool,
+        transport,
+        Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("spooling-sender")),
+        INITIAL_REPLAY_DELAY_NANOS);
+  }
+
+  // Visible for testing
+  SpoolingSender(
+      Spool spool,
+      Transport<R> transport,
+      ScheduledExecutorService scheduler,
+      long initialReplayDelayNanos) {
+    this.spool = spool;
+    this.transport = transport;
+    this.scheduler = scheduler;
+    this.initialReplayDelayNanos = initialReplayDelayNanos;
+    this.replayDelayNanos = initialReplayDelayNanos;
+  }
+
+  /** Starts replaying the requests left in the spool by a previous process, if any. */
+  public void start() {
+    synchronized (lock) {
+      if (replaying || spool.size() == 0) {
+        return;
+      }
+      startReplaying();
+    }
+    sendPending();
+  }
+
+  /**
+   * Appends the request to the spool and sends it after the requests spooled before it. Requests
+   * which can't be spooled are sent directly instead.
+   */
+  public void send(
+      Marshaler request, int contentLength, Consumer<R> onResponse, Consumer<Throwable> onError) {
+    // The request is serialized into the spool outside the lock, which is only held to add it to
+    // the spool along with its callbacks
+    Spool.PreparedRequest prepared;
+    try {
+      prepared = spool.prepare(request);
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to spool request, sending it directly.", e);
+      prepared = null;
+    }
+    long sequence = -1;
+    synchronized (lock) {
+      if (prepared != null) {
+        sequence = spool.commit(prepared);
+      }
+      if (sequence >= 0) {
+        pendingCallbacks.put(sequence, new Callbacks<>(onResponse, onError));
+        if (!replaying) {
+          startReplaying();
+        }
+      }
+    }
+    if (sequence < 0) {
+      transport.send(request, contentLength, onResponse, onError);
+      return;
+    }
+    sendPending();
+  }
+
+  /**
+   * Stops replaying spooled requests, including replays scheduled after a failure. Doesn't close
+   * the spool.
+   */
+  public void shutdown() {
+    synchronized (lock) {
+      shutdown = true;
+      if (scheduledReplay != null) {
+        scheduledReplay.cancel(false);
+        scheduledReplay = null;
+      }
+    }
+    scheduler.shutdown();
+  }
+
+  // Guarded by lock.
+  private void startReplaying() {
+    replaying = true;
+    lastSentSequence = -1;
+  }
+
+  // Guarded by lock.
+  private void scheduleReplay() {
+    if (shutdown || scheduledReplay != null) {
+      return;
+    }
+    try {
+      scheduledReplay =
+          scheduler.schedule(this::replayScheduled, replayDelayNanos, TimeUnit.NANOSECONDS);
+    } catch (RejectedExecutionException e) {
+      logger.log(Level.FINE, "Failed to schedule replaying the spool.", e);
+      return;
+    }
+    replayDelayNanos = Math.min(replayDelayNanos * 2, MAX_REPLAY_DELAY_NANOS);
+  }
+
+  private void replayScheduled() {
+    synchronized (lock) {
+      scheduledReplay = null;
+    }
+    start();
+  }
+
+  private void sendPending() {
+    synchronized (lock) {
+      if (sending) {
+        sendAgain = true;
+        return;
+      }
+      sending = true;
+    }
+    while (true) {
+      Spool.SpooledRequest next = null;
+      List<Callbacks<R>> dropped = new ArrayList<>();
+      synchronized (lock) {
+        // Requests which were dropped from the full spool, or all requests once the spool has been
+        // closed
+        for (Iterator<Map.Entry<Long, Callbacks<R>>> iterator =
+                pendingCallbacks.entrySet().iterator();
+            iterator.hasNext(); ) {
+          Map.Entry<Long, Callbacks<R>> entry = iterator.next();
+          if (!inFlight.contains(entry.getKey()) && !spool.contains(entry.getKey())) {
+            dropped.add(entry.getValue());
+            iterator.remove();
+          }
+        }
+        if (replaying && inFlight.size() < Math.max(1, pendingCallbacks.size())) {
+          next = spool.next(lastSentSequence);
+          // Skip requests still in flight from before the last retryable failure
+          while (next != null && inFlight.contains(next.getSequence())) {
+            next = spool.next(next.getSequence());
+          }
+          if (next == null) {
+            replaying = false;
+          } else {
+            lastSentSequence = next.getSequence();
+            inFlight.add(next.getSequence());
+          }
+        }
+        if (next == null && dropped.isEmpty()) {
+          if (!sendAgain) {
+            sending = false;
+            return;
+          }
+          sendAgain = false;
+        }
+      }
+      for (Callbacks<R> callbacks : dropped) {
+        callbacks.onError.accept(new IOException("Request is no longer in the spool."));
+      }
+      if (next != null) {
+        long sequence = next.getSequence();
+        transport.send(
+            new SpooledRequestMarshaler(next.getRequest()),
+            next.getRequest().length,
+            response -> onResponse(sequence, response),
+            e -> onError(sequence, e));
+      }
+    }
+  }
+
+  private void onResponse(long sequence, R response) {
+    List<Callbacks<R>> completed;
+    if (transport.isRetryable(response)) {
+      completed = stopReplaying(sequence);
+    } else {
+      // Delivered, or rejected in a way that retrying won't fix
+      completed = new ArrayList<>(1);
+      synchronized (lock) {
+        replayDelayNanos = initialReplayDelayNanos;
+        inFlight.remove(sequence);
+        spool.remove(sequence);
+        Callbacks<R> callbacks = pendingCallbacks.remove(sequence);
+        if (callbacks != null) {
+          completed.add(callbacks);
+        }
+      }
+    }
+    for (Callbacks<R> callbacks : completed) {
+      callbacks.onResponse.accept(response);
+    }
+    sendPending();
+  }
+
+  private void onError(long sequence, Throwable e) {
+    for (Callbacks<R> callbacks : stopReplaying(sequence)) {
+      callbacks.onError.accept(e);
+    }
+    sendPending();
+  }
+
+  /**
+   * Stops replaying after the request with sequence number {@code sequence} failed, returning the
+   * callbacks of the request and of the requests waiting to be sent, which are completed with the
+   * failure. Requests still in flight complete on their own.
+   */
+  private List<Callbacks<R>> stopReplaying(long sequence) {
+    synchronized (lock) {
+      replaying = false;
+      inFlight.remove(sequence);
+      scheduleReplay();
+      List<Callbacks<R>> callbacks = new ArrayList<>();
+      for (Iterator<Map.Entry<Long, Callbacks<R>>> iterator =
+              pendingCallbacks.entrySet().iterator();
+          iterator.hasNext(); ) {
+        Map.Entry<Long, Callbacks<R>> entry = iterator.next();
+        if (!inFlight.contains(entry.getKey())) {
+          callbacks.add(entry.getValue());
+          iterator.remove();
+        }
+      }
+      return callbacks;
+    }
+  }
+
+  /**
+   * Sends requests to the endpoint.
+   *
+   * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+   * at any time.
+   *
+   * @param <R> the type of response
+   */
+  public interface Transport<R> {
+
+    /** Sends the request, like {@code HttpSender#send}. */
+    void send(
+        Marshaler request, int contentLength, Consumer<R> onResponse, Consumer<Throwable> onError);
+
+    /** Returns whether the request which received {@code response} should be sent again. */
+    boolean isRetryable(R response);
+  }
+
+  /** Writes a request read from the spool as is. */
+  private static final class SpooledRequestMarshaler extends Marshaler {
+    private final byte[] request;
+
+    private SpooledRequestMarshaler(byte[] request) {
+      this.request = request;
+    }
+
+    @Override
+    public int getBinarySerializedSize() {
+      return request.length;
+    }
+
+    @Override
+    protected void writeTo(Serializer output) throws IOException {
+      output.writeSerializedMessage(request, "");
+    }
+  }
+
+  private static final class Callbacks<R> {
+    private final Consumer<R> onResponse;
+    private final Consumer<Throwable> onError;
+
+    private Callbacks(Consumer<R> onResponse, Consumer<Throwable> onError) {
+      this.onResponse = onResponse;
+      this.onError = onError;
+    }
+  }
+}
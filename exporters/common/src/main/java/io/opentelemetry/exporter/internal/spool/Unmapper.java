@@ -0,0 +1,80 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.spool;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Unmaps {@link MappedByteBuffer}s, which the JDK otherwise only does once they're garbage
+ * collected. Until then, the disk space of a deleted file isn't reclaimed, and deleting the file
+ * fails on Windows.
+ */
+final class Unmapper {
+
+  private static final Logger logger = Logger.getLogger(Unmapper.class.getName());
+
+  @Nullable private static final Method invokeCleaner;
+  @Nullable private static final Object unsafe;
+  @Nullable private static final Method cleaner;
+  @Nullable private static final Method clean;
+
+  static {
+    Method invokeCleanerMethod = null;
+    Object unsafeInstance = null;
+    Method cleanerMethod = null;
+    Method cleanMethod = null;
+    try {
+      // Java 9+
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      invokeCleanerMethod = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      Field field = unsafeClass.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      unsafeInstance = field.get(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      invokeCleanerMethod = null;
+      try {
+        // Java 8
+        cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+        cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+      } catch (ReflectiveOperationException | RuntimeException e2) {
+        cleanerMethod = null;
+        cleanMethod = null;
+      }
+    }
+    invokeCleaner = invokeCleanerMethod;
+    unsafe = unsafeInstance;
+    cleaner = cleanerMethod;
+    clean = cleanMethod;
+  }
+
+  /**
+   * Unmaps {@code buffer}, which must not be accessed anymore, including through buffers derived
+   * from it. Does nothing if the JVM doesn't allow unmapping buffers, leaving them to the garbage
+   * collector.
+   */
+  static void unmap(MappedByteBuffer buffer) {
+    try {
+      if (invokeCleaner != null) {
+        invokeCleaner.invoke(unsafe, buffer);
+      } else if (cleaner != null && clean != null) {
+        Object bufferCleaner = cleaner.invoke(buffer);
+        if (bufferCleaner != null) {
+          clean.invoke(bufferCleaner);
+        }
+      }
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      logger.log(Level.FINE, "Failed to unmap spool segment", e);
+    }
+  }
+
+  private Unmapper() {}
+}
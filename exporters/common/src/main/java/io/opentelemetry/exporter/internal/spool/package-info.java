@@ -0,0 +1,10 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+/** Persistent spooling of export requests while the endpoint is unavailable. */
+@ParametersAreNonnullByDefault
+package io.opentelemetry.exporter.internal.spool;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,144 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.compression;
+
+import static org.assertj.core.api.Assertions.as;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.luben.zstd.ZstdInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class CompressorTest {
+
+  private static final byte[] DATA;
+
+  static {
+    StringBuilder data = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      data.append("key").append(i % 10).append("=value").append(i).append(';');
+    }
+    DATA = data.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static Stream<Arguments> compressors() {
+    return Stream.of(
+        Arguments.of(GzipCompressor.getInstance(), (Decompressor) GZIPInputStream::new),
+        Arguments.of(ZstdCompressor.getInstance(), (Decompressor) ZstdInputStream::new),
+        Arguments.of(Lz4Compressor.getInstance(), (Decompressor) LZ4FrameInputStream::new));
+  }
+
+  @ParameterizedTest
+  @MethodSource("compressors")
+  void roundTrip(Compressor compressor, Decompressor decompressor) throws IOException {
+    byte[] compressed = compress(compressor, DATA);
+
+    assertThat(compressed.length).isLessThan(DATA.length);
+    assertThat(decompress(decompressor, compressed)).isEqualTo(DATA);
+    // Streams after the first may reuse pooled state
+    assertThat(decompress(decompressor, compress(compressor, DATA))).isEqualTo(DATA);
+    assertThat(decompress(decompressor, compress(compressor, new byte[0]))).isEmpty();
+  }
+
+  @Test
+  void registered() {
+    assertThat(CompressorUtil.validateAndResolveCompressor("gzip"))
+        .isSameAs(GzipCompressor.getInstance());
+    assertThat(CompressorUtil.validateAndResolveCompressor("zstd"))
+        .isSameAs(ZstdCompressor.getInstance());
+    assertThat(CompressorUtil.validateAndResolveCompressor("lz4"))
+        .isSameAs(Lz4Compressor.getInstance());
+  }
+
+  @Test
+  void gzip_Concurrent() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    Compressor compressor = GzipCompressor.getInstance();
+    try {
+      List<Future<byte[]>> results = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        byte[] data = ("request " + i).getBytes(StandardCharsets.UTF_8);
+        results.add(
+            executor.submit(() -> decompress(GZIPInputStream::new, compress(compressor, data))));
+      }
+      for (int i = 0; i < 100; i++) {
+        assertThat(new String(results.get(i).get(), StandardCharsets.UTF_8))
+            .isEqualTo("request " + i);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void gzip_ReleasesDeflaterIfHeaderFails() throws IOException {
+    GzipCompressor compressor = GzipCompressor.getInstance();
+    // Pool a deflater, so that a failed stream takes it from the pool
+    compress(compressor, "request".getBytes(StandardCharsets.UTF_8));
+    List<Object> pooled = new ArrayList<>();
+    assertThat(compressor)
+        .extracting("deflaters", as(InstanceOfAssertFactories.COLLECTION))
+        .satisfies(pooled::addAll);
+
+    assertThatThrownBy(
+            () ->
+                compressor.compress(
+                    new OutputStream() {
+                      @Override
+                      public void write(int b) throws IOException {
+                        throw new IOException("closed");
+                      }
+                    }))
+        .isInstanceOf(IOException.class)
+        .hasMessage("closed");
+    assertThat(compressor)
+        .extracting("deflaters", as(InstanceOfAssertFactories.COLLECTION))
+        .containsExactlyInAnyOrderElementsOf(pooled);
+  }
+
+  private static byte[] compress(Compressor compressor, byte[] data) throws IOException {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (OutputStream out = compressor.compress(compressed)) {
+      out.write(data);
+    }
+    return compressed.toByteArray();
+  }
+
+  private static byte[] decompress(Decompressor decompressor, byte[] data) throws IOException {
+    ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+    try (InputStream in = decompressor.decompress(new ByteArrayInputStream(data))) {
+      byte[] buffer = new byte[1024];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        decompressed.write(buffer, 0, read);
+      }
+    }
+    return decompressed.toByteArray();
+  }
+
+  @FunctionalInterface
+  private interface Decompressor {
+    InputStream decompress(InputStream in) throws IOException;
+  }
+}
@@ -6,10 +6,13 @@
 package io.opentelemetry.exporter.internal.grpc;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.opentelemetry.exporter.internal.compression.GzipCompressor;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.spool.Spool;
 import java.net.URI;
+import java.nio.file.Paths;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -49,4 +52,14 @@ class GrpcExporterBuilderTest {
 
     assertThat(builder).extracting("compressor").isNull();
   }
+
+  @Test
+  void spoolInvalid() {
+    assertThatThrownBy(() -> builder.setSpool(null, 1024))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("directory");
+    assertThatThrownBy(() -> builder.setSpool(Paths.get("spool"), Spool.MIN_SIZE_BYTES - 1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxSizeBytes must be at least " + Spool.MIN_SIZE_BYTES);
+  }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.grpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.Serializer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+class MarshalerInputStreamTest {
+
+  // Large enough to span several pooled buffers
+  private static final int COUNT = 10_000;
+
+  private static final Marshaler MARSHALER =
+      new Marshaler() {
+        @Override
+        public int getBinarySerializedSize() {
+          return COUNT * 8;
+        }
+
+        @Override
+        protected void writeTo(Serializer output) throws IOException {
+          for (int i = 0; i < COUNT; i++) {
+            output.writeFixed64Value(i);
+          }
+        }
+      };
+
+  @Test
+  void drainTo() throws IOException {
+    MarshalerInputStream stream = new MarshalerInputStream(MARSHALER);
+    assertThat(stream.available()).isEqualTo(COUNT * 8);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThat(stream.drainTo(out)).isEqualTo(COUNT * 8);
+    assertThat(out.toByteArray()).isEqualTo(expected());
+    assertThat(stream.available()).isEqualTo(0);
+    assertThat(stream.read()).isEqualTo(-1);
+  }
+
+  @Test
+  void read() throws IOException {
+    MarshalerInputStream stream = new MarshalerInputStream(MARSHALER);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    out.write(stream.read());
+    assertThat(stream.available()).isEqualTo(COUNT * 8 - 1);
+    byte[] chunk = new byte[1000];
+    int read;
+    while ((read = stream.read(chunk, 0, chunk.length)) != -1) {
+      out.write(chunk, 0, read);
+    }
+
+    assertThat(out.toByteArray()).isEqualTo(expected());
+    assertThat(stream.available()).isEqualTo(0);
+    assertThat(stream.read()).isEqualTo(-1);
+  }
+
+  @Test
+  void readThenDrainTo() throws IOException {
+    MarshalerInputStream stream = new MarshalerInputStream(MARSHALER);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    byte[] chunk = new byte[100];
+    assertThat(stream.read(chunk, 0, chunk.length)).isEqualTo(100);
+    out.write(chunk);
+    assertThat(stream.drainTo(out)).isEqualTo(COUNT * 8 - 100);
+
+    assertThat(out.toByteArray()).isEqualTo(expected());
+  }
+
+  private static byte[] expected() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MARSHALER.writeBinaryTo(out);
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.marshal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ByteBufferChainOutputStreamTest {
+
+  private final ByteBufferPool pool = new ByteBufferPool(16, 4);
+  private final ByteBufferChainOutputStream os = new ByteBufferChainOutputStream(pool);
+
+  @Test
+  void writeAcrossBuffers() {
+    byte[] data = new byte[40];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) i;
+    }
+    os.write(data[0]);
+    os.write(data, 1, 38);
+    os.write(data[39]);
+
+    assertThat(os.size()).isEqualTo(40);
+    List<ByteBuffer> buffers = os.toByteBuffers();
+    assertThat(buffers).hasSize(3);
+    assertThat(buffers.get(0).isDirect()).isTrue();
+    assertThat(toByteArray(buffers)).isEqualTo(data);
+    // Each call returns new views which can be read again
+    assertThat(toByteArray(os.toByteBuffers())).isEqualTo(data);
+  }
+
+  @Test
+  void reset() {
+    os.write(new byte[40], 0, 40);
+    assertThat(pool.pooledBuffers()).isEqualTo(0);
+
+    os.reset();
+    assertThat(os.size()).isEqualTo(0);
+    assertThat(os.toByteBuffers()).isEmpty();
+    assertThat(pool.pooledBuffers()).isEqualTo(3);
+
+    // Pooled buffers are reused and cleared
+    os.write(new byte[] {1, 2}, 0, 2);
+    assertThat(pool.pooledBuffers()).isEqualTo(2);
+    assertThat(toByteArray(os.toByteBuffers())).containsExactly(1, 2);
+  }
+
+  @Test
+  void reset_PoolFull() {
+    os.write(new byte[100], 0, 100);
+
+    os.reset();
+    assertThat(pool.pooledBuffers()).isEqualTo(4);
+  }
+
+  @Test
+  void directBuffersCapped() {
+    os.write(new byte[100], 0, 100);
+
+    List<ByteBuffer> buffers = os.toByteBuffers();
+    assertThat(buffers).hasSize(7);
+    // The pool allocates as many direct buffers as it holds, and heap buffers beyond that
+    assertThat(buffers.subList(0, 4)).allMatch(ByteBuffer::isDirect);
+    assertThat(buffers.subList(4, 7)).noneMatch(ByteBuffer::isDirect);
+  }
+
+  @Test
+  void discard() {
+    os.write(new byte[100], 0, 100);
+
+    os.discard();
+    assertThat(os.size()).isEqualTo(0);
+    assertThat(os.toByteBuffers()).isEmpty();
+    assertThat(pool.pooledBuffers()).isEqualTo(0);
+
+    // Discarded direct buffers are replaced with new ones
+    os.write(new byte[100], 0, 100);
+    assertThat(os.toByteBuffers().subList(0, 4)).allMatch(ByteBuffer::isDirect);
+  }
+
+  private static byte[] toByteArray(List<ByteBuffer> buffers) {
+    int size = 0;
+    for (ByteBuffer buffer : buffers) {
+      size += buffer.remaining();
+    }
+    byte[] bytes = new byte[size];
+    int offset = 0;
+    for (ByteBuffer buffer : buffers) {
+      int remaining = buffer.remaining();
+      buffer.get(bytes, offset, remaining);
+      offset += remaining;
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.spool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.internal.testing.slf4j.SuppressLogger;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpoolTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void appendPeekRemove() throws IOException {
+    try (Spool spool = Spool.open(directory, 1024 * 1024)) {
+      assertThat(spool.peek()).isNull();
+
+      long first = spool.append(request("first"));
+      long second = spool.append(request("second"));
+      assertThat(spool.size()).isEqualTo(2);
+
+      Spool.SpooledRequest head = spool.peek();
+      assertThat(head).isNotNull();
+      assertThat(head.getSequence()).isEqualTo(first);
+      assertThat(new String(head.getRequest(), StandardCharsets.UTF_8)).isEqualTo("first");
+
+      assertThat(spool.remove(first)).isTrue();
+      assertThat(spool.remove(first)).isFalse();
+      assertThat(spool.contains(first)).isFalse();
+
+      head = spool.peek();
+      assertThat(head).isNotNull();
+      assertThat(head.getSequence()).isEqualTo(second);
+      assertThat(new String(head.getRequest(), StandardCharsets.UTF_8)).isEqualTo("second");
+      assertThat(spool.remove(second)).isTrue();
+      assertThat(spool.peek()).isNull();
+    }
+  }
+
+  @Test
+  void removeOutOfOrder() throws IOException {
+    try (Spool spool = Spool.open(directory, 1024, 64)) {
+      long first = spool.append(request("first"));
+      long second = spool.append(request("second"));
+      long third = spool.append(request("third"));
+
+      Spool.SpooledRequest next = spool.next(first);
+      assertThat(next).isNotNull();
+      assertThat(next.getSequence()).isEqualTo(second);
+
+      assertThat(spool.remove(second)).isTrue();
+      assertThat(spool.contains(first)).isTrue();
+      assertThat(spool.contains(second)).isFalse();
+      next = spool.next(first);
+      assertThat(next).isNotNull();
+      assertThat(next.getSequence()).isEqualTo(third);
+
+      assertThat(spool.remove(third)).isTrue();
+      assertThat(spool.remove(first)).isTrue();
+      assertThat(spool.size()).isZero();
+      assertThat(spool.peek()).isNull();
+    }
+  }
+
+  @Test
+  void recoversUndeliveredRequests() throws IOException {
+    try (Spool spool = Spool.open(directory, 1024 * 1024)) {
+      spool.append(request("first"));
+      spool.append(request("second"));
+      spool.append(request("third"));
+      spool.remove(spool.peek().getSequence());
+    }
+
+    try (Spool spool = Spool.open(directory, 1024 * 1024)) {
+      assertThat(spool.size()).isEqualTo(2);
+      assertThat(takeAll(spool)).containsExactly("second", "third");
+      spool.append(request("fourth"));
+    }
+
+    try (Spool spool = Spool.open(directory, 1024 * 1024)) {
+      assertThat(takeAll(spool)).containsExactly("fourth");
+    }
+  }
+
+  @Test
+  void deletesDeliveredSegments() throws IOException {
+    try (Spool spool = Spool.open(directory, 1024, 64)) {
+      for (int i = 0; i < 10; i++) {
+        spool.append(request("request-" + i));
+      }
+      // Three requests per segment
+      assertThat(segmentCount()).isEqualTo(4);
+      takeAll(spool);
+      // The segment being appended to is kept
+      assertThat(segmentCount()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  @SuppressLogger(Spool.class)
+  void dropsOldestRequestsWhenFull() throws IOException {
+    // Room for three requests per segment and four segments
+    try (Spool spool = Spool.open(directory, 256, 64)) {
+      for (int i = 0; i < 20; i++) {
+        assertThat(spool.append(request("request-" + i))).isGreaterThanOrEqualTo(0);
+      }
+      assertThat(takeAll(spool))
+          .containsExactlyElementsOf(
+              IntStream.range(9, 20).mapToObj(i -> "request-" + i).collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  void rejectsRequestLargerThanMaxSize() throws IOException {
+    try (Spool spool = Spool.open(directory, 64, 32)) {
+      assertThat(spool.append(request(new String(new char[100])))).isEqualTo(-1);
+      assertThat(spool.size()).isZero();
+    }
+  }
+
+  @Test
+  @SuppressLogger(Spool.class)
+  void ignoresTornRecords() throws IOException {
+    try (Spool spool = Spool.open(directory, 1024 * 1024)) {
+      spool.append(request("first"));
+      spool.append(request("second"));
+    }
+    // Corrupt the last byte of the second request
+    Path segment;
+    try (Stream<Path> files = Files.list(directory)) {
+      segment = files.filter(path -> path.toString().endsWith(".spool")).findFirst().get();
+    }
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {'!'}), 4 + (9 + 5) + 9 + 6 - 1);
+    }
+
+    try (Spool spool = Spool.open(directory, 1024 * 1024)) {
+      assertThat(takeAll(spool)).containsExactly("first");
+    }
+  }
+
+  @Test
+  void preparedRequestsAddedInOrderOfCommit() throws IOException {
+    try (Spool spool = Spool.open(directory, 1024 * 1024)) {
+      Spool.PreparedRequest first = spool.prepare(request("first"));
+      Spool.PreparedRequest second = spool.prepare(request("second"));
+      assertThat(first).isNotNull();
+      assertThat(second).isNotNull();
+      // Not in the spool until committed
+      assertThat(spool.size()).isZero();
+
+      assertThat(spool.commit(second)).isGreaterThanOrEqualTo(0);
+      assertThat(spool.commit(first)).isGreaterThanOrEqualTo(0);
+      assertThat(takeAll(spool)).containsExactly("second", "first");
+    }
+  }
+
+  @Test
+  void skipsRecordsWhichFailedToBeWritten() throws IOException {
+    Marshaler failing =
+        new Marshaler() {
+          @Override
+          public int getBinarySerializedSize() {
+            return 10;
+          }
+
+          @Override
+          protected void writeTo(Serializer output) throws IOException {
+            output.writeSerializedMessage(new byte[5], "");
+            throw new IOException("failed");
+          }
+        };
+    try (Spool spool = Spool.open(directory, 1024 * 1024)) {
+      spool.append(request("first"));
+      assertThatThrownBy(() -> spool.append(failing)).isInstanceOf(IOException.class);
+      spool.append(request("second"));
+      assertThat(spool.size()).isEqualTo(2);
+    }
+
+    try (Spool spool = Spool.open(directory, 1024 * 1024)) {
+      assertThat(takeAll(spool)).containsExactly("first", "second");
+    }
+  }
+
+  @Test
+  void directoryInUse() throws IOException {
+    try (Spool unused = Spool.open(directory, 1024 * 1024)) {
+      assertThatThrownBy(() -> Spool.open(directory, 1024 * 1024))
+          .isInstanceOf(IOException.class)
+          .hasMessageStartingWith("Spool directory is in use");
+    }
+  }
+
+  @Test
+  void closed() throws IOException {
+    Spool spool = Spool.open(directory, 1024 * 1024);
+    long sequence = spool.append(request("first"));
+    spool.close();
+
+    assertThat(spool.append(request("second"))).isEqualTo(-1);
+    assertThat(spool.peek()).isNull();
+    assertThat(spool.remove(sequence)).isFalse();
+  }
+
+  private long segmentCount() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(path -> path.toString().endsWith(".spool")).count();
+    }
+  }
+
+  private static List<String> takeAll(Spool spool) {
+    List<String> requests = new ArrayList<>();
+    Spool.SpooledRequest request;
+    while ((request = spool.peek()) != null) {
+      requests.add(new String(request.getRequest(), StandardCharsets.UTF_8));
+      spool.remove(request.getSequence());
+    }
+    return requests;
+  }
+
+  static Marshaler request(String request) {
+    byte[] bytes = request.getBytes(StandardCharsets.UTF_8);
+    return new Marshaler() {
+      @Override
+      public int getBinarySerializedSize() {
+        return bytes.length;
+      }
+
+      @Override
+      protected void writeTo(Serializer output) throws IOException {
+        output.writeSerializedMessage(bytes, request);
+      }
+    };
+  }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.spool;
+
+import static io.opentelemetry.exporter.internal.spool.SpoolTest.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpoolingSenderTest {
+
+  private static final int OK = 200;
+  private static final int UNAVAILABLE = 503;
+  private static final int BAD_REQUEST = 400;
+
+  @TempDir Path directory;
+
+  private final FakeTransport transport = new FakeTransport();
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  private final List<String> results = new ArrayList<>();
+  private Spool spool;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    spool = Spool.open(directory, 1024 * 1024);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    scheduler.shutdownNow();
+    spool.close();
+  }
+
+  /** Returns a sender which doesn't replay on its own within the test. */
+  private SpoolingSender<Integer> newSender() {
+    return new SpoolingSender<>(spool, transport, scheduler, TimeUnit.HOURS.toNanos(1));
+  }
+
+  @Test
+  void send_Delivered() {
+    SpoolingSender<Integer> sender = newSender();
+
+    transport.status = OK;
+    send(sender, "first");
+    send(sender, "second");
+
+    assertThat(transport.sent).containsExactly("first", "second");
+    assertThat(results).containsExactly("first=200", "second=200");
+    assertThat(spool.size()).isZero();
+  }
+
+  @Test
+  void send_ReplaysInOrderOnceAvailable() {
+    SpoolingSender<Integer> sender = newSender();
+
+    transport.status = UNAVAILABLE;
+    send(sender, "first");
+    send(sender, "second");
+    // Each send first retries the oldest request, which fails again
+    assertThat(transport.sent).containsExactly("first", "first");
+    assertThat(results).containsExactly("first=503", "second=503");
+    assertThat(spool.size()).isEqualTo(2);
+
+    transport.status = OK;
+    send(sender, "third");
+    assertThat(transport.sent).containsExactly("first", "first", "first", "second", "third");
+    assertThat(results).containsExactly("first=503", "second=503", "third=200");
+    assertThat(spool.size()).isZero();
+  }
+
+  @Test
+  void send_Error() {
+    SpoolingSender<Integer> sender = newSender();
+
+    transport.error = new IOException("connection refused");
+    send(sender, "first");
+    assertThat(results).containsExactly("first=connection refused");
+    assertThat(spool.size()).isEqualTo(1);
+
+    transport.error = null;
+    transport.status = OK;
+    send(sender, "second");
+    assertThat(transport.sent).containsExactly("first", "first", "second");
+    assertThat(spool.size()).isZero();
+  }
+
+  @Test
+  void send_NotRetryableRemoved() {
+    SpoolingSender<Integer> sender = newSender();
+
+    transport.status = BAD_REQUEST;
+    send(sender, "first");
+    assertThat(results).containsExactly("first=400");
+    assertThat(spool.size()).isZero();
+  }
+
+  @Test
+  void start_ReplaysPreviousProcess() throws IOException {
+    spool.append(request("first"));
+    spool.append(request("second"));
+    spool.close();
+    spool = Spool.open(directory, 1024 * 1024);
+
+    transport.status = OK;
+    newSender().start();
+    assertThat(transport.sent).containsExactly("first", "second");
+    assertThat(spool.size()).isZero();
+  }
+
+  @Test
+  void start_ReplaysPreviousProcessOneAtATime() throws IOException {
+    spool.append(request("first"));
+    spool.append(request("second"));
+
+    transport.deferred = true;
+    newSender().start();
+    assertThat(transport.sent).containsExactly("first");
+
+    transport.complete(0, OK);
+    assertThat(transport.sent).containsExactly("first", "second");
+    transport.complete(1, OK);
+    assertThat(spool.size()).isZero();
+  }
+
+  @Test
+  void start_LongBacklogSentIteratively() throws IOException {
+    for (int i = 0; i < 20_000; i++) {
+      spool.append(request("request-" + i));
+    }
+
+    transport.status = OK;
+    newSender().start();
+    assertThat(transport.sent).hasSize(20_000);
+    assertThat(spool.size()).isZero();
+  }
+
+  @Test
+  void send_Concurrent() {
+    SpoolingSender<Integer> sender = newSender();
+
+    transport.deferred = true;
+    send(sender, "first");
+    send(sender, "second");
+    send(sender, "third");
+    // Each request waiting to be delivered may be in flight
+    assertThat(transport.sent).containsExactly("first", "second", "third");
+
+    transport.complete(1, OK);
+    assertThat(results).containsExactly("second=200");
+    transport.complete(2, UNAVAILABLE);
+    assertThat(results).containsExactly("second=200", "third=503");
+    transport.complete(0, OK);
+    assertThat(results).containsExactly("second=200", "third=503", "first=200");
+    assertThat(spool.size()).isEqualTo(1);
+
+    // The failed request is replayed before the next one
+    send(sender, "fourth");
+    assertThat(transport.sent).containsExactly("first", "second", "third", "third");
+    transport.complete(3, OK);
+    assertThat(transport.sent).containsExactly("first", "second", "third", "third", "fourth");
+    transport.complete(4, OK);
+    assertThat(results)
+        .containsExactly("second=200", "third=503", "first=200", "fourth=200");
+    assertThat(spool.size()).isZero();
+  }
+
+  @Test
+  void replaysAfterRetryableFailure() {
+    SpoolingSender<Integer> sender =
+        new SpoolingSender<>(spool, transport, scheduler, TimeUnit.MILLISECONDS.toNanos(10));
+
+    transport.status = UNAVAILABLE;
+    send(sender, "first");
+    send(sender, "second");
+    assertThat(results).containsExactly("first=503", "second=503");
+
+    // Replays on its own once the endpoint has recovered, without anything else being sent
+    transport.status = OK;
+    await().untilAsserted(() -> assertThat(spool.size()).isZero());
+
+    sender.shutdown();
+    assertThat(scheduler.isShutdown()).isTrue();
+  }
+
+  @Test
+  void send_NotSpooledSentDirectly() throws IOException {
+    SpoolingSender<Integer> sender = newSender();
+    spool.close();
+
+    transport.status = UNAVAILABLE;
+    send(sender, "first");
+    assertThat(transport.sent).containsExactly("first");
+    assertThat(results).containsExactly("first=503");
+  }
+
+  private void send(SpoolingSender<Integer> sender, String request) {
+    sender.send(
+        request(request),
+        request.length(),
+        status -> results.add(request + "=" + status),
+        error -> results.add(request + "=" + error.getMessage()));
+  }
+
+  /**
+   * Completes requests synchronously with the configured status or error, or once {@linkplain
+   * #complete(int, int) completed} by the test if deferred.
+   */
+  private static class FakeTransport implements SpoolingSender.Transport<Integer> {
+    private final List<String> sent = new ArrayList<>();
+    private final List<Consumer<Integer>> responseCallbacks = new ArrayList<>();
+    private volatile int status;
+    @Nullable private IOException error;
+    private boolean deferred;
+
+    @Override
+    public void send(
+        Marshaler request,
+        int contentLength,
+        Consumer<Integer> onResponse,
+        Consumer<Throwable> onError) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try {
+        request.writeBinaryTo(out);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      sent.add(new String(out.toByteArray(), StandardCharsets.UTF_8));
+      responseCallbacks.add(onResponse);
+      if (deferred) {
+        return;
+      }
+      if (error != null) {
+        onError.accept(error);
+      } else {
+        onResponse.accept(status);
+      }
+    }
+
+    /** Completes the {@code index}th request sent with {@code status}. */
+    private void complete(int index, int status) {
+      responseCallbacks.get(index).accept(status);
+    }
+
+    @Override
+    public boolean isRetryable(Integer status) {
+      return status == UNAVAILABLE;
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.marshal.Serializer;
+import io.opentelemetry.internal.testing.slf4j.SuppressLogger;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.junitpioneer.jupiter.SetSystemProperty;
+
+@SetSystemProperty(
+    key = "io.opentelemetry.exporter.internal.http.HttpSenderProvider",
+    value = "io.opentelemetry.exporter.sender.okhttp.internal.OkHttpHttpSenderProvider")
+@SuppressLogger(HttpExporter.class)
+class SpoolingHttpSenderTest {
+
+  private static final Queue<String> received = new ConcurrentLinkedQueue<>();
+  private static volatile HttpStatus status = HttpStatus.OK;
+
+  @RegisterExtension
+  static final ServerExtension server =
+      new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+          sb.service(
+              "/v1/traces",
+              (ctx, req) ->
+                  HttpResponse.of(
+                      req.aggregate()
+                          .thenApply(
+                              aggReq -> {
+                                received.add(aggReq.contentUtf8());
+                                return HttpResponse.of(status);
+                              })));
+        }
+      };
+
+  @TempDir Path directory;
+
+  @BeforeEach
+  void reset() {
+    received.clear();
+    status = HttpStatus.OK;
+  }
+
+  @Test
+  void replaysSpooledRequestsInOrder() {
+    HttpExporter<Marshaler> exporter = buildExporter();
+
+    status = HttpStatus.SERVICE_UNAVAILABLE;
+    assertThat(export(exporter, "first")).isFalse();
+    assertThat(export(exporter, "second")).isFalse();
+
+    status = HttpStatus.OK;
+    assertThat(export(exporter, "third")).isTrue();
+    // Each export first sends the oldest request which hasn't been delivered
+    assertThat(received).containsExactly("first", "first", "first", "second", "third");
+
+    exporter.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void replaysSpooledRequestsAfterRestart() {
+    HttpExporter<Marshaler> exporter = buildExporter();
+    status = HttpStatus.SERVICE_UNAVAILABLE;
+    assertThat(export(exporter, "first")).isFalse();
+    assertThat(export(exporter, "second")).isFalse();
+    exporter.shutdown().join(10, TimeUnit.SECONDS);
+
+    received.clear();
+    status = HttpStatus.OK;
+    exporter = buildExporter();
+    await().untilAsserted(() -> assertThat(received).containsExactly("first", "second"));
+
+    exporter.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  private HttpExporter<Marshaler> buildExporter() {
+    return new HttpExporterBuilder<>("exporter", "span", server.httpUri() + "/v1/traces")
+        .setRetryPolicy(null)
+        .setSpool(directory, 1024 * 1024)
+        .build();
+  }
+
+  private static boolean export(HttpExporter<Marshaler> exporter, String request) {
+    return exporter.export(marshaler(request), 1).join(10, TimeUnit.SECONDS).isSuccess();
+  }
+
+  private static Marshaler marshaler(String request) {
+    byte[] bytes = request.getBytes(StandardCharsets.UTF_8);
+    return new Marshaler() {
+      @Override
+      public int getBinarySerializedSize() {
+        return bytes.length;
+      }
+
+      @Override
+      protected void writeTo(Serializer output) throws IOException {
+        output.writeSerializedMessage(bytes, request);
+      }
+    };
+  }
+}
@@ -23,9 +23,11 @@ import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.export.AggregationTemporalitySelector;
 import io.opentelemetry.sdk.metrics.export.DefaultAggregationSelector;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
@@ -234,6 +236,34 @@ public final class OtlpHttpMetricExporterBuilder {
     return this;
   }
 
+  /**
+   * Sets the executor the sender runs its work on, such as serializing requests and scheduling
+   * retries, for senders which use one, such as the JDK {@code HttpClient} based sender. The
+   * executor is not shutdown with the exporter. If unset, the sender creates its own.
+   *
+   * @since 1.45.0
+   */
+  public OtlpHttpMetricExporterBuilder setExecutorService(ExecutorService executorService) {
+    requireNonNull(executorService, "executorService");
+    delegate.setExecutorService(executorService);
+    return this;
+  }
+
+  /**
+   * Spools export requests to disk in {@code directory} until they're delivered, so that requests
+   * which couldn't be delivered while the endpoint was unavailable are sent again once it has
+   * recovered, including by the next process using the directory. The total size of the spool
+   * files is capped at {@code maxSizeBytes}, beyond which the oldest requests are dropped. If
+   * unset, requests aren't spooled.
+   *
+   * @since 1.45.0
+   */
+  public OtlpHttpMetricExporterBuilder setSpool(Path directory, long maxSizeBytes) {
+    requireNonNull(directory, "directory");
+    delegate.setSpool(directory, maxSizeBytes);
+    return this;
+  }
+
   /**
    * Set the {@link MemoryMode}. If unset, defaults to {@link #DEFAULT_MEMORY_MODE}.
    *
@@ -19,8 +19,10 @@ import io.opentelemetry.exporter.otlp.internal.OtlpUserAgent;
 import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.common.export.ProxyOptions;
 import io.opentelemetry.sdk.common.export.RetryPolicy;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
@@ -212,6 +214,34 @@ public final class OtlpHttpSpanExporterBuilder {
     return this;
   }
 
+  /**
+   * Sets the executor the sender runs its work on, such as serializing requests and scheduling
+   * retries, for senders which use one, such as the JDK {@code HttpClient} based sender. The
+   * executor is not shutdown with the exporter. If unset, the sender creates its own.
+   *
+   * @since 1.45.0
+   */
+  public OtlpHttpSpanExporterBuilder setExecutorService(ExecutorService executorService) {
+    requireNonNull(executorService, "executorService");
+    delegate.setExecutorService(executorService);
+    return this;
+  }
+
+  /**
+   * Spools export requests to disk in {@code directory} until they're delivered, so that requests
+   * which couldn't be delivered while the endpoint was unavailable are sent again once it has
+   * recovered, including by the next process using the directory. The total size of the spool
+   * files is capped at {@code maxSizeBytes}, beyond which the oldest requests are dropped. If
+   * unset, requests aren't spooled.
+   *
+   * @since 1.45.0
+   */
+  public OtlpHttpSpanExporterBuilder setSpool(Path directory, long maxSizeBytes) {
+    requireNonNull(directory, "directory");
+    delegate.setSpool(directory, maxSizeBytes);
+    return this;
+  }
+
   /**
    * Set the {@link MemoryMode}. If unset, defaults to {@link #DEFAULT_MEMORY_MODE}.
    *
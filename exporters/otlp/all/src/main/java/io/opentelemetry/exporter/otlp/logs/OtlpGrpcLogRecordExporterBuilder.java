@@ -20,6 +20,7 @@ import io.opentelemetry.exporter.otlp.internal.OtlpUserAgent;
 import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.common.export.RetryPolicy;
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -244,6 +245,21 @@ public final class OtlpGrpcLogRecordExporterBuilder {
     return this;
   }
 
+  /**
+   * Spools export requests to disk in {@code directory} until they're delivered, so that requests
+   * which couldn't be delivered while the endpoint was unavailable are sent again once it has
+   * recovered, including by the next process using the directory. The total size of the spool
+   * files is capped at {@code maxSizeBytes}, beyond which the oldest requests are dropped. If
+   * unset, requests aren't spooled.
+   *
+   * @since 1.45.0
+   */
+  public OtlpGrpcLogRecordExporterBuilder setSpool(Path directory, long maxSizeBytes) {
+    requireNonNull(directory, "directory");
+    delegate.setSpool(directory, maxSizeBytes);
+    return this;
+  }
+
   /**
    * Set the {@link MemoryMode}. If unset, defaults to {@link #DEFAULT_MEMORY_MODE}.
    *
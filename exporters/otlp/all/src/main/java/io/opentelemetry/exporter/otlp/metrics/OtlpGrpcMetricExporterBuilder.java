@@ -24,6 +24,7 @@ import io.opentelemetry.sdk.metrics.export.AggregationTemporalitySelector;
 import io.opentelemetry.sdk.metrics.export.DefaultAggregationSelector;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
@@ -267,6 +268,21 @@ public final class OtlpGrpcMetricExporterBuilder {
     return this;
   }
 
+  /**
+   * Spools export requests to disk in {@code directory} until they're delivered, so that requests
+   * which couldn't be delivered while the endpoint was unavailable are sent again once it has
+   * recovered, including by the next process using the directory. The total size of the spool
+   * files is capped at {@code maxSizeBytes}, beyond which the oldest requests are dropped. If
+   * unset, requests aren't spooled.
+   *
+   * @since 1.45.0
+   */
+  public OtlpGrpcMetricExporterBuilder setSpool(Path directory, long maxSizeBytes) {
+    requireNonNull(directory, "directory");
+    delegate.setSpool(directory, maxSizeBytes);
+    return this;
+  }
+
   /**
    * Set the {@link MemoryMode}. If unset, defaults to {@link #DEFAULT_MEMORY_MODE}.
    *
@@ -7,6 +7,7 @@ package io.opentelemetry.exporter.otlp.http.trace;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.opentelemetry.exporter.internal.http.SpoolingHttpSender;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
 import io.opentelemetry.exporter.internal.otlp.traces.ResourceSpansMarshaler;
 import io.opentelemetry.exporter.otlp.testing.internal.AbstractHttpTelemetryExporterTest;
@@ -17,9 +18,11 @@ import io.opentelemetry.exporter.otlp.testing.internal.TelemetryExporterBuilder;
 import io.opentelemetry.proto.trace.v1.ResourceSpans;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class OtlpHttpSpanExporterOkHttpSenderTest
     extends AbstractHttpTelemetryExporterTest<SpanData, ResourceSpans> {
@@ -54,6 +57,16 @@ class OtlpHttpSpanExporterOkHttpSenderTest
     }
   }
 
+  @Test
+  void spool(@TempDir Path directory) {
+    try (SpanExporter spanExporter =
+        OtlpHttpSpanExporter.builder().setSpool(directory, 1024 * 1024).build()) {
+      assertThat(spanExporter)
+          .extracting("delegate.httpSender")
+          .isInstanceOf(SpoolingHttpSender.class);
+    }
+  }
+
   @Override
   protected TelemetryExporterBuilder<SpanData> exporterBuilder() {
     return new HttpSpanExporterBuilderWrapper(OtlpHttpSpanExporter.builder());
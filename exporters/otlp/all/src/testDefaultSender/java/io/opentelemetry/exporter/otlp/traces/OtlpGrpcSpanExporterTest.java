@@ -7,6 +7,7 @@ package io.opentelemetry.exporter.otlp.traces;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.opentelemetry.exporter.internal.grpc.SpoolingGrpcSender;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
 import io.opentelemetry.exporter.internal.otlp.traces.ResourceSpansMarshaler;
 import io.opentelemetry.exporter.otlp.testing.internal.AbstractGrpcTelemetryExporterTest;
@@ -19,9 +20,11 @@ import io.opentelemetry.proto.trace.v1.ResourceSpans;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
 import java.io.Closeable;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class OtlpGrpcSpanExporterTest extends AbstractGrpcTelemetryExporterTest<SpanData, ResourceSpans> {
 
@@ -61,6 +64,14 @@ class OtlpGrpcSpanExporterTest extends AbstractGrpcTelemetryExporterTest<SpanDat
     }
   }
 
+  @Test
+  void spool(@TempDir Path directory) throws Exception {
+    try (Closeable exporter =
+        OtlpGrpcSpanExporter.builder().setSpool(directory, 1024 * 1024).build()) {
+      assertThat(exporter).extracting("delegate.grpcSender").isInstanceOf(SpoolingGrpcSender.class);
+    }
+  }
+
   @Override
   protected TelemetryExporterBuilder<SpanData> exporterBuilder() {
     return TelemetryExporterBuilder.wrap(OtlpGrpcSpanExporter.builder());
@@ -18,6 +18,8 @@ import io.opentelemetry.exporter.sender.jdk.internal.JdkHttpSender;
 import io.opentelemetry.proto.trace.v1.ResourceSpans;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.Test;
 
 class OtlpHttpSpanExporterJdkSenderTest
@@ -57,6 +59,26 @@ class OtlpHttpSpanExporterJdkSenderTest
     }
   }
 
+  @Test
+  void executorService() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    OtlpHttpSpanExporter exporter =
+        OtlpHttpSpanExporter.builder().setExecutorService(executor).build();
+
+    try {
+      assertThat(exporter)
+          .extracting("delegate")
+          .extracting("httpSender")
+          .extracting("executorService")
+          .isSameAs(executor);
+    } finally {
+      exporter.shutdown();
+      // The executor is not shutdown with the exporter
+      assertThat(executor.isShutdown()).isFalse();
+      executor.shutdown();
+    }
+  }
+
   @Override
   protected SpanData generateFakeTelemetry() {
     return FakeTelemetryUtil.generateFakeSpanData();
@@ -35,6 +35,8 @@ dependencies {
   jmhImplementation("com.fasterxml.jackson.core:jackson-core")
   jmhImplementation("io.opentelemetry.proto:opentelemetry-proto")
   jmhImplementation("io.grpc:grpc-netty")
+  jmhImplementation("com.github.luben:zstd-jni")
+  jmhImplementation("org.lz4:lz4-java")
 }
 
 wire {
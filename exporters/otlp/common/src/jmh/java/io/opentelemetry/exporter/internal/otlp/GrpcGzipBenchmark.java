@@ -14,6 +14,8 @@ import io.opentelemetry.api.metrics.DoubleUpDownCounter;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.LongUpDownCounter;
 import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.exporter.internal.compression.Compressor;
+import io.opentelemetry.exporter.internal.compression.CompressorUtil;
 import io.opentelemetry.exporter.internal.otlp.metrics.ResourceMetricsMarshaler;
 import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
 import io.opentelemetry.proto.metrics.v1.ResourceMetrics;
@@ -30,14 +32,27 @@ import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
+/**
+ * Measures compressing metrics export requests. Besides comparing gRPC's gzip {@link Codec} with no
+ * compression, {@link #compressor(CompressorState, WireCounters)} compares the exporters' {@link
+ * Compressor}s on a small and a large request, reporting the total compressed size of the requests
+ * and their number as the {@code bytesOnWire} and {@code requests} counters next to the time taken
+ * to compress a request.
+ */
 @BenchmarkMode({Mode.AverageTime})
 @OutputTimeUnit(TimeUnit.MICROSECONDS)
 @Warmup(iterations = 5, time = 1)
@@ -46,6 +61,7 @@ import org.openjdk.jmh.annotations.Warmup;
 public class GrpcGzipBenchmark {
 
   private static final ExportMetricsServiceRequest METRICS_REQUEST;
+  private static final ExportMetricsServiceRequest LARGE_METRICS_REQUEST;
   private static final Codec GZIP_CODEC = new Codec.Gzip();
   private static final Codec IDENTITY_CODEC = Codec.Identity.NONE;
 
@@ -121,8 +137,26 @@ public class GrpcGzipBenchmark {
     histogram.record(3.0);
     histogram.record(4.0);
     histogram.record(5.0);
-    Collection<MetricData> metricData = metricReader.collectAllMetrics();
+    METRICS_REQUEST = toRequest(metricReader.collectAllMetrics());
+
+    // Many series of a few instruments, like a typical application exports
+    Meter meter3 = meterProvider.get("largeinstrumentation");
+    LongCounter requests = meter3.counterBuilder("http.server.requests").build();
+    DoubleHistogram durations = meter3.histogramBuilder("http.server.request.duration").build();
+    for (int i = 0; i < 1000; i++) {
+      Attributes attributes =
+          Attributes.builder()
+              .put("http.request.method", i % 2 == 0 ? "GET" : "POST")
+              .put("http.route", "/api/v1/resource/" + (i % 100))
+              .put("http.response.status_code", 200 + (i % 5))
+              .build();
+      requests.add(i, attributes);
+      durations.record(i / 10.0, attributes);
+    }
+    LARGE_METRICS_REQUEST = toRequest(metricReader.collectAllMetrics());
+  }
 
+  private static ExportMetricsServiceRequest toRequest(Collection<MetricData> metricData) {
     List<ResourceMetrics> resourceMetrics =
         Arrays.stream(ResourceMetricsMarshaler.create(metricData))
             .map(
@@ -136,8 +170,42 @@ public class GrpcGzipBenchmark {
                   }
                 })
             .collect(Collectors.toList());
-    METRICS_REQUEST =
-        ExportMetricsServiceRequest.newBuilder().addAllResourceMetrics(resourceMetrics).build();
+    return ExportMetricsServiceRequest.newBuilder().addAllResourceMetrics(resourceMetrics).build();
+  }
+
+  @State(Scope.Benchmark)
+  public static class CompressorState {
+    @Param({"none", "gzip", "zstd", "lz4"})
+    public String compression;
+
+    @Param({"small", "large"})
+    public String request;
+
+    private Compressor compressor;
+    private ExportMetricsServiceRequest metricsRequest;
+
+    @Setup
+    public void setup() {
+      compressor = CompressorUtil.validateAndResolveCompressor(compression);
+      metricsRequest = request.equals("large") ? LARGE_METRICS_REQUEST : METRICS_REQUEST;
+    }
+  }
+
+  /**
+   * Counts the bytes and requests compressed in each iteration. JMH sums events across iterations,
+   * so the average compressed size of a request is {@code bytesOnWire / requests}.
+   */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class WireCounters {
+    public long bytesOnWire;
+    public long requests;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+      bytesOnWire = 0;
+      requests = 0;
+    }
   }
 
   @Benchmark
@@ -157,4 +225,34 @@ public class GrpcGzipBenchmark {
     gzos.close();
     return baos;
   }
+
+  @Benchmark
+  public ByteCountingOutputStream compressor(CompressorState state, WireCounters counters)
+      throws IOException {
+    ByteCountingOutputStream out = new ByteCountingOutputStream();
+    OutputStream compressed = state.compressor == null ? out : state.compressor.compress(out);
+    state.metricsRequest.writeTo(compressed);
+    compressed.close();
+    counters.bytesOnWire += out.count;
+    counters.requests++;
+    return out;
+  }
+
+  /**
+   * Counts the bytes written, without the per byte overhead of {@link TestOutputStream} which would
+   * favor the compressors producing the least output.
+   */
+  public static class ByteCountingOutputStream extends OutputStream {
+    private long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
 }
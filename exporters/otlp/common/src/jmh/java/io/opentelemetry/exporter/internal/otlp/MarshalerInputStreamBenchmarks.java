@@ -9,9 +9,13 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.opentelemetry.exporter.internal.grpc.MarshalerInputStream;
+import io.opentelemetry.exporter.internal.marshal.ByteBufferChainOutputStream;
+import io.opentelemetry.exporter.internal.marshal.ByteBufferPool;
 import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler;
+import io.opentelemetry.sdk.trace.data.SpanData;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -19,6 +23,10 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 
@@ -29,9 +37,30 @@ import org.openjdk.jmh.annotations.Warmup;
 @Fork(1)
 public class MarshalerInputStreamBenchmarks {
 
+  /**
+   * The spans of {@link RequestMarshalState}, including a large request of several megabytes, where
+   * the cost of growing and copying an array of the request's full size shows the most. Run with
+   * {@code -prof gc} to compare the allocations.
+   */
+  @State(Scope.Benchmark)
+  public static class PayloadState {
+    @Param({"16", "512", "16384"})
+    int numSpans;
+
+    List<SpanData> spanDataList;
+
+    @Setup
+    public void setup() {
+      RequestMarshalState state = new RequestMarshalState();
+      state.numSpans = numSpans;
+      state.setup();
+      spanDataList = state.spanDataList;
+    }
+  }
+
   @Benchmark
   @Threads(1)
-  public void marshalToNettyBuffer(RequestMarshalState state) throws IOException {
+  public void marshalToNettyBuffer(PayloadState state) throws IOException {
     MarshalerInputStream stream =
         new MarshalerInputStream(TraceRequestMarshaler.create(state.spanDataList));
     // Roughly reproduce how grpc-netty should behave.
@@ -42,9 +71,35 @@ public class MarshalerInputStreamBenchmarks {
 
   @Benchmark
   @Threads(1)
-  public void marshalToByteArray(RequestMarshalState state) throws IOException {
+  public void marshalToByteArray(PayloadState state) throws IOException {
     MarshalerInputStream stream =
         new MarshalerInputStream(TraceRequestMarshaler.create(state.spanDataList));
     stream.drainTo(new ByteArrayOutputStream(stream.available()));
   }
+
+  /** Reproduces how the JDK sender serializes requests into pooled direct buffers. */
+  @Benchmark
+  @Threads(1)
+  public void marshalToPooledByteBuffers(PayloadState state) throws IOException {
+    MarshalerInputStream stream =
+        new MarshalerInputStream(TraceRequestMarshaler.create(state.spanDataList));
+    ByteBufferChainOutputStream os = new ByteBufferChainOutputStream(ByteBufferPool.getShared());
+    stream.drainTo(os);
+    os.reset();
+  }
+
+  /** Reads the stream like a transport that doesn't support {@code Drainable} would. */
+  @Benchmark
+  @Threads(1)
+  public int readFromStream(PayloadState state) throws IOException {
+    MarshalerInputStream stream =
+        new MarshalerInputStream(TraceRequestMarshaler.create(state.spanDataList));
+    byte[] chunk = new byte[8192];
+    int total = 0;
+    int read;
+    while ((read = stream.read(chunk, 0, chunk.length)) != -1) {
+      total += read;
+    }
+    return total;
+  }
 }
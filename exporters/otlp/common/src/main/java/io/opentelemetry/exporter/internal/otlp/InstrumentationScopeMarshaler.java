@@ -8,16 +8,18 @@ package io.opentelemetry.exporter.internal.otlp;
 import io.opentelemetry.context.internal.shaded.WeakConcurrentMap;
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.SerializedMessage;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.proto.common.v1.internal.InstrumentationScope;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.UncheckedIOException;
 
 /**
  * A Marshaler of {@link InstrumentationScopeInfo}.
  *
+ * <p>Like {@link ResourceMarshaler}, the scope and its schema URL are serialized once, cached by
+ * identity and shared by the marshalers of all signals.
+ *
  * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
  * at any time.
  */
@@ -26,8 +28,8 @@ public final class InstrumentationScopeMarshaler extends MarshalerWithSize {
   private static final WeakConcurrentMap<InstrumentationScopeInfo, InstrumentationScopeMarshaler>
       SCOPE_MARSHALER_CACHE = new WeakConcurrentMap.WithInlinedExpunction<>();
 
-  private final byte[] serializedBinary;
-  private final String serializedJson;
+  private final SerializedMessage serialized;
+  private final byte[] schemaUrlUtf8;
 
   /** Returns a Marshaler for InstrumentationScopeInfo. */
   public static InstrumentationScopeMarshaler create(InstrumentationScopeInfo scopeInfo) {
@@ -43,33 +45,29 @@ public final class InstrumentationScopeMarshaler extends MarshalerWithSize {
       RealInstrumentationScopeMarshaler realMarshaler =
           new RealInstrumentationScopeMarshaler(name, version, attributes);
 
-      ByteArrayOutputStream binaryBos =
-          new ByteArrayOutputStream(realMarshaler.getBinarySerializedSize());
-
-      try {
-        realMarshaler.writeBinaryTo(binaryBos);
-      } catch (IOException e) {
-        throw new UncheckedIOException(
-            "Serialization error, this is likely a bug in OpenTelemetry.", e);
-      }
-
-      String json = MarshalerUtil.preserializeJsonFields(realMarshaler);
-
-      cached = new InstrumentationScopeMarshaler(binaryBos.toByteArray(), json);
+      cached =
+          new InstrumentationScopeMarshaler(
+              SerializedMessage.create(realMarshaler),
+              MarshalerUtil.toBytes(scopeInfo.getSchemaUrl()));
       SCOPE_MARSHALER_CACHE.put(scopeInfo, cached);
     }
     return cached;
   }
 
-  private InstrumentationScopeMarshaler(byte[] binary, String json) {
-    super(binary.length);
-    serializedBinary = binary;
-    serializedJson = json;
+  private InstrumentationScopeMarshaler(SerializedMessage serialized, byte[] schemaUrlUtf8) {
+    super(serialized.getBinarySerializedSize());
+    this.serialized = serialized;
+    this.schemaUrlUtf8 = schemaUrlUtf8;
+  }
+
+  /** Returns the scope's schema URL encoded as UTF-8, empty if it has none. */
+  public byte[] getSchemaUrlUtf8() {
+    return schemaUrlUtf8;
   }
 
   @Override
   public void writeTo(Serializer output) throws IOException {
-    output.writeSerializedMessage(serializedBinary, serializedJson);
+    output.writeSerializedMessage(serialized);
   }
 
   private static final class RealInstrumentationScopeMarshaler extends MarshalerWithSize {
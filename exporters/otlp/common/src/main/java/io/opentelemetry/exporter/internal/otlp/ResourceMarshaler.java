@@ -8,15 +8,18 @@ package io.opentelemetry.exporter.internal.otlp;
 import io.opentelemetry.context.internal.shaded.WeakConcurrentMap;
 import io.opentelemetry.exporter.internal.marshal.MarshalerUtil;
 import io.opentelemetry.exporter.internal.marshal.MarshalerWithSize;
+import io.opentelemetry.exporter.internal.marshal.SerializedMessage;
 import io.opentelemetry.exporter.internal.marshal.Serializer;
 import io.opentelemetry.proto.resource.v1.internal.Resource;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.UncheckedIOException;
 
 /**
  * A Marshaler of {@link io.opentelemetry.sdk.resources.Resource}.
  *
+ * <p>A resource is identical in every request, so it is serialized into protobuf and JSON once and
+ * cached by identity, and the cached encodings are shared by the marshalers of all signals. The
+ * resource's schema URL, which is a field of the enclosing message, is cached with it.
+ *
  * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
  * at any time.
  */
@@ -25,8 +28,8 @@ public final class ResourceMarshaler extends MarshalerWithSize {
   private static final WeakConcurrentMap<io.opentelemetry.sdk.resources.Resource, ResourceMarshaler>
       RESOURCE_MARSHALER_CACHE = new WeakConcurrentMap.WithInlinedExpunction<>();
 
-  private final byte[] serializedBinary;
-  private final String serializedJson;
+  private final SerializedMessage serialized;
+  private final byte[] schemaUrlUtf8;
 
   /** Returns a Marshaler for Resource. */
   public static ResourceMarshaler create(io.opentelemetry.sdk.resources.Resource resource) {
@@ -39,33 +42,29 @@ public final class ResourceMarshaler extends MarshalerWithSize {
           new RealResourceMarshaler(
               KeyValueMarshaler.createForAttributes(resource.getAttributes()));
 
-      ByteArrayOutputStream binaryBos =
-          new ByteArrayOutputStream(realMarshaler.getBinarySerializedSize());
-
-      try {
-        realMarshaler.writeBinaryTo(binaryBos);
-      } catch (IOException e) {
-        throw new UncheckedIOException(
-            "Serialization error, this is likely a bug in OpenTelemetry.", e);
-      }
-
-      String json = MarshalerUtil.preserializeJsonFields(realMarshaler);
-
-      cached = new ResourceMarshaler(binaryBos.toByteArray(), json);
+      cached =
+          new ResourceMarshaler(
+              SerializedMessage.create(realMarshaler),
+              MarshalerUtil.toBytes(resource.getSchemaUrl()));
       RESOURCE_MARSHALER_CACHE.put(resource, cached);
     }
     return cached;
   }
 
-  private ResourceMarshaler(byte[] binary, String json) {
-    super(binary.length);
-    serializedBinary = binary;
-    serializedJson = json;
+  private ResourceMarshaler(SerializedMessage serialized, byte[] schemaUrlUtf8) {
+    super(serialized.getBinarySerializedSize());
+    this.serialized = serialized;
+    this.schemaUrlUtf8 = schemaUrlUtf8;
+  }
+
+  /** Returns the resource's schema URL encoded as UTF-8, empty if it has none. */
+  public byte[] getSchemaUrlUtf8() {
+    return schemaUrlUtf8;
   }
 
   @Override
   public void writeTo(Serializer output) throws IOException {
-    output.writeSerializedMessage(serializedBinary, serializedJson);
+    output.writeSerializedMessage(serialized);
   }
 
   private static final class RealResourceMarshaler extends MarshalerWithSize {
@@ -36,8 +36,7 @@ final class InstrumentationScopeLogsStatelessMarshaler
     output.serializeMessage(ScopeLogs.SCOPE, instrumentationScopeMarshaler);
     output.serializeRepeatedMessageWithContext(
         ScopeLogs.LOG_RECORDS, logs, LogStatelessMarshaler.INSTANCE, context);
-    output.serializeStringWithContext(
-        ScopeLogs.SCHEMA_URL, instrumentationScope.getSchemaUrl(), context);
+    output.serializeString(ScopeLogs.SCHEMA_URL, instrumentationScopeMarshaler.getSchemaUrlUtf8());
   }
 
   @Override
@@ -55,8 +54,8 @@ final class InstrumentationScopeLogsStatelessMarshaler
         StatelessMarshalerUtil.sizeRepeatedMessageWithContext(
             ScopeLogs.LOG_RECORDS, logs, LogStatelessMarshaler.INSTANCE, context);
     size +=
-        StatelessMarshalerUtil.sizeStringWithContext(
-            ScopeLogs.SCHEMA_URL, instrumentationScope.getSchemaUrl(), context);
+        MarshalerUtil.sizeBytes(
+            ScopeLogs.SCHEMA_URL, instrumentationScopeMarshaler.getSchemaUrlUtf8());
 
     return size;
   }
@@ -48,7 +48,7 @@ public final class ResourceLogsStatelessMarshaler
         context,
         SCOPE_LOG_WRITER_KEY);
 
-    output.serializeStringWithContext(ResourceLogs.SCHEMA_URL, resource.getSchemaUrl(), context);
+    output.serializeString(ResourceLogs.SCHEMA_URL, resourceMarshaler.getSchemaUrlUtf8());
   }
 
   @Override
@@ -71,9 +71,7 @@ public final class ResourceLogsStatelessMarshaler
             context,
             SCOPE_LOG_SIZE_CALCULATOR_KEY);
 
-    size +=
-        StatelessMarshalerUtil.sizeStringWithContext(
-            ResourceLogs.SCHEMA_URL, resource.getSchemaUrl(), context);
+    size += MarshalerUtil.sizeBytes(ResourceLogs.SCHEMA_URL, resourceMarshaler.getSchemaUrlUtf8());
 
     return size;
   }
@@ -12,7 +12,6 @@ import io.opentelemetry.exporter.internal.marshal.StatelessMarshaler2;
 import io.opentelemetry.exporter.internal.marshal.StatelessMarshalerUtil;
 import io.opentelemetry.exporter.internal.otlp.InstrumentationScopeMarshaler;
 import io.opentelemetry.proto.metrics.v1.internal.ScopeMetrics;
-import io.opentelemetry.proto.trace.v1.internal.ScopeSpans;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import java.io.IOException;
@@ -39,8 +38,8 @@ final class InstrumentationScopeMetricsStatelessMarshaler
     output.serializeMessage(ScopeMetrics.SCOPE, instrumentationScopeMarshaler);
     output.serializeRepeatedMessageWithContext(
         ScopeMetrics.METRICS, metrics, MetricStatelessMarshaler.INSTANCE, context);
-    output.serializeStringWithContext(
-        ScopeMetrics.SCHEMA_URL, instrumentationScope.getSchemaUrl(), context);
+    output.serializeString(
+        ScopeMetrics.SCHEMA_URL, instrumentationScopeMarshaler.getSchemaUrlUtf8());
   }
 
   @Override
@@ -58,8 +57,8 @@ final class InstrumentationScopeMetricsStatelessMarshaler
         StatelessMarshalerUtil.sizeRepeatedMessageWithContext(
             ScopeMetrics.METRICS, metrics, MetricStatelessMarshaler.INSTANCE, context);
     size +=
-        StatelessMarshalerUtil.sizeStringWithContext(
-            ScopeSpans.SCHEMA_URL, instrumentationScope.getSchemaUrl(), context);
+        MarshalerUtil.sizeBytes(
+            ScopeMetrics.SCHEMA_URL, instrumentationScopeMarshaler.getSchemaUrlUtf8());
 
     return size;
   }
@@ -47,16 +47,19 @@ public final class ResourceMetricsMarshaler extends MarshalerWithSize {
       int posInstrumentation = 0;
       for (Map.Entry<InstrumentationScopeInfo, List<Marshaler>> entryIs :
           entry.getValue().entrySet()) {
+        InstrumentationScopeMarshaler scopeMarshaler =
+            InstrumentationScopeMarshaler.create(entryIs.getKey());
         instrumentationLibrarySpansMarshalers[posInstrumentation++] =
             new InstrumentationScopeMetricsMarshaler(
-                InstrumentationScopeMarshaler.create(entryIs.getKey()),
-                MarshalerUtil.toBytes(entryIs.getKey().getSchemaUrl()),
+                scopeMarshaler,
+                scopeMarshaler.getSchemaUrlUtf8(),
                 entryIs.getValue());
       }
+      ResourceMarshaler resourceMarshaler = ResourceMarshaler.create(entry.getKey());
       resourceMetricsMarshalers[posResource++] =
           new ResourceMetricsMarshaler(
-              ResourceMarshaler.create(entry.getKey()),
-              MarshalerUtil.toBytes(entry.getKey().getSchemaUrl()),
+              resourceMarshaler,
+              resourceMarshaler.getSchemaUrlUtf8(),
               instrumentationLibrarySpansMarshalers);
     }
 
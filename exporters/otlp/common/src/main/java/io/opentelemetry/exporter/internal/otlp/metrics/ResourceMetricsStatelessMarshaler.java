@@ -51,7 +51,7 @@ public final class ResourceMetricsStatelessMarshaler
         context,
         SCOPE_METRIC_WRITER_KEY);
 
-    output.serializeStringWithContext(ResourceMetrics.SCHEMA_URL, resource.getSchemaUrl(), context);
+    output.serializeString(ResourceMetrics.SCHEMA_URL, resourceMarshaler.getSchemaUrlUtf8());
   }
 
   @Override
@@ -75,8 +75,7 @@ public final class ResourceMetricsStatelessMarshaler
             SCOPE_METRIC_SIZE_CALCULATOR_KEY);
 
     size +=
-        StatelessMarshalerUtil.sizeStringWithContext(
-            ResourceMetrics.SCHEMA_URL, resource.getSchemaUrl(), context);
+        MarshalerUtil.sizeBytes(ResourceMetrics.SCHEMA_URL, resourceMarshaler.getSchemaUrlUtf8());
 
     return size;
   }
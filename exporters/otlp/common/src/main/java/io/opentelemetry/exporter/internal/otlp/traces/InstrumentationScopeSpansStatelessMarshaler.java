@@ -38,8 +38,7 @@ final class InstrumentationScopeSpansStatelessMarshaler
     output.serializeMessage(ScopeSpans.SCOPE, instrumentationScopeMarshaler);
     output.serializeRepeatedMessageWithContext(
         ScopeSpans.SPANS, spans, SpanStatelessMarshaler.INSTANCE, context);
-    output.serializeStringWithContext(
-        ScopeSpans.SCHEMA_URL, instrumentationScope.getSchemaUrl(), context);
+    output.serializeString(ScopeSpans.SCHEMA_URL, instrumentationScopeMarshaler.getSchemaUrlUtf8());
   }
 
   @Override
@@ -57,8 +56,8 @@ final class InstrumentationScopeSpansStatelessMarshaler
         StatelessMarshalerUtil.sizeRepeatedMessageWithContext(
             ScopeSpans.SPANS, spans, SpanStatelessMarshaler.INSTANCE, context);
     size +=
-        StatelessMarshalerUtil.sizeStringWithContext(
-            ScopeSpans.SCHEMA_URL, instrumentationScope.getSchemaUrl(), context);
+        MarshalerUtil.sizeBytes(
+            ScopeSpans.SCHEMA_URL, instrumentationScopeMarshaler.getSchemaUrlUtf8());
 
     return size;
   }
@@ -46,16 +46,19 @@ public final class ResourceSpansMarshaler extends MarshalerWithSize {
       int posInstrumentation = 0;
       for (Map.Entry<InstrumentationScopeInfo, List<SpanMarshaler>> entryIs :
           entry.getValue().entrySet()) {
+        InstrumentationScopeMarshaler scopeMarshaler =
+            InstrumentationScopeMarshaler.create(entryIs.getKey());
         instrumentationScopeSpansMarshalers[posInstrumentation++] =
             new InstrumentationScopeSpansMarshaler(
-                InstrumentationScopeMarshaler.create(entryIs.getKey()),
-                MarshalerUtil.toBytes(entryIs.getKey().getSchemaUrl()),
+                scopeMarshaler,
+                scopeMarshaler.getSchemaUrlUtf8(),
                 entryIs.getValue());
       }
+      ResourceMarshaler resourceMarshaler = ResourceMarshaler.create(entry.getKey());
       resourceSpansMarshalers[posResource++] =
           new ResourceSpansMarshaler(
-              ResourceMarshaler.create(entry.getKey()),
-              MarshalerUtil.toBytes(entry.getKey().getSchemaUrl()),
+              resourceMarshaler,
+              resourceMarshaler.getSchemaUrlUtf8(),
               instrumentationScopeSpansMarshalers);
     }
     return resourceSpansMarshalers;
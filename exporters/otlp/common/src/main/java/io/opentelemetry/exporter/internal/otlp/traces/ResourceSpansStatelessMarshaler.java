@@ -50,7 +50,7 @@ public final class ResourceSpansStatelessMarshaler
         context,
         SCOPE_SPAN_WRITER_KEY);
 
-    output.serializeStringWithContext(ResourceSpans.SCHEMA_URL, resource.getSchemaUrl(), context);
+    output.serializeString(ResourceSpans.SCHEMA_URL, resourceMarshaler.getSchemaUrlUtf8());
   }
 
   @Override
@@ -73,9 +73,7 @@ public final class ResourceSpansStatelessMarshaler
             context,
             SCOPE_SPAN_SIZE_CALCULATOR_KEY);
 
-    size +=
-        StatelessMarshalerUtil.sizeStringWithContext(
-            ResourceSpans.SCHEMA_URL, resource.getSchemaUrl(), context);
+    size += MarshalerUtil.sizeBytes(ResourceSpans.SCHEMA_URL, resourceMarshaler.getSchemaUrlUtf8());
 
     return size;
   }
@@ -0,0 +1,75 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.internal.otlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class ResourceMarshalerTest {
+
+  @Test
+  void resource_CachedByIdentity() throws IOException {
+    Resource resource =
+        Resource.builder().put("service.name", "my-service").setSchemaUrl("http://url").build();
+
+    ResourceMarshaler marshaler = ResourceMarshaler.create(resource);
+    assertThat(ResourceMarshaler.create(resource)).isSameAs(marshaler);
+    // An equal resource that isn't the same instance is serialized separately
+    assertThat(ResourceMarshaler.create(resource.toBuilder().build())).isNotSameAs(marshaler);
+
+    assertThat(marshaler.getSchemaUrlUtf8())
+        .isEqualTo("http://url".getBytes(StandardCharsets.UTF_8));
+    assertThat(toByteArray(marshaler)).hasSize(marshaler.getBinarySerializedSize());
+    // The second write copies the JSON encoded by the first one
+    String json = toJson(marshaler);
+    assertThat(json)
+        .isEqualTo(
+            "{\"attributes\":[{\"key\":\"service.name\","
+                + "\"value\":{\"stringValue\":\"my-service\"}}]}");
+    assertThat(toJson(marshaler)).isEqualTo(json);
+  }
+
+  @Test
+  void scope_CachedByIdentity() throws IOException {
+    InstrumentationScopeInfo scope =
+        InstrumentationScopeInfo.builder("scope")
+            .setVersion("1.0")
+            .setAttributes(Attributes.builder().put("key", "value").build())
+            .build();
+
+    InstrumentationScopeMarshaler marshaler = InstrumentationScopeMarshaler.create(scope);
+    assertThat(InstrumentationScopeMarshaler.create(scope)).isSameAs(marshaler);
+
+    assertThat(marshaler.getSchemaUrlUtf8()).isEmpty();
+    assertThat(toByteArray(marshaler)).hasSize(marshaler.getBinarySerializedSize());
+    String json = toJson(marshaler);
+    assertThat(json)
+        .isEqualTo(
+            "{\"name\":\"scope\",\"version\":\"1.0\","
+                + "\"attributes\":[{\"key\":\"key\",\"value\":{\"stringValue\":\"value\"}}]}");
+    assertThat(toJson(marshaler)).isEqualTo(json);
+  }
+
+  private static byte[] toByteArray(Marshaler marshaler) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    marshaler.writeBinaryTo(bos);
+    return bos.toByteArray();
+  }
+
+  private static String toJson(Marshaler marshaler) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    marshaler.writeJsonTo(bos);
+    return new String(bos.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
@@ -532,7 +532,7 @@ final class Otel2PrometheusConverter {
     return allowedAttributeKeys;
   }
 
-  private static MetricMetadata convertMetadata(MetricData metricData) {
+  static MetricMetadata convertMetadata(MetricData metricData) {
     String name = sanitizeMetricName(metricData.getName());
     String help = metricData.getDescription();
     Unit unit = PrometheusUnitsHelper.convertUnit(metricData.getUnit());
@@ -615,7 +615,7 @@ final class Otel2PrometheusConverter {
   }
 
   @Nullable
-  private static MetricMetadata mergeMetadata(MetricMetadata a, MetricMetadata b) {
+  static MetricMetadata mergeMetadata(MetricMetadata a, MetricMetadata b) {
     String name = a.getPrometheusName();
     if (a.getName().equals(b.getName())) {
       name = a.getName();
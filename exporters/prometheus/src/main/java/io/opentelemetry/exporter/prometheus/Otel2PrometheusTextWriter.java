@@ -0,0 +1,637 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import static io.prometheus.metrics.model.snapshots.PrometheusNaming.sanitizeLabelName;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.SumData;
+import io.opentelemetry.sdk.metrics.data.SummaryPointData;
+import io.opentelemetry.sdk.metrics.data.ValueAtQuantile;
+import io.opentelemetry.sdk.resources.Resource;
+import io.prometheus.metrics.model.snapshots.MetricMetadata;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Writes OpenTelemetry {@link MetricData} in the Prometheus text exposition format, without first
+ * converting it to {@link io.prometheus.metrics.model.snapshots.MetricSnapshots}.
+ *
+ * <p>The output is the same as writing the result of {@link Otel2PrometheusConverter} with the
+ * Prometheus text format writer, except that data points are written in the order they were
+ * collected rather than sorted by their labels, and that attributes named {@code le} of histograms
+ * and {@code quantile} of summaries are dropped rather than failing the scrape. Nothing is
+ * allocated per data point beyond the formatting of values, and the sanitized metric metadata and
+ * label names are cached across scrapes.
+ */
+final class Otel2PrometheusTextWriter {
+
+  private static final Logger LOGGER = Logger.getLogger(Otel2PrometheusTextWriter.class.getName());
+  private static final ThrottlingLogger THROTTLING_LOGGER = new ThrottlingLogger(LOGGER);
+  private static final String OTEL_SCOPE_NAME = "otel_scope_name";
+  private static final String OTEL_SCOPE_VERSION = "otel_scope_version";
+  private static final String[] EMPTY = new String[0];
+  private static final int MAX_CACHE_SIZE = 1000;
+
+  private final boolean otelScopeEnabled;
+  @Nullable private final Predicate<String> allowedResourceAttributesFilter;
+
+  /** Once a cache reaches {@link #MAX_CACHE_SIZE}, it is cleared to bound its size. */
+  private final Map<MetadataKey, MetricMetadata> metadataCache = new ConcurrentHashMap<>();
+
+  private final Map<String, String> labelNameCache = new ConcurrentHashMap<>();
+
+  /** See {@link Otel2PrometheusConverter#Otel2PrometheusConverter(boolean, Predicate)}. */
+  Otel2PrometheusTextWriter(
+      boolean otelScopeEnabled, @Nullable Predicate<String> allowedResourceAttributesFilter) {
+    this.otelScopeEnabled = otelScopeEnabled;
+    this.allowedResourceAttributesFilter = allowedResourceAttributesFilter;
+  }
+
+  void write(OutputStream out, @Nullable Collection<MetricData> metricDataCollection)
+      throws IOException {
+    if (metricDataCollection == null || metricDataCollection.isEmpty()) {
+      return;
+    }
+    // Families are sorted by name, like MetricSnapshots
+    Map<String, Family> familiesByName = new TreeMap<>();
+    Resource resource = null;
+    Set<InstrumentationScopeInfo> scopes = new LinkedHashSet<>();
+    for (MetricData metricData : metricDataCollection) {
+      MetricMetadata metadata = metadata(metricData);
+      Type type = type(metadata, metricData);
+      if (type == null) {
+        continue;
+      }
+      Family family = new Family(metadata, type);
+      family.metrics.add(metricData);
+      putOrMerge(familiesByName, family);
+      if (resource == null) {
+        resource = metricData.getResource();
+      }
+      if (otelScopeEnabled && !metricData.getInstrumentationScopeInfo().getAttributes().isEmpty()) {
+        scopes.add(metricData.getInstrumentationScopeInfo());
+      }
+    }
+    if (resource != null) {
+      Family targetInfo = new Family(new MetricMetadata("target"), Type.INFO);
+      targetInfo.infoPoints.add(new InfoPoint(resource.getAttributes(), null));
+      putOrMerge(familiesByName, targetInfo);
+    }
+    if (otelScopeEnabled && !scopes.isEmpty()) {
+      Family scopeInfo = new Family(new MetricMetadata("otel_scope"), Type.INFO);
+      for (InstrumentationScopeInfo scope : scopes) {
+        scopeInfo.infoPoints.add(new InfoPoint(scope.getAttributes(), scope));
+      }
+      putOrMerge(familiesByName, scopeInfo);
+    }
+
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    Scrape scrape = new Scrape(writer);
+    for (Family family : familiesByName.values()) {
+      scrape.writeFamily(family);
+    }
+    writer.flush();
+  }
+
+  private MetricMetadata metadata(MetricData metricData) {
+    MetadataKey key =
+        new MetadataKey(metricData.getName(), metricData.getDescription(), metricData.getUnit());
+    MetricMetadata metadata = metadataCache.get(key);
+    if (metadata == null) {
+      metadata = Otel2PrometheusConverter.convertMetadata(metricData);
+      putBounded(metadataCache, key, metadata);
+    }
+    return metadata;
+  }
+
+  private String labelName(String key) {
+    String labelName = labelNameCache.get(key);
+    if (labelName == null) {
+      labelName = sanitizeLabelName(key);
+      putBounded(labelNameCache, key, labelName);
+    }
+    return labelName;
+  }
+
+  private static <K, V> void putBounded(Map<K, V> cache, K key, V value) {
+    if (cache.size() >= MAX_CACHE_SIZE) {
+      cache.clear();
+    }
+    cache.put(key, value);
+  }
+
+  /**
+   * Returns the Prometheus type {@code metricData} is written as, or {@code null} if it's dropped
+   * like {@link Otel2PrometheusConverter} drops it.
+   */
+  @Nullable
+  private static Type type(MetricMetadata metadata, MetricData metricData) {
+    switch (metricData.getType()) {
+      case LONG_GAUGE:
+      case DOUBLE_GAUGE:
+        return Type.GAUGE;
+      case LONG_SUM:
+        return sumType(metricData.getLongSumData());
+      case DOUBLE_SUM:
+        return sumType(metricData.getDoubleSumData());
+      case HISTOGRAM:
+        if (metricData.getHistogramData().getAggregationTemporality()
+            == AggregationTemporality.DELTA) {
+          return null;
+        }
+        return Type.HISTOGRAM;
+      case EXPONENTIAL_HISTOGRAM:
+        if (metricData.getExponentialHistogramData().getAggregationTemporality()
+            == AggregationTemporality.DELTA) {
+          return null;
+        }
+        for (ExponentialHistogramPointData point :
+            metricData.getExponentialHistogramData().getPoints()) {
+          if (point.getScale() < -4) {
+            THROTTLING_LOGGER.log(
+                Level.WARNING,
+                "Dropping histogram "
+                    + metadata.getName()
+                    + " with attributes "
+                    + point.getAttributes()
+                    + " because it has scale < -4 which is unsupported in Prometheus");
+            return null;
+          }
+        }
+        return Type.HISTOGRAM;
+      case SUMMARY:
+        return Type.SUMMARY;
+    }
+    return null;
+  }
+
+  @Nullable
+  private static Type sumType(SumData<?> sumData) {
+    if (sumData.getAggregationTemporality() == AggregationTemporality.DELTA) {
+      return null;
+    }
+    return sumData.isMonotonic() ? Type.COUNTER : Type.GAUGE;
+  }
+
+  /** Merges families with the same name like {@link Otel2PrometheusConverter} merges snapshots. */
+  private static void putOrMerge(Map<String, Family> familiesByName, Family family) {
+    String name = family.metadata.getPrometheusName();
+    Family existing = familiesByName.get(name);
+    if (existing == null) {
+      familiesByName.put(name, family);
+      return;
+    }
+    MetricMetadata metadata =
+        Otel2PrometheusConverter.mergeMetadata(existing.metadata, family.metadata);
+    if (metadata == null) {
+      return;
+    }
+    if (existing.type != family.type) {
+      THROTTLING_LOGGER.log(
+          Level.WARNING,
+          "Conflicting metric name "
+              + name
+              + ": Found one metric with type "
+              + existing.type.typeString
+              + " and one of type "
+              + family.type.typeString
+              + ". Dropping the one with type "
+              + family.type.typeString
+              + ".");
+      return;
+    }
+    existing.metadata = metadata;
+    existing.metrics.addAll(family.metrics);
+    existing.infoPoints.addAll(family.infoPoints);
+  }
+
+  private enum Type {
+    GAUGE("gauge", ""),
+    COUNTER("counter", "_total"),
+    HISTOGRAM("histogram", ""),
+    SUMMARY("summary", ""),
+    // Info metrics are written as gauges in the text format
+    INFO("info", "_info");
+
+    private final String typeString;
+    private final String suffix;
+
+    Type(String typeString, String suffix) {
+      this.typeString = typeString;
+      this.suffix = suffix;
+    }
+  }
+
+  /** The metrics written under one metric name. */
+  private static final class Family {
+    private MetricMetadata metadata;
+    private final Type type;
+    private final List<MetricData> metrics = new ArrayList<>(1);
+    private final List<InfoPoint> infoPoints = new ArrayList<>(0);
+
+    private Family(MetricMetadata metadata, Type type) {
+      this.metadata = metadata;
+      this.type = type;
+    }
+
+    private boolean hasDataPoints() {
+      if (!infoPoints.isEmpty()) {
+        return true;
+      }
+      for (MetricData metricData : metrics) {
+        if (!metricData.getData().getPoints().isEmpty()) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private static final class InfoPoint {
+    private final Attributes attributes;
+    // Only set for otel_scope_info
+    @Nullable private final InstrumentationScopeInfo scope;
+
+    private InfoPoint(Attributes attributes, @Nullable InstrumentationScopeInfo scope) {
+      this.attributes = attributes;
+      this.scope = scope;
+    }
+  }
+
+  private static final class MetadataKey {
+    private final String name;
+    private final String description;
+    private final String unit;
+
+    private MetadataKey(String name, String description, String unit) {
+      this.name = name;
+      this.description = description;
+      this.unit = unit;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof MetadataKey)) {
+        return false;
+      }
+      MetadataKey that = (MetadataKey) o;
+      return name.equals(that.name)
+          && description.equals(that.description)
+          && unit.equals(that.unit);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, description, unit);
+    }
+  }
+
+  /**
+   * The state of writing one scrape. Labels of a data point are its attributes merged with the
+   * scope and resource labels shared by all points of a metric, sorted by name, with attributes
+   * taking precedence over shared labels with the same name. Like {@link Otel2PrometheusConverter},
+   * of attributes with the same sanitized name, the last one in attribute order is written. Labels
+   * named like the {@code le} label of histogram buckets or the {@code quantile} label of summary
+   * quantiles are dropped, since Prometheus rejects a scrape with duplicate label names.
+   */
+  private final class Scrape implements BiConsumer<AttributeKey<?>, Object> {
+    private final Writer writer;
+
+    // The shared labels of the metric being written, sorted by name
+    private String[] sharedNames = EMPTY;
+    private String[] sharedValues = EMPTY;
+    @Nullable private InstrumentationScopeInfo sharedScope;
+    @Nullable private Resource sharedResource;
+    // The label added to the samples of the family being written, if any
+    @Nullable private String reservedLabelName;
+
+    // The attribute labels of the point being written, sorted by name. The arrays are reused
+    // across points.
+    private String[] pointNames = new String[8];
+    private String[] pointValues = new String[8];
+    private int pointSize;
+    private boolean hasLabels;
+
+    private Scrape(Writer writer) {
+      this.writer = writer;
+    }
+
+    private void writeFamily(Family family) throws IOException {
+      if (!family.hasDataPoints()) {
+        return;
+      }
+      String name = family.metadata.getPrometheusName();
+      String help = family.metadata.getHelp();
+      String sampleName = name + family.type.suffix;
+      if (help != null && !help.isEmpty()) {
+        writer.write("# HELP ");
+        writer.write(sampleName);
+        writer.write(' ');
+        writeEscaped(help, /* escapeQuotes= */ false);
+        writer.write('\n');
+      }
+      writer.write("# TYPE ");
+      writer.write(sampleName);
+      writer.write(' ');
+      writer.write(family.type == Type.INFO ? "gauge" : family.type.typeString);
+      writer.write('\n');
+
+      if (family.type == Type.HISTOGRAM) {
+        reservedLabelName = "le";
+      } else if (family.type == Type.SUMMARY) {
+        reservedLabelName = "quantile";
+      } else {
+        reservedLabelName = null;
+      }
+
+      for (InfoPoint point : family.infoPoints) {
+        setSharedLabels(point.scope, null);
+        writeNameAndLabels(sampleName, point.attributes, null, 0);
+        writer.write("1\n");
+      }
+      for (MetricData metricData : family.metrics) {
+        setSharedLabels(metricData.getInstrumentationScopeInfo(), metricData.getResource());
+        switch (metricData.getType()) {
+          case LONG_GAUGE:
+            writeLongPoints(sampleName, metricData.getLongGaugeData().getPoints());
+            break;
+          case LONG_SUM:
+            writeLongPoints(sampleName, metricData.getLongSumData().getPoints());
+            break;
+          case DOUBLE_GAUGE:
+            writeDoublePoints(sampleName, metricData.getDoubleGaugeData().getPoints());
+            break;
+          case DOUBLE_SUM:
+            writeDoublePoints(sampleName, metricData.getDoubleSumData().getPoints());
+            break;
+          case HISTOGRAM:
+            writeHistogramPoints(name, metricData.getHistogramData().getPoints());
+            break;
+          case EXPONENTIAL_HISTOGRAM:
+            writeExponentialHistogramPoints(
+                name, metricData.getExponentialHistogramData().getPoints());
+            break;
+          case SUMMARY:
+            writeSummaryPoints(name, metricData.getSummaryData().getPoints());
+            break;
+        }
+      }
+    }
+
+    private void writeLongPoints(String name, Collection<LongPointData> points)
+        throws IOException {
+      for (LongPointData point : points) {
+        writeNameAndLabels(name, point.getAttributes(), null, 0);
+        writeDouble((double) point.getValue());
+        writer.write('\n');
+      }
+    }
+
+    private void writeDoublePoints(String name, Collection<DoublePointData> points)
+        throws IOException {
+      for (DoublePointData point : points) {
+        writeNameAndLabels(name, point.getAttributes(), null, 0);
+        writeDouble(point.getValue());
+        writer.write('\n');
+      }
+    }
+
+    private void writeHistogramPoints(String name, Collection<HistogramPointData> points)
+        throws IOException {
+      String bucketName = name + "_bucket";
+      for (HistogramPointData point : points) {
+        List<Double> boundaries = point.getBoundaries();
+        List<Long> counts = point.getCounts();
+        long cumulativeCount = 0;
+        for (int i = 0; i < counts.size(); i++) {
+          cumulativeCount += counts.get(i);
+          double upperBound = i < boundaries.size() ? boundaries.get(i) : Double.POSITIVE_INFINITY;
+          writeNameAndLabels(bucketName, point.getAttributes(), "le", upperBound);
+          writeLong(cumulativeCount);
+        }
+        writeCountAndSum(name, point.getAttributes(), cumulativeCount, point.getSum());
+      }
+    }
+
+    private void writeExponentialHistogramPoints(
+        String name, Collection<ExponentialHistogramPointData> points) throws IOException {
+      // The text format has no native histograms, so like the Prometheus text format writer, only
+      // the +Inf bucket is written
+      String bucketName = name + "_bucket";
+      for (ExponentialHistogramPointData point : points) {
+        writeNameAndLabels(bucketName, point.getAttributes(), "le", Double.POSITIVE_INFINITY);
+        writeLong(point.getCount());
+        writeCountAndSum(name, point.getAttributes(), point.getCount(), point.getSum());
+      }
+    }
+
+    private void writeSummaryPoints(String name, Collection<SummaryPointData> points)
+        throws IOException {
+      for (SummaryPointData point : points) {
+        for (ValueAtQuantile quantile : point.getValues()) {
+          writeNameAndLabels(name, point.getAttributes(), "quantile", quantile.getQuantile());
+          writeDouble(quantile.getValue());
+          writer.write('\n');
+        }
+        writeCountAndSum(name, point.getAttributes(), point.getCount(), point.getSum());
+      }
+    }
+
+    private void writeCountAndSum(String name, Attributes attributes, long count, double sum)
+        throws IOException {
+      writeNameAndLabels(name + "_count", attributes, null, 0);
+      writeLong(count);
+      if (!Double.isNaN(sum)) {
+        writeNameAndLabels(name + "_sum", attributes, null, 0);
+        writeDouble(sum);
+        writer.write('\n');
+      }
+    }
+
+    private void writeLong(long value) throws IOException {
+      writer.write(Long.toString(value));
+      writer.write('\n');
+    }
+
+    private void writeDouble(double value) throws IOException {
+      if (value == Double.POSITIVE_INFINITY) {
+        writer.write("+Inf");
+      } else if (value == Double.NEGATIVE_INFINITY) {
+        writer.write("-Inf");
+      } else {
+        writer.write(Double.toString(value));
+      }
+    }
+
+    /**
+     * Computes the labels shared by the points of a metric, which are the same as the labels {@link
+     * Otel2PrometheusConverter} adds to each point. The result is reused while consecutive metrics
+     * have the same scope and resource.
+     */
+    private void setSharedLabels(
+        @Nullable InstrumentationScopeInfo scope, @Nullable Resource resource) {
+      if (scope == sharedScope && resource == sharedResource && sharedScope != null) {
+        return;
+      }
+      sharedScope = scope;
+      sharedResource = resource;
+      Map<String, String> shared = new TreeMap<>();
+      if (otelScopeEnabled && scope != null) {
+        shared.put(OTEL_SCOPE_NAME, scope.getName());
+        if (scope.getVersion() != null) {
+          shared.put(OTEL_SCOPE_VERSION, scope.getVersion());
+        }
+      }
+      Predicate<String> filter = allowedResourceAttributesFilter;
+      if (resource != null && filter != null) {
+        resource
+            .getAttributes()
+            .forEach(
+                (key, value) -> {
+                  if (filter.test(key.getKey())) {
+                    shared.putIfAbsent(labelName(key.getKey()), value.toString());
+                  }
+                });
+      }
+      sharedNames = shared.keySet().toArray(EMPTY);
+      sharedValues = shared.values().toArray(EMPTY);
+    }
+
+    private void writeNameAndLabels(
+        String name,
+        Attributes attributes,
+        @Nullable String additionalLabelName,
+        double additionalLabelValue)
+        throws IOException {
+      writer.write(name);
+      hasLabels = false;
+      pointSize = 0;
+      attributes.forEach(this);
+      int point = 0;
+      int shared = 0;
+      while (point < pointSize || shared < sharedNames.length) {
+        int compare =
+            point == pointSize
+                ? 1
+                : shared == sharedNames.length
+                    ? -1
+                    : pointNames[point].compareTo(sharedNames[shared]);
+        if (compare <= 0) {
+          writeLabel(pointNames[point], pointValues[point]);
+          point++;
+          if (compare == 0) {
+            // Overridden by the attribute
+            shared++;
+          }
+        } else {
+          if (!sharedNames[shared].equals(reservedLabelName)) {
+            writeLabel(sharedNames[shared], sharedValues[shared]);
+          }
+          shared++;
+        }
+      }
+      if (additionalLabelName != null) {
+        startLabel(additionalLabelName);
+        writeDouble(additionalLabelValue);
+        writer.write('"');
+      }
+      if (hasLabels) {
+        writer.write('}');
+      }
+      writer.write(' ');
+    }
+
+    /** Adds an attribute to the labels of the point being written. */
+    @Override
+    public void accept(AttributeKey<?> key, Object value) {
+      String labelName = labelName(key.getKey());
+      if (labelName.equals(reservedLabelName)) {
+        return;
+      }
+      int index = Arrays.binarySearch(pointNames, 0, pointSize, labelName);
+      if (index >= 0) {
+        pointValues[index] = value.toString();
+        return;
+      }
+      index = ~index;
+      if (pointSize == pointNames.length) {
+        pointNames = Arrays.copyOf(pointNames, pointSize * 2);
+        pointValues = Arrays.copyOf(pointValues, pointSize * 2);
+      }
+      System.arraycopy(pointNames, index, pointNames, index + 1, pointSize - index);
+      System.arraycopy(pointValues, index, pointValues, index + 1, pointSize - index);
+      pointNames[index] = labelName;
+      pointValues[index] = value.toString();
+      pointSize++;
+    }
+
+    private void writeLabel(String labelName, String labelValue) throws IOException {
+      startLabel(labelName);
+      writeEscaped(labelValue, /* escapeQuotes= */ true);
+      writer.write('"');
+    }
+
+    private void startLabel(String labelName) throws IOException {
+      writer.write(hasLabels ? ',' : '{');
+      hasLabels = true;
+      writer.write(labelName);
+      writer.write("=\"");
+    }
+
+    private void writeEscaped(String s, boolean escapeQuotes) throws IOException {
+      int start = 0;
+      for (int i = 0; i < s.length(); i++) {
+        char c = s.charAt(i);
+        String escaped;
+        if (c == '\\') {
+          escaped = "\\\\";
+        } else if (c == '\n') {
+          escaped = "\\n";
+        } else if (c == '"' && escapeQuotes) {
+          escaped = "\\\"";
+        } else {
+          continue;
+        }
+        writer.write(s, start, i - start);
+        writer.write(escaped);
+        start = i + 1;
+      }
+      writer.write(s, start, s.length() - start);
+    }
+  }
+}
@@ -10,7 +10,12 @@
 
 package io.opentelemetry.exporter.prometheus;
 
+import static java.util.Objects.requireNonNull;
+
 import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.internal.DaemonThreadFactory;
@@ -20,16 +25,21 @@ import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
 import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
 import io.opentelemetry.sdk.metrics.export.DefaultAggregationSelector;
 import io.opentelemetry.sdk.metrics.export.MetricReader;
+import io.prometheus.metrics.exporter.httpserver.DefaultHandler;
 import io.prometheus.metrics.exporter.httpserver.HTTPServer;
+import io.prometheus.metrics.exporter.httpserver.HealthyHandler;
+import io.prometheus.metrics.model.registry.MultiCollector;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 /**
@@ -39,8 +49,12 @@ import javax.annotation.Nullable;
 public final class PrometheusHttpServer implements MetricReader {
 
   private final PrometheusHttpServerBuilder builder;
-  private final HTTPServer httpServer;
+  // Exactly one of httpServer and scrapeServer is set, depending on whether direct scrapes or the
+  // scrape cache are enabled
+  @Nullable private final HTTPServer httpServer;
+  @Nullable private final ScrapeServer scrapeServer;
   private final PrometheusMetricReader prometheusMetricReader;
+  private final MultiCollector registeredCollector;
   private final PrometheusRegistry prometheusRegistry;
   private final String host;
   private final MemoryMode memoryMode;
@@ -70,14 +84,29 @@ public final class PrometheusHttpServer implements MetricReader {
       @Nullable Predicate<String> allowedResourceAttributesFilter,
       MemoryMode memoryMode,
       @Nullable HttpHandler defaultHandler,
-      DefaultAggregationSelector defaultAggregationSelector) {
+      DefaultAggregationSelector defaultAggregationSelector,
+      boolean directScrapeEnabled,
+      long minScrapeIntervalNanos,
+      Supplier<MeterProvider> meterProviderSupplier) {
     this.builder = builder;
     this.prometheusMetricReader =
         new PrometheusMetricReader(otelScopeEnabled, allowedResourceAttributesFilter);
     this.host = host;
     this.memoryMode = memoryMode;
     this.prometheusRegistry = prometheusRegistry;
-    prometheusRegistry.register(prometheusMetricReader);
+    ScrapeHandler scrapeHandler =
+        directScrapeEnabled || minScrapeIntervalNanos > 0
+            ? new ScrapeHandler(
+                prometheusMetricReader,
+                prometheusRegistry,
+                directScrapeEnabled,
+                minScrapeIntervalNanos,
+                new ScrapeMetrics(meterProviderSupplier),
+                Clock.getDefault())
+            : null;
+    this.registeredCollector =
+        scrapeHandler != null ? scrapeHandler.getCollector() : prometheusMetricReader;
+    prometheusRegistry.register(registeredCollector);
     // When memory mode is REUSABLE_DATA, concurrent reads lead to data corruption. To prevent this,
     // we configure prometheus with a single thread executor such that requests are handled
     // sequentially.
@@ -91,19 +120,25 @@ public final class PrometheusHttpServer implements MetricReader {
               new LinkedBlockingQueue<>(),
               new DaemonThreadFactory("prometheus-http-server"));
     }
+    this.defaultAggregationSelector = defaultAggregationSelector;
     try {
-      this.httpServer =
-          HTTPServer.builder()
-              .hostname(host)
-              .port(port)
-              .executorService(executor)
-              .registry(prometheusRegistry)
-              .defaultHandler(defaultHandler)
-              .buildAndStart();
+      if (scrapeHandler != null) {
+        this.httpServer = null;
+        this.scrapeServer = new ScrapeServer(host, port, executor, scrapeHandler, defaultHandler);
+      } else {
+        this.httpServer =
+            HTTPServer.builder()
+                .hostname(host)
+                .port(port)
+                .executorService(executor)
+                .registry(prometheusRegistry)
+                .defaultHandler(defaultHandler)
+                .buildAndStart();
+        this.scrapeServer = null;
+      }
     } catch (IOException e) {
       throw new UncheckedIOException("Could not create Prometheus HTTP server", e);
     }
-    this.defaultAggregationSelector = defaultAggregationSelector;
   }
 
   @Override
@@ -137,8 +172,13 @@ public final class PrometheusHttpServer implements MetricReader {
     Runnable shutdownFunction =
         () -> {
           try {
-            prometheusRegistry.unregister(prometheusMetricReader);
-            httpServer.stop();
+            prometheusRegistry.unregister(registeredCollector);
+            if (httpServer != null) {
+              httpServer.stop();
+            }
+            if (scrapeServer != null) {
+              scrapeServer.stop();
+            }
             prometheusMetricReader.shutdown().whenComplete(result::succeed);
           } catch (Throwable t) {
             result.fail();
@@ -169,6 +209,61 @@ public final class PrometheusHttpServer implements MetricReader {
 
   // Visible for testing.
   InetSocketAddress getAddress() {
-    return new InetSocketAddress(host, httpServer.getPort());
+    int port =
+        httpServer != null
+            ? httpServer.getPort()
+            : requireNonNull(scrapeServer).server.getAddress().getPort();
+    return new InetSocketAddress(host, port);
+  }
+
+  /**
+   * Serves the same endpoints as {@link HTTPServer}, with {@code /metrics} served by a {@link
+   * ScrapeHandler}.
+   */
+  private static final class ScrapeServer {
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private ScrapeServer(
+        String host,
+        int port,
+        @Nullable ExecutorService executor,
+        ScrapeHandler metricsHandler,
+        @Nullable HttpHandler defaultHandler)
+        throws IOException {
+      this.executor = executor != null ? executor : defaultExecutor();
+      this.server = HttpServer.create(new InetSocketAddress(host, port), 3);
+      server.createContext("/", defaultHandler != null ? defaultHandler : new DefaultHandler());
+      server.createContext("/metrics", metricsHandler);
+      server.createContext("/-/healthy", new HealthyHandler());
+      server.setExecutor(this.executor);
+      server.start();
+    }
+
+    private void stop() {
+      server.stop(0);
+      executor.shutdown();
+    }
+
+    /** Like the default executor of {@link HTTPServer}. */
+    private static ExecutorService defaultExecutor() {
+      return new ThreadPoolExecutor(
+          1,
+          10,
+          120,
+          TimeUnit.SECONDS,
+          new SynchronousQueue<>(true),
+          new DaemonThreadFactory("prometheus-http-server"),
+          // Block the dispatcher thread while all threads are busy
+          (runnable, pool) -> {
+            if (!pool.isShutdown()) {
+              try {
+                pool.getQueue().put(runnable);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            }
+          });
+    }
   }
 }
@@ -9,14 +9,18 @@ import static io.opentelemetry.api.internal.Utils.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.sun.net.httpserver.HttpHandler;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.export.DefaultAggregationSelector;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 /** A builder for {@link PrometheusHttpServer}. */
@@ -34,6 +38,9 @@ public final class PrometheusHttpServerBuilder {
   @Nullable private ExecutorService executor;
   private MemoryMode memoryMode = DEFAULT_MEMORY_MODE;
   @Nullable private HttpHandler defaultHandler;
+  private boolean directScrapeEnabled;
+  private long minScrapeIntervalNanos;
+  private Supplier<MeterProvider> meterProviderSupplier = GlobalOpenTelemetry::getMeterProvider;
   private DefaultAggregationSelector defaultAggregationSelector =
       DefaultAggregationSelector.getDefault();
 
@@ -48,6 +55,9 @@ public final class PrometheusHttpServerBuilder {
     this.executor = builder.executor;
     this.memoryMode = builder.memoryMode;
     this.defaultAggregationSelector = builder.defaultAggregationSelector;
+    this.directScrapeEnabled = builder.directScrapeEnabled;
+    this.minScrapeIntervalNanos = builder.minScrapeIntervalNanos;
+    this.meterProviderSupplier = builder.meterProviderSupplier;
   }
 
   /** Sets the host to bind to. If unset, defaults to {@value #DEFAULT_HOST}. */
@@ -146,6 +156,53 @@ public final class PrometheusHttpServerBuilder {
     return this;
   }
 
+  /**
+   * Set if scrapes in the Prometheus text format are written directly from the collected metrics.
+   * Default is {@code false}.
+   *
+   * <p>If enabled, {@code /metrics} requests for the Prometheus text format are served by writing
+   * the collected metrics straight to the response, instead of first converting them to {@link
+   * io.prometheus.metrics.model.snapshots.MetricSnapshots}, which greatly reduces the memory
+   * allocated by scrapes of many series. Data points are then not sorted by their labels. Requests
+   * for the OpenMetrics or protobuf formats, or with query parameters such as {@code name[]}
+   * filters, are still served from the {@link PrometheusRegistry}.
+   */
+  public PrometheusHttpServerBuilder setDirectScrapeEnabled(boolean directScrapeEnabled) {
+    this.directScrapeEnabled = directScrapeEnabled;
+    return this;
+  }
+
+  /**
+   * Set the minimum interval between collections of the metrics served to scrapes in the
+   * Prometheus text format. Default is {@link Duration#ZERO}, which collects the metrics for every
+   * scrape.
+   *
+   * <p>If positive, the serialized response body, and its gzip compressed form if requested, is
+   * cached and served to all scrapes within this interval of the scrape which collected it, so that
+   * several Prometheus replicas scraping at about the same time share a single collection.
+   * Concurrent scrapes which arrive while the metrics are being collected wait for, and share, the
+   * result. The number of scrapes served from the cache and the time taken to serialize the metrics
+   * are recorded with the {@link #setMeterProvider(MeterProvider) MeterProvider}. Requests for the
+   * OpenMetrics or protobuf formats, or with query parameters such as {@code name[]} filters, are
+   * not cached.
+   */
+  public PrometheusHttpServerBuilder setMinScrapeInterval(Duration minScrapeInterval) {
+    requireNonNull(minScrapeInterval, "minScrapeInterval");
+    checkArgument(!minScrapeInterval.isNegative(), "minScrapeInterval must be non-negative");
+    this.minScrapeIntervalNanos = minScrapeInterval.toNanos();
+    return this;
+  }
+
+  /**
+   * Sets the {@link MeterProvider} to use to collect metrics related to the scrape cache. If not
+   * set, uses {@link GlobalOpenTelemetry#getMeterProvider()}.
+   */
+  public PrometheusHttpServerBuilder setMeterProvider(MeterProvider meterProvider) {
+    requireNonNull(meterProvider, "meterProvider");
+    this.meterProviderSupplier = () -> meterProvider;
+    return this;
+  }
+
   /**
    * Returns a new {@link PrometheusHttpServer} with the configuration of this builder which can be
    * registered with a {@link io.opentelemetry.sdk.metrics.SdkMeterProvider}.
@@ -166,6 +223,9 @@ public final class PrometheusHttpServerBuilder {
         allowedResourceAttributesFilter,
         memoryMode,
         defaultHandler,
-        defaultAggregationSelector);
+        defaultAggregationSelector,
+        directScrapeEnabled,
+        minScrapeIntervalNanos,
+        meterProviderSupplier);
   }
 }
@@ -8,10 +8,14 @@ package io.opentelemetry.exporter.prometheus;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
 import io.opentelemetry.sdk.metrics.export.MetricReader;
 import io.prometheus.metrics.model.registry.MultiCollector;
 import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
@@ -27,6 +31,7 @@ public class PrometheusMetricReader implements MetricReader, MultiCollector {
 
   private volatile CollectionRegistration collectionRegistration = CollectionRegistration.noop();
   private final Otel2PrometheusConverter converter;
+  private final Otel2PrometheusTextWriter textWriter;
 
   // TODO: refactor to public static create or builder pattern to align with project style
   /** See {@link Otel2PrometheusConverter#Otel2PrometheusConverter(boolean, Predicate)}. */
@@ -34,6 +39,8 @@ public class PrometheusMetricReader implements MetricReader, MultiCollector {
       boolean otelScopeEnabled, @Nullable Predicate<String> allowedResourceAttributesFilter) {
     this.converter =
         new Otel2PrometheusConverter(otelScopeEnabled, allowedResourceAttributesFilter);
+    this.textWriter =
+        new Otel2PrometheusTextWriter(otelScopeEnabled, allowedResourceAttributesFilter);
   }
 
   @Override
@@ -60,4 +67,17 @@ public class PrometheusMetricReader implements MetricReader, MultiCollector {
   public MetricSnapshots collect() {
     return converter.convert(collectionRegistration.collectAllMetrics());
   }
+
+  /** Collects the metrics of the registered SDK, for {@link #writeTextFormat}. */
+  Collection<MetricData> collectAllMetrics() {
+    return collectionRegistration.collectAllMetrics();
+  }
+
+  /**
+   * Writes {@code metrics} in the Prometheus text format, which is the same as writing the result
+   * of {@link #collect()} but without the intermediate {@link MetricSnapshots}.
+   */
+  void writeTextFormat(OutputStream out, Collection<MetricData> metrics) throws IOException {
+    textWriter.write(out, metrics);
+  }
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import io.opentelemetry.exporter.internal.compression.GzipCompressor;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.prometheus.metrics.exporter.httpserver.MetricsHandler;
+import io.prometheus.metrics.expositionformats.ExpositionFormats;
+import io.prometheus.metrics.expositionformats.PrometheusTextFormatWriter;
+import io.prometheus.metrics.model.registry.MultiCollector;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Serves {@code /metrics} requests for the Prometheus text format. Requests for other formats, or
+ * with query parameters such as {@code name[]} filters, are served from the {@link
+ * PrometheusRegistry} by a {@link MetricsHandler}.
+ *
+ * <p>If writing directly, the metrics collected from the SDK are written straight to the response,
+ * followed by the metrics of any other collectors registered with the {@link PrometheusRegistry}.
+ * Otherwise, the {@link PrometheusRegistry} is scraped as by a {@link MetricsHandler}.
+ *
+ * <p>If the minimum scrape interval is positive, the serialized response body is cached and served
+ * to all scrapes within that interval of the scrape which collected it. Scrapes which arrive while
+ * the cache is being refreshed wait for, and are served, the refreshed body.
+ *
+ * <p>{@link #getCollector()} must be registered with the {@link PrometheusRegistry} in place of the
+ * {@link PrometheusMetricReader}, so that the SDK metrics aren't written twice.
+ */
+final class ScrapeHandler implements HttpHandler {
+
+  private static final ThrottlingLogger LOGGER =
+      new ThrottlingLogger(Logger.getLogger(ScrapeHandler.class.getName()));
+  static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final PrometheusMetricReader reader;
+  private final PrometheusRegistry registry;
+  private final boolean writeDirectly;
+  private final long minScrapeIntervalNanos;
+  private final ScrapeMetrics scrapeMetrics;
+  private final Clock clock;
+  private final HttpHandler registryHandler;
+  private final PrometheusTextFormatWriter textFormatWriter =
+      ExpositionFormats.init().getPrometheusTextFormatWriter();
+  private final ThreadLocal<Boolean> scrapingOtherCollectors = new ThreadLocal<>();
+  private final MultiCollector collector =
+      new MultiCollector() {
+        @Override
+        public MetricSnapshots collect() {
+          if (Boolean.TRUE.equals(scrapingOtherCollectors.get())) {
+            return MetricSnapshots.of();
+          }
+          return reader.collect();
+        }
+      };
+
+  private final Object cacheLock = new Object();
+  @Nullable private volatile CachedScrape cachedScrape;
+
+  ScrapeHandler(
+      PrometheusMetricReader reader,
+      PrometheusRegistry registry,
+      boolean writeDirectly,
+      long minScrapeIntervalNanos,
+      ScrapeMetrics scrapeMetrics,
+      Clock clock) {
+    this.reader = reader;
+    this.registry = registry;
+    this.writeDirectly = writeDirectly;
+    this.minScrapeIntervalNanos = minScrapeIntervalNanos;
+    this.scrapeMetrics = scrapeMetrics;
+    this.clock = clock;
+    this.registryHandler = new MetricsHandler(registry);
+  }
+
+  MultiCollector getCollector() {
+    return collector;
+  }
+
+  @Override
+  public void handle(HttpExchange exchange) throws IOException {
+    if (!isTextScrape(exchange)) {
+      registryHandler.handle(exchange);
+      return;
+    }
+    try {
+      exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+      if ("HEAD".equals(exchange.getRequestMethod())) {
+        exchange.sendResponseHeaders(200, -1);
+        return;
+      }
+      boolean gzip = acceptsGzip(exchange);
+      if (minScrapeIntervalNanos > 0) {
+        serveCached(exchange, gzip);
+      } else {
+        serveStreamed(exchange, gzip);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void serveStreamed(HttpExchange exchange, boolean gzip) throws IOException {
+    Scrape scrape;
+    try {
+      scrape = collect();
+    } catch (RuntimeException e) {
+      LOGGER.log(Level.WARNING, "Failed to collect metrics.", e);
+      exchange.sendResponseHeaders(500, -1);
+      return;
+    }
+    if (gzip) {
+      exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+    }
+    // The length isn't known until the metrics are written, so the response is chunked
+    exchange.sendResponseHeaders(200, 0);
+    try (OutputStream out =
+        gzip
+            ? GzipCompressor.getInstance().compress(exchange.getResponseBody())
+            : exchange.getResponseBody()) {
+      scrape.writeTo(out);
+    }
+  }
+
+  private void serveCached(HttpExchange exchange, boolean gzip) throws IOException {
+    byte[] body;
+    try {
+      CachedScrape scrape = getCachedScrape();
+      body = gzip ? scrape.gzipBody() : scrape.body;
+    } catch (RuntimeException | IOException e) {
+      LOGGER.log(Level.WARNING, "Failed to collect metrics.", e);
+      exchange.sendResponseHeaders(500, -1);
+      return;
+    }
+    if (gzip) {
+      exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+    }
+    exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+    exchange.getResponseBody().write(body);
+  }
+
+  private CachedScrape getCachedScrape() throws IOException {
+    CachedScrape cached = cachedScrape;
+    if (cached != null && isFresh(cached)) {
+      scrapeMetrics.recordScrape(/* cached= */ true);
+      return cached;
+    }
+    synchronized (cacheLock) {
+      // The cache may have been refreshed by a concurrent scrape while this one waited for the
+      // lock, in which case its result is shared even if it took longer than the interval.
+      CachedScrape current = cachedScrape;
+      if (current != null && (current != cached || isFresh(current))) {
+        scrapeMetrics.recordScrape(/* cached= */ true);
+        return current;
+      }
+      long collectedNanos = clock.nanoTime();
+      Scrape scrape = collect();
+      long startNanos = clock.nanoTime();
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      scrape.writeTo(out);
+      scrapeMetrics.recordSerialization(clock.nanoTime() - startNanos);
+      current = new CachedScrape(collectedNanos, out.toByteArray());
+      cachedScrape = current;
+      scrapeMetrics.recordScrape(/* cached= */ false);
+      return current;
+    }
+  }
+
+  private boolean isFresh(CachedScrape cached) {
+    return clock.nanoTime() - cached.collectedNanos < minScrapeIntervalNanos;
+  }
+
+  private Scrape collect() {
+    if (writeDirectly) {
+      Collection<MetricData> metrics = reader.collectAllMetrics();
+      MetricSnapshots otherMetrics = scrapeOtherCollectors();
+      return out -> {
+        reader.writeTextFormat(out, metrics);
+        textFormatWriter.write(out, otherMetrics);
+      };
+    }
+    MetricSnapshots snapshots = registry.scrape();
+    return out -> textFormatWriter.write(out, snapshots);
+  }
+
+  private MetricSnapshots scrapeOtherCollectors() {
+    scrapingOtherCollectors.set(true);
+    try {
+      return registry.scrape();
+    } finally {
+      scrapingOtherCollectors.remove();
+    }
+  }
+
+  private static boolean isTextScrape(HttpExchange exchange) {
+    String method = exchange.getRequestMethod();
+    if (!"GET".equals(method) && !"HEAD".equals(method)) {
+      return false;
+    }
+    if (exchange.getRequestURI().getRawQuery() != null) {
+      return false;
+    }
+    String accept = exchange.getRequestHeaders().getFirst("Accept");
+    return accept == null
+        || (!accept.contains("application/openmetrics-text")
+            && !accept.contains("application/vnd.google.protobuf"));
+  }
+
+  private static boolean acceptsGzip(HttpExchange exchange) {
+    List<String> acceptEncodings = exchange.getRequestHeaders().get("Accept-Encoding");
+    if (acceptEncodings == null) {
+      return false;
+    }
+    for (String acceptEncoding : acceptEncodings) {
+      for (String encoding : acceptEncoding.split(",")) {
+        if (encoding.trim().equalsIgnoreCase("gzip")) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /** The metrics collected by a scrape, which are written once the response headers are sent. */
+  @FunctionalInterface
+  private interface Scrape {
+    void writeTo(OutputStream out) throws IOException;
+  }
+
+  private static final class CachedScrape {
+    private final long collectedNanos;
+    private final byte[] body;
+    @Nullable private byte[] gzipBody;
+
+    private CachedScrape(long collectedNanos, byte[] body) {
+      this.collectedNanos = collectedNanos;
+      this.body = body;
+    }
+
+    /** Returns the body compressed with gzip, which is only compressed once it's first needed. */
+    private synchronized byte[] gzipBody() throws IOException {
+      byte[] gzipBody = this.gzipBody;
+      if (gzipBody == null) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream gzip = GzipCompressor.getInstance().compress(out)) {
+          gzip.write(body);
+        }
+        gzipBody = out.toByteArray();
+        this.gzipBody = gzipBody;
+      }
+      return gzipBody;
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import static io.opentelemetry.api.common.AttributeKey.booleanKey;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/** Records metrics about the scrapes served from the cache of a {@link ScrapeHandler}. */
+final class ScrapeMetrics {
+
+  private static final AttributeKey<Boolean> ATTRIBUTE_KEY_CACHED = booleanKey("cached");
+  private static final Attributes CACHED_ATTRS =
+      Attributes.builder().put(ATTRIBUTE_KEY_CACHED, true).build();
+  private static final Attributes NOT_CACHED_ATTRS =
+      Attributes.builder().put(ATTRIBUTE_KEY_CACHED, false).build();
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+  private final Supplier<MeterProvider> meterProviderSupplier;
+
+  /** Access via {@link #scrapes()}. */
+  @Nullable private volatile LongCounter scrapes;
+
+  /** Access via {@link #serializationDuration()}. */
+  @Nullable private volatile DoubleHistogram serializationDuration;
+
+  ScrapeMetrics(Supplier<MeterProvider> meterProviderSupplier) {
+    this.meterProviderSupplier = meterProviderSupplier;
+  }
+
+  /** Record a scrape, which was either served from the cache or refreshed it. */
+  void recordScrape(boolean cached) {
+    scrapes().add(1, cached ? CACHED_ATTRS : NOT_CACHED_ATTRS);
+  }
+
+  /** Record the time taken to serialize the collected metrics into the cached response body. */
+  void recordSerialization(long durationNanos) {
+    serializationDuration().record(durationNanos / NANOS_PER_SECOND);
+  }
+
+  private LongCounter scrapes() {
+    LongCounter scrapes = this.scrapes;
+    if (scrapes == null) {
+      scrapes =
+          meter()
+              .counterBuilder("prometheus.exporter.scrapes")
+              .setDescription("Number of scrapes, by whether they were served from the cache")
+              .setUnit("{scrape}")
+              .build();
+      this.scrapes = scrapes;
+    }
+    return scrapes;
+  }
+
+  private DoubleHistogram serializationDuration() {
+    DoubleHistogram serializationDuration = this.serializationDuration;
+    if (serializationDuration == null) {
+      serializationDuration =
+          meter()
+              .histogramBuilder("prometheus.exporter.scrape.serialization.duration")
+              .setDescription("Time taken to serialize the metrics of a scrape")
+              .setUnit("s")
+              .build();
+      this.serializationDuration = serializationDuration;
+    }
+    return serializationDuration;
+  }
+
+  private Meter meter() {
+    return meterProviderSupplier.get().get("io.opentelemetry.exporters.prometheus-http");
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.prometheus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.View;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSummaryData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSummaryPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableValueAtQuantile;
+import io.opentelemetry.sdk.resources.Resource;
+import io.prometheus.metrics.expositionformats.ExpositionFormats;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class Otel2PrometheusTextWriterTest {
+
+  private static Stream<Arguments> configurations() {
+    return Stream.of(
+        Arguments.of(true, null),
+        Arguments.of(false, null),
+        Arguments.of(true, Predicates.ALLOW_ALL),
+        Arguments.of(true, (Predicate<String>) key -> key.startsWith("service")));
+  }
+
+  @ParameterizedTest
+  @MethodSource("configurations")
+  void sameAsSnapshots(
+      boolean otelScopeEnabled, @Nullable Predicate<String> allowedResourceAttributesFilter)
+      throws IOException {
+    PrometheusMetricReader reader =
+        new PrometheusMetricReader(otelScopeEnabled, allowedResourceAttributesFilter);
+    SdkMeterProvider meterProvider = createMeterProvider(reader);
+    Meter meter = meterProvider.meterBuilder("test").setInstrumentationVersion("1.0").build();
+
+    meter
+        .counterBuilder("requests.size")
+        .setDescription("some help text\nwith \\ escapes")
+        .setUnit("By")
+        .build()
+        .add(3, Attributes.builder().put("animal", "bear").put("a.b", "quo\"ted").build());
+    meter.upDownCounterBuilder("queue.depth").build().add(-2, Attributes.empty());
+    meter.gaugeBuilder("temperature").setUnit("Cel").build().set(21.5);
+    meter
+        .histogramBuilder("request.duration")
+        .setUnit("s")
+        .build()
+        .record(0.3, Attributes.builder().put("otel_scope_name", "overridden").build());
+    meter.histogramBuilder("my.exponential.histogram").build().record(7);
+    meterProvider
+        .meterBuilder("other")
+        .setAttributes(Attributes.builder().put("scope.key", "value").build())
+        .build()
+        .counterBuilder("jobs")
+        .build()
+        .add(1);
+
+    assertThat(writeDirectly(reader)).isEqualTo(writeSnapshots(reader));
+    meterProvider.close();
+  }
+
+  @ParameterizedTest
+  @MethodSource("configurations")
+  void sameAsSnapshots_Merged(
+      boolean otelScopeEnabled, @Nullable Predicate<String> allowedResourceAttributesFilter)
+      throws IOException {
+    PrometheusMetricReader reader =
+        new PrometheusMetricReader(otelScopeEnabled, allowedResourceAttributesFilter);
+    SdkMeterProvider meterProvider = createMeterProvider(reader);
+    for (String scope : Arrays.asList("scope1", "scope2")) {
+      Meter meter = meterProvider.get(scope);
+      meter.counterBuilder("requests").build().add(1, Attributes.builder().put("k", "a").build());
+      meter.counterBuilder("requests").build().add(2, Attributes.builder().put("k", "b").build());
+      // Conflicts with the counter, and is dropped
+      meter.gaugeBuilder("requests").build().set(3);
+    }
+
+    // Data points aren't sorted by their labels when written directly
+    assertThat(sortedLines(writeDirectly(reader))).isEqualTo(sortedLines(writeSnapshots(reader)));
+    meterProvider.close();
+  }
+
+  @ParameterizedTest
+  @MethodSource("configurations")
+  void sameAsSnapshots_CollidingLabelNames(
+      boolean otelScopeEnabled, @Nullable Predicate<String> allowedResourceAttributesFilter)
+      throws IOException {
+    PrometheusMetricReader reader =
+        new PrometheusMetricReader(otelScopeEnabled, allowedResourceAttributesFilter);
+    SdkMeterProvider meterProvider = createMeterProvider(reader);
+    Meter meter = meterProvider.get("test");
+
+    // foo.bar and foo_bar are both written as foo_bar, and a.z sorts before a_b as an attribute
+    // but after it as a label
+    meter
+        .counterBuilder("requests")
+        .build()
+        .add(
+            1,
+            Attributes.builder()
+                .put("foo.bar", "first")
+                .put("foo_bar", "second")
+                .put("a.z", "z")
+                .put("a_b", "b")
+                .put("service.name", "overridden")
+                .build());
+
+    assertThat(writeDirectly(reader)).isEqualTo(writeSnapshots(reader));
+    meterProvider.close();
+  }
+
+  @Test
+  void reservedLabelNamesDropped() throws IOException {
+    PrometheusMetricReader reader = new PrometheusMetricReader(false, null);
+    Attributes attributes =
+        Attributes.builder().put("k", "v").put("le", "x").put("quantile", "y").build();
+    List<MetricData> metrics =
+        Arrays.asList(
+            ImmutableMetricData.createDoubleHistogram(
+                Resource.empty(),
+                InstrumentationScopeInfo.create("test"),
+                "latency",
+                "",
+                "",
+                ImmutableHistogramData.create(
+                    AggregationTemporality.CUMULATIVE,
+                    Collections.singletonList(
+                        ImmutableHistogramPointData.create(
+                            0,
+                            1,
+                            attributes,
+                            3.5,
+                            false,
+                            0,
+                            false,
+                            0,
+                            Collections.singletonList(1.0),
+                            Arrays.asList(1L, 2L))))),
+            ImmutableMetricData.createDoubleSummary(
+                Resource.empty(),
+                InstrumentationScopeInfo.create("test"),
+                "rpc",
+                "",
+                "",
+                ImmutableSummaryData.create(
+                    Collections.singletonList(
+                        ImmutableSummaryPointData.create(
+                            0,
+                            1,
+                            attributes,
+                            2,
+                            4.0,
+                            Collections.singletonList(
+                                ImmutableValueAtQuantile.create(0.5, 1.5)))))));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    reader.writeTextFormat(out, metrics);
+    assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8))
+        .contains(
+            "latency_bucket{k=\"v\",quantile=\"y\",le=\"1.0\"} 1\n"
+                + "latency_bucket{k=\"v\",quantile=\"y\",le=\"+Inf\"} 3\n"
+                + "latency_count{k=\"v\",quantile=\"y\"} 3\n"
+                + "latency_sum{k=\"v\",quantile=\"y\"} 3.5\n")
+        .contains(
+            "rpc{k=\"v\",le=\"x\",quantile=\"0.5\"} 1.5\n"
+                + "rpc_count{k=\"v\",le=\"x\"} 2\n"
+                + "rpc_sum{k=\"v\",le=\"x\"} 4.0\n");
+  }
+
+  private static SdkMeterProvider createMeterProvider(PrometheusMetricReader reader) {
+    return SdkMeterProvider.builder()
+        .registerMetricReader(reader)
+        .setResource(
+            Resource.getDefault().toBuilder()
+                .put("telemetry.sdk.version", "1.x.x")
+                .put("service.name", "my-service")
+                .build())
+        .registerView(
+            InstrumentSelector.builder().setName("my.exponential.histogram").build(),
+            View.builder().setAggregation(Aggregation.base2ExponentialBucketHistogram()).build())
+        .build();
+  }
+
+  private static String writeDirectly(PrometheusMetricReader reader) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    reader.writeTextFormat(out, reader.collectAllMetrics());
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static String writeSnapshots(PrometheusMetricReader reader) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ExpositionFormats.init().getPrometheusTextFormatWriter().write(out, reader.collect());
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static String[] sortedLines(String text) {
+    String[] lines = text.split("\n");
+    Arrays.sort(lines);
+    return lines;
+  }
+}
@@ -5,9 +5,10 @@
 
 package io.opentelemetry.exporter.prometheus;
 
+import static io.opentelemetry.api.common.AttributeKey.booleanKey;
 import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
 import static org.assertj.core.api.Assertions.as;
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.google.common.collect.ImmutableList;
@@ -40,6 +41,7 @@ import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
 import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import io.prometheus.metrics.exporter.httpserver.HTTPServer;
 import io.prometheus.metrics.exporter.httpserver.MetricsHandler;
 import io.prometheus.metrics.expositionformats.generated.com_google_protobuf_4_28_2.Metrics;
@@ -49,16 +51,19 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.zip.GZIPInputStream;
@@ -124,6 +129,13 @@ class PrometheusHttpServerTest {
     assertThatThrownBy(() -> PrometheusHttpServer.builder().setDefaultAggregationSelector(null))
         .isInstanceOf(NullPointerException.class)
         .hasMessage("defaultAggregationSelector");
+    assertThatThrownBy(
+            () -> PrometheusHttpServer.builder().setMinScrapeInterval(Duration.ofSeconds(-1)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("minScrapeInterval must be non-negative");
+    assertThatThrownBy(() -> PrometheusHttpServer.builder().setMeterProvider(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("meterProvider");
   }
 
   @Test
@@ -298,6 +310,194 @@ class PrometheusHttpServerTest {
     }
   }
 
+  @SuppressWarnings("resource")
+  @Test
+  void fetchDirectScrape() throws IOException {
+    String expected =
+        "# HELP grpc_name_unit_total long_description\n"
+            + "# TYPE grpc_name_unit_total counter\n"
+            + "grpc_name_unit_total{kp=\"vp\",otel_scope_name=\"grpc\",otel_scope_version=\"version\"} 5.0\n"
+            + "# HELP http_name_unit_total double_description\n"
+            + "# TYPE http_name_unit_total counter\n"
+            + "http_name_unit_total{kp=\"vp\",otel_scope_name=\"http\",otel_scope_version=\"version\"} 3.5\n"
+            + "# TYPE target_info gauge\n"
+            + "target_info{kr=\"vr\"} 1\n";
+    try (PrometheusHttpServer prometheusServer =
+        PrometheusHttpServer.builder()
+            .setHost("localhost")
+            .setPort(0)
+            .setDirectScrapeEnabled(true)
+            .build()) {
+      prometheusServer.register(
+          new CollectionRegistration() {
+            @Override
+            public Collection<MetricData> collectAllMetrics() {
+              return metricData.get();
+            }
+          });
+      WebClient client =
+          WebClient.builder("http://localhost:" + prometheusServer.getAddress().getPort())
+              .decorator(RetryingClient.newDecorator(RetryRule.failsafe()))
+              .build();
+
+      AggregatedHttpResponse response = client.get("/metrics").aggregate().join();
+      assertThat(response.status()).isEqualTo(HttpStatus.OK);
+      assertThat(response.headers().get(HttpHeaderNames.CONTENT_TYPE))
+          .isEqualTo("text/plain; version=0.0.4; charset=utf-8");
+      assertThat(response.contentUtf8()).isEqualTo(expected);
+
+      response =
+          client
+              .execute(
+                  RequestHeaders.of(
+                      HttpMethod.GET, "/metrics", HttpHeaderNames.ACCEPT_ENCODING, "gzip"))
+              .aggregate()
+              .join();
+      assertThat(response.status()).isEqualTo(HttpStatus.OK);
+      assertThat(response.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isEqualTo("gzip");
+      GZIPInputStream gis =
+          new GZIPInputStream(new ByteArrayInputStream(response.content().array()));
+      assertThat(new String(ByteStreams.toByteArray(gis), StandardCharsets.UTF_8))
+          .isEqualTo(expected);
+
+      response = client.head("/metrics").aggregate().join();
+      assertThat(response.status()).isEqualTo(HttpStatus.OK);
+      assertThat(response.headers().get(HttpHeaderNames.CONTENT_TYPE))
+          .isEqualTo("text/plain; version=0.0.4; charset=utf-8");
+      assertThat(response.content().isEmpty()).isTrue();
+
+      // Other formats and filtered requests are served from the registry
+      response =
+          client
+              .execute(
+                  RequestHeaders.of(
+                      HttpMethod.GET,
+                      "/metrics",
+                      HttpHeaderNames.ACCEPT,
+                      "application/openmetrics-text"))
+              .aggregate()
+              .join();
+      assertThat(response.status()).isEqualTo(HttpStatus.OK);
+      assertThat(response.headers().get(HttpHeaderNames.CONTENT_TYPE))
+          .isEqualTo("application/openmetrics-text; version=1.0.0; charset=utf-8");
+      assertThat(response.contentUtf8()).endsWith("# EOF\n");
+
+      response = client.get("/metrics?name[]=target_info").aggregate().join();
+      assertThat(response.status()).isEqualTo(HttpStatus.OK);
+      assertThat(response.contentUtf8())
+          .isEqualTo("# TYPE target_info gauge\ntarget_info{kr=\"vr\"} 1\n");
+
+      response = client.get("/-/healthy").aggregate().join();
+      assertThat(response.status()).isEqualTo(HttpStatus.OK);
+      assertThat(response.contentUtf8()).isEqualTo("Exporter is healthy.\n");
+    }
+  }
+
+  @SuppressWarnings("resource")
+  @Test
+  void fetchCached() throws Exception {
+    InMemoryMetricReader selfMetricReader = InMemoryMetricReader.create();
+    SdkMeterProvider selfMeterProvider =
+        SdkMeterProvider.builder().registerMetricReader(selfMetricReader).build();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    AtomicInteger collections = new AtomicInteger();
+    try (PrometheusHttpServer prometheusServer =
+        PrometheusHttpServer.builder()
+            .setHost("localhost")
+            .setPort(0)
+            .setMemoryMode(MemoryMode.IMMUTABLE_DATA)
+            .setExecutor(executor)
+            .setMinScrapeInterval(Duration.ofHours(1))
+            .setMeterProvider(selfMeterProvider)
+            .build()) {
+      prometheusServer.register(
+          new CollectionRegistration() {
+            @Override
+            public Collection<MetricData> collectAllMetrics() {
+              collections.incrementAndGet();
+              return metricData.get();
+            }
+          });
+      WebClient client =
+          WebClient.builder("http://localhost:" + prometheusServer.getAddress().getPort())
+              .decorator(RetryingClient.newDecorator(RetryRule.failsafe()))
+              .build();
+
+      List<CompletableFuture<AggregatedHttpResponse>> responses = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        responses.add(client.get("/metrics").aggregate());
+      }
+      String expected = responses.get(0).join().contentUtf8();
+      assertThat(expected).contains("grpc_name_unit_total");
+      for (CompletableFuture<AggregatedHttpResponse> response : responses) {
+        assertThat(response.join().status()).isEqualTo(HttpStatus.OK);
+        assertThat(response.join().headers().get(HttpHeaderNames.CONTENT_TYPE))
+            .isEqualTo("text/plain; version=0.0.4; charset=utf-8");
+        assertThat(response.join().contentUtf8()).isEqualTo(expected);
+      }
+
+      // Served from the cache until the interval has passed
+      metricData.set(Collections.emptyList());
+      assertThat(client.get("/metrics").aggregate().join().contentUtf8()).isEqualTo(expected);
+      AggregatedHttpResponse response =
+          client
+              .execute(
+                  RequestHeaders.of(
+                      HttpMethod.GET, "/metrics", HttpHeaderNames.ACCEPT_ENCODING, "gzip"))
+              .aggregate()
+              .join();
+      assertThat(response.status()).isEqualTo(HttpStatus.OK);
+      assertThat(response.headers().get(HttpHeaderNames.CONTENT_ENCODING)).isEqualTo("gzip");
+      GZIPInputStream gis =
+          new GZIPInputStream(new ByteArrayInputStream(response.content().array()));
+      assertThat(new String(ByteStreams.toByteArray(gis), StandardCharsets.UTF_8))
+          .isEqualTo(expected);
+      assertThat(collections).hasValue(1);
+
+      // Other formats aren't cached
+      response =
+          client
+              .execute(
+                  RequestHeaders.of(
+                      HttpMethod.GET,
+                      "/metrics",
+                      HttpHeaderNames.ACCEPT,
+                      "application/openmetrics-text"))
+              .aggregate()
+              .join();
+      assertThat(response.contentUtf8()).doesNotContain("grpc_name_unit_total");
+      assertThat(collections).hasValue(2);
+
+      assertThat(selfMetricReader.collectAllMetrics())
+          .satisfiesExactlyInAnyOrder(
+              metric ->
+                  assertThat(metric)
+                      .hasName("prometheus.exporter.scrapes")
+                      .hasLongSumSatisfying(
+                          sum ->
+                              sum.isMonotonic()
+                                  .hasPointsSatisfying(
+                                      point ->
+                                          point
+                                              .hasValue(11)
+                                              .hasAttributes(
+                                                  Attributes.of(booleanKey("cached"), true)),
+                                      point ->
+                                          point
+                                              .hasValue(1)
+                                              .hasAttributes(
+                                                  Attributes.of(booleanKey("cached"), false)))),
+              metric ->
+                  assertThat(metric)
+                      .hasName("prometheus.exporter.scrape.serialization.duration")
+                      .hasUnit("s")
+                      .hasHistogramSatisfying(
+                          histogram -> histogram.hasPointsSatisfying(point -> point.hasCount(1))));
+    } finally {
+      selfMeterProvider.close();
+    }
+  }
+
   @SuppressWarnings("resource")
   @Test
   void fetchPrometheusCompressed() throws IOException {
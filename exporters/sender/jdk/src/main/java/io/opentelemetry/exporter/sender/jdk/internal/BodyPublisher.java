@@ -5,55 +5,46 @@
 
 package io.opentelemetry.exporter.sender.jdk.internal;
 
+import io.opentelemetry.exporter.internal.marshal.ByteBufferChainOutputStream;
 import java.net.http.HttpRequest;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Flow;
-import java.util.function.Supplier;
+import java.util.concurrent.atomic.AtomicInteger;
 
 final class BodyPublisher implements HttpRequest.BodyPublisher {
 
-  private final int length;
-  private final byte[] content;
-  private final Supplier<ByteBuffer> bufSupplier;
+  private final ByteBufferChainOutputStream content;
+  private final AtomicInteger subscriptions = new AtomicInteger();
+  private final AtomicInteger completedSubscriptions = new AtomicInteger();
 
-  BodyPublisher(byte[] content, int length, Supplier<ByteBuffer> bufSupplier) {
+  BodyPublisher(ByteBufferChainOutputStream content) {
     this.content = content;
-    this.length = length;
-    this.bufSupplier = bufSupplier;
   }
 
-  private List<ByteBuffer> copyToBuffers() {
-    int offset = 0;
-    int length = this.length;
-
-    List<ByteBuffer> buffers = new ArrayList<>();
-    while (length > 0) {
-      ByteBuffer b = bufSupplier.get();
-      b.clear();
-      int lengthToCopy = Math.min(b.capacity(), length);
-      b.put(content, offset, lengthToCopy);
-      offset += lengthToCopy;
-      length -= lengthToCopy;
-      b.flip();
-      buffers.add(b);
-    }
-    return buffers;
+  /**
+   * Returns whether every subscription has handed all buffers to its subscriber and completed,
+   * rather than having been cancelled or failed part way.
+   */
+  boolean isFullySent() {
+    int subscribed = subscriptions.get();
+    return subscribed > 0 && completedSubscriptions.get() == subscribed;
   }
 
   @Override
   public long contentLength() {
-    return length;
+    return content.size();
   }
 
   @Override
   public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
-    Subscription subscription = new Subscription(copyToBuffers(), subscriber);
+    // Each subscription, i.e. each attempt to send the request, reads its own views of the buffers
+    subscriptions.incrementAndGet();
+    Subscription subscription = new Subscription(content.toByteBuffers(), subscriber);
     subscriber.onSubscribe(subscription);
   }
 
-  private static class Subscription implements Flow.Subscription {
+  private class Subscription implements Flow.Subscription {
 
     private volatile boolean isCompleted;
     private final List<ByteBuffer> buffers;
@@ -102,6 +93,7 @@ final class BodyPublisher implements HttpRequest.BodyPublisher {
       }
       if (offset >= buffers.size()) {
         isCompleted = true;
+        completedSubscriptions.incrementAndGet();
         subscriber.onComplete();
       }
     }
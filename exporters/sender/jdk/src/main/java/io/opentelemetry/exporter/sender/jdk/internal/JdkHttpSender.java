@@ -9,11 +9,13 @@ import static java.util.stream.Collectors.joining;
 
 import io.opentelemetry.exporter.internal.compression.Compressor;
 import io.opentelemetry.exporter.internal.http.HttpSender;
+import io.opentelemetry.exporter.internal.marshal.ByteBufferChainOutputStream;
+import io.opentelemetry.exporter.internal.marshal.ByteBufferPool;
 import io.opentelemetry.exporter.internal.marshal.Marshaler;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.export.ProxyOptions;
 import io.opentelemetry.sdk.common.export.RetryPolicy;
-import java.io.ByteArrayOutputStream;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
@@ -22,16 +24,16 @@ import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -52,14 +54,16 @@ public final class JdkHttpSender implements HttpSender {
 
   private static final Set<Integer> retryableStatusCodes = Set.of(429, 502, 503, 504);
 
-  private static final ThreadLocal<NoCopyByteArrayOutputStream> threadLocalBaos =
-      ThreadLocal.withInitial(NoCopyByteArrayOutputStream::new);
-  private static final ThreadLocal<ByteBufferPool> threadLocalByteBufPool =
-      ThreadLocal.withInitial(ByteBufferPool::new);
+  private static final int DEFAULT_EXECUTOR_THREADS = 5;
 
   private static final Logger logger = Logger.getLogger(JdkHttpSender.class.getName());
 
-  private final ExecutorService executorService = Executors.newFixedThreadPool(5);
+  // The executor requests are marshaled and retried on. Since requests are sent asynchronously, it
+  // doesn't bound the number of in-flight requests.
+  private final ExecutorService executorService;
+  // Whether the executor was created by, and is hence shutdown with, this sender
+  private final boolean managedExecutor;
+  private final ByteBufferPool byteBufferPool = ByteBufferPool.getShared();
   private final HttpClient client;
   private final URI uri;
   @Nullable private final Compressor compressor;
@@ -78,7 +82,8 @@ public final class JdkHttpSender implements HttpSender {
       String contentType,
       long timeoutNanos,
       Supplier<Map<String, List<String>>> headerSupplier,
-      @Nullable RetryPolicy retryPolicy) {
+      @Nullable RetryPolicy retryPolicy,
+      @Nullable ExecutorService executorService) {
     this.client = client;
     try {
       this.uri = new URI(endpoint);
@@ -91,6 +96,15 @@ public final class JdkHttpSender implements HttpSender {
     this.timeoutNanos = timeoutNanos;
     this.headerSupplier = headerSupplier;
     this.retryPolicy = retryPolicy;
+    if (executorService == null) {
+      this.executorService =
+          Executors.newFixedThreadPool(
+              DEFAULT_EXECUTOR_THREADS, new DaemonThreadFactory("jdk-http-sender"));
+      this.managedExecutor = true;
+    } else {
+      this.executorService = executorService;
+      this.managedExecutor = false;
+    }
   }
 
   JdkHttpSender(
@@ -103,7 +117,8 @@ public final class JdkHttpSender implements HttpSender {
       Supplier<Map<String, List<String>>> headerSupplier,
       @Nullable RetryPolicy retryPolicy,
       @Nullable ProxyOptions proxyOptions,
-      @Nullable SSLContext sslContext) {
+      @Nullable SSLContext sslContext,
+      @Nullable ExecutorService executorService) {
     this(
         configureClient(sslContext, connectTimeoutNanos, proxyOptions),
         endpoint,
@@ -112,7 +127,8 @@ public final class JdkHttpSender implements HttpSender {
         contentType,
         timeoutNanos,
         headerSupplier,
-        retryPolicy);
+        retryPolicy,
+        executorService);
   }
 
   private static HttpClient configureClient(
@@ -137,19 +153,11 @@ public final class JdkHttpSender implements HttpSender {
       Consumer<Response> onResponse,
       Consumer<Throwable> onError) {
     CompletableFuture<HttpResponse<byte[]>> unused =
-        CompletableFuture.supplyAsync(
-                () -> {
-                  try {
-                    return sendInternal(marshaler);
-                  } catch (IOException e) {
-                    throw new UncheckedIOException(e);
-                  }
-                },
-                executorService)
+        sendInternal(marshaler)
             .whenComplete(
                 (httpResponse, throwable) -> {
                   if (throwable != null) {
-                    onError.accept(throwable);
+                    onError.accept(unwrap(throwable));
                     return;
                   }
                   onResponse.accept(toHttpResponse(httpResponse));
@@ -157,8 +165,33 @@ public final class JdkHttpSender implements HttpSender {
   }
 
   // Visible for testing
-  HttpResponse<byte[]> sendInternal(Marshaler marshaler) throws IOException {
+  CompletableFuture<HttpResponse<byte[]>> sendInternal(Marshaler marshaler) {
     long startTimeNanos = System.nanoTime();
+    return CompletableFuture.supplyAsync(
+            () -> {
+              ByteBufferChainOutputStream body = new ByteBufferChainOutputStream(byteBufferPool);
+              BodyPublisher publisher = new BodyPublisher(body);
+              boolean started = false;
+              try {
+                HttpRequest.Builder requestBuilder = prepareRequest(marshaler, body, publisher);
+                Exchange exchange = new Exchange(requestBuilder, body, publisher, startTimeNanos);
+                exchange.sendAttempt();
+                started = true;
+                return exchange;
+              } finally {
+                // Once the exchange has started, it releases the body when it completes. Otherwise
+                // the client may have been handed the body before the failure, so it's discarded.
+                if (!started) {
+                  body.discard();
+                }
+              }
+            },
+            executorService)
+        .thenCompose(exchange -> exchange.result);
+  }
+
+  private HttpRequest.Builder prepareRequest(
+      Marshaler marshaler, ByteBufferChainOutputStream os, BodyPublisher publisher) {
     HttpRequest.Builder requestBuilder =
         HttpRequest.newBuilder().uri(uri).timeout(Duration.ofNanos(timeoutNanos));
     Map<String, List<String>> headers = headerSupplier.get();
@@ -167,95 +200,198 @@ public final class JdkHttpSender implements HttpSender {
     }
     requestBuilder.header("Content-Type", contentType);
 
-    NoCopyByteArrayOutputStream os = threadLocalBaos.get();
-    os.reset();
-    if (compressor != null) {
-      requestBuilder.header("Content-Encoding", compressor.getEncoding());
-      try (OutputStream compressed = compressor.compress(os)) {
-        write(marshaler, compressed);
-      } catch (IOException e) {
-        throw new IllegalStateException(e);
+    // Serialize straight into pooled buffers which are handed to the client as is, rather than
+    // into an array which is then copied into buffers
+    try {
+      if (compressor != null) {
+        requestBuilder.header("Content-Encoding", compressor.getEncoding());
+        try (OutputStream compressed = compressor.compress(os)) {
+          write(marshaler, compressed);
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+      } else {
+        write(marshaler, os);
       }
-    } else {
-      write(marshaler, os);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
 
-    ByteBufferPool byteBufferPool = threadLocalByteBufPool.get();
-    requestBuilder.POST(new BodyPublisher(os.buf(), os.size(), byteBufferPool::getBuffer));
+    requestBuilder.POST(publisher);
+    return requestBuilder;
+  }
 
-    // If no retry policy, short circuit
-    if (retryPolicy == null) {
-      return sendRequest(requestBuilder, byteBufferPool);
+  /**
+   * The state of a single export request across its (re)tries. Attempts are sent with {@link
+   * HttpClient#sendAsync(HttpRequest, HttpResponse.BodyHandler)} and backoff between attempts is
+   * scheduled with a delayed executor, so no thread is blocked while a request is in flight or
+   * waiting to be retried.
+   */
+  private final class Exchange {
+
+    private final HttpRequest.Builder requestBuilder;
+    private final ByteBufferChainOutputStream body;
+    private final BodyPublisher publisher;
+    private final long startTimeNanos;
+    private final CompletableFuture<HttpResponse<byte[]>> result = new CompletableFuture<>();
+
+    private long attempt;
+    private long nextBackoffNanos;
+    @Nullable private HttpResponse<byte[]> httpResponse;
+    @Nullable private Throwable exception;
+
+    private Exchange(
+        HttpRequest.Builder requestBuilder,
+        ByteBufferChainOutputStream body,
+        BodyPublisher publisher,
+        long startTimeNanos) {
+      this.requestBuilder = requestBuilder;
+      this.body = body;
+      this.publisher = publisher;
+      this.startTimeNanos = startTimeNanos;
+      this.nextBackoffNanos = retryPolicy == null ? 0 : retryPolicy.getInitialBackoff().toNanos();
     }
 
-    long attempt = 0;
-    long nextBackoffNanos = retryPolicy.getInitialBackoff().toNanos();
-    HttpResponse<byte[]> httpResponse = null;
-    IOException exception = null;
-    do {
-      if (attempt > 0) {
-        // Compute and sleep for backoff
-        long upperBoundNanos = Math.min(nextBackoffNanos, retryPolicy.getMaxBackoff().toNanos());
-        long backoffNanos = ThreadLocalRandom.current().nextLong(upperBoundNanos);
-        nextBackoffNanos = (long) (nextBackoffNanos * retryPolicy.getBackoffMultiplier());
-        try {
-          TimeUnit.NANOSECONDS.sleep(backoffNanos);
-        } catch (InterruptedException e) {
-          Thread.currentThread().interrupt();
-          break; // Break out and return response or throw
-        }
-        // If after sleeping we've exceeded timeoutNanos, break out and return response or throw
-        if ((System.nanoTime() - startTimeNanos) >= timeoutNanos) {
-          break;
+    private void sendAttempt() {
+      try {
+        if (retryPolicy != null) {
+          long remainingNanos = timeoutNanos - (System.nanoTime() - startTimeNanos);
+          // A retry may run later than it was scheduled, after the timeout has elapsed
+          if (attempt > 0 && remainingNanos <= 0) {
+            complete(httpResponse, exception);
+            return;
+          }
+          requestBuilder.timeout(Duration.ofNanos(remainingNanos));
         }
+        attempt++;
+        client
+            .sendAsync(requestBuilder.build(), HttpResponse.BodyHandlers.ofByteArray())
+            .whenComplete(this::onAttemptComplete);
+      } catch (RuntimeException e) {
+        complete(null, e);
       }
+    }
 
-      attempt++;
-      requestBuilder.timeout(Duration.ofNanos(timeoutNanos - (System.nanoTime() - startTimeNanos)));
+    private void onAttemptComplete(
+        @Nullable HttpResponse<byte[]> attemptResponse, @Nullable Throwable throwable) {
+      // Exceptions thrown by a callback of the response are otherwise lost, leaving the export
+      // incomplete
       try {
-        httpResponse = sendRequest(requestBuilder, byteBufferPool);
-      } catch (IOException e) {
-        exception = e;
+        handleAttempt(attemptResponse, throwable);
+      } catch (RuntimeException e) {
+        complete(null, e);
+      }
+    }
+
+    private void handleAttempt(
+        @Nullable HttpResponse<byte[]> attemptResponse, @Nullable Throwable throwable) {
+      // If no retry policy, short circuit
+      if (retryPolicy == null) {
+        complete(attemptResponse, throwable);
+        return;
       }
 
-      if (httpResponse != null) {
-        boolean retryable = retryableStatusCodes.contains(httpResponse.statusCode());
+      if (throwable != null) {
+        exception = unwrap(throwable);
+        boolean retryable =
+            exception instanceof IOException && isRetryableException((IOException) exception);
         if (logger.isLoggable(Level.FINER)) {
           logger.log(
               Level.FINER,
               "Attempt "
                   + attempt
-                  + " returned "
+                  + " failed with "
                   + (retryable ? "retryable" : "non-retryable")
-                  + " response: "
-                  + responseStringRepresentation(httpResponse));
+                  + " exception",
+              exception);
         }
         if (!retryable) {
-          return httpResponse;
+          complete(null, exception);
+          return;
         }
-      }
-      if (exception != null) {
-        boolean retryable = isRetryableException(exception);
+      } else if (attemptResponse != null) {
+        httpResponse = attemptResponse;
+        boolean retryable = retryableStatusCodes.contains(attemptResponse.statusCode());
         if (logger.isLoggable(Level.FINER)) {
           logger.log(
               Level.FINER,
               "Attempt "
                   + attempt
-                  + " failed with "
+                  + " returned "
                   + (retryable ? "retryable" : "non-retryable")
-                  + " exception",
-              exception);
+                  + " response: "
+                  + responseStringRepresentation(attemptResponse));
         }
         if (!retryable) {
-          throw exception;
+          complete(attemptResponse, null);
+          return;
         }
       }
-    } while (attempt < retryPolicy.getMaxAttempts());
 
-    if (httpResponse != null) {
-      return httpResponse;
+      if (attempt >= retryPolicy.getMaxAttempts()) {
+        complete(httpResponse, exception);
+        return;
+      }
+
+      // Compute backoff and schedule the next attempt
+      long upperBoundNanos = Math.min(nextBackoffNanos, retryPolicy.getMaxBackoff().toNanos());
+      long backoffNanos = ThreadLocalRandom.current().nextLong(upperBoundNanos);
+      nextBackoffNanos = (long) (nextBackoffNanos * retryPolicy.getBackoffMultiplier());
+      // If after the backoff we'd exceed timeoutNanos, return response or throw
+      if ((System.nanoTime() - startTimeNanos) + backoffNanos >= timeoutNanos) {
+        complete(httpResponse, exception);
+        return;
+      }
+      CompletableFuture.delayedExecutor(
+              backoffNanos, TimeUnit.NANOSECONDS, JdkHttpSender.this::executeRetry)
+          .execute(this::sendAttempt);
+    }
+
+    private void complete(
+        @Nullable HttpResponse<byte[]> finalResponse, @Nullable Throwable finalException) {
+      if (result.isDone()) {
+        return;
+      }
+      // The client may keep reading the body of an attempt it abandoned, such as one which timed
+      // out or failed, or which the server answered before receiving the whole body, after the
+      // attempt has completed. The buffers are only reused if the only attempt was accepted, and
+      // hence read in full, by the server.
+      if (attempt == 1
+          && finalResponse != null
+          && finalResponse.statusCode() >= 200
+          && finalResponse.statusCode() < 300
+          && publisher.isFullySent()) {
+        body.reset();
+      } else {
+        body.discard();
+      }
+      if (finalResponse != null) {
+        result.complete(finalResponse);
+      } else {
+        result.completeExceptionally(
+            finalException != null ? finalException : new IllegalStateException("No response"));
+      }
+    }
+  }
+
+  private void executeRetry(Runnable retry) {
+    try {
+      executorService.execute(retry);
+    } catch (RejectedExecutionException e) {
+      // The sender has been shutdown, finish the in-flight request on the timer thread rather than
+      // dropping it. Attempts don't block, so this is cheap.
+      retry.run();
+    }
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    if (throwable instanceof CompletionException && throwable.getCause() != null) {
+      throwable = throwable.getCause();
+    }
+    if (throwable instanceof UncheckedIOException && throwable.getCause() != null) {
+      throwable = throwable.getCause();
     }
-    throw exception;
+    return throwable;
   }
 
   private static String responseStringRepresentation(HttpResponse<?> response) {
@@ -277,18 +413,6 @@ public final class JdkHttpSender implements HttpSender {
     }
   }
 
-  private HttpResponse<byte[]> sendRequest(
-      HttpRequest.Builder requestBuilder, ByteBufferPool byteBufferPool) throws IOException {
-    try {
-      return client.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofByteArray());
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      throw new IllegalStateException(e);
-    } finally {
-      byteBufferPool.resetPool();
-    }
-  }
-
   private static boolean isRetryableException(IOException throwable) {
     // Almost all IOExceptions we've encountered are transient retryable, so we opt out of specific
     // IOExceptions that are unlikely to resolve rather than opting in.
@@ -299,16 +423,6 @@ public final class JdkHttpSender implements HttpSender {
     return !(throwable instanceof SSLException);
   }
 
-  private static class NoCopyByteArrayOutputStream extends ByteArrayOutputStream {
-    NoCopyByteArrayOutputStream() {
-      super(retryableStatusCodes.size());
-    }
-
-    private byte[] buf() {
-      return buf;
-    }
-  }
-
   private static Response toHttpResponse(HttpResponse<byte[]> response) {
     return new Response() {
       @Override
@@ -328,35 +442,11 @@ public final class JdkHttpSender implements HttpSender {
     };
   }
 
-  private static class ByteBufferPool {
-
-    // TODO: make configurable?
-    private static final int BUF_SIZE = 16 * 1024;
-
-    private final ConcurrentLinkedQueue<ByteBuffer> pool = new ConcurrentLinkedQueue<>();
-    private final ConcurrentLinkedQueue<ByteBuffer> out = new ConcurrentLinkedQueue<>();
-
-    private ByteBuffer getBuffer() {
-      ByteBuffer buffer = pool.poll();
-      if (buffer == null) {
-        buffer = ByteBuffer.allocate(BUF_SIZE);
-      }
-      out.offer(buffer);
-      return buffer;
-    }
-
-    private void resetPool() {
-      ByteBuffer buf = out.poll();
-      while (buf != null) {
-        pool.offer(buf);
-        buf = out.poll();
-      }
-    }
-  }
-
   @Override
   public CompletableResultCode shutdown() {
-    executorService.shutdown();
+    if (managedExecutor) {
+      executorService.shutdown();
+    }
     return CompletableResultCode.ofSuccess();
   }
 }
@@ -13,6 +13,7 @@ import io.opentelemetry.sdk.common.export.ProxyOptions;
 import io.opentelemetry.sdk.common.export.RetryPolicy;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
@@ -40,6 +41,37 @@ public final class JdkHttpSenderProvider implements HttpSenderProvider {
       @Nullable RetryPolicy retryPolicy,
       @Nullable SSLContext sslContext,
       @Nullable X509TrustManager trustManager) {
+    return createSender(
+        endpoint,
+        compressor,
+        exportAsJson,
+        contentType,
+        timeoutNanos,
+        connectTimeout,
+        headerSupplier,
+        proxyOptions,
+        authenticator,
+        retryPolicy,
+        sslContext,
+        trustManager,
+        null);
+  }
+
+  @Override
+  public HttpSender createSender(
+      String endpoint,
+      @Nullable Compressor compressor,
+      boolean exportAsJson,
+      String contentType,
+      long timeoutNanos,
+      long connectTimeout,
+      Supplier<Map<String, List<String>>> headerSupplier,
+      @Nullable ProxyOptions proxyOptions,
+      @Nullable Authenticator authenticator,
+      @Nullable RetryPolicy retryPolicy,
+      @Nullable SSLContext sslContext,
+      @Nullable X509TrustManager trustManager,
+      @Nullable ExecutorService executorService) {
     return new JdkHttpSender(
         endpoint,
         compressor,
@@ -50,6 +82,7 @@ public final class JdkHttpSenderProvider implements HttpSenderProvider {
         headerSupplier,
         retryPolicy,
         proxyOptions,
-        sslContext);
+        sslContext,
+        executorService);
   }
 }
@@ -9,7 +9,6 @@ import static org.assertj.core.api.Assertions.as;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -24,6 +23,13 @@ import java.net.http.HttpClient;
 import java.net.http.HttpConnectTimeoutException;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLException;
 import org.assertj.core.api.InstanceOfAssertFactories;
@@ -45,13 +51,13 @@ class JdkHttpSenderTest {
   private JdkHttpSender sender;
 
   @BeforeEach
-  void setup() throws IOException, InterruptedException {
+  void setup() {
     // Can't directly spy on HttpClient for some reason, so create a real instance and a mock that
     // delegates to the real thing
-    when(mockHttpClient.send(any(), any()))
+    when(mockHttpClient.sendAsync(any(), any()))
         .thenAnswer(
             invocation ->
-                realHttpClient.send(invocation.getArgument(0), invocation.getArgument(1)));
+                realHttpClient.sendAsync(invocation.getArgument(0), invocation.getArgument(1)));
     sender =
         new JdkHttpSender(
             mockHttpClient,
@@ -65,19 +71,21 @@ class JdkHttpSenderTest {
             RetryPolicy.builder()
                 .setMaxAttempts(2)
                 .setInitialBackoff(Duration.ofMillis(1))
-                .build());
+                .build(),
+            null);
   }
 
   @Test
-  void sendInternal_RetryableConnectTimeoutException() throws IOException, InterruptedException {
-    assertThatThrownBy(() -> sender.sendInternal(new NoOpMarshaler()))
-        .isInstanceOf(HttpConnectTimeoutException.class);
+  void sendInternal_RetryableConnectTimeoutException() {
+    assertThatThrownBy(() -> sender.sendInternal(new NoOpMarshaler()).join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(HttpConnectTimeoutException.class);
 
-    verify(mockHttpClient, times(2)).send(any(), any());
+    verify(mockHttpClient, times(2)).sendAsync(any(), any());
   }
 
   @Test
-  void sendInternal_RetryableConnectException() throws IOException, InterruptedException {
+  void sendInternal_RetryableConnectException() {
     sender =
         new JdkHttpSender(
             mockHttpClient,
@@ -93,17 +101,19 @@ class JdkHttpSenderTest {
             RetryPolicy.builder()
                 .setMaxAttempts(2)
                 .setInitialBackoff(Duration.ofMillis(1))
-                .build());
+                .build(),
+            null);
 
-    assertThatThrownBy(() -> sender.sendInternal(new NoOpMarshaler()))
+    assertThatThrownBy(() -> sender.sendInternal(new NoOpMarshaler()).join())
+        .isInstanceOf(CompletionException.class)
         .satisfies(
             e ->
                 assertThat(
-                        (e instanceof ConnectException)
-                            || (e instanceof HttpConnectTimeoutException))
+                        (e.getCause() instanceof ConnectException)
+                            || (e.getCause() instanceof HttpConnectTimeoutException))
                     .isTrue());
 
-    verify(mockHttpClient, times(2)).send(any(), any());
+    verify(mockHttpClient, times(2)).sendAsync(any(), any());
   }
 
   private static int freePort() {
@@ -115,25 +125,160 @@ class JdkHttpSenderTest {
   }
 
   @Test
-  void sendInternal_RetryableIoException() throws IOException, InterruptedException {
-    doThrow(new IOException("error!")).when(mockHttpClient).send(any(), any());
+  void sendInternal_RetryableIoException() {
+    when(mockHttpClient.sendAsync(any(), any()))
+        .thenAnswer(invocation -> CompletableFuture.failedFuture(new IOException("error!")));
 
-    assertThatThrownBy(() -> sender.sendInternal(new NoOpMarshaler()))
-        .isInstanceOf(IOException.class)
-        .hasMessage("error!");
+    assertThatThrownBy(() -> sender.sendInternal(new NoOpMarshaler()).join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(IOException.class)
+        .hasRootCauseMessage("error!");
 
-    verify(mockHttpClient, times(2)).send(any(), any());
+    verify(mockHttpClient, times(2)).sendAsync(any(), any());
   }
 
   @Test
-  void sendInternal_NonRetryableException() throws IOException, InterruptedException {
-    doThrow(new SSLException("unknown error")).when(mockHttpClient).send(any(), any());
+  void sendInternal_NonRetryableException() {
+    when(mockHttpClient.sendAsync(any(), any()))
+        .thenAnswer(
+            invocation -> CompletableFuture.failedFuture(new SSLException("unknown error")));
 
-    assertThatThrownBy(() -> sender.sendInternal(new NoOpMarshaler()))
-        .isInstanceOf(IOException.class)
-        .hasMessage("unknown error");
+    assertThatThrownBy(() -> sender.sendInternal(new NoOpMarshaler()).join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(SSLException.class)
+        .hasRootCauseMessage("unknown error");
 
-    verify(mockHttpClient, times(1)).send(any(), any());
+    verify(mockHttpClient, times(1)).sendAsync(any(), any());
+  }
+
+  @Test
+  void sendInternal_RetryRunsAfterTimeout() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      when(mockHttpClient.sendAsync(any(), any()))
+          .thenAnswer(
+              invocation -> {
+                // Keep the executor busy past the timeout, so that the retry runs late
+                executor.execute(
+                    () -> {
+                      try {
+                        Thread.sleep(500);
+                      } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                      }
+                    });
+                return CompletableFuture.failedFuture(new IOException("error!"));
+              });
+      sender =
+          new JdkHttpSender(
+              mockHttpClient,
+              "http://localhost",
+              null,
+              false,
+              "text/plain",
+              Duration.ofMillis(100).toNanos(),
+              Collections::emptyMap,
+              RetryPolicy.builder()
+                  .setMaxAttempts(2)
+                  .setInitialBackoff(Duration.ofMillis(1))
+                  .build(),
+              executor);
+
+      assertThatThrownBy(() -> sender.sendInternal(new NoOpMarshaler()).get(5, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(IOException.class)
+          .hasRootCauseMessage("error!");
+
+      verify(mockHttpClient, times(1)).sendAsync(any(), any());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void send_RetriesDoNotBlockExecutor() throws InterruptedException {
+    // Each request is retried after a long backoff. With blocking retries, the requests would
+    // queue up behind the executor's threads; with async retries they are all in flight at once.
+    int requests = 20;
+    CountDownLatch firstAttempts = new CountDownLatch(requests);
+    when(mockHttpClient.sendAsync(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              firstAttempts.countDown();
+              return CompletableFuture.failedFuture(new IOException("error!"));
+            });
+    sender =
+        new JdkHttpSender(
+            mockHttpClient,
+            "http://localhost",
+            null,
+            false,
+            "text/plain",
+            Duration.ofSeconds(30).toNanos(),
+            Collections::emptyMap,
+            RetryPolicy.builder()
+                .setMaxAttempts(2)
+                .setInitialBackoff(Duration.ofSeconds(5))
+                .setMaxBackoff(Duration.ofSeconds(5))
+                .build(),
+            null);
+
+    for (int i = 0; i < requests; i++) {
+      sender.send(new NoOpMarshaler(), 0, response -> {}, error -> {});
+    }
+
+    assertThat(firstAttempts.await(2, TimeUnit.SECONDS)).isTrue();
+    sender.shutdown();
+  }
+
+  @Test
+  void executorService_Default() {
+    assertThat(sender)
+        .extracting("executorService")
+        .isInstanceOf(ThreadPoolExecutor.class)
+        .satisfies(
+            executor ->
+                assertThat(((ThreadPoolExecutor) executor).getMaximumPoolSize()).isEqualTo(5));
+
+    sender.shutdown();
+    assertThat(sender)
+        .extracting("executorService", as(InstanceOfAssertFactories.type(ExecutorService.class)))
+        .satisfies(executor -> assertThat(executor.isShutdown()).isTrue());
+  }
+
+  @Test
+  void executorService_Provided() throws InterruptedException {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      CountDownLatch attempted = new CountDownLatch(1);
+      when(mockHttpClient.sendAsync(any(), any()))
+          .thenAnswer(
+              invocation -> {
+                attempted.countDown();
+                return CompletableFuture.failedFuture(new SSLException("error!"));
+              });
+      sender =
+          new JdkHttpSender(
+              mockHttpClient,
+              "http://localhost",
+              null,
+              false,
+              "text/plain",
+              Duration.ofSeconds(10).toNanos(),
+              Collections::emptyMap,
+              null,
+              executor);
+      assertThat(sender).extracting("executorService").isSameAs(executor);
+
+      sender.send(new NoOpMarshaler(), 0, response -> {}, error -> {});
+      assertThat(attempted.await(5, TimeUnit.SECONDS)).isTrue();
+
+      // An executor which is provided to the sender isn't shutdown with it
+      sender.shutdown();
+      assertThat(executor.isShutdown()).isFalse();
+    } finally {
+      executor.shutdown();
+    }
   }
 
   @Test
@@ -149,6 +294,7 @@ class JdkHttpSenderTest {
             Collections::emptyMap,
             null,
             null,
+            null,
             null);
 
     assertThat(sender)
@@ -6,11 +6,16 @@
 package io.opentelemetry.sdk.internal;
 
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.AttributeType;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import javax.annotation.Nullable;
 
@@ -18,17 +23,42 @@ import javax.annotation.Nullable;
  * A map with a fixed capacity that drops attributes when the map gets full, and which truncates
  * string and array string attribute values to the {@link #lengthLimit}.
  *
+ * <p>Entries are stored in insertion order in flat arrays, indexed by an open addressing hash table
+ * with linear probing, so adding an attribute doesn't allocate a node per entry. Values of {@link
+ * AttributeType#LONG}, {@link AttributeType#DOUBLE} and {@link AttributeType#BOOLEAN} attributes
+ * are stored unboxed. The arrays grow on demand, up to what is needed to hold {@link #capacity}
+ * entries.
+ *
  * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
  * at any time.
  */
-public final class AttributesMap extends HashMap<AttributeKey<?>, Object> implements Attributes {
+public final class AttributesMap implements Attributes {
+
+  private static final int INITIAL_ENTRIES = 8;
 
-  private static final long serialVersionUID = -5072696312123632376L;
+  private static final AttributeKey<?>[] EMPTY_KEYS = new AttributeKey<?>[0];
+  private static final Object[] EMPTY_VALUES = new Object[0];
+  private static final long[] EMPTY_PRIMITIVE_VALUES = new long[0];
+  private static final int[] EMPTY_TABLE = new int[0];
 
   private final long capacity;
   private final int lengthLimit;
   private int totalAddedValues = 0;
 
+  // The entries, in insertion order. The value of an entry is stored in primitiveValues (doubles as
+  // their raw long bits, booleans as 0 or 1) when its values element is null, in values otherwise.
+  private AttributeKey<?>[] keys = EMPTY_KEYS;
+  private Object[] values = EMPTY_VALUES;
+  private long[] primitiveValues = EMPTY_PRIMITIVE_VALUES;
+  private int size;
+
+  // Hash table of entry indexes plus one, zero denoting an empty slot. Its length is a power of two
+  // at least twice the length of the entry arrays.
+  private int[] table = EMPTY_TABLE;
+
+  // Created on first use of asMap()
+  @Nullable private Map<AttributeKey<?>, Object> mapView;
+
   private AttributesMap(long capacity, int lengthLimit) {
     this.capacity = capacity;
     this.lengthLimit = lengthLimit;
@@ -47,10 +77,50 @@ public final class AttributesMap extends HashMap<AttributeKey<?>, Object> implem
   /** Add the attribute key value pair, applying capacity and length limits. */
   public <T> void put(AttributeKey<T> key, T value) {
     totalAddedValues++;
-    if (size() >= capacity && !containsKey(key)) {
+    if (value == null) {
       return;
     }
-    super.put(key, AttributeUtil.applyAttributeLengthLimit(value, lengthLimit));
+    int index = indexOf(key);
+    if (index < 0) {
+      if (size >= capacity) {
+        return;
+      }
+      index = addKey(key);
+    }
+    switch (key.getType()) {
+      case LONG:
+        if (value instanceof Long) {
+          setPrimitive(index, (Long) value);
+          return;
+        }
+        break;
+      case DOUBLE:
+        if (value instanceof Double) {
+          setPrimitive(index, Double.doubleToRawLongBits((Double) value));
+          return;
+        }
+        break;
+      case BOOLEAN:
+        if (value instanceof Boolean) {
+          setPrimitive(index, (Boolean) value ? 1 : 0);
+          return;
+        }
+        break;
+      default:
+        break;
+    }
+    values[index] = AttributeUtil.applyAttributeLengthLimit(value, lengthLimit);
+  }
+
+  /** Add all the attributes, applying capacity and length limits. */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public void putAll(Attributes attributes) {
+    attributes.forEach((key, value) -> put((AttributeKey) key, value));
+  }
+
+  private void setPrimitive(int index, long value) {
+    values[index] = null;
+    primitiveValues[index] = value;
   }
 
   /** Get the total number of attributes added, including those dropped for capcity limits. */
@@ -62,17 +132,35 @@ public final class AttributesMap extends HashMap<AttributeKey<?>, Object> implem
   @Override
   @Nullable
   public <T> T get(AttributeKey<T> key) {
-    return (T) super.get(key);
+    if (key == null) {
+      return null;
+    }
+    int index = indexOf(key);
+    return index < 0 ? null : (T) valueAt(index);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
   }
 
+  /**
+   * Returns an unmodifiable view of this map. Since this class is actually mutable, the view
+   * reflects later changes to it.
+   */
   @Override
   public Map<AttributeKey<?>, Object> asMap() {
-    // Because Attributes is marked Immutable, IDEs may recognize this as redundant usage. However,
-    // this class is private and is actually mutable, so we need to wrap with unmodifiableMap
-    // anyways. We implement the immutable Attributes for this class to support the
-    // Attributes.builder().putAll usage - it is tricky but an implementation detail of this private
-    // class.
-    return Collections.unmodifiableMap(this);
+    Map<AttributeKey<?>, Object> mapView = this.mapView;
+    if (mapView == null) {
+      mapView = new MapView();
+      this.mapView = mapView;
+    }
+    return mapView;
   }
 
   @Override
@@ -82,17 +170,126 @@ public final class AttributesMap extends HashMap<AttributeKey<?>, Object> implem
 
   @Override
   public void forEach(BiConsumer<? super AttributeKey<?>, ? super Object> action) {
-    // https://github.com/open-telemetry/opentelemetry-java/issues/4161
-    // Help out android desugaring by having an explicit call to HashMap.forEach, when forEach is
-    // just called through Attributes.forEach desugaring is unable to correctly handle it.
-    super.forEach(action);
+    for (int i = 0; i < size; i++) {
+      action.accept(keys[i], valueAt(i));
+    }
+  }
+
+  private Object valueAt(int index) {
+    Object value = values[index];
+    if (value != null) {
+      return value;
+    }
+    long primitiveValue = primitiveValues[index];
+    switch (keys[index].getType()) {
+      case LONG:
+        return primitiveValue;
+      case DOUBLE:
+        return Double.longBitsToDouble(primitiveValue);
+      case BOOLEAN:
+        return primitiveValue != 0;
+      default:
+        throw new IllegalStateException("Unexpected primitive value of " + keys[index]);
+    }
+  }
+
+  private int indexOf(AttributeKey<?> key) {
+    if (size == 0) {
+      return -1;
+    }
+    int mask = table.length - 1;
+    for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      if (key.equals(keys[entry - 1])) {
+        return entry - 1;
+      }
+    }
+  }
+
+  private int addKey(AttributeKey<?> key) {
+    if (size == keys.length) {
+      grow();
+    }
+    int index = size++;
+    keys[index] = key;
+    insertIntoTable(key, index);
+    return index;
+  }
+
+  private void grow() {
+    int entries = (int) Math.min(keys.length == 0 ? INITIAL_ENTRIES : keys.length * 2L, capacity);
+    keys = Arrays.copyOf(keys, entries);
+    values = Arrays.copyOf(values, entries);
+    primitiveValues = Arrays.copyOf(primitiveValues, entries);
+    int tableLength = Integer.highestOneBit(Math.max(entries, 1)) << 2;
+    if (tableLength != table.length) {
+      table = new int[tableLength];
+      for (int i = 0; i < size; i++) {
+        insertIntoTable(keys[i], i);
+      }
+    }
+  }
+
+  private void insertIntoTable(AttributeKey<?> key, int index) {
+    int mask = table.length - 1;
+    int slot = hash(key) & mask;
+    while (table[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = index + 1;
+  }
+
+  private static int hash(AttributeKey<?> key) {
+    int h = key.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof AttributesMap)) {
+      return false;
+    }
+    AttributesMap that = (AttributesMap) o;
+    if (size != that.size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (!valueAt(i).equals(that.get(keys[i]))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    // Consistent with Map.hashCode()
+    int hashCode = 0;
+    for (int i = 0; i < size; i++) {
+      hashCode += keys[i].hashCode() ^ valueAt(i).hashCode();
+    }
+    return hashCode;
   }
 
   @Override
   public String toString() {
+    StringBuilder data = new StringBuilder("{");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        data.append(", ");
+      }
+      data.append(keys[i]).append('=').append(valueAt(i));
+    }
+    data.append('}');
     return "AttributesMap{"
         + "data="
-        + super.toString()
+        + data
         + ", capacity="
         + capacity
         + ", totalAddedValues="
@@ -100,6 +297,66 @@ public final class AttributesMap extends HashMap<AttributeKey<?>, Object> implem
         + '}';
   }
 
+  /** An unmodifiable view of the entries of the map, in insertion order. */
+  private final class MapView extends AbstractMap<AttributeKey<?>, Object> {
+
+    private final Set<Entry<AttributeKey<?>, Object>> entrySet =
+        new AbstractSet<Entry<AttributeKey<?>, Object>>() {
+          @Override
+          public Iterator<Entry<AttributeKey<?>, Object>> iterator() {
+            return new Iterator<Entry<AttributeKey<?>, Object>>() {
+              private int index;
+
+              @Override
+              public boolean hasNext() {
+                return index < size;
+              }
+
+              @Override
+              public Entry<AttributeKey<?>, Object> next() {
+                if (index >= size) {
+                  throw new NoSuchElementException();
+                }
+                Entry<AttributeKey<?>, Object> entry =
+                    new SimpleImmutableEntry<>(keys[index], valueAt(index));
+                index++;
+                return entry;
+              }
+            };
+          }
+
+          @Override
+          public int size() {
+            return size;
+          }
+        };
+
+    @Override
+    public Set<Entry<AttributeKey<?>, Object>> entrySet() {
+      return entrySet;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+      return key instanceof AttributeKey && indexOf((AttributeKey<?>) key) >= 0;
+    }
+
+    @Override
+    @Nullable
+    public Object get(@Nullable Object key) {
+      if (!(key instanceof AttributeKey)) {
+        return null;
+      }
+      int index = indexOf((AttributeKey<?>) key);
+      return index < 0 ? null : valueAt(index);
+    }
+  }
+
   /** Create an immutable copy of the attributes in this map. */
   public Attributes immutableCopy() {
     return Attributes.builder().putAll(this).build();
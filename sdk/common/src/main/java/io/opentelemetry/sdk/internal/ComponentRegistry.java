@@ -11,9 +11,8 @@ import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import javax.annotation.Nullable;
@@ -48,8 +47,9 @@ public final class ComponentRegistry<V> {
 
   private final Object lock = new Object();
 
+  // In the order the components were built, each of which is only built once
   @GuardedBy("lock")
-  private final Set<V> allComponents = Collections.newSetFromMap(new IdentityHashMap<>());
+  private final List<V> allComponents = new ArrayList<>();
 
   private final Function<InstrumentationScopeInfo, V> factory;
 
@@ -121,7 +121,8 @@ public final class ComponentRegistry<V> {
   }
 
   /**
-   * Returns a {@code Collection} view of the registered components.
+   * Returns a {@code Collection} view of the registered components, in the order they were
+   * registered.
    *
    * @return a {@code Collection} view of the registered components.
    */
@@ -5,6 +5,7 @@
 
 package io.opentelemetry.sdk.internal;
 
+import io.opentelemetry.api.internal.ConfigUtil;
 import io.opentelemetry.context.Context;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -14,13 +15,24 @@ import java.util.concurrent.atomic.AtomicInteger;
  * A {@link ThreadFactory} that delegates to {@code Executors.defaultThreadFactory()} and marks all
  * threads as daemon.
  *
+ * <p>When the {@value #VIRTUAL_THREADS_PROPERTY} system property (or the equivalent environment
+ * variable) is {@code true} and the current version of Java supports them (Java 21+), threads are
+ * instead created as virtual threads, which are always daemon. This lets the many mostly idle SDK
+ * background workers (e.g. batch processors and periodic metric readers) share a small number of
+ * carrier threads rather than each holding an OS thread.
+ *
  * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
  * at any time.
  */
 public final class DaemonThreadFactory implements ThreadFactory {
+
+  /** The property enabling virtual threads. */
+  public static final String VIRTUAL_THREADS_PROPERTY =
+      "otel.experimental.sdk.virtual-threads.enabled";
+
   private final String namePrefix;
   private final AtomicInteger counter = new AtomicInteger();
-  private final ThreadFactory delegate = Executors.defaultThreadFactory();
+  private final ThreadFactory delegate;
   private final boolean propagateContextForTesting;
 
   public DaemonThreadFactory(String namePrefix) {
@@ -36,8 +48,30 @@ public final class DaemonThreadFactory implements ThreadFactory {
    *     where context propagation is available through bytecode instrumentation.
    */
   public DaemonThreadFactory(String namePrefix, boolean propagateContextForTesting) {
+    this(
+        namePrefix,
+        propagateContextForTesting,
+        Boolean.parseBoolean(ConfigUtil.getString(VIRTUAL_THREADS_PROPERTY, "false")));
+  }
+
+  /**
+   * {@link DaemonThreadFactory}'s constructor.
+   *
+   * @param namePrefix Used when setting the new thread's name.
+   * @param propagateContextForTesting For tests only. When enabled, the current thread's {@link
+   *     Context} will be passed over to the new threads, this is useful for validating scenarios
+   *     where context propagation is available through bytecode instrumentation.
+   * @param virtualThreads Whether to create virtual threads. Ignored if the current version of Java
+   *     doesn't support virtual threads.
+   */
+  public DaemonThreadFactory(
+      String namePrefix, boolean propagateContextForTesting, boolean virtualThreads) {
     this.namePrefix = namePrefix;
     this.propagateContextForTesting = propagateContextForTesting;
+    ThreadFactory virtualThreadFactory =
+        virtualThreads ? JavaVersionSpecific.get().newVirtualThreadFactory() : null;
+    this.delegate =
+        virtualThreadFactory != null ? virtualThreadFactory : Executors.defaultThreadFactory();
   }
 
   @Override
@@ -22,9 +22,11 @@
 
 package io.opentelemetry.sdk.internal;
 
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * Contains APIs that are implemented differently based on the version of Java being run. This class
@@ -61,4 +63,13 @@ public class JavaVersionSpecific {
   public long currentTimeNanos() {
     return TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
   }
+
+  /**
+   * Returns a {@link ThreadFactory} which creates virtual threads, or {@code null} if virtual
+   * threads are not supported by the current version of Java.
+   */
+  @Nullable
+  public ThreadFactory newVirtualThreadFactory() {
+    return null;
+  }
 }
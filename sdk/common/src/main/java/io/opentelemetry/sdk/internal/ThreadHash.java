@@ -0,0 +1,31 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+/**
+ * Hashes the current thread, for spreading the operations of different threads across a number of
+ * stripes or shards, in the style of {@link java.util.concurrent.atomic.LongAdder}. The JDK's
+ * per-thread probe used by {@code LongAdder} is not accessible, so the hash is derived from a mix
+ * of the thread's id.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ThreadHash {
+
+  /**
+   * Returns a hash of the current thread, whose low bits are suitable for selecting a stripe by
+   * masking with {@code stripes.length - 1}.
+   */
+  @SuppressWarnings("deprecation") // Thread.threadId() is not available on Java 8
+  public static int currentThreadHash() {
+    long id = Thread.currentThread().getId();
+    int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private ThreadHash() {}
+}
@@ -24,7 +24,9 @@ package io.opentelemetry.sdk.internal;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /** Implementation of {@link JavaVersionSpecific} using Java 9 APIs. */
 class Java9VersionSpecific extends JavaVersionSpecific {
@@ -39,4 +41,18 @@ class Java9VersionSpecific extends JavaVersionSpecific {
     Instant now = Clock.systemUTC().instant();
     return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
   }
+
+  @Override
+  @Nullable
+  public ThreadFactory newVirtualThreadFactory() {
+    // Thread.ofVirtual() is only available on Java 21+, so it's looked up reflectively rather than
+    // requiring a Java 21 compiler for a separate multi-release variant
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      return (ThreadFactory)
+          Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
 }
@@ -5,10 +5,19 @@
 
 package io.opentelemetry.sdk.internal;
 
+import static io.opentelemetry.api.common.AttributeKey.booleanKey;
+import static io.opentelemetry.api.common.AttributeKey.doubleKey;
 import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
 
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import java.util.Arrays;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 class AttributesMapTest {
@@ -22,4 +31,98 @@ class AttributesMapTest {
     assertThat(attributesMap.asMap())
         .containsOnly(entry(longKey("one"), 1L), entry(longKey("two"), 2L));
   }
+
+  @Test
+  void asMap_View() {
+    AttributesMap attributesMap = AttributesMap.create(2, Integer.MAX_VALUE);
+    attributesMap.put(longKey("one"), 1L);
+    Map<AttributeKey<?>, Object> map = attributesMap.asMap();
+
+    assertThat(attributesMap.asMap()).isSameAs(map);
+    attributesMap.put(longKey("two"), 2L);
+    assertThat(map).containsExactly(entry(longKey("one"), 1L), entry(longKey("two"), 2L));
+    assertThatThrownBy(() -> map.put(longKey("three"), 3L))
+        .isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(map::clear).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void put_AllTypes() {
+    AttributesMap attributesMap = AttributesMap.create(10, 3);
+    attributesMap.put(stringKey("string"), "value");
+    attributesMap.put(longKey("long"), 1L);
+    attributesMap.put(doubleKey("double"), 1.5);
+    attributesMap.put(booleanKey("boolean"), true);
+    attributesMap.put(stringArrayKey("array"), Arrays.asList("a", "bcde"));
+
+    assertThat(attributesMap.size()).isEqualTo(5);
+    assertThat(attributesMap.get(stringKey("string"))).isEqualTo("val");
+    assertThat(attributesMap.get(longKey("long"))).isEqualTo(1L);
+    assertThat(attributesMap.get(doubleKey("double"))).isEqualTo(1.5);
+    assertThat(attributesMap.get(booleanKey("boolean"))).isTrue();
+    assertThat(attributesMap.get(stringArrayKey("array"))).containsExactly("a", "bcd");
+    assertThat(attributesMap.get(stringKey("long"))).isNull();
+    assertThat(attributesMap.immutableCopy())
+        .isEqualTo(
+            Attributes.builder()
+                .put("string", "val")
+                .put("long", 1L)
+                .put("double", 1.5)
+                .put("boolean", true)
+                .put("array", "a", "bcd")
+                .build());
+  }
+
+  @Test
+  void put_Replace() {
+    AttributesMap attributesMap = AttributesMap.create(2, Integer.MAX_VALUE);
+    attributesMap.put(longKey("one"), 1L);
+    attributesMap.put(longKey("two"), 2L);
+    attributesMap.put(longKey("one"), 10L);
+
+    assertThat(attributesMap.size()).isEqualTo(2);
+    assertThat(attributesMap.get(longKey("one"))).isEqualTo(10L);
+    assertThat(attributesMap.getTotalAddedValues()).isEqualTo(3);
+  }
+
+  @Test
+  void put_Capacity() {
+    AttributesMap attributesMap = AttributesMap.create(100, Integer.MAX_VALUE);
+    for (int i = 0; i < 150; i++) {
+      attributesMap.put(longKey("key" + i), (long) i);
+    }
+
+    assertThat(attributesMap.size()).isEqualTo(100);
+    assertThat(attributesMap.getTotalAddedValues()).isEqualTo(150);
+    for (int i = 0; i < 100; i++) {
+      assertThat(attributesMap.get(longKey("key" + i))).isEqualTo((long) i);
+    }
+    assertThat(attributesMap.get(longKey("key100"))).isNull();
+  }
+
+  @Test
+  void put_ZeroCapacity() {
+    AttributesMap attributesMap = AttributesMap.create(0, Integer.MAX_VALUE);
+    attributesMap.put(longKey("one"), 1L);
+
+    assertThat(attributesMap.isEmpty()).isTrue();
+    assertThat(attributesMap.getTotalAddedValues()).isEqualTo(1);
+  }
+
+  @Test
+  void equalsAndHashCode() {
+    AttributesMap one = AttributesMap.create(10, Integer.MAX_VALUE);
+    one.put(longKey("one"), 1L);
+    one.put(stringKey("two"), "2");
+    AttributesMap two = AttributesMap.create(20, Integer.MAX_VALUE);
+    two.put(stringKey("two"), "2");
+    two.put(longKey("one"), 1L);
+
+    assertThat(one).isEqualTo(two);
+    assertThat(one.hashCode()).isEqualTo(two.hashCode());
+    assertThat(one.hashCode()).isEqualTo(one.asMap().hashCode());
+
+    two.put(longKey("one"), 2L);
+    assertThat(one).isNotEqualTo(two);
+  }
 }
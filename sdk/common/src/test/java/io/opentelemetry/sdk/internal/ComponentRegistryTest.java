@@ -61,6 +61,18 @@ class ComponentRegistryTest {
         .isNotSameAs(registry.get(NAME, null, null, Attributes.empty()));
   }
 
+  @Test
+  void getComponents_RegistrationOrder() {
+    List<TestComponent> components = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      components.add(registry.get(NAME + i, null, null, Attributes.empty()));
+      components.add(registry.get(NAME + i, VERSION, SCHEMA_URL, Attributes.empty()));
+    }
+    registry.get(NAME + 0, null, null, Attributes.empty());
+
+    assertThat(registry.getComponents()).containsExactlyElementsOf(components);
+  }
+
   @Test
   @SuppressWarnings("ReturnValueIgnored")
   void getComponents_HighConcurrency() throws ExecutionException, InterruptedException {
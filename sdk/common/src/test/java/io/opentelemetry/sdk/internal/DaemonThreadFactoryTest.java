@@ -0,0 +1,36 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class DaemonThreadFactoryTest {
+
+  @Test
+  void newThread() {
+    DaemonThreadFactory factory = new DaemonThreadFactory("test");
+    Thread first = factory.newThread(() -> {});
+    Thread second = factory.newThread(() -> {});
+
+    assertThat(first.isDaemon()).isTrue();
+    assertThat(first.getName()).isEqualTo("test-1");
+    assertThat(second.getName()).isEqualTo("test-2");
+  }
+
+  @Test
+  void newThread_VirtualThreads() {
+    // Falls back to platform threads if virtual threads aren't supported
+    DaemonThreadFactory factory =
+        new DaemonThreadFactory(
+            "test", /* propagateContextForTesting= */ false, /* virtualThreads= */ true);
+    Thread thread = factory.newThread(() -> {});
+
+    assertThat(thread.isDaemon()).isTrue();
+    assertThat(thread.getName()).isEqualTo("test-1");
+  }
+}
@@ -7,21 +7,35 @@ package io.opentelemetry.sdk.logs;
 
 import static java.util.stream.Collectors.joining;
 
+import io.opentelemetry.api.logs.Logger;
 import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.BatchLogRecordProcessor;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import io.opentelemetry.sdk.logs.export.OverflowPolicy;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 
@@ -78,4 +92,109 @@ public class LogsBenchmarks {
         .setSeverity(Severity.DEBUG)
         .emit();
   }
+
+  @State(Scope.Benchmark)
+  public static class BatchState {
+
+    @Param({"1", "4"})
+    public int maxConcurrentExports;
+
+    @Param public OverflowPolicy overflowPolicy;
+
+    private SlowLogRecordExporter exporter;
+    private SdkLoggerProvider sdk;
+    private Logger logger;
+
+    @Setup
+    public void setup() {
+      exporter = new SlowLogRecordExporter();
+      sdk =
+          SdkLoggerProvider.builder()
+              .addLogRecordProcessor(
+                  BatchLogRecordProcessor.builder(exporter)
+                      .setMaxQueueSize(2048)
+                      .setMaxExportBatchSize(512)
+                      .setMaxConcurrentExports(maxConcurrentExports)
+                      .setOverflowPolicy(overflowPolicy)
+                      .setBlockTimeout(10, TimeUnit.MILLISECONDS)
+                      .build())
+              .build();
+      logger = sdk.get("benchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+      sdk.shutdown().join(10, TimeUnit.SECONDS);
+      exporter.executor.shutdown();
+    }
+  }
+
+  /**
+   * Counts the logs emitted and exported during an iteration. The share of logs dropped is {@code 1
+   * - exported / emitted}.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class BatchCounters {
+
+    public long emitted;
+    private BatchState batchState;
+    private long exportedAtStart;
+
+    @Setup(Level.Iteration)
+    public void setup(BatchState batchState) {
+      this.batchState = batchState;
+      emitted = 0;
+      exportedAtStart = batchState.exporter.exported.get();
+    }
+
+    public long exported() {
+      return batchState.exporter.exported.get() - exportedAtStart;
+    }
+  }
+
+  /**
+   * Emits logs to a {@link BatchLogRecordProcessor} as fast as possible while its exporter takes a
+   * millisecond to complete each export, so that the queue fills up and the {@link
+   * OverflowPolicy} applies. Compare the throughput and the {@code exported} and {@code emitted}
+   * counters across the number of concurrent exports and overflow policies.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @Threads(1)
+  public void emitToSlowExporter(BatchState batchState, BatchCounters counters) {
+    batchState.logger.logRecordBuilder().setBody("log message body").emit();
+    counters.emitted++;
+  }
+
+  private static class SlowLogRecordExporter implements LogRecordExporter {
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+    private final AtomicLong exported = new AtomicLong();
+
+    @Override
+    public CompletableResultCode export(Collection<LogRecordData> logs) {
+      CompletableResultCode result = new CompletableResultCode();
+      int count = logs.size();
+      executor.schedule(
+          () -> {
+            exported.addAndGet(count);
+            result.succeed();
+          },
+          1,
+          TimeUnit.MILLISECONDS);
+      return result;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
 }
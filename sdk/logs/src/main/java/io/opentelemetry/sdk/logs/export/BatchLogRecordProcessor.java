@@ -13,13 +13,15 @@ import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.internal.ThrowableUtil;
 import io.opentelemetry.sdk.logs.LogRecordProcessor;
 import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -28,15 +30,16 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * Implementation of the {@link LogRecordProcessor} that batches logs exported by the SDK then
  * pushes them to the exporter pipeline.
  *
  * <p>All logs reported by the SDK implementation are first added to a synchronized queue (with a
- * {@code maxQueueSize} maximum size, if queue is full logs are dropped). Logs are exported either
- * when there are {@code maxExportBatchSize} pending logs or {@code scheduleDelayNanos} has passed
- * since the last export finished.
+ * {@code maxQueueSize} maximum size, if queue is full logs are handled according to the {@link
+ * OverflowPolicy}). Logs are exported either when there are {@code maxExportBatchSize} pending logs
+ * or {@code scheduleDelayNanos} has passed since the last export finished.
  *
  * @since 1.27.0
  */
@@ -71,7 +74,10 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
       long scheduleDelayNanos,
       int maxQueueSize,
       int maxExportBatchSize,
-      long exporterTimeoutNanos) {
+      long exporterTimeoutNanos,
+      int maxConcurrentExports,
+      OverflowPolicy overflowPolicy,
+      long blockTimeoutNanos) {
     this.worker =
         new Worker(
             logRecordExporter,
@@ -79,6 +85,9 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
             scheduleDelayNanos,
             maxExportBatchSize,
             exporterTimeoutNanos,
+            maxConcurrentExports,
+            overflowPolicy,
+            blockTimeoutNanos,
             new ArrayBlockingQueue<>(maxQueueSize)); // TODO: use JcTools.newFixedSizeQueue(..)
     Thread workerThread = new DaemonThreadFactory(WORKER_THREAD_NAME).newThread(worker);
     workerThread.start();
@@ -119,6 +128,11 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
     return worker.batch;
   }
 
+  // Visible for testing
+  BlockingQueue<ReadWriteLogRecord> getQueue() {
+    return worker.queue;
+  }
+
   @Override
   public String toString() {
     return "BatchLogRecordProcessor{"
@@ -130,6 +144,12 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
         + worker.maxExportBatchSize
         + ", exporterTimeoutNanos="
         + worker.exporterTimeoutNanos
+        + ", maxConcurrentExports="
+        + worker.maxConcurrentExports
+        + ", overflowPolicy="
+        + worker.overflowPolicy
+        + ", blockTimeoutNanos="
+        + worker.blockTimeoutNanos
         + '}';
   }
 
@@ -148,10 +168,18 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
     private final long scheduleDelayNanos;
     private final int maxExportBatchSize;
     private final long exporterTimeoutNanos;
+    private final int maxConcurrentExports;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
 
     private long nextExportTime;
 
-    private final Queue<ReadWriteLogRecord> queue;
+    // Exports which have been started but have not completed, oldest first, including those which
+    // timed out, so that an exporter which never completes its results can't have more than
+    // maxConcurrentExports exports in flight. Only accessed by the worker thread.
+    private final ArrayDeque<PendingExport> pendingExports = new ArrayDeque<>();
+
+    private final BlockingQueue<ReadWriteLogRecord> queue;
     // When waiting on the logs queue, exporter thread sets this atomic to the number of more
     // logs it needs before doing an export. Writer threads would then wait for the queue to reach
     // logsNeeded size before notifying the exporter thread about new entries.
@@ -162,6 +190,8 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
     private final BlockingQueue<Boolean> signal;
     private final AtomicReference<CompletableResultCode> flushRequested = new AtomicReference<>();
     private volatile boolean continueWork = true;
+    // The thread running the worker, set once it starts.
+    @Nullable private volatile Thread workerThread;
     private final ArrayList<LogRecordData> batch;
 
     private Worker(
@@ -170,11 +200,17 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
         long scheduleDelayNanos,
         int maxExportBatchSize,
         long exporterTimeoutNanos,
-        Queue<ReadWriteLogRecord> queue) {
+        int maxConcurrentExports,
+        OverflowPolicy overflowPolicy,
+        long blockTimeoutNanos,
+        BlockingQueue<ReadWriteLogRecord> queue) {
       this.logRecordExporter = logRecordExporter;
       this.scheduleDelayNanos = scheduleDelayNanos;
       this.maxExportBatchSize = maxExportBatchSize;
       this.exporterTimeoutNanos = exporterTimeoutNanos;
+      this.maxConcurrentExports = maxConcurrentExports;
+      this.overflowPolicy = overflowPolicy;
+      this.blockTimeoutNanos = blockTimeoutNanos;
       this.queue = queue;
       this.signal = new ArrayBlockingQueue<>(1);
       Meter meter = meterProvider.meterBuilder("io.opentelemetry.sdk.logs").build();
@@ -214,7 +250,7 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
     }
 
     private void addLog(ReadWriteLogRecord logData) {
-      if (!queue.offer(logData)) {
+      if (!queue.offer(logData) && !offerOnOverflow(logData)) {
         processedLogsCounter.add(1, droppedAttrs);
       } else {
         if (queue.size() >= logsNeeded.get()) {
@@ -223,8 +259,47 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
       }
     }
 
+    /**
+     * Applies the {@link OverflowPolicy} to a log record which didn't fit in the full queue.
+     * Returns whether the log record was added to the queue after all.
+     */
+    private boolean offerOnOverflow(ReadWriteLogRecord logData) {
+      switch (overflowPolicy) {
+        case DROP_OLDEST:
+          do {
+            if (queue.poll() != null) {
+              processedLogsCounter.add(1, droppedAttrs);
+            }
+          } while (!queue.offer(logData));
+          return true;
+        case BLOCK:
+          // The worker wouldn't make room in the queue anymore once it has stopped
+          if (!continueWork) {
+            return false;
+          }
+          // A log emitted by the worker itself, e.g. by the exporter, would block the only thread
+          // which makes room in the queue
+          if (Thread.currentThread() == workerThread) {
+            return false;
+          }
+          // Make sure the worker drains the queue, it may be waiting for a full batch which the
+          // queue can't hold.
+          signal.offer(true);
+          try {
+            return queue.offer(logData, blockTimeoutNanos, TimeUnit.NANOSECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+          }
+        case DROP_NEWEST:
+          return false;
+      }
+      return false;
+    }
+
     @Override
     public void run() {
+      workerThread = Thread.currentThread();
       updateNextExportTime();
 
       while (continueWork) {
@@ -266,6 +341,7 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
         }
       }
       exportCurrentBatch();
+      awaitPendingExports(0);
       CompletableResultCode flushResult = flushRequested.get();
       if (flushResult != null) {
         flushResult.succeed();
@@ -317,19 +393,76 @@ public final class BatchLogRecordProcessor implements LogRecordProcessor {
       }
 
       try {
-        CompletableResultCode result =
-            logRecordExporter.export(Collections.unmodifiableList(batch));
-        result.join(exporterTimeoutNanos, TimeUnit.NANOSECONDS);
-        if (result.isSuccess()) {
-          processedLogsCounter.add(batch.size(), exportedAttrs);
-        } else {
-          logger.log(Level.FINE, "Exporter failed");
+        pendingExports.removeIf(pendingExport -> pendingExport.result.isDone());
+        if (pendingExports.size() >= maxConcurrentExports) {
+          // Every export which is still in flight has timed out, since exports which haven't are
+          // awaited until there's room for another one
+          logger.log(Level.FINE, "Timed out exports still in flight, dropping batch");
+          processedLogsCounter.add(batch.size(), droppedAttrs);
+          return;
         }
-      } catch (RuntimeException e) {
-        logger.log(Level.WARNING, "Exporter threw an Exception", e);
+        // When exports may be in flight concurrently, each export gets its own copy of the batch
+        // since the batch is reused as soon as the export has started.
+        List<LogRecordData> exportBatch =
+            maxConcurrentExports == 1 ? batch : new ArrayList<>(batch);
+        int batchSize = batch.size();
+        CompletableResultCode result =
+            logRecordExporter.export(Collections.unmodifiableList(exportBatch));
+        result.whenComplete(
+            () -> {
+              if (result.isSuccess()) {
+                processedLogsCounter.add(batchSize, exportedAttrs);
+              } else {
+                logger.log(Level.FINE, "Exporter failed");
+              }
+            });
+        pendingExports.addLast(
+            new PendingExport(result, System.nanoTime() + exporterTimeoutNanos));
+        awaitPendingExports(maxConcurrentExports - 1);
+      } catch (Throwable t) {
+        ThrowableUtil.propagateIfFatal(t);
+        logger.log(Level.WARNING, "Exporter threw an Exception", t);
       } finally {
         batch.clear();
       }
     }
+
+    /**
+     * Blocks until no more than {@code maxPending} exports are in flight, or all exports in flight
+     * have timed out. Exports are awaited oldest first, each until it completes or its exporter
+     * timeout elapses. Exports which timed out stay pending until they complete.
+     */
+    private void awaitPendingExports(int maxPending) {
+      pendingExports.removeIf(pendingExport -> pendingExport.result.isDone());
+      for (Iterator<PendingExport> iterator = pendingExports.iterator();
+          pendingExports.size() > maxPending && iterator.hasNext(); ) {
+        PendingExport pendingExport = iterator.next();
+        if (pendingExport.result.isDone()) {
+          iterator.remove();
+          continue;
+        }
+        if (pendingExport.timedOut) {
+          continue;
+        }
+        long remainingNanos = Math.max(0, pendingExport.deadlineNanos - System.nanoTime());
+        if (pendingExport.result.join(remainingNanos, TimeUnit.NANOSECONDS).isDone()) {
+          iterator.remove();
+        } else {
+          pendingExport.timedOut = true;
+          logger.log(Level.FINE, "Exporter timed out");
+        }
+      }
+    }
+  }
+
+  private static final class PendingExport {
+    private final CompletableResultCode result;
+    private final long deadlineNanos;
+    private boolean timedOut;
+
+    private PendingExport(CompletableResultCode result, long deadlineNanos) {
+      this.result = result;
+      this.deadlineNanos = deadlineNanos;
+    }
   }
 }
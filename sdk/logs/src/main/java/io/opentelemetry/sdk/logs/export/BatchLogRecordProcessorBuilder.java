@@ -27,12 +27,21 @@ public final class BatchLogRecordProcessorBuilder {
   static final int DEFAULT_MAX_EXPORT_BATCH_SIZE = 512;
   // Visible for testing
   static final int DEFAULT_EXPORT_TIMEOUT_MILLIS = 30_000;
+  // Visible for testing
+  static final int DEFAULT_MAX_CONCURRENT_EXPORTS = 1;
+  // Visible for testing
+  static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.DROP_NEWEST;
+  // Visible for testing
+  static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 1000;
 
   private final LogRecordExporter logRecordExporter;
   private long scheduleDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SCHEDULE_DELAY_MILLIS);
   private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
   private int maxExportBatchSize = DEFAULT_MAX_EXPORT_BATCH_SIZE;
   private long exporterTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_EXPORT_TIMEOUT_MILLIS);
+  private int maxConcurrentExports = DEFAULT_MAX_CONCURRENT_EXPORTS;
+  private OverflowPolicy overflowPolicy = DEFAULT_OVERFLOW_POLICY;
+  private long blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_BLOCK_TIMEOUT_MILLIS);
   private MeterProvider meterProvider = MeterProvider.noop();
 
   BatchLogRecordProcessorBuilder(LogRecordExporter logRecordExporter) {
@@ -126,6 +135,86 @@ public final class BatchLogRecordProcessorBuilder {
     return this;
   }
 
+  /**
+   * Sets the maximum number of export batches which may be in flight at the same time. While fewer
+   * than {@code maxConcurrentExports} exports are outstanding, the worker continues to drain the
+   * queue and prepare the next batch rather than waiting for the previous export to complete, so
+   * that a slow exporter does not stall the pipeline. Once the bound is reached, the worker waits
+   * for the oldest export to complete or reach its exporter timeout.
+   *
+   * <p>Exporters used with a value greater than {@code 1} must support concurrent calls to {@link
+   * LogRecordExporter#export(java.util.Collection)}.
+   *
+   * <p>Default value is {@code 1}, i.e. each export completes before the next one starts.
+   *
+   * @param maxConcurrentExports the maximum number of in-flight exports.
+   * @return this.
+   * @see BatchLogRecordProcessorBuilder#DEFAULT_MAX_CONCURRENT_EXPORTS
+   * @since 1.45.0
+   */
+  public BatchLogRecordProcessorBuilder setMaxConcurrentExports(int maxConcurrentExports) {
+    checkArgument(maxConcurrentExports > 0, "maxConcurrentExports must be positive.");
+    this.maxConcurrentExports = maxConcurrentExports;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxConcurrentExports() {
+    return maxConcurrentExports;
+  }
+
+  /**
+   * Sets what to do with log records emitted while the queue is full.
+   *
+   * <p>Default value is {@link OverflowPolicy#DROP_NEWEST}.
+   *
+   * @param overflowPolicy the policy for log records emitted while the queue is full.
+   * @return this.
+   * @see BatchLogRecordProcessorBuilder#DEFAULT_OVERFLOW_POLICY
+   * @since 1.45.0
+   */
+  public BatchLogRecordProcessorBuilder setOverflowPolicy(OverflowPolicy overflowPolicy) {
+    requireNonNull(overflowPolicy, "overflowPolicy");
+    this.overflowPolicy = overflowPolicy;
+    return this;
+  }
+
+  // Visible for testing
+  OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  /**
+   * Sets the maximum time a thread emitting a log record waits for room in the queue when the
+   * {@link OverflowPolicy#BLOCK} policy is used. If unset, defaults to {@value
+   * DEFAULT_BLOCK_TIMEOUT_MILLIS}ms.
+   *
+   * @since 1.45.0
+   */
+  public BatchLogRecordProcessorBuilder setBlockTimeout(long timeout, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(timeout >= 0, "timeout must be non-negative");
+    blockTimeoutNanos = unit.toNanos(timeout);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time a thread emitting a log record waits for room in the queue when the
+   * {@link OverflowPolicy#BLOCK} policy is used. If unset, defaults to {@value
+   * DEFAULT_BLOCK_TIMEOUT_MILLIS}ms.
+   *
+   * @since 1.45.0
+   */
+  public BatchLogRecordProcessorBuilder setBlockTimeout(Duration timeout) {
+    requireNonNull(timeout, "timeout");
+    return setBlockTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  // Visible for testing
+  long getBlockTimeoutNanos() {
+    return blockTimeoutNanos;
+  }
+
   /**
    * Sets the {@link MeterProvider} to use to collect metrics related to batch export. If not set,
    * metrics will not be collected.
@@ -154,6 +243,9 @@ public final class BatchLogRecordProcessorBuilder {
         scheduleDelayNanos,
         maxQueueSize,
         maxExportBatchSize,
-        exporterTimeoutNanos);
+        exporterTimeoutNanos,
+        maxConcurrentExports,
+        overflowPolicy,
+        blockTimeoutNanos);
   }
 }
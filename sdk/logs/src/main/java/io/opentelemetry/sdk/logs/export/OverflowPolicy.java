@@ -0,0 +1,26 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.logs.export;
+
+/**
+ * What {@link BatchLogRecordProcessor} does with a log record emitted while its queue is full.
+ *
+ * @since 1.45.0
+ */
+public enum OverflowPolicy {
+  /** Drop the emitted log record, keeping the log records already queued. */
+  DROP_NEWEST,
+  /** Drop the oldest queued log record to make room for the emitted log record. */
+  DROP_OLDEST,
+  /**
+   * Block the emitting thread until there is room in the queue, up to the configured block timeout
+   * (see {@link BatchLogRecordProcessorBuilder#setBlockTimeout(long,
+   * java.util.concurrent.TimeUnit)}), dropping the emitted log record if the timeout elapses. Log
+   * records emitted by the processor's worker thread, e.g. while exporting, are dropped instead,
+   * since only that thread makes room in the queue.
+   */
+  BLOCK
+}
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -78,6 +79,14 @@ class BatchLogRecordProcessorTest {
         .isEqualTo(
             TimeUnit.MILLISECONDS.toNanos(
                 BatchLogRecordProcessorBuilder.DEFAULT_EXPORT_TIMEOUT_MILLIS));
+    assertThat(builder.getMaxConcurrentExports())
+        .isEqualTo(BatchLogRecordProcessorBuilder.DEFAULT_MAX_CONCURRENT_EXPORTS);
+    assertThat(builder.getOverflowPolicy())
+        .isEqualTo(BatchLogRecordProcessorBuilder.DEFAULT_OVERFLOW_POLICY);
+    assertThat(builder.getBlockTimeoutNanos())
+        .isEqualTo(
+            TimeUnit.MILLISECONDS.toNanos(
+                BatchLogRecordProcessorBuilder.DEFAULT_BLOCK_TIMEOUT_MILLIS));
   }
 
   @Test
@@ -111,6 +120,28 @@ class BatchLogRecordProcessorTest {
             () -> BatchLogRecordProcessor.builder(mockLogRecordExporter).setExporterTimeout(null))
         .isInstanceOf(NullPointerException.class)
         .hasMessage("timeout");
+    assertThatThrownBy(
+            () -> BatchLogRecordProcessor.builder(mockLogRecordExporter).setMaxConcurrentExports(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxConcurrentExports must be positive.");
+    assertThatThrownBy(
+            () -> BatchLogRecordProcessor.builder(mockLogRecordExporter).setOverflowPolicy(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("overflowPolicy");
+    assertThatThrownBy(
+            () ->
+                BatchLogRecordProcessor.builder(mockLogRecordExporter)
+                    .setBlockTimeout(-1, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("timeout must be non-negative");
+    assertThatThrownBy(
+            () -> BatchLogRecordProcessor.builder(mockLogRecordExporter).setBlockTimeout(1, null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("unit");
+    assertThatThrownBy(
+            () -> BatchLogRecordProcessor.builder(mockLogRecordExporter).setBlockTimeout(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("timeout");
   }
 
   @Test
@@ -286,6 +317,197 @@ class BatchLogRecordProcessorTest {
     assertThat(exported).hasSize(maxQueuedLogs);
   }
 
+  @Test
+  @Timeout(10)
+  void overflowPolicy_DropOldest() {
+    BlockingLogRecordExporter blockingLogRecordExporter = new BlockingLogRecordExporter();
+    WaitingLogRecordExporter waitingLogRecordExporter =
+        new WaitingLogRecordExporter(3, CompletableResultCode.ofSuccess());
+    SdkLoggerProvider sdkLoggerProvider =
+        SdkLoggerProvider.builder()
+            .addLogRecordProcessor(
+                BatchLogRecordProcessor.builder(
+                        LogRecordExporter.composite(
+                            Arrays.asList(blockingLogRecordExporter, waitingLogRecordExporter)))
+                    .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                    .setMaxQueueSize(2)
+                    .setMaxExportBatchSize(1)
+                    .setOverflowPolicy(OverflowPolicy.DROP_OLDEST)
+                    .build())
+            .build();
+
+    emitLog(sdkLoggerProvider, "blocking log");
+    blockingLogRecordExporter.waitUntilIsBlocked();
+
+    // The queue holds two logs, so the first is dropped to make room for the third.
+    emitLog(sdkLoggerProvider, "log_1");
+    emitLog(sdkLoggerProvider, "log_2");
+    emitLog(sdkLoggerProvider, "log_3");
+    blockingLogRecordExporter.unblock();
+
+    assertThat(waitingLogRecordExporter.waitForExport())
+        .satisfiesExactly(
+            logRecordData -> assertThat(logRecordData).hasBody("blocking log"),
+            logRecordData -> assertThat(logRecordData).hasBody("log_2"),
+            logRecordData -> assertThat(logRecordData).hasBody("log_3"));
+  }
+
+  @Test
+  @Timeout(10)
+  void overflowPolicy_Block() throws InterruptedException {
+    BlockingLogRecordExporter blockingLogRecordExporter = new BlockingLogRecordExporter();
+    WaitingLogRecordExporter waitingLogRecordExporter =
+        new WaitingLogRecordExporter(3, CompletableResultCode.ofSuccess());
+    SdkLoggerProvider sdkLoggerProvider =
+        SdkLoggerProvider.builder()
+            .addLogRecordProcessor(
+                BatchLogRecordProcessor.builder(
+                        LogRecordExporter.composite(
+                            Arrays.asList(blockingLogRecordExporter, waitingLogRecordExporter)))
+                    .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                    .setMaxQueueSize(1)
+                    .setMaxExportBatchSize(1)
+                    .setOverflowPolicy(OverflowPolicy.BLOCK)
+                    .setBlockTimeout(10, TimeUnit.SECONDS)
+                    .build())
+            .build();
+
+    emitLog(sdkLoggerProvider, "blocking log");
+    blockingLogRecordExporter.waitUntilIsBlocked();
+    emitLog(sdkLoggerProvider, "log_1");
+
+    // The queue is full, so emitting blocks until the worker makes room.
+    Thread emitter = new Thread(() -> emitLog(sdkLoggerProvider, "log_2"));
+    emitter.start();
+    await().until(() -> emitter.getState() == Thread.State.TIMED_WAITING);
+    blockingLogRecordExporter.unblock();
+    emitter.join();
+
+    assertThat(waitingLogRecordExporter.waitForExport())
+        .satisfiesExactly(
+            logRecordData -> assertThat(logRecordData).hasBody("blocking log"),
+            logRecordData -> assertThat(logRecordData).hasBody("log_1"),
+            logRecordData -> assertThat(logRecordData).hasBody("log_2"));
+  }
+
+  @Test
+  @Timeout(10)
+  void overflowPolicy_BlockTimesOut() {
+    BlockingLogRecordExporter blockingLogRecordExporter = new BlockingLogRecordExporter();
+    WaitingLogRecordExporter waitingLogRecordExporter =
+        new WaitingLogRecordExporter(2, CompletableResultCode.ofSuccess());
+    BatchLogRecordProcessor processor =
+        BatchLogRecordProcessor.builder(
+                LogRecordExporter.composite(
+                    Arrays.asList(blockingLogRecordExporter, waitingLogRecordExporter)))
+            .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+            .setMaxQueueSize(1)
+            .setMaxExportBatchSize(1)
+            .setOverflowPolicy(OverflowPolicy.BLOCK)
+            .setBlockTimeout(10, TimeUnit.MILLISECONDS)
+            .build();
+    SdkLoggerProvider sdkLoggerProvider =
+        SdkLoggerProvider.builder().addLogRecordProcessor(processor).build();
+
+    emitLog(sdkLoggerProvider, "blocking log");
+    blockingLogRecordExporter.waitUntilIsBlocked();
+    emitLog(sdkLoggerProvider, "log_1");
+    // Dropped once the block timeout elapses
+    emitLog(sdkLoggerProvider, "log_2");
+    assertThat(processor.getQueue()).hasSize(1);
+    blockingLogRecordExporter.unblock();
+
+    assertThat(waitingLogRecordExporter.waitForExport())
+        .satisfiesExactly(
+            logRecordData -> assertThat(logRecordData).hasBody("blocking log"),
+            logRecordData -> assertThat(logRecordData).hasBody("log_1"));
+  }
+
+  @Test
+  @Timeout(5)
+  void overflowPolicy_BlockDropsLogsEmittedByWorker() {
+    AtomicReference<SdkLoggerProvider> sdkLoggerProvider = new AtomicReference<>();
+    WaitingLogRecordExporter waitingLogRecordExporter =
+        new WaitingLogRecordExporter(2, CompletableResultCode.ofSuccess());
+    AtomicBoolean emitted = new AtomicBoolean();
+    // Emits logs while exporting, the second of which doesn't fit in the queue
+    LogRecordExporter emittingLogRecordExporter =
+        new LogRecordExporter() {
+          @Override
+          public CompletableResultCode export(Collection<LogRecordData> logs) {
+            if (!emitted.getAndSet(true)) {
+              emitLog(sdkLoggerProvider.get(), "log_1");
+              emitLog(sdkLoggerProvider.get(), "log_2");
+            }
+            return CompletableResultCode.ofSuccess();
+          }
+
+          @Override
+          public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+          }
+
+          @Override
+          public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+          }
+        };
+    sdkLoggerProvider.set(
+        SdkLoggerProvider.builder()
+            .addLogRecordProcessor(
+                BatchLogRecordProcessor.builder(
+                        LogRecordExporter.composite(
+                            Arrays.asList(emittingLogRecordExporter, waitingLogRecordExporter)))
+                    .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                    .setMaxQueueSize(1)
+                    .setMaxExportBatchSize(1)
+                    .setOverflowPolicy(OverflowPolicy.BLOCK)
+                    .setBlockTimeout(1, TimeUnit.MINUTES)
+                    .build())
+            .build());
+
+    // Blocking the worker on its own queue would never make room for log_2, so it's dropped
+    emitLog(sdkLoggerProvider.get(), "blocking log");
+    assertThat(waitingLogRecordExporter.waitForExport())
+        .satisfiesExactly(
+            logRecordData -> assertThat(logRecordData).hasBody("blocking log"),
+            logRecordData -> assertThat(logRecordData).hasBody("log_1"));
+  }
+
+  @Test
+  @Timeout(10)
+  void concurrentExports() {
+    CompletableLogRecordExporter logRecordExporter = new CompletableLogRecordExporter();
+    BatchLogRecordProcessor processor =
+        BatchLogRecordProcessor.builder(logRecordExporter)
+            .setMaxExportBatchSize(1)
+            .setMaxConcurrentExports(2)
+            .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+            .build();
+    SdkLoggerProvider sdkLoggerProvider =
+        SdkLoggerProvider.builder().addLogRecordProcessor(processor).build();
+
+    emitLog(sdkLoggerProvider, LOG_MESSAGE_1);
+    emitLog(sdkLoggerProvider, LOG_MESSAGE_2);
+    // The second export starts while the first is still in flight.
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(new ArrayList<>(logRecordExporter.getExported()))
+                    .satisfiesExactly(
+                        logRecordData -> assertThat(logRecordData).hasBody(LOG_MESSAGE_1),
+                        logRecordData -> assertThat(logRecordData).hasBody(LOG_MESSAGE_2)));
+
+    // The bound on in flight exports has been reached, so the next log waits in the queue.
+    emitLog(sdkLoggerProvider, LOG_MESSAGE_1);
+    assertThat(processor.getQueue()).hasSize(1);
+
+    logRecordExporter.succeed();
+    await()
+        .untilAsserted(
+            () -> assertThat(new ArrayList<>(logRecordExporter.getExported())).hasSize(3));
+  }
+
   @Test
   void ignoresNullLogs() {
     BatchLogRecordProcessor processor =
@@ -342,7 +564,8 @@ class BatchLogRecordProcessorTest {
         SdkLoggerProvider.builder().addLogRecordProcessor(blp).build();
 
     CountDownLatch exported = new CountDownLatch(1);
-    // We return a result we never complete, meaning it will timeout.
+    // We return a result we don't complete until later, meaning it will timeout.
+    CompletableResultCode timedOutResult = new CompletableResultCode();
     when(mockLogRecordExporter.export(
             argThat(
                 logs -> {
@@ -350,13 +573,14 @@ class BatchLogRecordProcessorTest {
                   exported.countDown();
                   return true;
                 })))
-        .thenReturn(new CompletableResultCode());
+        .thenReturn(timedOutResult);
     emitLog(sdkLoggerProvider, LOG_MESSAGE_1);
     exported.await();
     // Timed out so the log was dropped.
     await().untilAsserted(() -> assertThat(blp.getBatch()).isEmpty());
 
-    // Still processing new logs.
+    // Still processing new logs once the timed out export completes.
+    timedOutResult.fail();
     CountDownLatch exportedAgain = new CountDownLatch(1);
     reset(mockLogRecordExporter);
     when(mockLogRecordExporter.shutdown()).thenReturn(CompletableResultCode.ofSuccess());
@@ -369,10 +593,53 @@ class BatchLogRecordProcessorTest {
                 })))
         .thenReturn(CompletableResultCode.ofSuccess());
     emitLog(sdkLoggerProvider, LOG_MESSAGE_2);
-    exported.await();
+    exportedAgain.await();
     await().untilAsserted(() -> assertThat(blp.getBatch()).isEmpty());
   }
 
+  @Test
+  @Timeout(10)
+  void dropsBatchesWhileTimedOutExportsAreInFlight() {
+    CompletableLogRecordExporter logRecordExporter = new CompletableLogRecordExporter();
+    BatchLogRecordProcessor processor =
+        BatchLogRecordProcessor.builder(logRecordExporter)
+            .setMaxExportBatchSize(1)
+            .setExporterTimeout(10, TimeUnit.MILLISECONDS)
+            .setScheduleDelay(1, TimeUnit.MILLISECONDS)
+            .build();
+    SdkLoggerProvider sdkLoggerProvider =
+        SdkLoggerProvider.builder().addLogRecordProcessor(processor).build();
+
+    emitLog(sdkLoggerProvider, LOG_MESSAGE_1);
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(new ArrayList<>(logRecordExporter.getExported()))
+                    .satisfiesExactly(
+                        logRecordData -> assertThat(logRecordData).hasBody(LOG_MESSAGE_1)));
+
+    // The export times out without completing, so it keeps its slot and the next batch is
+    // dropped rather than exported concurrently.
+    emitLog(sdkLoggerProvider, LOG_MESSAGE_2);
+    await()
+        .untilAsserted(
+            () -> {
+              assertThat(processor.getQueue()).isEmpty();
+              assertThat(processor.getBatch()).isEmpty();
+            });
+    assertThat(new ArrayList<>(logRecordExporter.getExported())).hasSize(1);
+
+    logRecordExporter.succeed();
+    emitLog(sdkLoggerProvider, LOG_MESSAGE_2);
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(new ArrayList<>(logRecordExporter.getExported()))
+                    .satisfiesExactly(
+                        logRecordData -> assertThat(logRecordData).hasBody(LOG_MESSAGE_1),
+                        logRecordData -> assertThat(logRecordData).hasBody(LOG_MESSAGE_2)));
+  }
+
   @Test
   @Timeout(10)
   void shutdownFlushes() {
@@ -435,6 +702,9 @@ class BatchLogRecordProcessorTest {
                 + ", scheduleDelayNanos=1000000000"
                 + ", maxExportBatchSize=512"
                 + ", exporterTimeoutNanos=30000000000"
+                + ", maxConcurrentExports=1"
+                + ", overflowPolicy=DROP_NEWEST"
+                + ", blockTimeoutNanos=1000000000"
                 + "}");
   }
 
@@ -62,6 +62,9 @@ public class MetricsBenchmarks {
     Span span;
     io.opentelemetry.context.Scope contextScope;
     final Attributes sharedLabelSet = Attributes.builder().put("KEY", "VALUE").build();
+    // Distinct instances equal to sharedLabelSet, more than fit in the storage's attributes cache
+    final Attributes[] sharedLabelSetCopies = new Attributes[1024];
+    int nextCopy;
     Attributes threadUniqueLabelSet;
 
     @Setup
@@ -73,6 +76,9 @@ public class MetricsBenchmarks {
       // We suppress warnings on closing here, as we rely on tests to make sure context is closed.
       contextScope = span.makeCurrent();
       op = opBuilder.build(meter);
+      for (int i = 0; i < sharedLabelSetCopies.length; i++) {
+        sharedLabelSetCopies[i] = Attributes.builder().put("KEY", "VALUE").build();
+      }
       threadUniqueLabelSet =
           Attributes.builder().put("KEY", String.valueOf(threadParams.getThreadIndex())).build();
     }
@@ -98,6 +104,18 @@ public class MetricsBenchmarks {
     threadState.op.perform(threadState.sharedLabelSet);
   }
 
+  /**
+   * Like {@link #oneThread(ThreadState)}, but recording with a different, equal {@link Attributes}
+   * instance each time, as when attributes are built at the call site, so that resolving the
+   * aggregator handle can't be served by the storage's cache of recently recorded attributes.
+   */
+  @Benchmark
+  @Threads(1)
+  public void oneThreadEqualLabelSets(ThreadState threadState) {
+    Attributes[] copies = threadState.sharedLabelSetCopies;
+    threadState.op.perform(copies[threadState.nextCopy++ & (copies.length - 1)]);
+  }
+
   @Benchmark
   @Threads(8)
   public void eightThreadsCommonLabelSet(ThreadState threadState) {
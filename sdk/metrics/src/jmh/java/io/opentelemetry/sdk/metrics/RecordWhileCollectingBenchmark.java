@@ -0,0 +1,112 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.sdk.common.export.MemoryMode;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.internal.exemplar.ExemplarFilter;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Measures the throughput of recording to a counter from many threads while another thread collects
+ * it as often as it can, which for DELTA temporality means recordings are repeatedly switched over
+ * to a new interval while they're in progress. Compare the {@code recordWhileCollecting:record}
+ * results against those of {@code recordWithoutCollecting}, which records from the same number of
+ * threads without any collections. The {@code threadLocalSumAggregation} parameter compares
+ * recording directly to the counter's storage against summing the recordings of each thread first.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RecordWhileCollectingBenchmark {
+
+  @State(Scope.Group)
+  public static class SharedState {
+    @Param AggregationTemporality aggregationTemporality;
+    @Param MemoryMode memoryMode;
+
+    @Param({"false", "true"})
+    boolean threadLocalSumAggregation;
+
+    SdkMeterProvider meterProvider;
+    InMemoryMetricReader reader;
+    LongCounter counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      reader =
+          InMemoryMetricReader.builder()
+              .setAggregationTemporalitySelector(unused -> aggregationTemporality)
+              .setMemoryMode(memoryMode)
+              .build();
+      meterProvider =
+          SdkMeterProvider.builder()
+              .registerMetricReader(reader)
+              .setExemplarFilter(ExemplarFilter.alwaysOff())
+              .setThreadLocalSumAggregation(threadLocalSumAggregation)
+              .build();
+      counter = meterProvider.get("meter").counterBuilder("counter").build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      meterProvider.shutdown().join(10, TimeUnit.SECONDS);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    Attributes attributes;
+
+    @Setup(Level.Trial)
+    public void setup(ThreadParams threadParams) {
+      attributes = Attributes.builder().put("thread", threadParams.getThreadIndex()).build();
+    }
+  }
+
+  @Benchmark
+  @Group("recordWhileCollecting")
+  @GroupThreads(7)
+  public void record(SharedState sharedState, ThreadState threadState) {
+    sharedState.counter.add(1, threadState.attributes);
+  }
+
+  @Benchmark
+  @Group("recordWhileCollecting")
+  @GroupThreads(1)
+  public void collect(SharedState sharedState, Blackhole blackhole) {
+    blackhole.consume(sharedState.reader.collectAllMetrics());
+  }
+
+  @Benchmark
+  @Group("recordWithoutCollecting")
+  @GroupThreads(7)
+  public void recordOnly(SharedState sharedState, ThreadState threadState) {
+    sharedState.counter.add(1, threadState.attributes);
+  }
+}
@@ -19,6 +19,13 @@ public enum HistogramAggregationParam {
               ExplicitBucketHistogramUtils.DEFAULT_HISTOGRAM_BUCKET_BOUNDARIES),
           ExemplarReservoir::doubleNoSamples,
           IMMUTABLE_DATA)),
+  EXPLICIT_DEFAULT_BUCKET_STRIPED(
+      new DoubleExplicitBucketHistogramAggregator(
+          ExplicitBucketHistogramUtils.createBoundaryArray(
+              ExplicitBucketHistogramUtils.DEFAULT_HISTOGRAM_BUCKET_BOUNDARIES),
+          ExemplarReservoir::doubleNoSamples,
+          IMMUTABLE_DATA,
+          /* striped= */ true)),
   EXPLICIT_SINGLE_BUCKET(
       new DoubleExplicitBucketHistogramAggregator(
           ExplicitBucketHistogramUtils.createBoundaryArray(Collections.emptyList()),
@@ -29,7 +36,10 @@ public enum HistogramAggregationParam {
           ExemplarReservoir::doubleNoSamples, 20, 0, IMMUTABLE_DATA)),
   EXPONENTIAL_CIRCULAR_BUFFER(
       new DoubleBase2ExponentialHistogramAggregator(
-          ExemplarReservoir::doubleNoSamples, 160, 0, IMMUTABLE_DATA));
+          ExemplarReservoir::doubleNoSamples, 160, 0, IMMUTABLE_DATA)),
+  EXPONENTIAL_CIRCULAR_BUFFER_STRIPED(
+      new DoubleBase2ExponentialHistogramAggregator(
+          ExemplarReservoir::doubleNoSamples, 160, 0, IMMUTABLE_DATA, /* striped= */ true));
 
   private final Aggregator<?, ?> aggregator;
 
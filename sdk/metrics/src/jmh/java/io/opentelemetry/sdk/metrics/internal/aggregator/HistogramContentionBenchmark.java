@@ -0,0 +1,100 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.internal.aggregator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how histogram aggregations scale when a single series (i.e. a single {@link
+ * AggregatorHandle}) is recorded to from an increasing number of threads. Unlike {@link
+ * HistogramBenchmark}, where each thread records to its own handle, all threads share one handle.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(iterations = 10, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(1)
+public class HistogramContentionBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class SharedState {
+    @Param({
+      "EXPLICIT_DEFAULT_BUCKET",
+      "EXPLICIT_DEFAULT_BUCKET_STRIPED",
+      "EXPONENTIAL_CIRCULAR_BUFFER",
+      "EXPONENTIAL_CIRCULAR_BUFFER_STRIPED"
+    })
+    HistogramAggregationParam aggregation;
+
+    private AggregatorHandle<?, ?> aggregatorHandle;
+
+    @Setup(Level.Trial)
+    public final void setup() {
+      aggregatorHandle = aggregation.getAggregator().createHandle();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    @Param HistogramValueGenerator valueGen;
+    private DoubleSupplier valueSupplier;
+
+    @Setup(Level.Trial)
+    public final void setup() {
+      valueSupplier = valueGen.supplier();
+    }
+  }
+
+  @Benchmark
+  @Threads(value = 1)
+  public void record_1Threads(SharedState sharedState, ThreadState threadState) {
+    sharedState.aggregatorHandle.recordDouble(threadState.valueSupplier.getAsDouble());
+  }
+
+  @Benchmark
+  @Threads(value = 2)
+  public void record_2Threads(SharedState sharedState, ThreadState threadState) {
+    sharedState.aggregatorHandle.recordDouble(threadState.valueSupplier.getAsDouble());
+  }
+
+  @Benchmark
+  @Threads(value = 4)
+  public void record_4Threads(SharedState sharedState, ThreadState threadState) {
+    sharedState.aggregatorHandle.recordDouble(threadState.valueSupplier.getAsDouble());
+  }
+
+  @Benchmark
+  @Threads(value = 8)
+  public void record_8Threads(SharedState sharedState, ThreadState threadState) {
+    sharedState.aggregatorHandle.recordDouble(threadState.valueSupplier.getAsDouble());
+  }
+
+  @Benchmark
+  @Threads(value = 16)
+  public void record_16Threads(SharedState sharedState, ThreadState threadState) {
+    sharedState.aggregatorHandle.recordDouble(threadState.valueSupplier.getAsDouble());
+  }
+
+  @Benchmark
+  @Threads(value = Threads.MAX)
+  public void record_MaxThreads(SharedState sharedState, ThreadState threadState) {
+    sharedState.aggregatorHandle.recordDouble(threadState.valueSupplier.getAsDouble());
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.internal.state;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.export.MemoryMode;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.SdkMeterProviderBuilder;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
+import io.opentelemetry.sdk.metrics.internal.SdkMeterProviderUtil;
+import io.opentelemetry.sdk.metrics.internal.exemplar.ExemplarFilter;
+import io.opentelemetry.sdk.metrics.internal.state.tester.AsyncCounterTester;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to collect a single asynchronous counter with a high number of series, which
+ * is dominated by {@link AsynchronousMetricStorage} recording the observed points to, and
+ * collecting them from, its maps.
+ *
+ * <p>The counter is built by {@link AsyncCounterTester}, whose callback records a random value for
+ * each attribute set. Run with {@code -prof gc} to see the allocation rate of each combination of
+ * {@link MemoryMode} and {@link AggregationTemporality}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AsynchronousMetricStorageBenchmark {
+
+  @State(value = Scope.Benchmark)
+  public static class ThreadState {
+    @Param({"10000", "100000", "1000000"})
+    public int cardinality;
+
+    @Param public AggregationTemporality aggregationTemporality;
+    @Param public MemoryMode memoryMode;
+    SdkMeterProvider sdkMeterProvider;
+
+    @Setup
+    public void setup() {
+      AsyncCounterTester instrumentTester = new AsyncCounterTester();
+      PeriodicMetricReader metricReader =
+          PeriodicMetricReader.builder(
+                  // Configure an exporter that configures the temporality and aggregation
+                  // for the test case, but otherwise drops the data on export
+                  new NoopMetricExporter(
+                      aggregationTemporality, instrumentTester.testedAggregation(), memoryMode))
+              // Effectively disable periodic reading so reading is only done on #flush()
+              .setInterval(Duration.ofSeconds(Integer.MAX_VALUE))
+              .build();
+      SdkMeterProviderBuilder builder =
+          SdkMeterProvider.builder().registerMetricReader(metricReader, unused -> cardinality + 1);
+      SdkMeterProviderUtil.setExemplarFilter(builder, ExemplarFilter.alwaysOff());
+      sdkMeterProvider = builder.build();
+
+      List<Attributes> attributesList = AttributesGenerator.generate(cardinality);
+      instrumentTester.buildInstruments(
+          /* instrumentCount= */ 1, sdkMeterProvider, attributesList, new Random());
+    }
+
+    @TearDown
+    public void tearDown() {
+      sdkMeterProvider.shutdown().join(10, TimeUnit.SECONDS);
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void collect(ThreadState threadState) {
+    threadState.sdkMeterProvider.forceFlush().join(10, TimeUnit.SECONDS);
+  }
+}
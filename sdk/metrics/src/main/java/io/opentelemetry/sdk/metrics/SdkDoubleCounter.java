@@ -7,6 +7,7 @@ package io.opentelemetry.sdk.metrics;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.incubator.metrics.BoundDoubleCounter;
 import io.opentelemetry.api.incubator.metrics.ExtendedDoubleCounter;
 import io.opentelemetry.api.incubator.metrics.ExtendedDoubleCounterBuilder;
 import io.opentelemetry.api.metrics.DoubleCounterBuilder;
@@ -16,6 +17,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.metrics.internal.descriptor.Advice;
 import io.opentelemetry.sdk.metrics.internal.descriptor.InstrumentDescriptor;
+import io.opentelemetry.sdk.metrics.internal.state.BoundMetricStorage;
 import io.opentelemetry.sdk.metrics.internal.state.WriteableMetricStorage;
 import java.util.List;
 import java.util.function.Consumer;
@@ -39,11 +41,7 @@ final class SdkDoubleCounter extends AbstractInstrument implements ExtendedDoubl
   @Override
   public void add(double increment, Attributes attributes, Context context) {
     if (increment < 0) {
-      throttlingLogger.log(
-          Level.WARNING,
-          "Counters can only increase. Instrument "
-              + getDescriptor().getName()
-              + " has recorded a negative value.");
+      logNegativeIncrement();
       return;
     }
     storage.recordDouble(increment, attributes, context);
@@ -64,6 +62,26 @@ final class SdkDoubleCounter extends AbstractInstrument implements ExtendedDoubl
     return sdkMeter.isMeterEnabled() && storage.isEnabled();
   }
 
+  @Override
+  public BoundDoubleCounter bind(Attributes attributes) {
+    BoundMetricStorage boundStorage = storage.bind(attributes);
+    return (increment, context) -> {
+      if (increment < 0) {
+        logNegativeIncrement();
+        return;
+      }
+      boundStorage.recordDouble(increment, context);
+    };
+  }
+
+  private void logNegativeIncrement() {
+    throttlingLogger.log(
+        Level.WARNING,
+        "Counters can only increase. Instrument "
+            + getDescriptor().getName()
+            + " has recorded a negative value.");
+  }
+
   static final class SdkDoubleCounterBuilder implements ExtendedDoubleCounterBuilder {
 
     private final InstrumentBuilder builder;
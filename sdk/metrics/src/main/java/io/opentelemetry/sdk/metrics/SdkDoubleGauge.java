@@ -7,6 +7,7 @@ package io.opentelemetry.sdk.metrics;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.incubator.metrics.BoundDoubleGauge;
 import io.opentelemetry.api.incubator.metrics.ExtendedDoubleGauge;
 import io.opentelemetry.api.incubator.metrics.ExtendedDoubleGaugeBuilder;
 import io.opentelemetry.api.metrics.DoubleGaugeBuilder;
@@ -15,6 +16,7 @@ import io.opentelemetry.api.metrics.ObservableDoubleGauge;
 import io.opentelemetry.api.metrics.ObservableDoubleMeasurement;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.metrics.internal.descriptor.InstrumentDescriptor;
+import io.opentelemetry.sdk.metrics.internal.state.BoundMetricStorage;
 import io.opentelemetry.sdk.metrics.internal.state.WriteableMetricStorage;
 import java.util.List;
 import java.util.function.Consumer;
@@ -51,6 +53,12 @@ final class SdkDoubleGauge extends AbstractInstrument implements ExtendedDoubleG
     return sdkMeter.isMeterEnabled() && storage.isEnabled();
   }
 
+  @Override
+  public BoundDoubleGauge bind(Attributes attributes) {
+    BoundMetricStorage boundStorage = storage.bind(attributes);
+    return boundStorage::recordDouble;
+  }
+
   static final class SdkDoubleGaugeBuilder implements ExtendedDoubleGaugeBuilder {
     private final InstrumentBuilder builder;
 
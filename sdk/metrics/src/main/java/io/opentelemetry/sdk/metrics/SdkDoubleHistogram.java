@@ -7,6 +7,7 @@ package io.opentelemetry.sdk.metrics;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.incubator.metrics.BoundDoubleHistogram;
 import io.opentelemetry.api.incubator.metrics.ExtendedDoubleHistogram;
 import io.opentelemetry.api.incubator.metrics.ExtendedDoubleHistogramBuilder;
 import io.opentelemetry.api.metrics.DoubleHistogramBuilder;
@@ -15,6 +16,7 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.metrics.internal.aggregator.ExplicitBucketHistogramUtils;
 import io.opentelemetry.sdk.metrics.internal.descriptor.InstrumentDescriptor;
+import io.opentelemetry.sdk.metrics.internal.state.BoundMetricStorage;
 import io.opentelemetry.sdk.metrics.internal.state.WriteableMetricStorage;
 import java.util.List;
 import java.util.Objects;
@@ -38,11 +40,7 @@ final class SdkDoubleHistogram extends AbstractInstrument implements ExtendedDou
   @Override
   public void record(double value, Attributes attributes, Context context) {
     if (value < 0) {
-      throttlingLogger.log(
-          Level.WARNING,
-          "Histograms can only record non-negative values. Instrument "
-              + getDescriptor().getName()
-              + " has recorded a negative value.");
+      logNegativeValue();
       return;
     }
     storage.recordDouble(value, attributes, context);
@@ -63,6 +61,26 @@ final class SdkDoubleHistogram extends AbstractInstrument implements ExtendedDou
     return sdkMeter.isMeterEnabled() && storage.isEnabled();
   }
 
+  @Override
+  public BoundDoubleHistogram bind(Attributes attributes) {
+    BoundMetricStorage boundStorage = storage.bind(attributes);
+    return (value, context) -> {
+      if (value < 0) {
+        logNegativeValue();
+        return;
+      }
+      boundStorage.recordDouble(value, context);
+    };
+  }
+
+  private void logNegativeValue() {
+    throttlingLogger.log(
+        Level.WARNING,
+        "Histograms can only record non-negative values. Instrument "
+            + getDescriptor().getName()
+            + " has recorded a negative value.");
+  }
+
   static final class SdkDoubleHistogramBuilder implements ExtendedDoubleHistogramBuilder {
 
     private final InstrumentBuilder builder;
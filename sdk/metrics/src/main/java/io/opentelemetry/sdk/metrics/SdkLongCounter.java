@@ -7,6 +7,7 @@ package io.opentelemetry.sdk.metrics;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.incubator.metrics.BoundLongCounter;
 import io.opentelemetry.api.incubator.metrics.ExtendedLongCounter;
 import io.opentelemetry.api.incubator.metrics.ExtendedLongCounterBuilder;
 import io.opentelemetry.api.metrics.DoubleCounterBuilder;
@@ -16,6 +17,7 @@ import io.opentelemetry.api.metrics.ObservableLongMeasurement;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.metrics.internal.descriptor.InstrumentDescriptor;
+import io.opentelemetry.sdk.metrics.internal.state.BoundMetricStorage;
 import io.opentelemetry.sdk.metrics.internal.state.WriteableMetricStorage;
 import java.util.List;
 import java.util.function.Consumer;
@@ -40,11 +42,7 @@ final class SdkLongCounter extends AbstractInstrument implements ExtendedLongCou
   @Override
   public void add(long increment, Attributes attributes, Context context) {
     if (increment < 0) {
-      throttlingLogger.log(
-          Level.WARNING,
-          "Counters can only increase. Instrument "
-              + getDescriptor().getName()
-              + " has recorded a negative value.");
+      logNegativeIncrement();
       return;
     }
     storage.recordLong(increment, attributes, context);
@@ -65,6 +63,26 @@ final class SdkLongCounter extends AbstractInstrument implements ExtendedLongCou
     return sdkMeter.isMeterEnabled() && storage.isEnabled();
   }
 
+  @Override
+  public BoundLongCounter bind(Attributes attributes) {
+    BoundMetricStorage boundStorage = storage.bind(attributes);
+    return (increment, context) -> {
+      if (increment < 0) {
+        logNegativeIncrement();
+        return;
+      }
+      boundStorage.recordLong(increment, context);
+    };
+  }
+
+  private void logNegativeIncrement() {
+    throttlingLogger.log(
+        Level.WARNING,
+        "Counters can only increase. Instrument "
+            + getDescriptor().getName()
+            + " has recorded a negative value.");
+  }
+
   static final class SdkLongCounterBuilder implements ExtendedLongCounterBuilder {
 
     private final InstrumentBuilder builder;
@@ -7,6 +7,7 @@ package io.opentelemetry.sdk.metrics;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.incubator.metrics.BoundLongGauge;
 import io.opentelemetry.api.incubator.metrics.ExtendedLongGauge;
 import io.opentelemetry.api.incubator.metrics.ExtendedLongGaugeBuilder;
 import io.opentelemetry.api.metrics.LongGaugeBuilder;
@@ -15,6 +16,7 @@ import io.opentelemetry.api.metrics.ObservableLongMeasurement;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.metrics.internal.descriptor.Advice;
 import io.opentelemetry.sdk.metrics.internal.descriptor.InstrumentDescriptor;
+import io.opentelemetry.sdk.metrics.internal.state.BoundMetricStorage;
 import io.opentelemetry.sdk.metrics.internal.state.WriteableMetricStorage;
 import java.util.List;
 import java.util.function.Consumer;
@@ -51,6 +53,12 @@ final class SdkLongGauge extends AbstractInstrument implements ExtendedLongGauge
     return sdkMeter.isMeterEnabled() && storage.isEnabled();
   }
 
+  @Override
+  public BoundLongGauge bind(Attributes attributes) {
+    BoundMetricStorage boundStorage = storage.bind(attributes);
+    return boundStorage::recordLong;
+  }
+
   static final class SdkLongGaugeBuilder implements ExtendedLongGaugeBuilder {
 
     private final InstrumentBuilder builder;
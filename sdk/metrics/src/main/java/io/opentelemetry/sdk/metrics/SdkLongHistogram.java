@@ -7,6 +7,7 @@ package io.opentelemetry.sdk.metrics;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.incubator.metrics.BoundLongHistogram;
 import io.opentelemetry.api.incubator.metrics.ExtendedLongHistogram;
 import io.opentelemetry.api.incubator.metrics.ExtendedLongHistogramBuilder;
 import io.opentelemetry.api.metrics.LongHistogramBuilder;
@@ -15,6 +16,7 @@ import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.metrics.internal.aggregator.ExplicitBucketHistogramUtils;
 import io.opentelemetry.sdk.metrics.internal.descriptor.Advice;
 import io.opentelemetry.sdk.metrics.internal.descriptor.InstrumentDescriptor;
+import io.opentelemetry.sdk.metrics.internal.state.BoundMetricStorage;
 import io.opentelemetry.sdk.metrics.internal.state.WriteableMetricStorage;
 import java.util.List;
 import java.util.Objects;
@@ -39,11 +41,7 @@ final class SdkLongHistogram extends AbstractInstrument implements ExtendedLongH
   @Override
   public void record(long value, Attributes attributes, Context context) {
     if (value < 0) {
-      throttlingLogger.log(
-          Level.WARNING,
-          "Histograms can only record non-negative values. Instrument "
-              + getDescriptor().getName()
-              + " has recorded a negative value.");
+      logNegativeValue();
       return;
     }
     storage.recordLong(value, attributes, context);
@@ -64,6 +62,26 @@ final class SdkLongHistogram extends AbstractInstrument implements ExtendedLongH
     return sdkMeter.isMeterEnabled() && storage.isEnabled();
   }
 
+  @Override
+  public BoundLongHistogram bind(Attributes attributes) {
+    BoundMetricStorage boundStorage = storage.bind(attributes);
+    return (value, context) -> {
+      if (value < 0) {
+        logNegativeValue();
+        return;
+      }
+      boundStorage.recordLong(value, context);
+    };
+  }
+
+  private void logNegativeValue() {
+    throttlingLogger.log(
+        Level.WARNING,
+        "Histograms can only record non-negative values. Instrument "
+            + getDescriptor().getName()
+            + " has recorded a negative value.");
+  }
+
   static final class SdkLongHistogramBuilder implements ExtendedLongHistogramBuilder {
 
     private final InstrumentBuilder builder;
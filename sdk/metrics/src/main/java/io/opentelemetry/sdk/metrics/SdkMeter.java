@@ -24,6 +24,8 @@ import io.opentelemetry.sdk.metrics.internal.MeterConfig;
 import io.opentelemetry.sdk.metrics.internal.descriptor.InstrumentDescriptor;
 import io.opentelemetry.sdk.metrics.internal.export.RegisteredReader;
 import io.opentelemetry.sdk.metrics.internal.state.AsynchronousMetricStorage;
+import io.opentelemetry.sdk.metrics.internal.state.BoundMetricStorage;
+import io.opentelemetry.sdk.metrics.internal.state.CallbackExecutor;
 import io.opentelemetry.sdk.metrics.internal.state.CallbackRegistration;
 import io.opentelemetry.sdk.metrics.internal.state.MeterProviderSharedState;
 import io.opentelemetry.sdk.metrics.internal.state.MetricStorage;
@@ -40,10 +42,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 
 /** {@link SdkMeter} is SDK implementation of {@link Meter}. */
 final class SdkMeter implements Meter {
@@ -64,6 +69,9 @@ final class SdkMeter implements Meter {
   private static final Pattern VALID_INSTRUMENT_NAME_PATTERN =
       Pattern.compile("([A-Za-z]){1}([A-Za-z0-9\\_\\-\\./]){0,254}");
 
+  // The number of storages below which a parallel collection collects them all in a single task
+  private static final int STORAGES_PER_COLLECT_TASK = 32;
+
   private static final Meter NOOP_METER = MeterProvider.noop().get("noop");
   private static final String NOOP_INSTRUMENT_NAME = "noop";
 
@@ -77,18 +85,35 @@ final class SdkMeter implements Meter {
   private final InstrumentationScopeInfo instrumentationScopeInfo;
   private final Map<RegisteredReader, MetricStorageRegistry> readerStorageRegistries;
   private final boolean meterEnabled;
+  // Null unless callbacks have a timeout
+  @Nullable private final CallbackExecutor callbackExecutor;
 
   SdkMeter(
       MeterProviderSharedState meterProviderSharedState,
       InstrumentationScopeInfo instrumentationScopeInfo,
       List<RegisteredReader> registeredReaders,
       MeterConfig meterConfig) {
+    this(
+        meterProviderSharedState,
+        instrumentationScopeInfo,
+        registeredReaders,
+        meterConfig,
+        /* callbackExecutor= */ null);
+  }
+
+  SdkMeter(
+      MeterProviderSharedState meterProviderSharedState,
+      InstrumentationScopeInfo instrumentationScopeInfo,
+      List<RegisteredReader> registeredReaders,
+      MeterConfig meterConfig,
+      @Nullable CallbackExecutor callbackExecutor) {
     this.instrumentationScopeInfo = instrumentationScopeInfo;
     this.meterProviderSharedState = meterProviderSharedState;
     this.readerStorageRegistries =
         registeredReaders.stream()
             .collect(toMap(Function.identity(), unused -> new MetricStorageRegistry()));
     this.meterEnabled = meterConfig.isEnabled();
+    this.callbackExecutor = callbackExecutor;
   }
 
   // Visible for testing
@@ -98,6 +123,18 @@ final class SdkMeter implements Meter {
 
   /** Collect all metrics for the meter. */
   Collection<MetricData> collectAll(RegisteredReader registeredReader, long epochNanos) {
+    return collectAll(registeredReader, epochNanos, /* forkStorages= */ false);
+  }
+
+  /**
+   * Collect all metrics for the meter.
+   *
+   * <p>If {@code forkStorages} is true, this must be called from a {@link ForkJoinPool} worker
+   * thread, and once the callbacks have been invoked the storages are collected concurrently by
+   * tasks forked in its pool. The metrics are returned in the same order either way.
+   */
+  Collection<MetricData> collectAll(
+      RegisteredReader registeredReader, long epochNanos, boolean forkStorages) {
     // Short circuit collection process if meter is disabled
     if (!meterEnabled) {
       return Collections.emptyList();
@@ -109,30 +146,47 @@ final class SdkMeter implements Meter {
     // Collections across all readers are sequential
     synchronized (collectLock) {
       for (CallbackRegistration callbackRegistration : currentRegisteredCallbacks) {
-        callbackRegistration.invokeCallback(
-            registeredReader, meterProviderSharedState.getStartEpochNanos(), epochNanos);
+        if (callbackExecutor == null) {
+          callbackRegistration.invokeCallback(
+              registeredReader, meterProviderSharedState.getStartEpochNanos(), epochNanos);
+        } else {
+          callbackRegistration.invokeCallback(
+              registeredReader,
+              meterProviderSharedState.getStartEpochNanos(),
+              epochNanos,
+              callbackExecutor);
+        }
       }
 
       Collection<MetricStorage> storages =
           Objects.requireNonNull(readerStorageRegistries.get(registeredReader)).getStorages();
+      if (forkStorages && storages.size() > STORAGES_PER_COLLECT_TASK) {
+        MetricStorage[] storageArray = storages.toArray(new MetricStorage[0]);
+        return Collections.unmodifiableList(
+            new CollectStoragesTask(storageArray, 0, storageArray.length, epochNanos).invoke());
+      }
       List<MetricData> result = new ArrayList<>(storages.size());
       for (MetricStorage storage : storages) {
-        MetricData current =
-            storage.collect(
-                meterProviderSharedState.getResource(),
-                getInstrumentationScopeInfo(),
-                meterProviderSharedState.getStartEpochNanos(),
-                epochNanos);
-        // Ignore if the metric data doesn't have any data points, for example when aggregation is
-        // Aggregation#drop()
-        if (!current.isEmpty()) {
-          result.add(current);
-        }
+        collectStorage(storage, epochNanos, result);
       }
       return Collections.unmodifiableList(result);
     }
   }
 
+  private void collectStorage(MetricStorage storage, long epochNanos, List<MetricData> result) {
+    MetricData current =
+        storage.collect(
+            meterProviderSharedState.getResource(),
+            getInstrumentationScopeInfo(),
+            meterProviderSharedState.getStartEpochNanos(),
+            epochNanos);
+    // Ignore if the metric data doesn't have any data points, for example when aggregation is
+    // Aggregation#drop()
+    if (!current.isEmpty()) {
+      result.add(current);
+    }
+  }
+
   /** Reset the meter, clearing all registered callbacks and storages. */
   void resetForTest() {
     synchronized (collectLock) {
@@ -251,7 +305,8 @@ final class SdkMeter implements Meter {
                     reader,
                     registeredView,
                     instrument,
-                    meterProviderSharedState.getExemplarFilter())));
+                    meterProviderSharedState.getExemplarFilter(),
+                    meterProviderSharedState.isThreadLocalSumAggregation())));
       }
     }
 
@@ -308,6 +363,46 @@ final class SdkMeter implements Meter {
     return false;
   }
 
+  /**
+   * Collects a range of storages, splitting it in two and collecting the halves concurrently until
+   * the range is small enough to collect in one task. The metrics of the first half always precede
+   * those of the second.
+   */
+  private final class CollectStoragesTask extends RecursiveTask<List<MetricData>> {
+    private static final long serialVersionUID = 0L;
+
+    private final MetricStorage[] storages;
+    private final int from;
+    private final int to;
+    private final long epochNanos;
+
+    private CollectStoragesTask(MetricStorage[] storages, int from, int to, long epochNanos) {
+      this.storages = storages;
+      this.from = from;
+      this.to = to;
+      this.epochNanos = epochNanos;
+    }
+
+    @Override
+    protected List<MetricData> compute() {
+      if (to - from <= STORAGES_PER_COLLECT_TASK) {
+        List<MetricData> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+          collectStorage(storages[i], epochNanos, result);
+        }
+        return result;
+      }
+      int middle = (from + to) >>> 1;
+      CollectStoragesTask first = new CollectStoragesTask(storages, from, middle, epochNanos);
+      first.fork();
+      List<MetricData> second =
+          new CollectStoragesTask(storages, middle, to, epochNanos).compute();
+      List<MetricData> result = first.join();
+      result.addAll(second);
+      return result;
+    }
+  }
+
   private static class MultiWritableMetricStorage implements WriteableMetricStorage {
     private final List<? extends WriteableMetricStorage> storages;
 
@@ -329,6 +424,15 @@ final class SdkMeter implements Meter {
       }
     }
 
+    @Override
+    public BoundMetricStorage bind(Attributes attributes) {
+      BoundMetricStorage[] boundStorages = new BoundMetricStorage[storages.size()];
+      for (int i = 0; i < boundStorages.length; i++) {
+        boundStorages[i] = storages.get(i).bind(attributes);
+      }
+      return new MultiBoundMetricStorage(boundStorages);
+    }
+
     @Override
     public boolean isEnabled() {
       for (WriteableMetricStorage storage : storages) {
@@ -339,4 +443,26 @@ final class SdkMeter implements Meter {
       return false;
     }
   }
+
+  private static class MultiBoundMetricStorage implements BoundMetricStorage {
+    private final BoundMetricStorage[] boundStorages;
+
+    private MultiBoundMetricStorage(BoundMetricStorage[] boundStorages) {
+      this.boundStorages = boundStorages;
+    }
+
+    @Override
+    public void recordLong(long value, Context context) {
+      for (BoundMetricStorage boundStorage : boundStorages) {
+        boundStorage.recordLong(value, context);
+      }
+    }
+
+    @Override
+    public void recordDouble(double value, Context context) {
+      for (BoundMetricStorage boundStorage : boundStorages) {
+        boundStorage.recordDouble(value, context);
+      }
+    }
+  }
 }
@@ -23,6 +23,7 @@ import io.opentelemetry.sdk.metrics.internal.MeterConfig;
 import io.opentelemetry.sdk.metrics.internal.SdkMeterProviderUtil;
 import io.opentelemetry.sdk.metrics.internal.exemplar.ExemplarFilter;
 import io.opentelemetry.sdk.metrics.internal.export.RegisteredReader;
+import io.opentelemetry.sdk.metrics.internal.state.CallbackExecutor;
 import io.opentelemetry.sdk.metrics.internal.state.MeterProviderSharedState;
 import io.opentelemetry.sdk.metrics.internal.view.RegisteredView;
 import io.opentelemetry.sdk.metrics.internal.view.ViewRegistry;
@@ -33,9 +34,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * SDK implementation for {@link MeterProvider}.
@@ -53,6 +59,10 @@ public final class SdkMeterProvider implements MeterProvider, Closeable {
   private final MeterProviderSharedState sharedState;
   private final ComponentRegistry<SdkMeter> registry;
   private final ScopeConfigurator<MeterConfig> meterConfigurator;
+  // Null unless collecting in parallel
+  @Nullable private final ForkJoinPool collectionPool;
+  // Null unless callbacks have a timeout
+  @Nullable private final CallbackExecutor callbackExecutor;
   private final AtomicBoolean isClosed = new AtomicBoolean(false);
 
   /** Returns a new {@link SdkMeterProviderBuilder} for {@link SdkMeterProvider}. */
@@ -67,7 +77,10 @@ public final class SdkMeterProvider implements MeterProvider, Closeable {
       Clock clock,
       Resource resource,
       ExemplarFilter exemplarFilter,
-      ScopeConfigurator<MeterConfig> meterConfigurator) {
+      ScopeConfigurator<MeterConfig> meterConfigurator,
+      int collectionParallelism,
+      long callbackTimeoutNanos,
+      boolean threadLocalSumAggregation) {
     long startEpochNanos = clock.now();
     this.registeredViews = registeredViews;
     this.registeredReaders =
@@ -80,7 +93,12 @@ public final class SdkMeterProvider implements MeterProvider, Closeable {
             .collect(toList());
     this.metricProducers = metricProducers;
     this.sharedState =
-        MeterProviderSharedState.create(clock, resource, exemplarFilter, startEpochNanos);
+        MeterProviderSharedState.create(
+            clock, resource, exemplarFilter, startEpochNanos, threadLocalSumAggregation);
+    this.callbackExecutor =
+        callbackTimeoutNanos > 0 && !registeredReaders.isEmpty()
+            ? CallbackExecutor.create(callbackTimeoutNanos, clock, this)
+            : null;
     this.registry =
         new ComponentRegistry<>(
             instrumentationLibraryInfo ->
@@ -88,11 +106,21 @@ public final class SdkMeterProvider implements MeterProvider, Closeable {
                     sharedState,
                     instrumentationLibraryInfo,
                     registeredReaders,
-                    getMeterConfig(instrumentationLibraryInfo)));
+                    getMeterConfig(instrumentationLibraryInfo),
+                    callbackExecutor));
     this.meterConfigurator = meterConfigurator;
+    this.collectionPool =
+        collectionParallelism > 1 && !registeredReaders.isEmpty()
+            ? new ForkJoinPool(
+                collectionParallelism,
+                collectionThreadFactory(),
+                /* handler= */ null,
+                /* asyncMode= */ false)
+            : null;
     for (RegisteredReader registeredReader : registeredReaders) {
       List<MetricProducer> readerMetricProducers = new ArrayList<>(metricProducers);
-      readerMetricProducers.add(new LeasedMetricProducer(registry, sharedState, registeredReader));
+      readerMetricProducers.add(
+          new LeasedMetricProducer(registry, sharedState, registeredReader, collectionPool));
       registeredReader
           .getReader()
           .register(new SdkCollectionRegistration(readerMetricProducers, sharedState));
@@ -100,6 +128,16 @@ public final class SdkMeterProvider implements MeterProvider, Closeable {
     }
   }
 
+  private static ForkJoinPool.ForkJoinWorkerThreadFactory collectionThreadFactory() {
+    AtomicInteger threadCount = new AtomicInteger();
+    return pool -> {
+      // Workers of the default factory are daemon threads
+      ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("ParallelMetricCollection-" + threadCount.getAndIncrement());
+      return thread;
+    };
+  }
+
   private MeterConfig getMeterConfig(InstrumentationScopeInfo instrumentationScopeInfo) {
     MeterConfig meterConfig = meterConfigurator.apply(instrumentationScopeInfo);
     return meterConfig == null ? MeterConfig.defaultConfig() : meterConfig;
@@ -158,7 +196,17 @@ public final class SdkMeterProvider implements MeterProvider, Closeable {
     for (RegisteredReader info : registeredReaders) {
       results.add(info.getReader().shutdown());
     }
-    return CompletableResultCode.ofAll(results);
+    CompletableResultCode result = CompletableResultCode.ofAll(results);
+    ForkJoinPool collectionPool = this.collectionPool;
+    if (collectionPool != null) {
+      // Readers may collect a final time as they shut down, which may still be done in parallel
+      result.whenComplete(collectionPool::shutdown);
+    }
+    CallbackExecutor callbackExecutor = this.callbackExecutor;
+    if (callbackExecutor != null) {
+      result.whenComplete(callbackExecutor::shutdown);
+    }
+    return result;
   }
 
   /** Close the meter provider. Calls {@link #shutdown()} and blocks waiting for it to complete. */
@@ -189,14 +237,17 @@ public final class SdkMeterProvider implements MeterProvider, Closeable {
     private final ComponentRegistry<SdkMeter> registry;
     private final MeterProviderSharedState sharedState;
     private final RegisteredReader registeredReader;
+    @Nullable private final ForkJoinPool collectionPool;
 
     LeasedMetricProducer(
         ComponentRegistry<SdkMeter> registry,
         MeterProviderSharedState sharedState,
-        RegisteredReader registeredReader) {
+        RegisteredReader registeredReader,
+        @Nullable ForkJoinPool collectionPool) {
       this.registry = registry;
       this.sharedState = sharedState;
       this.registeredReader = registeredReader;
+      this.collectionPool = collectionPool;
     }
 
     @Override
@@ -204,8 +255,23 @@ public final class SdkMeterProvider implements MeterProvider, Closeable {
       Collection<SdkMeter> meters = registry.getComponents();
       List<MetricData> result = new ArrayList<>();
       long collectTime = sharedState.getClock().now();
-      for (SdkMeter meter : meters) {
-        result.addAll(meter.collectAll(registeredReader, collectTime));
+      ForkJoinPool collectionPool = this.collectionPool;
+      if (collectionPool == null || collectionPool.isShutdown()) {
+        for (SdkMeter meter : meters) {
+          result.addAll(meter.collectAll(registeredReader, collectTime));
+        }
+      } else {
+        // Each meter is collected by its own task, and the results are joined in the order of the
+        // meters so that they're the same as for a sequential collection
+        List<ForkJoinTask<Collection<MetricData>>> tasks = new ArrayList<>(meters.size());
+        for (SdkMeter meter : meters) {
+          tasks.add(
+              collectionPool.submit(
+                  () -> meter.collectAll(registeredReader, collectTime, /* forkStorages= */ true)));
+        }
+        for (ForkJoinTask<Collection<MetricData>> task : tasks) {
+          result.addAll(task.join());
+        }
       }
       registeredReader.setLastCollectEpochNanos(collectTime);
       return Collections.unmodifiableCollection(result);
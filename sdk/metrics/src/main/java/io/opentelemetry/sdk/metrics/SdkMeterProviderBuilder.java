@@ -5,6 +5,8 @@
 
 package io.opentelemetry.sdk.metrics;
 
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.internal.ScopeConfigurator;
@@ -18,6 +20,7 @@ import io.opentelemetry.sdk.metrics.internal.debug.SourceInfo;
 import io.opentelemetry.sdk.metrics.internal.exemplar.ExemplarFilter;
 import io.opentelemetry.sdk.metrics.internal.view.RegisteredView;
 import io.opentelemetry.sdk.resources.Resource;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.IdentityHashMap;
 import java.util.List;
@@ -47,6 +50,9 @@ public final class SdkMeterProviderBuilder {
   private ExemplarFilter exemplarFilter = DEFAULT_EXEMPLAR_FILTER;
   private ScopeConfiguratorBuilder<MeterConfig> meterConfiguratorBuilder =
       MeterConfig.configuratorBuilder();
+  private int collectionParallelism = 1;
+  private long callbackTimeoutNanos;
+  private boolean threadLocalSumAggregation;
 
   SdkMeterProviderBuilder() {}
 
@@ -198,6 +204,67 @@ public final class SdkMeterProviderBuilder {
     return this;
   }
 
+  /**
+   * Sets the maximum number of threads which collect metrics concurrently. If greater than 1,
+   * collections run on a dedicated pool of up to this many threads, which collects meters, and the
+   * instruments of meters with many instruments, in parallel. The collected metrics are in the
+   * same order as when collected sequentially. The callbacks of asynchronous instruments of
+   * different meters may be invoked concurrently.
+   *
+   * <p>Defaults to 1, in which case all metrics are collected sequentially by the thread which
+   * collects them.
+   *
+   * <p>This method is experimental so not public. You may reflectively call it using {@link
+   * SdkMeterProviderUtil#setCollectionParallelism(SdkMeterProviderBuilder, int)}.
+   */
+  SdkMeterProviderBuilder setCollectionParallelism(int collectionParallelism) {
+    checkArgument(collectionParallelism >= 1, "collectionParallelism must be positive");
+    this.collectionParallelism = collectionParallelism;
+    return this;
+  }
+
+  /**
+   * Sets the maximum time each collection waits for each callback of asynchronous instruments. If
+   * set, callbacks run on separate threads, and the values observed by a callback which doesn't
+   * complete in time, or is still running from a previous collection, are replaced by those it
+   * observed when it last completed. A callback is never invoked again while it's still running.
+   * The time taken by each callback is recorded to the {@code otel.sdk.metric.callback.duration}
+   * histogram of the built {@link SdkMeterProvider}.
+   *
+   * <p>Not set by default, in which case callbacks run on the thread which collects them, and
+   * collections wait for them to complete.
+   *
+   * <p>This method is experimental so not public. You may reflectively call it using {@link
+   * SdkMeterProviderUtil#setCallbackTimeout(SdkMeterProviderBuilder, Duration)}.
+   */
+  SdkMeterProviderBuilder setCallbackTimeout(Duration callbackTimeout) {
+    Objects.requireNonNull(callbackTimeout, "callbackTimeout");
+    checkArgument(
+        !callbackTimeout.isNegative() && !callbackTimeout.isZero(),
+        "callbackTimeout must be positive");
+    this.callbackTimeoutNanos = callbackTimeout.toNanos();
+    return this;
+  }
+
+  /**
+   * Sets whether measurements of synchronous instruments aggregated as sums are first summed by
+   * each recording thread. If enabled, each thread sums its measurements for each set of attributes
+   * in a small table of its own, which is merged into the instrument's storage when metrics are
+   * collected, or when the table is full. This avoids contention between threads recording to the
+   * same series, at the cost of memory for each thread recording to each instrument. Measurements
+   * which are sampled by the exemplar filter are still recorded directly, so enabling this has no
+   * effect if the exemplar filter samples all measurements.
+   *
+   * <p>Disabled by default.
+   *
+   * <p>This method is experimental so not public. You may reflectively call it using {@link
+   * SdkMeterProviderUtil#setThreadLocalSumAggregation(SdkMeterProviderBuilder, boolean)}.
+   */
+  SdkMeterProviderBuilder setThreadLocalSumAggregation(boolean threadLocalSumAggregation) {
+    this.threadLocalSumAggregation = threadLocalSumAggregation;
+    return this;
+  }
+
   /** Returns an {@link SdkMeterProvider} built with the configuration of this builder. */
   public SdkMeterProvider build() {
     return new SdkMeterProvider(
@@ -207,6 +274,9 @@ public final class SdkMeterProviderBuilder {
         clock,
         resource,
         exemplarFilter,
-        meterConfiguratorBuilder.build());
+        meterConfiguratorBuilder.build(),
+        collectionParallelism,
+        callbackTimeoutNanos,
+        threadLocalSumAggregation);
   }
 }
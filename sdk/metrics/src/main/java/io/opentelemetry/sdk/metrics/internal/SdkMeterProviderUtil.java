@@ -15,6 +15,7 @@ import io.opentelemetry.sdk.metrics.internal.view.AttributesProcessor;
 import io.opentelemetry.sdk.metrics.internal.view.StringPredicates;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.function.Predicate;
 
 /**
@@ -47,6 +48,58 @@ public final class SdkMeterProviderUtil {
     }
   }
 
+  /**
+   * Reflectively set the maximum number of threads which collect metrics concurrently on the
+   * {@link SdkMeterProviderBuilder}.
+   */
+  public static void setCollectionParallelism(
+      SdkMeterProviderBuilder sdkMeterProviderBuilder, int collectionParallelism) {
+    try {
+      Method method =
+          SdkMeterProviderBuilder.class.getDeclaredMethod("setCollectionParallelism", int.class);
+      method.setAccessible(true);
+      method.invoke(sdkMeterProviderBuilder, collectionParallelism);
+    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+      throw new IllegalStateException(
+          "Error calling setCollectionParallelism on SdkMeterProviderBuilder", e);
+    }
+  }
+
+  /**
+   * Reflectively set the maximum time collections wait for each callback of asynchronous
+   * instruments on the {@link SdkMeterProviderBuilder}.
+   */
+  public static void setCallbackTimeout(
+      SdkMeterProviderBuilder sdkMeterProviderBuilder, Duration callbackTimeout) {
+    try {
+      Method method =
+          SdkMeterProviderBuilder.class.getDeclaredMethod("setCallbackTimeout", Duration.class);
+      method.setAccessible(true);
+      method.invoke(sdkMeterProviderBuilder, callbackTimeout);
+    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+      throw new IllegalStateException(
+          "Error calling setCallbackTimeout on SdkMeterProviderBuilder", e);
+    }
+  }
+
+  /**
+   * Reflectively set whether measurements of sum aggregations are summed by each recording thread
+   * on the {@link SdkMeterProviderBuilder}.
+   */
+  public static void setThreadLocalSumAggregation(
+      SdkMeterProviderBuilder sdkMeterProviderBuilder, boolean threadLocalSumAggregation) {
+    try {
+      Method method =
+          SdkMeterProviderBuilder.class.getDeclaredMethod(
+              "setThreadLocalSumAggregation", boolean.class);
+      method.setAccessible(true);
+      method.invoke(sdkMeterProviderBuilder, threadLocalSumAggregation);
+    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+      throw new IllegalStateException(
+          "Error calling setThreadLocalSumAggregation on SdkMeterProviderBuilder", e);
+    }
+  }
+
   /** Reflectively set the {@link ScopeConfigurator} to the {@link SdkMeterProviderBuilder}. */
   public static void setMeterConfigurator(
       SdkMeterProviderBuilder sdkMeterProviderBuilder,
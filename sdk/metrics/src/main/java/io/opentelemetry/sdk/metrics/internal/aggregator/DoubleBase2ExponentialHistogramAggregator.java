@@ -9,6 +9,7 @@ import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.internal.DynamicPrimitiveLongList;
+import io.opentelemetry.sdk.internal.ThreadHash;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
 import io.opentelemetry.sdk.metrics.data.DoubleExemplarData;
 import io.opentelemetry.sdk.metrics.data.ExponentialHistogramBuckets;
@@ -23,8 +24,10 @@ import io.opentelemetry.sdk.metrics.internal.data.MutableExponentialHistogramPoi
 import io.opentelemetry.sdk.metrics.internal.descriptor.MetricDescriptor;
 import io.opentelemetry.sdk.metrics.internal.exemplar.ExemplarReservoir;
 import io.opentelemetry.sdk.resources.Resource;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
@@ -41,6 +44,7 @@ public final class DoubleBase2ExponentialHistogramAggregator
   private final int maxBuckets;
   private final int maxScale;
   private final MemoryMode memoryMode;
+  private final boolean striped;
 
   /**
    * Constructs an exponential histogram aggregator.
@@ -52,14 +56,35 @@ public final class DoubleBase2ExponentialHistogramAggregator
       int maxBuckets,
       int maxScale,
       MemoryMode memoryMode) {
+    this(reservoirSupplier, maxBuckets, maxScale, memoryMode, /* striped= */ false);
+  }
+
+  /**
+   * Constructs an exponential histogram aggregator.
+   *
+   * @param reservoirSupplier Supplier of exemplar reservoirs per-stream.
+   * @param striped Whether handles record into per-thread stripes, each with their own buckets and
+   *     scale, which are downscaled and merged on collection, instead of synchronizing every
+   *     recording on the handle.
+   */
+  public DoubleBase2ExponentialHistogramAggregator(
+      Supplier<ExemplarReservoir<DoubleExemplarData>> reservoirSupplier,
+      int maxBuckets,
+      int maxScale,
+      MemoryMode memoryMode,
+      boolean striped) {
     this.reservoirSupplier = reservoirSupplier;
     this.maxBuckets = maxBuckets;
     this.maxScale = maxScale;
     this.memoryMode = memoryMode;
+    this.striped = striped;
   }
 
   @Override
   public AggregatorHandle<ExponentialHistogramPointData, DoubleExemplarData> createHandle() {
+    if (striped) {
+      return new StripedHandle(reservoirSupplier.get(), maxBuckets, maxScale, memoryMode);
+    }
     return new Handle(reservoirSupplier.get(), maxBuckets, maxScale, memoryMode);
   }
 
@@ -137,9 +162,17 @@ public final class DoubleBase2ExponentialHistogramAggregator
                 this.count > 0,
                 this.max,
                 resolveBuckets(
-                    this.positiveBuckets, currentScale, reset, /* reusableBuckets= */ null),
+                    this.positiveBuckets,
+                    currentScale,
+                    reset,
+                    /* reusableBuckets= */ null,
+                    maxScale),
                 resolveBuckets(
-                    this.negativeBuckets, currentScale, reset, /* reusableBuckets= */ null),
+                    this.negativeBuckets,
+                    currentScale,
+                    reset,
+                    /* reusableBuckets= */ null,
+                    maxScale),
                 startEpochNanos,
                 epochNanos,
                 attributes,
@@ -155,9 +188,17 @@ public final class DoubleBase2ExponentialHistogramAggregator
                 this.count > 0,
                 this.max,
                 resolveBuckets(
-                    this.positiveBuckets, currentScale, reset, reusablePoint.getPositiveBuckets()),
+                    this.positiveBuckets,
+                    currentScale,
+                    reset,
+                    reusablePoint.getPositiveBuckets(),
+                    maxScale),
                 resolveBuckets(
-                    this.negativeBuckets, currentScale, reset, reusablePoint.getNegativeBuckets()),
+                    this.negativeBuckets,
+                    currentScale,
+                    reset,
+                    reusablePoint.getNegativeBuckets(),
+                    maxScale),
                 startEpochNanos,
                 epochNanos,
                 attributes,
@@ -175,45 +216,6 @@ public final class DoubleBase2ExponentialHistogramAggregator
       return point;
     }
 
-    private ExponentialHistogramBuckets resolveBuckets(
-        @Nullable DoubleBase2ExponentialHistogramBuckets buckets,
-        int scale,
-        boolean reset,
-        @Nullable ExponentialHistogramBuckets reusableBuckets) {
-      if (buckets == null) {
-        return EmptyExponentialHistogramBuckets.get(scale);
-      }
-
-      ExponentialHistogramBuckets copy;
-      if (reusableBuckets == null) {
-        copy = buckets.copy();
-      } else {
-        MutableExponentialHistogramBuckets mutableExponentialHistogramBuckets;
-        if (reusableBuckets instanceof MutableExponentialHistogramBuckets) {
-          mutableExponentialHistogramBuckets = (MutableExponentialHistogramBuckets) reusableBuckets;
-        } else /* EmptyExponentialHistogramBuckets */ {
-          mutableExponentialHistogramBuckets = new MutableExponentialHistogramBuckets();
-        }
-
-        DynamicPrimitiveLongList reusableBucketCountsList =
-            mutableExponentialHistogramBuckets.getReusableBucketCountsList();
-        buckets.getBucketCountsIntoReusableList(reusableBucketCountsList);
-
-        mutableExponentialHistogramBuckets.set(
-            buckets.getScale(),
-            buckets.getOffset(),
-            buckets.getTotalCount(),
-            reusableBucketCountsList);
-
-        copy = mutableExponentialHistogramBuckets;
-      }
-
-      if (reset) {
-        buckets.clear(maxScale);
-      }
-      return copy;
-    }
-
     @Override
     protected synchronized void doRecordDouble(double value) {
       // ignore NaN and infinity
@@ -277,4 +279,308 @@ public final class DoubleBase2ExponentialHistogramAggregator
       }
     }
   }
+
+  private static ExponentialHistogramBuckets resolveBuckets(
+      @Nullable DoubleBase2ExponentialHistogramBuckets buckets,
+      int scale,
+      boolean reset,
+      @Nullable ExponentialHistogramBuckets reusableBuckets,
+      int maxScale) {
+    if (buckets == null) {
+      return EmptyExponentialHistogramBuckets.get(scale);
+    }
+
+    ExponentialHistogramBuckets copy;
+    if (reusableBuckets == null) {
+      copy = buckets.copy();
+    } else {
+      MutableExponentialHistogramBuckets mutableExponentialHistogramBuckets;
+      if (reusableBuckets instanceof MutableExponentialHistogramBuckets) {
+        mutableExponentialHistogramBuckets = (MutableExponentialHistogramBuckets) reusableBuckets;
+      } else /* EmptyExponentialHistogramBuckets */ {
+        mutableExponentialHistogramBuckets = new MutableExponentialHistogramBuckets();
+      }
+
+      DynamicPrimitiveLongList reusableBucketCountsList =
+          mutableExponentialHistogramBuckets.getReusableBucketCountsList();
+      buckets.getBucketCountsIntoReusableList(reusableBucketCountsList);
+
+      mutableExponentialHistogramBuckets.set(
+          buckets.getScale(),
+          buckets.getOffset(),
+          buckets.getTotalCount(),
+          reusableBucketCountsList);
+
+      copy = mutableExponentialHistogramBuckets;
+    }
+
+    if (reset) {
+      buckets.clear(maxScale);
+    }
+    return copy;
+  }
+
+  /**
+   * A handle which records into a lazily grown array of {@link Stripe}s selected by the recording
+   * thread, rather than synchronizing every recording on the handle. Each stripe tracks its own
+   * scale, and stripes are downscaled to a common scale and merged when the handle is aggregated.
+   */
+  static final class StripedHandle
+      extends AggregatorHandle<ExponentialHistogramPointData, DoubleExemplarData> {
+    private final int maxBuckets;
+    private final int maxScale;
+    private final MemoryMode memoryMode;
+
+    private final Object growLock = new Object();
+    private volatile Stripe[] stripes;
+
+    // Only accessed when aggregating, which does not happen concurrently for a handle
+    private final DoubleBase2ExponentialHistogramBuckets mergedPositiveBuckets;
+    private final DoubleBase2ExponentialHistogramBuckets mergedNegativeBuckets;
+
+    // Used only when MemoryMode = REUSABLE_DATA
+    @Nullable private final MutableExponentialHistogramPointData reusablePoint;
+
+    StripedHandle(
+        ExemplarReservoir<DoubleExemplarData> reservoir,
+        int maxBuckets,
+        int maxScale,
+        MemoryMode memoryMode) {
+      super(reservoir);
+      this.maxBuckets = maxBuckets;
+      this.maxScale = maxScale;
+      this.memoryMode = memoryMode;
+      this.stripes = new Stripe[] {new Stripe(maxBuckets, maxScale, memoryMode)};
+      this.mergedPositiveBuckets =
+          new DoubleBase2ExponentialHistogramBuckets(maxScale, maxBuckets, memoryMode);
+      this.mergedNegativeBuckets =
+          new DoubleBase2ExponentialHistogramBuckets(maxScale, maxBuckets, memoryMode);
+      this.reusablePoint =
+          (memoryMode == MemoryMode.REUSABLE_DATA)
+              ? new MutableExponentialHistogramPointData()
+              : null;
+    }
+
+    @Override
+    protected ExponentialHistogramPointData doAggregateThenMaybeReset(
+        long startEpochNanos,
+        long epochNanos,
+        Attributes attributes,
+        List<DoubleExemplarData> exemplars,
+        boolean reset) {
+      mergedPositiveBuckets.clear(maxScale);
+      mergedNegativeBuckets.clear(maxScale);
+      double sum = 0;
+      long zeroCount = 0;
+      double min = Double.MAX_VALUE;
+      double max = -1;
+      long count = 0;
+      for (Stripe stripe : stripes) {
+        stripe.lock.lock();
+        try {
+          sum += stripe.sum;
+          zeroCount += stripe.zeroCount;
+          min = Math.min(min, stripe.min);
+          max = Math.max(max, stripe.max);
+          count += stripe.count;
+          if (stripe.positiveBuckets != null) {
+            mergedPositiveBuckets.merge(stripe.positiveBuckets);
+          }
+          if (stripe.negativeBuckets != null) {
+            mergedNegativeBuckets.merge(stripe.negativeBuckets);
+          }
+          if (reset) {
+            stripe.reset();
+          }
+        } finally {
+          stripe.lock.unlock();
+        }
+      }
+
+      // Positive and negative buckets must be reported at the same scale
+      int scale = Math.min(mergedPositiveBuckets.getScale(), mergedNegativeBuckets.getScale());
+      mergedPositiveBuckets.downscale(mergedPositiveBuckets.getScale() - scale);
+      mergedNegativeBuckets.downscale(mergedNegativeBuckets.getScale() - scale);
+
+      if (reusablePoint == null) {
+        return ImmutableExponentialHistogramPointData.create(
+            scale,
+            sum,
+            zeroCount,
+            count > 0,
+            min,
+            count > 0,
+            max,
+            resolveBuckets(
+                mergedPositiveBuckets,
+                scale,
+                /* reset= */ false,
+                /* reusableBuckets= */ null,
+                maxScale),
+            resolveBuckets(
+                mergedNegativeBuckets,
+                scale,
+                /* reset= */ false,
+                /* reusableBuckets= */ null,
+                maxScale),
+            startEpochNanos,
+            epochNanos,
+            attributes,
+            exemplars);
+      }
+      /* REUSABLE_DATA */
+      return reusablePoint.set(
+          scale,
+          sum,
+          zeroCount,
+          count > 0,
+          min,
+          count > 0,
+          max,
+          resolveBuckets(
+              mergedPositiveBuckets,
+              scale,
+              /* reset= */ false,
+              reusablePoint.getPositiveBuckets(),
+              maxScale),
+          resolveBuckets(
+              mergedNegativeBuckets,
+              scale,
+              /* reset= */ false,
+              reusablePoint.getNegativeBuckets(),
+              maxScale),
+          startEpochNanos,
+          epochNanos,
+          attributes,
+          exemplars);
+    }
+
+    @Override
+    protected void doRecordDouble(double value) {
+      // ignore NaN and infinity
+      if (!Double.isFinite(value)) {
+        return;
+      }
+
+      Stripe[] stripes = this.stripes;
+      Stripe stripe = stripes[ThreadHash.currentThreadHash() & (stripes.length - 1)];
+      boolean contended = false;
+      if (!stripe.lock.tryLock()) {
+        contended = true;
+        stripe.lock.lock();
+      }
+      try {
+        stripe.record(value);
+      } finally {
+        stripe.lock.unlock();
+      }
+      if (contended) {
+        maybeGrow(stripes);
+      }
+    }
+
+    @Override
+    protected void doRecordLong(long value) {
+      doRecordDouble((double) value);
+    }
+
+    private void maybeGrow(Stripe[] observed) {
+      if (observed.length >= Stripes.MAX_STRIPES) {
+        return;
+      }
+      synchronized (growLock) {
+        if (this.stripes != observed) {
+          // Another thread already grew the stripes
+          return;
+        }
+        Stripe[] grown = Arrays.copyOf(observed, observed.length << 1);
+        for (int i = observed.length; i < grown.length; i++) {
+          grown[i] = new Stripe(maxBuckets, maxScale, memoryMode);
+        }
+        this.stripes = grown;
+      }
+    }
+  }
+
+  /**
+   * A single stripe of a {@link StripedHandle}. Equivalent to the state of a {@link Handle}, but
+   * guarded by a lock which recording threads first try to acquire without blocking in order to
+   * detect contention.
+   */
+  private static final class Stripe {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maxBuckets;
+    private final int maxScale;
+    private final MemoryMode memoryMode;
+
+    @Nullable private DoubleBase2ExponentialHistogramBuckets positiveBuckets;
+    @Nullable private DoubleBase2ExponentialHistogramBuckets negativeBuckets;
+    private long zeroCount;
+    private double sum;
+    private double min = Double.MAX_VALUE;
+    private double max = -1;
+    private long count;
+    private int currentScale;
+
+    private Stripe(int maxBuckets, int maxScale, MemoryMode memoryMode) {
+      this.maxBuckets = maxBuckets;
+      this.maxScale = maxScale;
+      this.memoryMode = memoryMode;
+      this.currentScale = maxScale;
+    }
+
+    private void record(double value) {
+      sum += value;
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+      count++;
+
+      int c = Double.compare(value, 0);
+      DoubleBase2ExponentialHistogramBuckets buckets;
+      if (c == 0) {
+        zeroCount++;
+        return;
+      } else if (c > 0) {
+        if (positiveBuckets == null) {
+          positiveBuckets =
+              new DoubleBase2ExponentialHistogramBuckets(currentScale, maxBuckets, memoryMode);
+        }
+        buckets = positiveBuckets;
+      } else {
+        if (negativeBuckets == null) {
+          negativeBuckets =
+              new DoubleBase2ExponentialHistogramBuckets(currentScale, maxBuckets, memoryMode);
+        }
+        buckets = negativeBuckets;
+      }
+
+      if (!buckets.record(value)) {
+        int by = buckets.getScaleReduction(value);
+        if (positiveBuckets != null) {
+          positiveBuckets.downscale(by);
+          currentScale = positiveBuckets.getScale();
+        }
+        if (negativeBuckets != null) {
+          negativeBuckets.downscale(by);
+          currentScale = negativeBuckets.getScale();
+        }
+        buckets.record(value);
+      }
+    }
+
+    private void reset() {
+      sum = 0;
+      zeroCount = 0;
+      min = Double.MAX_VALUE;
+      max = -1;
+      count = 0;
+      currentScale = maxScale;
+      if (positiveBuckets != null) {
+        positiveBuckets.clear(maxScale);
+      }
+      if (negativeBuckets != null) {
+        negativeBuckets.clear(maxScale);
+      }
+    }
+  }
 }
@@ -78,6 +78,42 @@ final class DoubleBase2ExponentialHistogramBuckets implements ExponentialHistogr
     return recordingSuccessful;
   }
 
+  /**
+   * Merges the counts of {@code other} into these buckets, downscaling these buckets as required
+   * for the combined counts to fit in the max allowed buckets. {@code other} is not modified.
+   *
+   * @param other The buckets to merge. Its scale may differ from the scale of these buckets.
+   */
+  void merge(DoubleBase2ExponentialHistogramBuckets other) {
+    if (other.counts.isEmpty()) {
+      return;
+    }
+    if (other.scale < this.scale) {
+      downscale(this.scale - other.scale);
+    }
+    int shift = other.scale - this.scale;
+    long newStart = other.counts.getIndexStart() >> shift;
+    long newEnd = other.counts.getIndexEnd() >> shift;
+    if (!counts.isEmpty()) {
+      newStart = Math.min(newStart, counts.getIndexStart());
+      newEnd = Math.max(newEnd, counts.getIndexEnd());
+    }
+    int scaleReduction = getScaleReduction(newStart, newEnd);
+    downscale(scaleReduction);
+    shift += scaleReduction;
+
+    for (int i = other.counts.getIndexStart(); i <= other.counts.getIndexEnd(); i++) {
+      long count = other.counts.get(i);
+      if (count > 0) {
+        if (!counts.increment(i >> shift, count)) {
+          // Theoretically won't happen unless there's an overflow on index
+          throw new IllegalStateException("Failed to merge buckets.");
+        }
+      }
+    }
+    totalCount += other.totalCount;
+  }
+
   @Override
   public int getOffset() {
     // We need to unify the behavior of empty buckets.
@@ -10,6 +10,7 @@ import io.opentelemetry.api.internal.GuardedBy;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.internal.PrimitiveLongList;
+import io.opentelemetry.sdk.internal.ThreadHash;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
 import io.opentelemetry.sdk.metrics.data.DoubleExemplarData;
 import io.opentelemetry.sdk.metrics.data.HistogramPointData;
@@ -26,6 +27,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
@@ -39,6 +43,7 @@ public final class DoubleExplicitBucketHistogramAggregator
     implements Aggregator<HistogramPointData, DoubleExemplarData> {
   private final double[] boundaries;
   private final MemoryMode memoryMode;
+  private final boolean striped;
 
   // a cache for converting to MetricData
   private final List<Double> boundaryList;
@@ -56,8 +61,27 @@ public final class DoubleExplicitBucketHistogramAggregator
       double[] boundaries,
       Supplier<ExemplarReservoir<DoubleExemplarData>> reservoirSupplier,
       MemoryMode memoryMode) {
+    this(boundaries, reservoirSupplier, memoryMode, /* striped= */ false);
+  }
+
+  /**
+   * Constructs an explicit bucket histogram aggregator.
+   *
+   * @param boundaries Bucket boundaries, in-order.
+   * @param reservoirSupplier Supplier of exemplar reservoirs per-stream.
+   * @param memoryMode The {@link MemoryMode} to use in this aggregator.
+   * @param striped Whether handles record into per-thread stripes which are merged on collection,
+   *     instead of synchronizing every recording on a single lock. Striping reduces contention
+   *     when a series is recorded to from many threads at the cost of additional memory.
+   */
+  public DoubleExplicitBucketHistogramAggregator(
+      double[] boundaries,
+      Supplier<ExemplarReservoir<DoubleExemplarData>> reservoirSupplier,
+      MemoryMode memoryMode,
+      boolean striped) {
     this.boundaries = boundaries;
     this.memoryMode = memoryMode;
+    this.striped = striped;
 
     List<Double> boundaryList = new ArrayList<>(this.boundaries.length);
     for (double v : this.boundaries) {
@@ -69,6 +93,10 @@ public final class DoubleExplicitBucketHistogramAggregator
 
   @Override
   public AggregatorHandle<HistogramPointData, DoubleExemplarData> createHandle() {
+    if (striped) {
+      return new StripedHandle(
+          this.boundaryList, this.boundaries, reservoirSupplier.get(), memoryMode);
+    }
     return new Handle(this.boundaryList, this.boundaries, reservoirSupplier.get(), memoryMode);
   }
 
@@ -199,4 +227,279 @@ public final class DoubleExplicitBucketHistogramAggregator
       doRecordDouble((double) value);
     }
   }
+
+  /**
+   * A handle which records into a lazily grown array of {@link Cell}s selected by the recording
+   * thread, rather than synchronizing every recording on a single lock.
+   *
+   * <p>On collection, the cells are swapped with a spare set of cells and retired. Recordings
+   * which raced with the swap and observe a retired cell retry against the new cells, and
+   * collection waits for recordings already in progress in a retired cell before merging it, so a
+   * point never includes part of a recording. Retired cells are merged into the state of the
+   * handle, which is cleared when resetting, and then become the spare cells.
+   */
+  static final class StripedHandle
+      extends AggregatorHandle<HistogramPointData, DoubleExemplarData> {
+    // read-only
+    private final List<Double> boundaryList;
+    // read-only
+    private final double[] boundaries;
+
+    private final Object growLock = new Object();
+    private volatile Cell[] cells;
+
+    @GuardedBy("growLock")
+    @Nullable
+    private Cell[] spareCells;
+
+    private final Object collectLock = new Object();
+
+    @GuardedBy("collectLock")
+    private double sum;
+
+    @GuardedBy("collectLock")
+    private double min;
+
+    @GuardedBy("collectLock")
+    private double max;
+
+    @GuardedBy("collectLock")
+    private long count;
+
+    @GuardedBy("collectLock")
+    private final long[] counts;
+
+    // Used only when MemoryMode = REUSABLE_DATA
+    @Nullable private final MutableHistogramPointData reusablePoint;
+
+    StripedHandle(
+        List<Double> boundaryList,
+        double[] boundaries,
+        ExemplarReservoir<DoubleExemplarData> reservoir,
+        MemoryMode memoryMode) {
+      super(reservoir);
+      this.boundaryList = boundaryList;
+      this.boundaries = boundaries;
+      this.cells = new Cell[] {new Cell(boundaries.length + 1)};
+      this.counts = new long[boundaries.length + 1];
+      this.sum = 0;
+      this.min = Double.MAX_VALUE;
+      this.max = -1;
+      this.count = 0;
+      if (memoryMode == MemoryMode.REUSABLE_DATA) {
+        this.reusablePoint = new MutableHistogramPointData(boundaries.length + 1);
+      } else {
+        this.reusablePoint = null;
+      }
+    }
+
+    @Override
+    protected HistogramPointData doAggregateThenMaybeReset(
+        long startEpochNanos,
+        long epochNanos,
+        Attributes attributes,
+        List<DoubleExemplarData> exemplars,
+        boolean reset) {
+      synchronized (collectLock) {
+        Cell[] retired = swapCells();
+        for (Cell cell : retired) {
+          cell.awaitQuiescent();
+          for (int i = 0; i < counts.length; i++) {
+            long bucketCount = cell.counts.get(i);
+            counts[i] += bucketCount;
+            count += bucketCount;
+          }
+          sum += Double.longBitsToDouble(cell.sum.get());
+          min = Math.min(min, Double.longBitsToDouble(cell.min.get()));
+          max = Math.max(max, Double.longBitsToDouble(cell.max.get()));
+          cell.clear();
+        }
+        synchronized (growLock) {
+          spareCells = retired;
+        }
+
+        HistogramPointData pointData;
+        if (reusablePoint == null) {
+          pointData =
+              ImmutableHistogramPointData.create(
+                  startEpochNanos,
+                  epochNanos,
+                  attributes,
+                  sum,
+                  count > 0,
+                  min,
+                  count > 0,
+                  max,
+                  boundaryList,
+                  PrimitiveLongList.wrap(Arrays.copyOf(counts, counts.length)),
+                  exemplars);
+        } else /* REUSABLE_DATA */ {
+          pointData =
+              reusablePoint.set(
+                  startEpochNanos,
+                  epochNanos,
+                  attributes,
+                  sum,
+                  count > 0,
+                  min,
+                  count > 0,
+                  max,
+                  boundaryList,
+                  counts,
+                  exemplars);
+        }
+        if (reset) {
+          this.sum = 0;
+          this.min = Double.MAX_VALUE;
+          this.max = -1;
+          this.count = 0;
+          Arrays.fill(this.counts, 0);
+        }
+        return pointData;
+      }
+    }
+
+    /** Replace the cells with the spare cells, returning the retired cells. */
+    private Cell[] swapCells() {
+      Cell[] retired;
+      synchronized (growLock) {
+        retired = this.cells;
+        Cell[] next = spareCells;
+        spareCells = null;
+        if (next == null || next.length != retired.length) {
+          next = new Cell[retired.length];
+          for (int i = 0; i < next.length; i++) {
+            next[i] = new Cell(boundaries.length + 1);
+          }
+        } else {
+          for (Cell cell : next) {
+            cell.retired = false;
+          }
+        }
+        this.cells = next;
+      }
+      // Retire only after publishing the new cells, so recordings which observe a retired cell
+      // retry against the new cells
+      for (Cell cell : retired) {
+        cell.retired = true;
+      }
+      return retired;
+    }
+
+    @Override
+    protected void doRecordDouble(double value) {
+      int bucketIndex = ExplicitBucketHistogramUtils.findBucketIndex(this.boundaries, value);
+
+      while (true) {
+        Cell[] cells = this.cells;
+        Cell cell = cells[ThreadHash.currentThreadHash() & (cells.length - 1)];
+        boolean uncontended;
+        cell.writers.incrementAndGet();
+        try {
+          if (cell.retired) {
+            // Raced with collection, which swapped the cells
+            continue;
+          }
+          uncontended = cell.record(bucketIndex, value);
+        } finally {
+          cell.writers.decrementAndGet();
+        }
+        if (!uncontended) {
+          maybeGrow(cells);
+        }
+        return;
+      }
+    }
+
+    @Override
+    protected void doRecordLong(long value) {
+      doRecordDouble((double) value);
+    }
+
+    private void maybeGrow(Cell[] observed) {
+      if (observed.length >= Stripes.MAX_STRIPES) {
+        return;
+      }
+      synchronized (growLock) {
+        if (this.cells != observed) {
+          // Another thread already grew the cells, or they were swapped by collection
+          return;
+        }
+        Cell[] grown = Arrays.copyOf(observed, observed.length << 1);
+        for (int i = observed.length; i < grown.length; i++) {
+          grown[i] = new Cell(boundaries.length + 1);
+        }
+        this.cells = grown;
+      }
+    }
+  }
+
+  /**
+   * A single stripe of a {@link StripedHandle}. Doubles are stored as their raw long bits.
+   *
+   * <p>Recording threads increment {@link #writers} before checking {@link #retired}, and
+   * collection sets {@link #retired} before waiting for {@link #writers} to drain, so either a
+   * recording observes the cell is retired or collection observes the recording in progress.
+   */
+  private static final class Cell {
+    private static final long INITIAL_SUM = Double.doubleToRawLongBits(0);
+    private static final long INITIAL_MIN = Double.doubleToRawLongBits(Double.MAX_VALUE);
+    private static final long INITIAL_MAX = Double.doubleToRawLongBits(-1);
+
+    private final AtomicLongArray counts;
+    private final AtomicLong sum = new AtomicLong(INITIAL_SUM);
+    private final AtomicLong min = new AtomicLong(INITIAL_MIN);
+    private final AtomicLong max = new AtomicLong(INITIAL_MAX);
+    private final AtomicInteger writers = new AtomicInteger();
+    private volatile boolean retired;
+
+    private Cell(int buckets) {
+      this.counts = new AtomicLongArray(buckets);
+    }
+
+    /**
+     * Record the value in this cell, returning {@code false} if contention with another thread was
+     * observed.
+     */
+    private boolean record(int bucketIndex, double value) {
+      boolean uncontended = true;
+      long current = sum.get();
+      if (!sum.compareAndSet(
+          current, Double.doubleToRawLongBits(Double.longBitsToDouble(current) + value))) {
+        uncontended = false;
+        do {
+          current = sum.get();
+        } while (!sum.compareAndSet(
+            current, Double.doubleToRawLongBits(Double.longBitsToDouble(current) + value)));
+      }
+      counts.incrementAndGet(bucketIndex);
+      while (value < Double.longBitsToDouble(current = min.get())) {
+        if (min.compareAndSet(current, Double.doubleToRawLongBits(value))) {
+          break;
+        }
+      }
+      while (value > Double.longBitsToDouble(current = max.get())) {
+        if (max.compareAndSet(current, Double.doubleToRawLongBits(value))) {
+          break;
+        }
+      }
+      return uncontended;
+    }
+
+    /** Wait for recordings in progress in this retired cell to complete. */
+    private void awaitQuiescent() {
+      while (writers.get() != 0) {
+        Thread.yield();
+      }
+    }
+
+    private void clear() {
+      for (int i = 0; i < counts.length(); i++) {
+        counts.set(i, 0);
+      }
+      sum.set(INITIAL_SUM);
+      min.set(INITIAL_MIN);
+      max.set(INITIAL_MAX);
+    }
+  }
 }
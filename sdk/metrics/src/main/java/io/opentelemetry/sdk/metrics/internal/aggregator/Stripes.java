@@ -0,0 +1,36 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.internal.aggregator;
+
+import io.opentelemetry.sdk.internal.ThreadHash;
+
+/**
+ * Utilities for aggregator handles which spread recordings across a number of stripes (cells)
+ * rather than serializing all recordings on a single lock, in the style of {@link
+ * java.util.concurrent.atomic.LongAdder}.
+ *
+ * <p>The stripe for a thread is selected by {@link ThreadHash#currentThreadHash()}. Handles start
+ * with a single stripe and only grow (up to {@link #MAX_STRIPES}) once contention is observed, so
+ * that uncontended series don't pay the memory cost of striping.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class Stripes {
+
+  /** The maximum number of stripes: the smallest power of two >= the number of processors. */
+  public static final int MAX_STRIPES = maxStripes(Runtime.getRuntime().availableProcessors());
+
+  private Stripes() {}
+
+  static int maxStripes(int availableProcessors) {
+    int stripes = 1;
+    while (stripes < availableProcessors && stripes < (1 << 16)) {
+      stripes <<= 1;
+    }
+    return stripes;
+  }
+}
@@ -30,7 +30,7 @@ import io.opentelemetry.sdk.metrics.internal.view.RegisteredView;
 import io.opentelemetry.sdk.resources.Resource;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -88,13 +88,9 @@ public final class AsynchronousMetricStorage<T extends PointData, U extends Exem
     this.attributesProcessor = attributesProcessor;
     this.maxCardinality = maxCardinality - 1;
     this.reusablePointsPool = new ObjectPool<>(aggregator::createReusablePoint);
-    if (memoryMode == REUSABLE_DATA) {
-      lastPoints = new PooledHashMap<>();
-      points = new PooledHashMap<>();
-    } else {
-      lastPoints = new HashMap<>();
-      points = new HashMap<>();
-    }
+    // The maps are cleared and reused by each collection rather than replaced
+    this.lastPoints = new OpenAddressingHashMap<>();
+    this.points = new OpenAddressingHashMap<>();
   }
 
   /**
@@ -238,23 +234,22 @@ public final class AsynchronousMetricStorage<T extends PointData, U extends Exem
 
       if (memoryMode == REUSABLE_DATA) {
         lastPoints.forEach((k, v) -> reusablePointsPool.returnObject(v));
-        lastPoints.clear();
-        this.points = lastPoints;
-      } else {
-        this.points = new HashMap<>();
       }
+      lastPoints.clear();
 
+      this.points = lastPoints;
       this.lastPoints = points;
       result = deltaPoints;
     } else /* CUMULATIVE */ {
+      List<T> cumulativePoints;
       if (memoryMode == REUSABLE_DATA) {
-        points.forEach((k, v) -> reusableResultList.add(v));
-        points.clear();
-        result = reusableResultList;
+        cumulativePoints = reusableResultList;
       } else {
-        result = points.values();
-        points = new HashMap<>();
+        cumulativePoints = new ArrayList<>(points.size());
       }
+      points.forEach((k, v) -> cumulativePoints.add(v));
+      points.clear();
+      result = cumulativePoints;
     }
 
     return aggregator.toMetricData(
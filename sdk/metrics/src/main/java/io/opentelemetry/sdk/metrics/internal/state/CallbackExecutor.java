@@ -0,0 +1,119 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.internal.state;
+
+import static io.opentelemetry.api.common.AttributeKey.booleanKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+
+/**
+ * Invokes the callbacks of asynchronous instruments on separate threads, so that collections wait
+ * at most a timeout for each callback. See {@link CallbackRegistration#invokeCallback(
+ * RegisteredReader, long, long, CallbackExecutor)}.
+ *
+ * <p>The duration of each callback is recorded to the {@code otel.sdk.metric.callback.duration}
+ * histogram of the configured {@link MeterProvider}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class CallbackExecutor {
+
+  private static final AttributeKey<String> ATTRIBUTE_KEY_SCOPE_NAME = stringKey("otel.scope.name");
+  private static final AttributeKey<Boolean> ATTRIBUTE_KEY_TIMED_OUT = booleanKey("timed_out");
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+  private final long timeoutNanos;
+  private final Clock clock;
+  private final MeterProvider meterProvider;
+  // A callback is never invoked again while it's still running, so this only ever has as many
+  // threads as there are callbacks which are running at once
+  private final ExecutorService executor =
+      Executors.newCachedThreadPool(new DaemonThreadFactory("MetricCallback"));
+
+  /** Access via {@link #callbackDuration()}. */
+  @Nullable private volatile DoubleHistogram callbackDuration;
+
+  private CallbackExecutor(long timeoutNanos, Clock clock, MeterProvider meterProvider) {
+    this.timeoutNanos = timeoutNanos;
+    this.clock = clock;
+    this.meterProvider = meterProvider;
+  }
+
+  /**
+   * Create a callback executor.
+   *
+   * @param timeoutNanos the maximum time collections wait for each callback
+   * @param clock the clock to time callbacks with
+   * @param meterProvider the meter provider to record the duration of callbacks to
+   * @return the callback executor
+   */
+  public static CallbackExecutor create(
+      long timeoutNanos, Clock clock, MeterProvider meterProvider) {
+    return new CallbackExecutor(timeoutNanos, clock, meterProvider);
+  }
+
+  long getTimeoutNanos() {
+    return timeoutNanos;
+  }
+
+  long nanoTime() {
+    return clock.nanoTime();
+  }
+
+  Future<?> submit(Runnable callback) {
+    return executor.submit(callback);
+  }
+
+  /** Record the time a callback of a meter with the {@code scope} took to complete. */
+  void recordDuration(InstrumentationScopeInfo scope, long durationNanos) {
+    callbackDuration()
+        .record(
+            durationNanos / NANOS_PER_SECOND,
+            Attributes.of(
+                ATTRIBUTE_KEY_SCOPE_NAME,
+                scope.getName(),
+                ATTRIBUTE_KEY_TIMED_OUT,
+                durationNanos > timeoutNanos));
+  }
+
+  private DoubleHistogram callbackDuration() {
+    DoubleHistogram callbackDuration = this.callbackDuration;
+    if (callbackDuration == null) {
+      callbackDuration =
+          meterProvider
+              .get("io.opentelemetry.sdk.metrics")
+              .histogramBuilder("otel.sdk.metric.callback.duration")
+              .setDescription("Time taken by callbacks of asynchronous instruments")
+              .setUnit("s")
+              .setExplicitBucketBoundariesAdvice(
+                  Arrays.asList(0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0))
+              .build();
+      this.callbackDuration = callbackDuration;
+    }
+    return callbackDuration;
+  }
+
+  /**
+   * Stops creating threads for callbacks. Callbacks which are still running are left to complete,
+   * and callbacks invoked afterwards run on the collecting thread.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
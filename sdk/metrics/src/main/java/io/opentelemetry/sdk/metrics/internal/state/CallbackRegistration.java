@@ -12,8 +12,14 @@ import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.metrics.internal.descriptor.InstrumentDescriptor;
 import io.opentelemetry.sdk.metrics.internal.export.RegisteredReader;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * A registered callback.
@@ -30,6 +36,11 @@ public final class CallbackRegistration {
   private final List<InstrumentDescriptor> instrumentDescriptors;
   private final boolean hasStorages;
 
+  // Only accessed while holding the collect lock of the meter the callback is registered to
+  @Nullable private Future<?> pendingInvocation;
+  // The values observed by the last invocation on a callback executor to complete
+  @Nullable private volatile ObservationBuffer lastObservations;
+
   private CallbackRegistration(
       List<SdkObservableMeasurement> observableMeasurements, Runnable callback) {
     this.observableMeasurements = observableMeasurements;
@@ -90,4 +101,94 @@ public final class CallbackRegistration {
       observableMeasurements.forEach(SdkObservableMeasurement::unsetActiveReader);
     }
   }
+
+  /**
+   * Invoke the callback on a thread of the {@code callbackExecutor}, waiting at most its timeout
+   * for the callback to complete.
+   *
+   * <p>The values observed by the callback are buffered, and recorded to the storages of {@code
+   * reader} once it completes. If it doesn't complete within the timeout, or is still running from
+   * a previous collection, the values observed by the last invocation to complete are recorded in
+   * their place. The callback is never invoked again while it is still running.
+   */
+  public void invokeCallback(
+      RegisteredReader reader,
+      long startEpochNanos,
+      long epochNanos,
+      CallbackExecutor callbackExecutor) {
+    // Return early if no storages are registered
+    if (!hasStorages) {
+      return;
+    }
+    Future<?> pending = pendingInvocation;
+    if (pending == null || pending.isDone()) {
+      try {
+        pending = callbackExecutor.submit(() -> invokeBuffered(callbackExecutor));
+      } catch (RejectedExecutionException e) {
+        // The executor has been shut down
+        invokeCallback(reader, startEpochNanos, epochNanos);
+        return;
+      }
+      pendingInvocation = pending;
+      awaitInvocation(pending, callbackExecutor.getTimeoutNanos());
+    } else {
+      throttlingLogger.log(
+          Level.FINE,
+          "Callback for "
+              + this
+              + " is still running from a previous collection. Recording the values it last"
+              + " observed.");
+    }
+
+    ObservationBuffer observations = lastObservations;
+    if (observations == null) {
+      return;
+    }
+    observableMeasurements.forEach(
+        observableMeasurement ->
+            observableMeasurement.setActiveReader(reader, startEpochNanos, epochNanos));
+    try {
+      observations.replay();
+    } finally {
+      observableMeasurements.forEach(SdkObservableMeasurement::unsetActiveReader);
+    }
+  }
+
+  private void invokeBuffered(CallbackExecutor callbackExecutor) {
+    ObservationBuffer buffer = new ObservationBuffer();
+    long startNanos = callbackExecutor.nanoTime();
+    buffer.activate();
+    try {
+      callback.run();
+    } catch (Throwable e) {
+      propagateIfFatal(e);
+      throttlingLogger.log(
+          Level.WARNING, "An exception occurred invoking callback for " + this + ".", e);
+    } finally {
+      ObservationBuffer.deactivate();
+    }
+    lastObservations = buffer;
+    callbackExecutor.recordDuration(
+        observableMeasurements.get(0).getInstrumentationScopeInfo(),
+        callbackExecutor.nanoTime() - startNanos);
+  }
+
+  private void awaitInvocation(Future<?> pending, long timeoutNanos) {
+    try {
+      pending.get(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      throttlingLogger.log(
+          Level.WARNING,
+          "Callback for "
+              + this
+              + " did not complete within "
+              + TimeUnit.NANOSECONDS.toMillis(timeoutNanos)
+              + "ms. Recording the values it last observed.");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throttlingLogger.log(
+          Level.WARNING, "An error occurred invoking callback for " + this + ".", e.getCause());
+    }
+  }
 }
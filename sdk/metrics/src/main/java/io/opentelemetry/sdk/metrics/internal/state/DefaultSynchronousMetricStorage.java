@@ -10,9 +10,11 @@ import static io.opentelemetry.sdk.common.export.MemoryMode.REUSABLE_DATA;
 import static io.opentelemetry.sdk.metrics.data.AggregationTemporality.DELTA;
 
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.ImmutableKeyValuePairs;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.common.export.MemoryMode;
+import io.opentelemetry.sdk.internal.ThreadHash;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
 import io.opentelemetry.sdk.metrics.data.ExemplarData;
@@ -21,19 +23,24 @@ import io.opentelemetry.sdk.metrics.data.PointData;
 import io.opentelemetry.sdk.metrics.internal.aggregator.Aggregator;
 import io.opentelemetry.sdk.metrics.internal.aggregator.AggregatorHandle;
 import io.opentelemetry.sdk.metrics.internal.aggregator.EmptyMetricData;
+import io.opentelemetry.sdk.metrics.internal.aggregator.Stripes;
 import io.opentelemetry.sdk.metrics.internal.descriptor.MetricDescriptor;
 import io.opentelemetry.sdk.metrics.internal.export.RegisteredReader;
 import io.opentelemetry.sdk.metrics.internal.view.AttributesProcessor;
 import io.opentelemetry.sdk.resources.Resource;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * Stores aggregated {@link MetricData} for synchronous instruments.
@@ -44,6 +51,20 @@ import java.util.logging.Logger;
 public final class DefaultSynchronousMetricStorage<T extends PointData, U extends ExemplarData>
     implements SynchronousMetricStorage {
 
+  // Must be a power of two
+  private static final int HANDLE_CACHE_SIZE = 32;
+  // The number of stripes recordings are counted in by DELTA storages. Must be a power of two
+  private static final int RECORDING_STRIPES = Math.min(Stripes.MAX_STRIPES, 32);
+  // Stripe counters are spaced this many ints apart, so that each is on its own cache line
+  private static final int STRIPE_SPACING = 16;
+  // The number of times collect checks a stripe for recordings in progress before yielding
+  private static final int MAX_SPINS = 128;
+  // The number of times collect yields waiting for a stripe before parking
+  private static final int MAX_YIELDS = 64;
+  // The time collect first parks for between checks of a stripe, doubling up to the maximum
+  private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+  private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
   private static final Logger internalLogger =
       Logger.getLogger(DefaultSynchronousMetricStorage.class.getName());
 
@@ -52,7 +73,13 @@ public final class DefaultSynchronousMetricStorage<T extends PointData, U extend
   private final MetricDescriptor metricDescriptor;
   private final AggregationTemporality aggregationTemporality;
   private final Aggregator<T, U> aggregator;
-  private volatile AggregatorHolder<T, U> aggregatorHolder = new AggregatorHolder<>();
+  private volatile AggregatorHolder<T, U> aggregatorHolder;
+  // The holder replaced by the last DELTA collection, which replaces the current holder on the
+  // next collection so that collections don't allocate holders. Only accessed by collect, which is
+  // never called concurrently.
+  @Nullable private AggregatorHolder<T, U> spareAggregatorHolder;
+  // Only accessed by collect, which is never called concurrently
+  private long aggregatorHolderGeneration;
   private final AttributesProcessor attributesProcessor;
 
   private final MemoryMode memoryMode;
@@ -74,12 +101,39 @@ public final class DefaultSynchronousMetricStorage<T extends PointData, U extend
   private final ConcurrentLinkedQueue<AggregatorHandle<T, U>> aggregatorHandlePool =
       new ConcurrentLinkedQueue<>();
 
+  // A direct mapped cache from the identity of recorded attributes to the handle they were last
+  // resolved to, which lets repeated recordings with the same Attributes instance skip the
+  // attributes processor and the aggregatorHandles lookup. Entries are only valid for the
+  // AggregatorHolder they were resolved in, since collection may reset and remove the handles of
+  // previous holders. Null if the attributes processor uses the context, in which case the same
+  // attributes may resolve to different handles.
+  @Nullable private final HandleCacheEntry<T, U>[] handleCache;
+
+  // Null unless measurements are summed by each thread before they're recorded to their handles
+  @Nullable private final ThreadLocalSums threadLocalSums;
+
   DefaultSynchronousMetricStorage(
       RegisteredReader registeredReader,
       MetricDescriptor metricDescriptor,
       Aggregator<T, U> aggregator,
       AttributesProcessor attributesProcessor,
       int maxCardinality) {
+    this(
+        registeredReader,
+        metricDescriptor,
+        aggregator,
+        attributesProcessor,
+        maxCardinality,
+        /* threadLocalSums= */ null);
+  }
+
+  DefaultSynchronousMetricStorage(
+      RegisteredReader registeredReader,
+      MetricDescriptor metricDescriptor,
+      Aggregator<T, U> aggregator,
+      AttributesProcessor attributesProcessor,
+      int maxCardinality,
+      @Nullable ThreadLocalSums threadLocalSums) {
     this.registeredReader = registeredReader;
     this.metricDescriptor = metricDescriptor;
     this.aggregationTemporality =
@@ -90,6 +144,19 @@ public final class DefaultSynchronousMetricStorage<T extends PointData, U extend
     this.attributesProcessor = attributesProcessor;
     this.maxCardinality = maxCardinality - 1;
     this.memoryMode = registeredReader.getReader().getMemoryMode();
+    // Only DELTA storages replace their holder, so recordings don't need to be counted otherwise
+    this.aggregatorHolder =
+        new AggregatorHolder<>(
+            new ConcurrentHashMap<>(), 0, aggregationTemporality == DELTA ? RECORDING_STRIPES : 0);
+    this.handleCache =
+        attributesProcessor.usesContext() ? null : newHandleCache(HANDLE_CACHE_SIZE);
+    this.threadLocalSums = threadLocalSums;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends PointData, U extends ExemplarData>
+      HandleCacheEntry<T, U>[] newHandleCache(int size) {
+    return (HandleCacheEntry<T, U>[]) new HandleCacheEntry<?, ?>[size];
   }
 
   // Visible for testing
@@ -99,10 +166,14 @@ public final class DefaultSynchronousMetricStorage<T extends PointData, U extend
 
   @Override
   public void recordLong(long value, Attributes attributes, Context context) {
+    ThreadLocalSums threadLocalSums = this.threadLocalSums;
+    if (threadLocalSums != null && threadLocalSums.addLong(value, attributes, context, this)) {
+      return;
+    }
     AggregatorHolder<T, U> aggregatorHolder = getHolderForRecord();
     try {
       AggregatorHandle<T, U> handle =
-          getAggregatorHandle(aggregatorHolder.aggregatorHandles, attributes, context);
+          getAggregatorHandle(aggregatorHolder, attributes, context);
       handle.recordLong(value, attributes, context);
     } finally {
       releaseHolderForRecord(aggregatorHolder);
@@ -112,25 +183,71 @@ public final class DefaultSynchronousMetricStorage<T extends PointData, U extend
   @Override
   public void recordDouble(double value, Attributes attributes, Context context) {
     if (Double.isNaN(value)) {
-      logger.log(
-          Level.FINE,
-          "Instrument "
-              + metricDescriptor.getSourceInstrument().getName()
-              + " has recorded measurement Not-a-Number (NaN) value with attributes "
-              + attributes
-              + ". Dropping measurement.");
+      logNaNDropped(attributes);
+      return;
+    }
+    ThreadLocalSums threadLocalSums = this.threadLocalSums;
+    if (threadLocalSums != null && threadLocalSums.addDouble(value, attributes, context, this)) {
       return;
     }
     AggregatorHolder<T, U> aggregatorHolder = getHolderForRecord();
     try {
       AggregatorHandle<T, U> handle =
-          getAggregatorHandle(aggregatorHolder.aggregatorHandles, attributes, context);
+          getAggregatorHandle(aggregatorHolder, attributes, context);
       handle.recordDouble(value, attributes, context);
     } finally {
       releaseHolderForRecord(aggregatorHolder);
     }
   }
 
+  /**
+   * Records the sum of measurements merged from {@link #threadLocalSums} to the handle of the
+   * {@code attributes}. The sum isn't offered to the exemplar reservoir of the handle, since the
+   * measurements it sums weren't sampled by the exemplar filter.
+   */
+  void mergeLong(Attributes attributes, long sum) {
+    AggregatorHolder<T, U> aggregatorHolder = getHolderForRecord();
+    try {
+      getAggregatorHandle(aggregatorHolder, attributes, Context.root()).recordLong(sum);
+    } finally {
+      releaseHolderForRecord(aggregatorHolder);
+    }
+  }
+
+  /**
+   * Records the sum of measurements merged from {@link #threadLocalSums} to the handle of the
+   * {@code attributes}. The sum isn't offered to the exemplar reservoir of the handle, since the
+   * measurements it sums weren't sampled by the exemplar filter.
+   */
+  void mergeDouble(Attributes attributes, double sum) {
+    AggregatorHolder<T, U> aggregatorHolder = getHolderForRecord();
+    try {
+      getAggregatorHandle(aggregatorHolder, attributes, Context.root()).recordDouble(sum);
+    } finally {
+      releaseHolderForRecord(aggregatorHolder);
+    }
+  }
+
+  private void logNaNDropped(Attributes attributes) {
+    logger.log(
+        Level.FINE,
+        "Instrument "
+            + metricDescriptor.getSourceInstrument().getName()
+            + " has recorded measurement Not-a-Number (NaN) value with attributes "
+            + attributes
+            + ". Dropping measurement.");
+  }
+
+  @Override
+  public BoundMetricStorage bind(Attributes attributes) {
+    Objects.requireNonNull(attributes, "attributes");
+    // The same attributes may resolve to different handles depending on the context
+    if (attributesProcessor.usesContext()) {
+      return SynchronousMetricStorage.super.bind(attributes);
+    }
+    return new BoundHandle(attributes);
+  }
+
   @Override
   public boolean isEnabled() {
     return true;
@@ -138,22 +255,29 @@ public final class DefaultSynchronousMetricStorage<T extends PointData, U extend
 
   /**
    * Obtain the AggregatorHolder for recording measurements, re-reading the volatile
-   * this.aggregatorHolder until we access one where recordsInProgress is even. Collect sets
-   * recordsInProgress to odd as a signal that AggregatorHolder is stale and is being replaced.
-   * Record operations increment recordInProgress by 2. Callers MUST call {@link
-   * #releaseHolderForRecord(AggregatorHolder)} when record operation completes to signal to that
-   * its safe to proceed with Collect operations.
+   * this.aggregatorHolder until we access one where the current thread's stripe of
+   * recordsInProgress is even. Collect sets every stripe to odd as a signal that AggregatorHolder
+   * is stale and is being replaced. Record operations increment their stripe by 2. Callers MUST
+   * call {@link #releaseHolderForRecord(AggregatorHolder)} when record operation completes to
+   * signal to that its safe to proceed with Collect operations.
+   *
+   * <p>Only DELTA storages replace their AggregatorHolder, so for other storages recordings aren't
+   * counted at all.
    */
   private AggregatorHolder<T, U> getHolderForRecord() {
+    if (aggregationTemporality != DELTA) {
+      return this.aggregatorHolder;
+    }
+    int index = recordingStripeIndex();
     do {
       AggregatorHolder<T, U> aggregatorHolder = this.aggregatorHolder;
-      int recordsInProgress = aggregatorHolder.activeRecordingThreads.addAndGet(2);
+      int recordsInProgress = aggregatorHolder.activeRecordingThreads.addAndGet(index, 2);
       if (recordsInProgress % 2 == 0) {
         return aggregatorHolder;
       } else {
         // Collect is in progress, decrement recordsInProgress to allow collect to proceed and
         // re-read aggregatorHolder
-        aggregatorHolder.activeRecordingThreads.addAndGet(-2);
+        aggregatorHolder.activeRecordingThreads.addAndGet(index, -2);
       }
     } while (true);
   }
@@ -163,14 +287,64 @@ public final class DefaultSynchronousMetricStorage<T extends PointData, U extend
    * that recording is complete, and it is safe to collect.
    */
   private void releaseHolderForRecord(AggregatorHolder<T, U> aggregatorHolder) {
-    aggregatorHolder.activeRecordingThreads.addAndGet(-2);
+    if (aggregationTemporality != DELTA) {
+      return;
+    }
+    aggregatorHolder.activeRecordingThreads.addAndGet(recordingStripeIndex(), -2);
+  }
+
+  /** Returns the index of the current thread's stripe in {@code activeRecordingThreads}. */
+  private static int recordingStripeIndex() {
+    return (ThreadHash.currentThreadHash() & (RECORDING_STRIPES - 1)) * STRIPE_SPACING;
+  }
+
+  /**
+   * Waits for the recordings in progress on a stripe of {@code activeRecordingThreads} which has
+   * been set to odd by collect to complete. Recordings only hold a stripe for as long as it takes
+   * to record a measurement, so the wait spins, and then yields to let any recording threads which
+   * were descheduled complete, for a bounded number of checks each. After that, it parks with an
+   * increasing backoff, so that the collecting thread doesn't keep a core busy.
+   */
+  private static void awaitRecordsInProgress(AtomicIntegerArray activeRecordingThreads, int index) {
+    int checks = 0;
+    long parkNanos = MIN_PARK_NANOS;
+    while (activeRecordingThreads.get(index) > 1) {
+      checks++;
+      if (checks <= MAX_SPINS) {
+        continue;
+      }
+      if (checks <= MAX_SPINS + MAX_YIELDS) {
+        Thread.yield();
+      } else {
+        LockSupport.parkNanos(parkNanos);
+        parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+      }
+    }
   }
 
   private AggregatorHandle<T, U> getAggregatorHandle(
+      AggregatorHolder<T, U> aggregatorHolder, Attributes attributes, Context context) {
+    Objects.requireNonNull(attributes, "attributes");
+    HandleCacheEntry<T, U>[] handleCache = this.handleCache;
+    // Only cache immutable attributes, as the handle is resolved from their content
+    if (handleCache == null || !(attributes instanceof ImmutableKeyValuePairs)) {
+      return resolveAggregatorHandle(aggregatorHolder.aggregatorHandles, attributes, context);
+    }
+    int index = System.identityHashCode(attributes) & (handleCache.length - 1);
+    HandleCacheEntry<T, U> entry = handleCache[index];
+    if (entry != null && entry.attributes == attributes && entry.holder == aggregatorHolder) {
+      return entry.handle;
+    }
+    AggregatorHandle<T, U> handle =
+        resolveAggregatorHandle(aggregatorHolder.aggregatorHandles, attributes, context);
+    handleCache[index] = new HandleCacheEntry<>(attributes, aggregatorHolder, handle);
+    return handle;
+  }
+
+  private AggregatorHandle<T, U> resolveAggregatorHandle(
       ConcurrentHashMap<Attributes, AggregatorHandle<T, U>> aggregatorHandles,
       Attributes attributes,
       Context context) {
-    Objects.requireNonNull(attributes, "attributes");
     attributes = attributesProcessor.process(attributes, context);
     AggregatorHandle<T, U> handle = aggregatorHandles.get(attributes);
     if (handle != null) {
@@ -212,23 +386,46 @@ public final class DefaultSynchronousMetricStorage<T extends PointData, U extend
             ? registeredReader.getLastCollectEpochNanos()
             : startEpochNanos;
 
+    // Merge the sums of each thread into the current holder, so that they're collected with the
+    // measurements recorded to it. Sums added after a thread's table is merged are collected next.
+    if (threadLocalSums != null) {
+      threadLocalSums.mergeAll(this);
+    }
+
     ConcurrentHashMap<Attributes, AggregatorHandle<T, U>> aggregatorHandles;
     if (reset) {
       AggregatorHolder<T, U> holder = this.aggregatorHolder;
-      this.aggregatorHolder =
+      long generation = ++aggregatorHolderGeneration;
+      ConcurrentHashMap<Attributes, AggregatorHandle<T, U>> nextAggregatorHandles =
           (memoryMode == REUSABLE_DATA)
-              ? new AggregatorHolder<>(previousCollectionAggregatorHandles)
-              : new AggregatorHolder<>();
-
-      // Increment recordsInProgress by 1, which produces an odd number acting as a signal that
-      // record operations should re-read the volatile this.aggregatorHolder.
-      // Repeatedly grab recordsInProgress until it is <= 1, which signals all active record
-      // operations are complete.
-      int recordsInProgress = holder.activeRecordingThreads.addAndGet(1);
-      while (recordsInProgress > 1) {
-        recordsInProgress = holder.activeRecordingThreads.get();
+              ? previousCollectionAggregatorHandles
+              : new ConcurrentHashMap<>();
+      AggregatorHolder<T, U> nextHolder = spareAggregatorHolder;
+      if (nextHolder == null) {
+        nextHolder = new AggregatorHolder<>(nextAggregatorHandles, generation, RECORDING_STRIPES);
+      } else {
+        nextHolder.reuse(nextAggregatorHandles, generation);
+      }
+      this.aggregatorHolder = nextHolder;
+
+      // Increment each stripe of recordsInProgress by 1, which produces an odd number acting as a
+      // signal that record operations should re-read the volatile this.aggregatorHolder.
+      // Every stripe is signalled before waiting on any, so that record operations stop
+      // using the holder as soon as possible. Then wait until each stripe is <= 1, which
+      // signals all active record operations are complete.
+      AtomicIntegerArray activeRecordingThreads = holder.activeRecordingThreads;
+      for (int i = 0; i < activeRecordingThreads.length(); i += STRIPE_SPACING) {
+        activeRecordingThreads.addAndGet(i, 1);
+      }
+      for (int i = 0; i < activeRecordingThreads.length(); i += STRIPE_SPACING) {
+        awaitRecordsInProgress(activeRecordingThreads, i);
       }
       aggregatorHandles = holder.aggregatorHandles;
+      spareAggregatorHolder = holder;
+      // Entries of the previous holder can't be used once it's reused, drop them
+      if (handleCache != null) {
+        Arrays.fill(handleCache, null);
+      }
     } else {
       aggregatorHandles = this.aggregatorHolder.aggregatorHandles;
     }
@@ -312,14 +509,106 @@ public final class DefaultSynchronousMetricStorage<T extends PointData, U extend
     return metricDescriptor;
   }
 
+  /**
+   * Records to the handle of the bound attributes, which is resolved once for each {@link
+   * AggregatorHolder} it records to. Like {@link #handleCache} entries, the resolved handle must
+   * not be used with any other holder, since after a DELTA collection it may have been reset and
+   * reused for other attributes, or removed to make room below the cardinality limit.
+   */
+  private final class BoundHandle implements BoundMetricStorage {
+    private final Attributes attributes;
+    // Tagged with the generation rather than the holder it was resolved in, so that a bound handle
+    // which isn't recorded to doesn't retain the handles of previous collections. Not volatile,
+    // since entries are immutable and any thread may resolve the handle again.
+    @Nullable private PinnedHandle<T, U> pinned;
+
+    private BoundHandle(Attributes attributes) {
+      this.attributes = attributes;
+    }
+
+    @Override
+    public void recordLong(long value, Context context) {
+      ThreadLocalSums threadLocalSums = DefaultSynchronousMetricStorage.this.threadLocalSums;
+      if (threadLocalSums != null
+          && threadLocalSums.addLong(
+              value, attributes, context, DefaultSynchronousMetricStorage.this)) {
+        return;
+      }
+      AggregatorHolder<T, U> aggregatorHolder = getHolderForRecord();
+      try {
+        getAggregatorHandle(aggregatorHolder, context).recordLong(value, attributes, context);
+      } finally {
+        releaseHolderForRecord(aggregatorHolder);
+      }
+    }
+
+    @Override
+    public void recordDouble(double value, Context context) {
+      if (Double.isNaN(value)) {
+        logNaNDropped(attributes);
+        return;
+      }
+      ThreadLocalSums threadLocalSums = DefaultSynchronousMetricStorage.this.threadLocalSums;
+      if (threadLocalSums != null
+          && threadLocalSums.addDouble(
+              value, attributes, context, DefaultSynchronousMetricStorage.this)) {
+        return;
+      }
+      AggregatorHolder<T, U> aggregatorHolder = getHolderForRecord();
+      try {
+        getAggregatorHandle(aggregatorHolder, context).recordDouble(value, attributes, context);
+      } finally {
+        releaseHolderForRecord(aggregatorHolder);
+      }
+    }
+
+    private AggregatorHandle<T, U> getAggregatorHandle(
+        AggregatorHolder<T, U> aggregatorHolder, Context context) {
+      PinnedHandle<T, U> pinned = this.pinned;
+      if (pinned != null && pinned.generation == aggregatorHolder.generation) {
+        return pinned.handle;
+      }
+      AggregatorHandle<T, U> handle =
+          resolveAggregatorHandle(aggregatorHolder.aggregatorHandles, attributes, context);
+      this.pinned = new PinnedHandle<>(aggregatorHolder.generation, handle);
+      return handle;
+    }
+  }
+
+  private static final class PinnedHandle<T extends PointData, U extends ExemplarData> {
+    private final long generation;
+    private final AggregatorHandle<T, U> handle;
+
+    private PinnedHandle(long generation, AggregatorHandle<T, U> handle) {
+      this.generation = generation;
+      this.handle = handle;
+    }
+  }
+
+  private static final class HandleCacheEntry<T extends PointData, U extends ExemplarData> {
+    private final Attributes attributes;
+    private final AggregatorHolder<T, U> holder;
+    private final AggregatorHandle<T, U> handle;
+
+    private HandleCacheEntry(
+        Attributes attributes, AggregatorHolder<T, U> holder, AggregatorHandle<T, U> handle) {
+      this.attributes = attributes;
+      this.holder = holder;
+      this.handle = handle;
+    }
+  }
+
   private static class AggregatorHolder<T extends PointData, U extends ExemplarData> {
-    private final ConcurrentHashMap<Attributes, AggregatorHandle<T, U>> aggregatorHandles;
+    // Reassigned when the holder is reused, before it's published as the current holder again
+    private ConcurrentHashMap<Attributes, AggregatorHandle<T, U>> aggregatorHandles;
     // Recording threads grab the current interval (AggregatorHolder) and atomically increment
-    // this by 2 before recording against it (and then decrement by two when done).
+    // their thread's stripe of this by 2 before recording against it (and then decrement it by
+    // two when done). Stripes are STRIPE_SPACING apart, and spreading recordings across them
+    // keeps recording threads on different cores from contending on a single counter.
     //
     // The collection thread grabs the current interval (AggregatorHolder) and atomically
-    // increments this by 1 to "lock" this interval (and then waits for any active recording
-    // threads to complete before collecting it).
+    // increments every stripe by 1 to "lock" this interval (and then waits for any active
+    // recording threads to complete before collecting it).
     //
     // Recording threads check the return value of their atomic increment, and if it's odd
     // that means the collector thread has "locked" this interval for collection.
@@ -328,15 +617,35 @@ public final class DefaultSynchronousMetricStorage<T extends PointData, U extend
     // (AggregatorHolder), and so if a recording thread encounters an odd value,
     // all it needs to do is release the "read lock" it just obtained (decrementing by 2),
     // and then grab and record against the new current interval (AggregatorHolder).
-    private final AtomicInteger activeRecordingThreads = new AtomicInteger(0);
+    //
+    // Empty if the holder is never replaced, in which case recordings aren't counted.
+    private final AtomicIntegerArray activeRecordingThreads;
+    // Incremented for every holder which replaces the current one on collection
+    private long generation;
 
-    private AggregatorHolder() {
-      aggregatorHandles = new ConcurrentHashMap<>();
+    private AggregatorHolder(
+        ConcurrentHashMap<Attributes, AggregatorHandle<T, U>> aggregatorHandles,
+        long generation,
+        int recordingStripes) {
+      this.aggregatorHandles = aggregatorHandles;
+      this.generation = generation;
+      this.activeRecordingThreads = new AtomicIntegerArray(recordingStripes * STRIPE_SPACING);
     }
 
-    private AggregatorHolder(
-        ConcurrentHashMap<Attributes, AggregatorHandle<T, U>> aggregatorHandles) {
+    /**
+     * Prepares a holder which has been collected to replace the current one. The stripes are
+     * decremented rather than cleared, since recording threads which read the holder before it was
+     * replaced may still briefly increment and decrement them. Once a stripe is even again, such a
+     * thread records to the holder, which is only fine because the holder is about to be current.
+     * The writes to the fields are visible to those threads since they precede the decrements.
+     */
+    private void reuse(
+        ConcurrentHashMap<Attributes, AggregatorHandle<T, U>> aggregatorHandles, long generation) {
       this.aggregatorHandles = aggregatorHandles;
+      this.generation = generation;
+      for (int i = 0; i < activeRecordingThreads.length(); i += STRIPE_SPACING) {
+        activeRecordingThreads.addAndGet(i, -1);
+      }
     }
   }
 }
@@ -16,6 +16,15 @@ import io.opentelemetry.sdk.resources.Resource;
 final class EmptyMetricStorage implements SynchronousMetricStorage {
   static final EmptyMetricStorage INSTANCE = new EmptyMetricStorage();
 
+  private static final BoundMetricStorage BOUND =
+      new BoundMetricStorage() {
+        @Override
+        public void recordLong(long value, Context context) {}
+
+        @Override
+        public void recordDouble(double value, Context context) {}
+      };
+
   private EmptyMetricStorage() {}
 
   private final MetricDescriptor descriptor = MetricDescriptor.create("", "", "");
@@ -40,6 +49,11 @@ final class EmptyMetricStorage implements SynchronousMetricStorage {
   @Override
   public void recordDouble(double value, Attributes attributes, Context context) {}
 
+  @Override
+  public BoundMetricStorage bind(Attributes attributes) {
+    return BOUND;
+  }
+
   @Override
   public boolean isEnabled() {
     return false;
@@ -24,8 +24,19 @@ public abstract class MeterProviderSharedState {
 
   public static MeterProviderSharedState create(
       Clock clock, Resource resource, ExemplarFilter exemplarFilter, long startEpochNanos) {
+    return create(
+        clock, resource, exemplarFilter, startEpochNanos, /* threadLocalSumAggregation= */ false);
+  }
+
+  public static MeterProviderSharedState create(
+      Clock clock,
+      Resource resource,
+      ExemplarFilter exemplarFilter,
+      long startEpochNanos,
+      boolean threadLocalSumAggregation) {
     MeterProviderSharedState sharedState =
-        new AutoValue_MeterProviderSharedState(clock, resource, startEpochNanos, exemplarFilter);
+        new AutoValue_MeterProviderSharedState(
+            clock, resource, startEpochNanos, exemplarFilter, threadLocalSumAggregation);
     return sharedState;
   }
 
@@ -42,4 +53,10 @@ public abstract class MeterProviderSharedState {
 
   /** Returns the {@link ExemplarFilter} for remembering synchronous measurements. */
   public abstract ExemplarFilter getExemplarFilter();
+
+  /**
+   * Returns {@code true} if measurements of sum aggregations are summed by each recording thread
+   * before they're recorded to synchronous storage.
+   */
+  public abstract boolean isThreadLocalSumAggregation();
 }
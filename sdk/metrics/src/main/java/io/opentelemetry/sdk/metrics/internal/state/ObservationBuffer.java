@@ -0,0 +1,87 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.internal.state;
+
+import io.opentelemetry.api.common.Attributes;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Buffers the values observed by a callback invoked by a {@link CallbackExecutor}, which are
+ * recorded to the storages of the observable measurements when the buffer is replayed by the
+ * collecting thread.
+ *
+ * <p>While a buffer is active on a thread, all values observed by that thread are added to it
+ * rather than recorded, including any observed after the collection stopped waiting for the
+ * callback. A buffer isn't modified once the callback completes, and may then be replayed any
+ * number of times.
+ */
+final class ObservationBuffer {
+
+  private static final ThreadLocal<ObservationBuffer> ACTIVE_BUFFER = new ThreadLocal<>();
+
+  private final List<Observation> observations = new ArrayList<>();
+
+  /** Returns the buffer active on the current thread, or {@code null} if there is none. */
+  @Nullable
+  static ObservationBuffer active() {
+    return ACTIVE_BUFFER.get();
+  }
+
+  /** Activates this buffer on the current thread until {@link #deactivate()} is called. */
+  void activate() {
+    ACTIVE_BUFFER.set(this);
+  }
+
+  /** Deactivates the buffer active on the current thread. */
+  static void deactivate() {
+    ACTIVE_BUFFER.remove();
+  }
+
+  void addLong(SdkObservableMeasurement measurement, long value, Attributes attributes) {
+    observations.add(new Observation(measurement, /* isDouble= */ false, value, 0, attributes));
+  }
+
+  void addDouble(SdkObservableMeasurement measurement, double value, Attributes attributes) {
+    observations.add(new Observation(measurement, /* isDouble= */ true, 0, value, attributes));
+  }
+
+  /**
+   * Records the buffered values to their observable measurements, which must have their active
+   * reader set.
+   */
+  void replay() {
+    for (Observation observation : observations) {
+      if (observation.isDouble) {
+        observation.measurement.record(observation.doubleValue, observation.attributes);
+      } else {
+        observation.measurement.record(observation.longValue, observation.attributes);
+      }
+    }
+  }
+
+  private static final class Observation {
+    private final SdkObservableMeasurement measurement;
+    private final boolean isDouble;
+    private final long longValue;
+    private final double doubleValue;
+    private final Attributes attributes;
+
+    private Observation(
+        SdkObservableMeasurement measurement,
+        boolean isDouble,
+        long longValue,
+        double doubleValue,
+        Attributes attributes) {
+      this.measurement = measurement;
+      this.isDouble = isDouble;
+      this.longValue = longValue;
+      this.doubleValue = doubleValue;
+      this.attributes = attributes;
+    }
+  }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.internal.state;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+
+/**
+ * A hash map which stores its keys, values and key hash codes in flat arrays, resolving collisions
+ * by linear probing.
+ *
+ * <p>The goal of this map is to minimize memory allocation and pointer chasing. Unlike {@link
+ * java.util.HashMap} and {@link PooledHashMap}, no object is allocated per entry, and probing for a
+ * key compares the hash codes held in a contiguous {@code int[]} before calling {@code equals} on
+ * any key. Entries are removed by shifting the entries which follow them back, so the table never
+ * accumulates deleted markers. The table only grows, and {@link #clear()} keeps its capacity, so a
+ * map which is cleared and refilled with a similar number of entries allocates nothing.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @param <K> The map key type
+ * @param <V> The map value type
+ */
+public final class OpenAddressingHashMap<K, V> implements Map<K, V> {
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+  // 2^32 divided by the golden ratio, which spreads hash codes differing only in their high bits
+  // across the table
+  private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+  private int[] hashes;
+  // A null key marks an empty slot
+  private Object[] keys;
+  private Object[] values;
+  private int shift;
+  private int mask;
+  private int size;
+
+  /**
+   * Creates an {@link OpenAddressingHashMap} with at least {@code capacity} slots.
+   *
+   * <p>The table is kept at most half full, growing to twice its capacity when it would otherwise
+   * become more than half full, which keeps the expected length of probes short.
+   *
+   * @param capacity The initial number of slots to start with, rounded up to a power of two
+   */
+  public OpenAddressingHashMap(int capacity) {
+    allocate(tableSizeFor(capacity));
+  }
+
+  /**
+   * Creates a new {@link OpenAddressingHashMap} with a default amount of slots (capacity).
+   *
+   * @see OpenAddressingHashMap#OpenAddressingHashMap(int)
+   */
+  public OpenAddressingHashMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  private static int tableSizeFor(int capacity) {
+    if (capacity <= 2) {
+      return 2;
+    }
+    if (capacity >= MAXIMUM_CAPACITY) {
+      return MAXIMUM_CAPACITY;
+    }
+    return Integer.highestOneBit(capacity - 1) << 1;
+  }
+
+  private void allocate(int capacity) {
+    hashes = new int[capacity];
+    keys = new Object[capacity];
+    values = new Object[capacity];
+    shift = Integer.numberOfLeadingZeros(capacity) + 1;
+    mask = capacity - 1;
+  }
+
+  private int slotFor(int hash) {
+    return (hash * HASH_MULTIPLIER) >>> shift;
+  }
+
+  /**
+   * Returns the slot holding {@code key}, or the complement of the empty slot at which probing for
+   * it stopped if it isn't in the map.
+   */
+  private int find(Object key, int hash) {
+    Object[] keys = this.keys;
+    int[] hashes = this.hashes;
+    int mask = this.mask;
+    for (int slot = slotFor(hash); ; slot = (slot + 1) & mask) {
+      Object candidate = keys[slot];
+      if (candidate == null) {
+        return ~slot;
+      }
+      if (hashes[slot] == hash && (candidate == key || candidate.equals(key))) {
+        return slot;
+      }
+    }
+  }
+
+  /**
+   * Add a key, value pair to the map.
+   *
+   * @param key key with which the specified value is to be associated
+   * @param value value to be associated with the specified key
+   * @return Null if there was no previous mapping for this key, or the value of the previous
+   *     mapping of this key
+   */
+  @Override
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public V put(K key, V value) {
+    requireNonNull(key, "This map does not support null keys");
+    requireNonNull(value, "This map does not support null values");
+    int hash = key.hashCode();
+    int slot = find(key, hash);
+    if (slot >= 0) {
+      V oldValue = (V) values[slot];
+      values[slot] = value;
+      return oldValue;
+    }
+    if (size >= keys.length >>> 1 && keys.length < MAXIMUM_CAPACITY) {
+      rehash();
+      slot = find(key, hash);
+    }
+    slot = ~slot;
+    hashes[slot] = hash;
+    keys[slot] = key;
+    values[slot] = value;
+    size++;
+    return null;
+  }
+
+  private void rehash() {
+    int[] oldHashes = hashes;
+    Object[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(oldKeys.length << 1);
+    for (int i = 0; i < oldKeys.length; i++) {
+      Object key = oldKeys[i];
+      if (key != null) {
+        int hash = oldHashes[i];
+        int slot = slotFor(hash);
+        while (keys[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        hashes[slot] = hash;
+        keys[slot] = key;
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Retrieves the mapped value for {@code key}.
+   *
+   * @param key the key whose associated value is to be returned
+   * @return The mapped value for {@code key} or null if there is no such mapping
+   */
+  @Override
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    requireNonNull(key, "This map does not support null keys");
+    int slot = find(key, key.hashCode());
+    return slot >= 0 ? (V) values[slot] : null;
+  }
+
+  /**
+   * Removes the mapping for the given {@code key}.
+   *
+   * @param key key whose mapping is to be removed from the map
+   * @return The value mapped to this key, if the mapping exists, or null otherwise
+   */
+  @Override
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public V remove(Object key) {
+    requireNonNull(key, "This map does not support null keys");
+    int slot = find(key, key.hashCode());
+    if (slot < 0) {
+      return null;
+    }
+    V oldValue = (V) values[slot];
+    // Move each following entry of the probe sequence back into the gap, unless the gap is before
+    // the slot its probing starts at
+    int gap = slot;
+    for (int next = (gap + 1) & mask; keys[next] != null; next = (next + 1) & mask) {
+      int start = slotFor(hashes[next]);
+      if (((next - start) & mask) >= ((next - gap) & mask)) {
+        hashes[gap] = hashes[next];
+        keys[gap] = keys[next];
+        values[gap] = values[next];
+        gap = next;
+      }
+    }
+    keys[gap] = null;
+    values[gap] = null;
+    size--;
+    return oldValue;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    requireNonNull(key, "This map does not support null keys");
+    return find(key, key.hashCode()) >= 0;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void clear() {
+    if (size == 0) {
+      return;
+    }
+    Arrays.fill(keys, null);
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    Object[] keys = this.keys;
+    Object[] values = this.values;
+    for (int i = 0; i < keys.length; i++) {
+      Object key = keys[i];
+      if (key != null) {
+        action.accept((K) key, (V) values[i]);
+      }
+    }
+  }
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Collection<V> values() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void putAll(Map<? extends K, ? extends V> m) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Set<K> keySet() {
+    throw new UnsupportedOperationException();
+  }
+}
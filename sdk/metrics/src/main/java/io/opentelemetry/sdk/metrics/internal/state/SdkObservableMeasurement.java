@@ -109,6 +109,11 @@ public final class SdkObservableMeasurement
 
   @Override
   public void record(long value, Attributes attributes) {
+    ObservationBuffer buffer = ObservationBuffer.active();
+    if (buffer != null) {
+      buffer.addLong(this, value, attributes);
+      return;
+    }
     if (activeReader == null) {
       logNoActiveReader();
       return;
@@ -135,6 +140,11 @@ public final class SdkObservableMeasurement
 
   @Override
   public void record(double value, Attributes attributes) {
+    ObservationBuffer buffer = ObservationBuffer.active();
+    if (buffer != null) {
+      buffer.addDouble(this, value, attributes);
+      return;
+    }
     if (activeReader == null) {
       logNoActiveReader();
       return;
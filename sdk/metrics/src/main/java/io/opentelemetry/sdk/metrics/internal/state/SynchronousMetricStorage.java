@@ -11,10 +11,13 @@ import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.data.PointData;
 import io.opentelemetry.sdk.metrics.internal.aggregator.Aggregator;
 import io.opentelemetry.sdk.metrics.internal.aggregator.AggregatorFactory;
+import io.opentelemetry.sdk.metrics.internal.aggregator.DoubleSumAggregator;
+import io.opentelemetry.sdk.metrics.internal.aggregator.LongSumAggregator;
 import io.opentelemetry.sdk.metrics.internal.descriptor.InstrumentDescriptor;
 import io.opentelemetry.sdk.metrics.internal.descriptor.MetricDescriptor;
 import io.opentelemetry.sdk.metrics.internal.exemplar.ExemplarFilter;
 import io.opentelemetry.sdk.metrics.internal.export.RegisteredReader;
+import io.opentelemetry.sdk.metrics.internal.view.AttributesProcessor;
 import io.opentelemetry.sdk.metrics.internal.view.RegisteredView;
 
 /**
@@ -41,6 +44,31 @@ public interface SynchronousMetricStorage extends MetricStorage, WriteableMetric
       RegisteredView registeredView,
       InstrumentDescriptor instrumentDescriptor,
       ExemplarFilter exemplarFilter) {
+    return create(
+        registeredReader,
+        registeredView,
+        instrumentDescriptor,
+        exemplarFilter,
+        /* threadLocalSumAggregation= */ false);
+  }
+
+  /**
+   * Constructs metric storage for a given synchronous instrument and view.
+   *
+   * <p>If {@code threadLocalSumAggregation}, measurements of sum aggregations are summed by each
+   * recording thread, and merged into the storage when it's collected. Measurements are always
+   * recorded directly if the view's attributes processor uses the context, or if all measurements
+   * are eligible for being exemplars.
+   *
+   * @return The storage, or {@link EmptyMetricStorage#empty()} if the instrument should not be
+   *     recorded.
+   */
+  static <T extends PointData, U extends ExemplarData> SynchronousMetricStorage create(
+      RegisteredReader registeredReader,
+      RegisteredView registeredView,
+      InstrumentDescriptor instrumentDescriptor,
+      ExemplarFilter exemplarFilter,
+      boolean threadLocalSumAggregation) {
     View view = registeredView.getView();
     MetricDescriptor metricDescriptor =
         MetricDescriptor.create(view, registeredView.getViewSourceInfo(), instrumentDescriptor);
@@ -52,11 +80,21 @@ public interface SynchronousMetricStorage extends MetricStorage, WriteableMetric
     if (Aggregator.drop() == aggregator) {
       return empty();
     }
+    AttributesProcessor attributesProcessor = registeredView.getViewAttributesProcessor();
+    ThreadLocalSums threadLocalSums = null;
+    if (threadLocalSumAggregation
+        && (aggregator instanceof LongSumAggregator || aggregator instanceof DoubleSumAggregator)
+        && !attributesProcessor.usesContext()
+        && exemplarFilter != ExemplarFilter.alwaysOn()) {
+      threadLocalSums =
+          new ThreadLocalSums(aggregator instanceof LongSumAggregator, exemplarFilter);
+    }
     return new DefaultSynchronousMetricStorage<>(
         registeredReader,
         metricDescriptor,
         aggregator,
-        registeredView.getViewAttributesProcessor(),
-        registeredView.getCardinalityLimit());
+        attributesProcessor,
+        registeredView.getCardinalityLimit(),
+        threadLocalSums);
   }
 }
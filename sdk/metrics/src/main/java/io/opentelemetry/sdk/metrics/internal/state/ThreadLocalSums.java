@@ -0,0 +1,325 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.internal.state;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.metrics.internal.exemplar.ExemplarFilter;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pre-aggregates the measurements recorded to a {@link DefaultSynchronousMetricStorage} of a sum
+ * aggregation. Each recording thread sums its measurements for each {@link Attributes} in a small
+ * table of its own, which is merged into the storage when the storage is collected, or when the
+ * table is full and the thread records a measurement for attributes which aren't in it.
+ *
+ * <p>Summing into a table of the current thread skips looking up the aggregator handle of the
+ * attributes and counting the recording in progress, and since only the thread which owns a table
+ * writes to it, threads recording to the same series don't contend on the same memory.
+ * Measurements which the {@link ExemplarFilter} would sample are not summed, and must be recorded
+ * to the storage as usual, so that they're offered to the exemplar reservoir of their series.
+ */
+final class ThreadLocalSums {
+  // The maximum number of attributes each table sums before it's merged into the storage
+  private static final int MAX_TABLE_SIZE = 16;
+  // Tables are kept at most half full to keep probes short. Must be a power of two
+  private static final int TABLE_CAPACITY = MAX_TABLE_SIZE * 2;
+  private static final int TABLE_SHIFT = Integer.numberOfLeadingZeros(TABLE_CAPACITY) + 1;
+  private static final int HASH_MULTIPLIER = 0x9E3779B9;
+  // The number of consecutive collections in which a table merges nothing before it's detached
+  private static final int MAX_IDLE_MERGES = 3;
+
+  private final boolean longValues;
+  private final ExemplarFilter exemplarFilter;
+  // Tables don't reference this, so that a storage which is no longer used isn't retained by the
+  // threads which recorded to it
+  private final ThreadLocal<Table> tables = new ThreadLocal<>();
+  // The tables of all threads which recorded, which are merged on collection. The tables of threads
+  // which have terminated, or which have been idle for a while, are removed once merged.
+  private final Queue<Table> allTables = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Creates thread local sums of {@code long} measurements if {@code longValues}, or {@code double}
+   * measurements otherwise.
+   */
+  ThreadLocalSums(boolean longValues, ExemplarFilter exemplarFilter) {
+    this.longValues = longValues;
+    this.exemplarFilter = exemplarFilter;
+  }
+
+  /**
+   * Sums the measurement in the table of the current thread, merging the table into {@code storage}
+   * if it's full. Returns false if the measurement wasn't summed, in which case it must be recorded
+   * to {@code storage} directly.
+   */
+  boolean addLong(
+      long value,
+      Attributes attributes,
+      Context context,
+      DefaultSynchronousMetricStorage<?, ?> storage) {
+    Objects.requireNonNull(attributes, "attributes");
+    if (!longValues || exemplarFilter.shouldSampleMeasurement(value, attributes, context)) {
+      return false;
+    }
+    getTable().add(value, attributes, storage);
+    return true;
+  }
+
+  /**
+   * Sums the measurement in the table of the current thread, merging the table into {@code storage}
+   * if it's full. Returns false if the measurement wasn't summed, in which case it must be recorded
+   * to {@code storage} directly.
+   */
+  boolean addDouble(
+      double value,
+      Attributes attributes,
+      Context context,
+      DefaultSynchronousMetricStorage<?, ?> storage) {
+    Objects.requireNonNull(attributes, "attributes");
+    if (longValues || exemplarFilter.shouldSampleMeasurement(value, attributes, context)) {
+      return false;
+    }
+    getTable().add(Double.doubleToRawLongBits(value), attributes, storage);
+    return true;
+  }
+
+  /** Merges the tables of all threads into {@code storage}. */
+  void mergeAll(DefaultSynchronousMetricStorage<?, ?> storage) {
+    for (Iterator<Table> iterator = allTables.iterator(); iterator.hasNext(); ) {
+      Table table = iterator.next();
+      // Checked before merging, so that sums the owner added before it terminated aren't dropped.
+      // The table of a terminated thread can't be summed into anymore.
+      boolean ownerAlive = table.isOwnerAlive();
+      boolean merged = table.mergeInto(storage, /* clear= */ false);
+      if (!ownerAlive || table.detachIfIdle(merged)) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private Table getTable() {
+    Table table = tables.get();
+    if (table == null) {
+      table = new Table(longValues);
+      tables.set(table);
+      allTables.add(table);
+    } else if (table.detached) {
+      table.reattach(allTables);
+    }
+    return table;
+  }
+
+  /**
+   * A table of the sums of a thread, keyed by the recorded attributes.
+   *
+   * <p>Only the thread which owns the table writes its keys and sums, without locking. Collection
+   * never writes them, and instead remembers the sum of each slot it merged, merging only the
+   * difference the next time. The owner takes the lock of the table only to clear it when it's
+   * full, and to rebase a slot the first time it adds to it after it was merged, so that sums stay
+   * as small as they would be if they were cleared on collection.
+   *
+   * <p>A table which merges nothing for {@link #MAX_IDLE_MERGES} collections is detached, and
+   * removed from the tables merged on collection after it's merged once more, so that sums its
+   * owner added as it was detached are still merged. The owner attaches the table again the next
+   * time it adds to it.
+   */
+  private static final class Table {
+    private final boolean longValues;
+    private final WeakReference<Thread> owner;
+
+    // Only accessed by the owner
+    private final int[] hashes = new int[TABLE_CAPACITY];
+
+    // The merge count as of the last time the owner rebased each slot. Only accessed by the owner
+    private final int[] rebasedAt = new int[TABLE_CAPACITY];
+
+    // Only accessed by the owner
+    private int size;
+
+    // A null key marks an empty slot. Keys are only cleared holding the lock
+    private final AtomicReferenceArray<Attributes> keys =
+        new AtomicReferenceArray<>(TABLE_CAPACITY);
+
+    // The raw bits of the sum if it's a double, so that a table only needs one array of sums
+    private final AtomicLongArray sums = new AtomicLongArray(TABLE_CAPACITY);
+
+    // The number of times the table was merged, so that the owner knows to rebase its slots
+    private final AtomicInteger merges = new AtomicInteger();
+
+    // The key and sum of each slot as of the last time it was merged
+    @GuardedBy("this")
+    private final Attributes[] mergedKeys = new Attributes[TABLE_CAPACITY];
+
+    @GuardedBy("this")
+    private final long[] mergedSums = new long[TABLE_CAPACITY];
+
+    // Whether the owner rebased each slot since it was last merged, in which case it's merged even
+    // if its sum didn't change
+    @GuardedBy("this")
+    private final boolean[] rebased = new boolean[TABLE_CAPACITY];
+
+    private volatile boolean detached;
+
+    @GuardedBy("this")
+    private boolean attached = true;
+
+    @GuardedBy("this")
+    private int idleMerges;
+
+    private Table(boolean longValues) {
+      this.longValues = longValues;
+      this.owner = new WeakReference<>(Thread.currentThread());
+    }
+
+    private void add(
+        long value, Attributes attributes, DefaultSynchronousMetricStorage<?, ?> storage) {
+      int hash = attributes.hashCode();
+      int slot = find(attributes, hash);
+      if (slot < 0) {
+        if (size == MAX_TABLE_SIZE) {
+          mergeInto(storage, /* clear= */ true);
+          size = 0;
+          slot = find(attributes, hash);
+        }
+        slot = ~slot;
+        hashes[slot] = hash;
+        rebasedAt[slot] = merges.get();
+        sums.lazySet(slot, value);
+        // Set after the sum, so that the slot is never merged without it
+        keys.lazySet(slot, attributes);
+        size++;
+        return;
+      }
+      if (rebasedAt[slot] != merges.get()) {
+        rebase(slot);
+      }
+      long sum = sums.get(slot);
+      if (longValues) {
+        sums.lazySet(slot, sum + value);
+      } else {
+        sums.lazySet(
+            slot,
+            Double.doubleToRawLongBits(
+                Double.longBitsToDouble(sum) + Double.longBitsToDouble(value)));
+      }
+    }
+
+    /**
+     * Returns the slot holding {@code attributes}, or the complement of the empty slot at which
+     * probing for them stopped if they're not in the table.
+     */
+    private int find(Attributes attributes, int hash) {
+      for (int slot = (hash * HASH_MULTIPLIER) >>> TABLE_SHIFT;
+          ;
+          slot = (slot + 1) & (TABLE_CAPACITY - 1)) {
+        Attributes candidate = keys.get(slot);
+        if (candidate == null) {
+          return ~slot;
+        }
+        if (candidate == attributes || (hashes[slot] == hash && candidate.equals(attributes))) {
+          return slot;
+        }
+      }
+    }
+
+    /** Subtracts the sum which was merged from the sum of the slot. */
+    private synchronized void rebase(int slot) {
+      sums.lazySet(slot, subtract(sums.get(slot), mergedSums[slot]));
+      mergedSums[slot] = 0;
+      rebased[slot] = true;
+      rebasedAt[slot] = merges.get();
+    }
+
+    /**
+     * Merges what was summed since the table was last merged into {@code storage}, clearing the
+     * table if {@code clear}, which only the owner may do. Returns whether anything was merged.
+     */
+    private synchronized boolean mergeInto(
+        DefaultSynchronousMetricStorage<?, ?> storage, boolean clear) {
+      boolean merged = false;
+      for (int i = 0; i < TABLE_CAPACITY; i++) {
+        Attributes attributes = keys.get(i);
+        if (attributes == null) {
+          continue;
+        }
+        long sum = sums.get(i);
+        if (attributes != mergedKeys[i] || rebased[i] || sum != mergedSums[i]) {
+          long delta = subtract(sum, mergedSums[i]);
+          if (longValues) {
+            storage.mergeLong(attributes, delta);
+          } else {
+            storage.mergeDouble(attributes, Double.longBitsToDouble(delta));
+          }
+          merged = true;
+        }
+        rebased[i] = false;
+        if (clear) {
+          keys.lazySet(i, null);
+          mergedKeys[i] = null;
+          mergedSums[i] = 0;
+        } else {
+          mergedKeys[i] = attributes;
+          mergedSums[i] = sum;
+        }
+      }
+      merges.incrementAndGet();
+      return merged;
+    }
+
+    private long subtract(long sum, long mergedSum) {
+      if (longValues) {
+        return sum - mergedSum;
+      }
+      return Double.doubleToRawLongBits(
+          Double.longBitsToDouble(sum) - Double.longBitsToDouble(mergedSum));
+    }
+
+    /**
+     * Detaches the table if it merged nothing for {@link #MAX_IDLE_MERGES} collections. Returns
+     * whether it should be removed from the tables merged on collection, which it is the
+     * collection after it's detached.
+     */
+    private synchronized boolean detachIfIdle(boolean merged) {
+      if (merged) {
+        idleMerges = 0;
+        detached = false;
+        return false;
+      }
+      if (++idleMerges < MAX_IDLE_MERGES) {
+        return false;
+      }
+      if (!detached) {
+        detached = true;
+        return false;
+      }
+      attached = false;
+      return true;
+    }
+
+    /** Attaches the table again after it was detached. Only called by the owner. */
+    private synchronized void reattach(Queue<Table> allTables) {
+      detached = false;
+      idleMerges = 0;
+      if (!attached) {
+        attached = true;
+        allTables.add(this);
+      }
+    }
+
+    private boolean isOwnerAlive() {
+      Thread thread = owner.get();
+      return thread != null && thread.isAlive();
+    }
+  }
+}
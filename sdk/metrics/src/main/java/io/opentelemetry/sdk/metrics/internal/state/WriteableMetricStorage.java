@@ -23,6 +23,24 @@ public interface WriteableMetricStorage {
   /** Records a measurement. */
   void recordDouble(double value, Attributes attributes, Context context);
 
+  /**
+   * Returns storage which records measurements with the given {@code attributes}. Implementations
+   * may resolve where the attributes are recorded once, rather than for every measurement.
+   */
+  default BoundMetricStorage bind(Attributes attributes) {
+    return new BoundMetricStorage() {
+      @Override
+      public void recordLong(long value, Context context) {
+        WriteableMetricStorage.this.recordLong(value, attributes, context);
+      }
+
+      @Override
+      public void recordDouble(double value, Context context) {
+        WriteableMetricStorage.this.recordDouble(value, attributes, context);
+      }
+    };
+  }
+
   /**
    * Returns {@code true} if the storage is actively recording measurements, and {@code false}
    * otherwise (i.e. noop / empty metric storage is installed).
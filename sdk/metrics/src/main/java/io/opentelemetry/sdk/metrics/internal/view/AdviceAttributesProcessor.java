@@ -6,28 +6,22 @@
 package io.opentelemetry.sdk.metrics.internal.view;
 
 import io.opentelemetry.api.common.AttributeKey;
-import io.opentelemetry.api.common.Attributes;
-import io.opentelemetry.context.Context;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-final class AdviceAttributesProcessor extends AttributesProcessor {
+final class AdviceAttributesProcessor extends KeyFilteringAttributesProcessor {
 
   private final Set<AttributeKey<?>> attributeKeys;
 
   AdviceAttributesProcessor(List<AttributeKey<?>> adviceAttributeKeys) {
+    super(/* filteredViews= */ true);
     this.attributeKeys = new HashSet<>(adviceAttributeKeys);
   }
 
   @Override
-  public Attributes process(Attributes incoming, Context context) {
-    return FilteredAttributes.create(incoming, attributeKeys);
-  }
-
-  @Override
-  public boolean usesContext() {
-    return false;
+  boolean includesKey(AttributeKey<?> key) {
+    return attributeKeys.contains(key);
   }
 
   @Override
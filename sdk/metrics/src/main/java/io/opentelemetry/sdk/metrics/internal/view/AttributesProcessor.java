@@ -59,7 +59,30 @@ public abstract class AttributesProcessor {
     if (other instanceof JoinedAttributesProcessor) {
       return ((JoinedAttributesProcessor) other).prepend(this);
     }
-    return new JoinedAttributesProcessor(Arrays.asList(this, other));
+    return join(Arrays.asList(this, other));
+  }
+
+  /**
+   * Joins a sequence of processors, fusing adjacent {@link KeyFilteringAttributesProcessor}s into
+   * one so that attributes are only filtered once.
+   */
+  private static AttributesProcessor join(List<AttributesProcessor> processors) {
+    List<AttributesProcessor> joined = new ArrayList<>(processors.size());
+    for (AttributesProcessor processor : processors) {
+      int last = joined.size() - 1;
+      if (last >= 0
+          && joined.get(last) instanceof KeyFilteringAttributesProcessor
+          && processor instanceof KeyFilteringAttributesProcessor) {
+        joined.set(
+            last,
+            KeyFilteringAttributesProcessor.allOf(
+                (KeyFilteringAttributesProcessor) joined.get(last),
+                (KeyFilteringAttributesProcessor) processor));
+      } else {
+        joined.add(processor);
+      }
+    }
+    return joined.size() == 1 ? joined.get(0) : new JoinedAttributesProcessor(joined);
   }
 
   /** No-op version of attributes processor, returns what it gets. */
@@ -126,24 +149,18 @@ public abstract class AttributesProcessor {
    * Processor which filters attributes according to a {@link AttributeKey#getKey()} {@link
    * Predicate}.
    */
-  private static class AttributeKeyFilteringProcessor extends AttributesProcessor {
+  private static class AttributeKeyFilteringProcessor extends KeyFilteringAttributesProcessor {
 
     private final Predicate<String> nameFilter;
 
     private AttributeKeyFilteringProcessor(Predicate<String> nameFilter) {
+      super(/* filteredViews= */ false);
       this.nameFilter = nameFilter;
     }
 
     @Override
-    public Attributes process(Attributes incoming, Context context) {
-      return incoming.toBuilder()
-          .removeIf(attributeKey -> !nameFilter.test(attributeKey.getKey()))
-          .build();
-    }
-
-    @Override
-    public boolean usesContext() {
-      return false;
+    boolean includesKey(AttributeKey<?> key) {
+      return nameFilter.test(key.getKey());
     }
 
     @Override
@@ -246,14 +263,14 @@ public abstract class AttributesProcessor {
       } else {
         newList.add(other);
       }
-      return new JoinedAttributesProcessor(newList);
+      return join(newList);
     }
 
     AttributesProcessor prepend(AttributesProcessor other) {
       List<AttributesProcessor> newList = new ArrayList<>(processors.size() + 1);
       newList.add(other);
       newList.addAll(processors);
-      return new JoinedAttributesProcessor(newList);
+      return join(newList);
     }
 
     @Override
@@ -33,14 +33,17 @@ public final class Base2ExponentialHistogramAggregation implements Aggregation,
   private static final int DEFAULT_MAX_SCALE = 20;
 
   private static final Aggregation DEFAULT =
-      new Base2ExponentialHistogramAggregation(DEFAULT_MAX_BUCKETS, DEFAULT_MAX_SCALE);
+      new Base2ExponentialHistogramAggregation(
+          DEFAULT_MAX_BUCKETS, DEFAULT_MAX_SCALE, /* striped= */ false);
 
   private final int maxBuckets;
   private final int maxScale;
+  private final boolean striped;
 
-  private Base2ExponentialHistogramAggregation(int maxBuckets, int maxScale) {
+  private Base2ExponentialHistogramAggregation(int maxBuckets, int maxScale, boolean striped) {
     this.maxBuckets = maxBuckets;
     this.maxScale = maxScale;
+    this.striped = striped;
   }
 
   public static Aggregation getDefault() {
@@ -61,7 +64,26 @@ public final class Base2ExponentialHistogramAggregation implements Aggregation,
   public static Aggregation create(int maxBuckets, int maxScale) {
     checkArgument(maxBuckets >= 2, "maxBuckets must be >= 2");
     checkArgument(maxScale <= 20 && maxScale >= -10, "maxScale must be -10 <= x <= 20");
-    return new Base2ExponentialHistogramAggregation(maxBuckets, maxScale);
+    return new Base2ExponentialHistogramAggregation(maxBuckets, maxScale, /* striped= */ false);
+  }
+
+  /**
+   * Aggregations measurements into an {@link MetricDataType#EXPONENTIAL_HISTOGRAM}, where each
+   * series records into per-thread stripes with their own buckets and scale. Stripes are
+   * downscaled to a common scale and merged on collection, rather than synchronizing every
+   * recording on the series. This reduces contention for series recorded to from many threads
+   * concurrently, at the cost of additional memory per contended series.
+   *
+   * @param maxBuckets the max number of positive buckets and negative buckets (max total buckets is
+   *     2 * {@code maxBuckets} + 1 zero bucket).
+   * @param maxScale the maximum and initial scale.
+   * @return the aggregation
+   * @see #create(int, int)
+   */
+  public static Aggregation createStriped(int maxBuckets, int maxScale) {
+    checkArgument(maxBuckets >= 2, "maxBuckets must be >= 2");
+    checkArgument(maxScale <= 20 && maxScale >= -10, "maxScale must be -10 <= x <= 20");
+    return new Base2ExponentialHistogramAggregation(maxBuckets, maxScale, /* striped= */ true);
   }
 
   @Override
@@ -82,7 +104,8 @@ public final class Base2ExponentialHistogramAggregation implements Aggregation,
                             RandomSupplier.platformDefault()))),
             maxBuckets,
             maxScale,
-            memoryMode);
+            memoryMode,
+            striped);
   }
 
   @Override
@@ -102,6 +125,7 @@ public final class Base2ExponentialHistogramAggregation implements Aggregation,
         + maxBuckets
         + ",maxScale="
         + maxScale
+        + (striped ? ",striped" : "")
         + "}";
   }
 }
@@ -29,21 +29,39 @@ public final class ExplicitBucketHistogramAggregation implements Aggregation, Ag
 
   private static final Aggregation DEFAULT =
       new ExplicitBucketHistogramAggregation(
-          ExplicitBucketHistogramUtils.DEFAULT_HISTOGRAM_BUCKET_BOUNDARIES);
+          ExplicitBucketHistogramUtils.DEFAULT_HISTOGRAM_BUCKET_BOUNDARIES,
+          /* striped= */ false);
 
   public static Aggregation getDefault() {
     return DEFAULT;
   }
 
   public static Aggregation create(List<Double> bucketBoundaries) {
-    return new ExplicitBucketHistogramAggregation(bucketBoundaries);
+    return new ExplicitBucketHistogramAggregation(bucketBoundaries, /* striped= */ false);
+  }
+
+  /**
+   * Creates an explicit bucket histogram aggregation whose series record into per-thread stripes
+   * which are merged on collection, rather than synchronizing every recording on a single lock.
+   * This reduces contention for series recorded to from many threads concurrently, at the cost of
+   * additional memory per contended series. May be configured per view via {@code
+   * ViewBuilder#setAggregation(Aggregation)}, or per reader via its {@code
+   * DefaultAggregationSelector}.
+   *
+   * @param bucketBoundaries the bucket boundaries
+   * @return the aggregation
+   */
+  public static Aggregation createStriped(List<Double> bucketBoundaries) {
+    return new ExplicitBucketHistogramAggregation(bucketBoundaries, /* striped= */ true);
   }
 
   private final List<Double> bucketBoundaries;
   private final double[] bucketBoundaryArray;
+  private final boolean striped;
 
-  private ExplicitBucketHistogramAggregation(List<Double> bucketBoundaries) {
+  private ExplicitBucketHistogramAggregation(List<Double> bucketBoundaries, boolean striped) {
     this.bucketBoundaries = bucketBoundaries;
+    this.striped = striped;
     // We need to fail here if our bucket boundaries are ill-configured.
     this.bucketBoundaryArray = ExplicitBucketHistogramUtils.createBoundaryArray(bucketBoundaries);
   }
@@ -63,7 +81,8 @@ public final class ExplicitBucketHistogramAggregation implements Aggregation, Ag
                     ExemplarReservoir.longToDouble(
                         ExemplarReservoir.histogramBucketReservoir(
                             Clock.getDefault(), bucketBoundaries))),
-            memoryMode);
+            memoryMode,
+            striped);
   }
 
   @Override
@@ -79,6 +98,9 @@ public final class ExplicitBucketHistogramAggregation implements Aggregation, Ag
 
   @Override
   public String toString() {
-    return "ExplicitBucketHistogramAggregation(" + bucketBoundaries.toString() + ")";
+    return "ExplicitBucketHistogramAggregation("
+        + bucketBoundaries.toString()
+        + (striped ? ", striped" : "")
+        + ")";
   }
 }
@@ -17,6 +17,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
 /**
@@ -33,6 +34,9 @@ import javax.annotation.Nullable;
 @SuppressWarnings("unchecked")
 abstract class FilteredAttributes implements Attributes {
 
+  /** The most entries the source of {@link #create(Object[], int)} may have. */
+  static final int MAX_SMALL_SOURCE_SIZE = SmallFilteredAttributes.BITS_PER_INTEGER;
+
   // Backing source data from ImmutableKeyValuePairs.data. This array MUST NOT be mutated.
   private final Object[] sourceData;
   private final int hashcode;
@@ -52,8 +56,20 @@ abstract class FilteredAttributes implements Attributes {
    *     implementation.
    * @param includedKeys the set of attribute keys to include in the output.
    */
-  @SuppressWarnings("NullAway")
   static Attributes create(Attributes source, Set<AttributeKey<?>> includedKeys) {
+    return create(source, includedKeys::contains);
+  }
+
+  /**
+   * Create a {@link FilteredAttributes} instance.
+   *
+   * @param source the source attributes, which SHOULD be based on the standard {@link
+   *     ImmutableKeyValuePairs}. If not, the source will first be converted to the standard
+   *     implementation.
+   * @param includedKeys a filter for which attribute keys to include in the output.
+   */
+  @SuppressWarnings("NullAway")
+  static Attributes create(Attributes source, Predicate<AttributeKey<?>> includedKeys) {
     // Convert alternative implementations of Attributes to standard implementation.
     // This is required for proper functioning of equals and hashcode.
     if (!(source instanceof ImmutableKeyValuePairs)) {
@@ -63,25 +79,25 @@ abstract class FilteredAttributes implements Attributes {
       throw new IllegalStateException(
           "Expected ImmutableKeyValuePairs based implementation of Attributes. This is a programming error.");
     }
-    // Compute filteredIndices (and filteredIndicesBitSet if needed) during initialization. Compute
-    // hashcode at the same time to avoid iteration later.
     Object[] sourceData = ((ImmutableKeyValuePairs<?, ?>) source).getData();
-    int filteredIndices = 0;
-    BitSet filteredIndicesBitSet =
-        source.size() > SmallFilteredAttributes.BITS_PER_INTEGER ? new BitSet(source.size()) : null;
+    if (source.size() <= MAX_SMALL_SOURCE_SIZE) {
+      int filteredIndices = 0;
+      for (int i = 0; i < sourceData.length; i += 2) {
+        if (!includedKeys.test((AttributeKey<?>) sourceData[i])) {
+          filteredIndices = filteredIndices | (1 << (i / 2));
+        }
+      }
+      return create(sourceData, filteredIndices);
+    }
+    // Compute filteredIndicesBitSet during initialization. Compute hashcode at the same time to
+    // avoid iteration later.
+    BitSet filteredIndicesBitSet = new BitSet(source.size());
     int hashcode = 1;
     int size = 0;
     for (int i = 0; i < sourceData.length; i += 2) {
-      int filterIndex = i / 2;
-      // If the sourceData key isn't present in includedKeys, record the exclusion in
-      // filteredIndices or filteredIndicesBitSet (depending on size)
-      if (!includedKeys.contains(sourceData[i])) {
-        // Record
-        if (filteredIndicesBitSet != null) {
-          filteredIndicesBitSet.set(filterIndex);
-        } else {
-          filteredIndices = filteredIndices | (1 << filterIndex);
-        }
+      // If the sourceData key isn't included, record the exclusion in filteredIndicesBitSet
+      if (!includedKeys.test((AttributeKey<?>) sourceData[i])) {
+        filteredIndicesBitSet.set(i / 2);
       } else { // The key-value is included in the output, record in the hashcode and size.
         hashcode = 31 * hashcode + sourceData[i].hashCode();
         hashcode = 31 * hashcode + sourceData[i + 1].hashCode();
@@ -92,9 +108,29 @@ abstract class FilteredAttributes implements Attributes {
     if (size == 0) {
       return Attributes.empty();
     }
-    return filteredIndicesBitSet != null
-        ? new RegularFilteredAttributes(sourceData, hashcode, size, filteredIndicesBitSet)
-        : new SmallFilteredAttributes(sourceData, hashcode, size, filteredIndices);
+    return new RegularFilteredAttributes(sourceData, hashcode, size, filteredIndicesBitSet);
+  }
+
+  /**
+   * Create a {@link FilteredAttributes} instance from the data of a standard {@link
+   * ImmutableKeyValuePairs} with at most {@link #MAX_SMALL_SOURCE_SIZE} entries, excluding the
+   * entries whose bit is set in {@code filteredIndices}.
+   */
+  static Attributes create(Object[] sourceData, int filteredIndices) {
+    int hashcode = 1;
+    int size = 0;
+    for (int i = 0; i < sourceData.length; i += 2) {
+      if ((filteredIndices & (1 << (i / 2))) == 0) {
+        hashcode = 31 * hashcode + sourceData[i].hashCode();
+        hashcode = 31 * hashcode + sourceData[i + 1].hashCode();
+        size++;
+      }
+    }
+    // If size is 0, short circuit and return Attributes.empty()
+    if (size == 0) {
+      return Attributes.empty();
+    }
+    return new SmallFilteredAttributes(sourceData, hashcode, size, filteredIndices);
   }
 
   /**
@@ -0,0 +1,216 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.internal.view;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.internal.ImmutableKeyValuePairs;
+import io.opentelemetry.context.Context;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A processor which only removes attributes, keeping those whose keys are included by {@link
+ * #includesKey(AttributeKey)}. Its output is either standard {@link Attributes}, which equal
+ * attributes built any other way, or a {@link FilteredAttributes} view of the input, which only
+ * equals other {@link FilteredAttributes}.
+ *
+ * <p>Since the output only depends on which keys the input has, the filter is compiled for each
+ * layout of input keys into a bitmask of the slots to exclude, so filtering an input with a known
+ * layout doesn't call {@link #includesKey(AttributeKey)} at all. The output is also cached by the
+ * identity of the input, so repeatedly processing the same {@link Attributes} instance allocates
+ * nothing. The cache only weakly references its inputs, but a {@link FilteredAttributes} output
+ * references the entries of its input until it's evicted by another input. Adjacent key filters of
+ * a {@link AttributesProcessor#then(AttributesProcessor)} chain are fused into one, so their
+ * outputs aren't filtered again.
+ */
+abstract class KeyFilteringAttributesProcessor extends AttributesProcessor {
+
+  private static final int LAYOUT_CACHE_SIZE = 16;
+  private static final int OUTPUT_CACHE_SIZE = 64;
+
+  // Both caches are written without synchronization. Their entries are immutable, so a racing
+  // reader either sees a complete entry or misses and recomputes it.
+  private final Layout[] layoutCache = new Layout[LAYOUT_CACHE_SIZE];
+  private final CachedOutput[] outputCache = new CachedOutput[OUTPUT_CACHE_SIZE];
+  private final boolean filteredViews;
+
+  /**
+   * Creates a processor whose outputs are {@link FilteredAttributes} views of their inputs if
+   * {@code filteredViews}, or standard {@link Attributes} otherwise.
+   */
+  KeyFilteringAttributesProcessor(boolean filteredViews) {
+    this.filteredViews = filteredViews;
+  }
+
+  /** Returns true if attributes with the {@code key} are kept. */
+  abstract boolean includesKey(AttributeKey<?> key);
+
+  /**
+   * Returns a processor which only keeps attributes whose keys are included by both filters. Its
+   * outputs are only {@link FilteredAttributes} views if those of both filters are.
+   */
+  static KeyFilteringAttributesProcessor allOf(
+      KeyFilteringAttributesProcessor first, KeyFilteringAttributesProcessor second) {
+    List<KeyFilteringAttributesProcessor> filters = new ArrayList<>();
+    addFilters(filters, first);
+    addFilters(filters, second);
+    return new AllOfKeyFilteringProcessor(filters);
+  }
+
+  private static void addFilters(
+      List<KeyFilteringAttributesProcessor> filters, KeyFilteringAttributesProcessor filter) {
+    if (filter instanceof AllOfKeyFilteringProcessor) {
+      filters.addAll(((AllOfKeyFilteringProcessor) filter).filters);
+    } else {
+      filters.add(filter);
+    }
+  }
+
+  @Override
+  public final Attributes process(Attributes incoming, Context context) {
+    // Only cache immutable attributes, as the output is derived from their content
+    if (!(incoming instanceof ImmutableKeyValuePairs)) {
+      return filter(incoming);
+    }
+    Object[] sourceData = ((ImmutableKeyValuePairs<?, ?>) incoming).getData();
+    Layout layout =
+        sourceData.length / 2 <= FilteredAttributes.MAX_SMALL_SOURCE_SIZE
+            ? getLayout(sourceData)
+            : null;
+    // Standard outputs must not be mixed with views, which never equal them
+    if (!filteredViews && layout != null && layout.filteredIndices == 0) {
+      return incoming;
+    }
+    int outputIndex = System.identityHashCode(incoming) & (OUTPUT_CACHE_SIZE - 1);
+    CachedOutput cachedOutput = outputCache[outputIndex];
+    if (cachedOutput != null && cachedOutput.get() == incoming) {
+      return cachedOutput.output;
+    }
+    Attributes output;
+    if (layout == null) {
+      output = filter(incoming);
+    } else if (filteredViews) {
+      output = FilteredAttributes.create(sourceData, layout.filteredIndices);
+    } else {
+      output = build(sourceData, layout.filteredIndices);
+    }
+    outputCache[outputIndex] = new CachedOutput(incoming, output);
+    return output;
+  }
+
+  private Attributes filter(Attributes incoming) {
+    if (filteredViews) {
+      return FilteredAttributes.create(incoming, this::includesKey);
+    }
+    return incoming.toBuilder().removeIf(key -> !includesKey(key)).build();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Attributes build(Object[] sourceData, int filteredIndices) {
+    AttributesBuilder builder = Attributes.builder();
+    for (int i = 0; i < sourceData.length; i += 2) {
+      if ((filteredIndices & (1 << (i / 2))) == 0) {
+        builder.put((AttributeKey<Object>) sourceData[i], sourceData[i + 1]);
+      }
+    }
+    return builder.build();
+  }
+
+  private Layout getLayout(Object[] sourceData) {
+    // Attribute keys cache their hash codes
+    int hash = 1;
+    for (int i = 0; i < sourceData.length; i += 2) {
+      hash = 31 * hash + sourceData[i].hashCode();
+    }
+    int index = (hash ^ (hash >>> 16)) & (LAYOUT_CACHE_SIZE - 1);
+    Layout layout = layoutCache[index];
+    if (layout == null || !layout.matches(sourceData)) {
+      layout = compile(sourceData);
+      layoutCache[index] = layout;
+    }
+    return layout;
+  }
+
+  private Layout compile(Object[] sourceData) {
+    Object[] keys = new Object[sourceData.length / 2];
+    int filteredIndices = 0;
+    for (int i = 0; i < keys.length; i++) {
+      AttributeKey<?> key = (AttributeKey<?>) sourceData[2 * i];
+      keys[i] = key;
+      if (!includesKey(key)) {
+        filteredIndices |= 1 << i;
+      }
+    }
+    return new Layout(keys, filteredIndices);
+  }
+
+  @Override
+  public final boolean usesContext() {
+    return false;
+  }
+
+  /** The keys of an input, and the bitmask of the slots of those keys which are excluded. */
+  private static final class Layout {
+    private final Object[] keys;
+    private final int filteredIndices;
+
+    private Layout(Object[] keys, int filteredIndices) {
+      this.keys = keys;
+      this.filteredIndices = filteredIndices;
+    }
+
+    private boolean matches(Object[] sourceData) {
+      if (sourceData.length != 2 * keys.length) {
+        return false;
+      }
+      for (int i = 0; i < keys.length; i++) {
+        Object key = sourceData[2 * i];
+        if (keys[i] != key && !keys[i].equals(key)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /** An output, weakly referencing the input it was processed from. */
+  private static final class CachedOutput extends WeakReference<Attributes> {
+    private final Attributes output;
+
+    private CachedOutput(Attributes input, Attributes output) {
+      super(input);
+      this.output = output;
+    }
+  }
+
+  /** Processor which only keeps attributes whose keys are included by all of its filters. */
+  private static final class AllOfKeyFilteringProcessor extends KeyFilteringAttributesProcessor {
+    private final List<KeyFilteringAttributesProcessor> filters;
+
+    private AllOfKeyFilteringProcessor(List<KeyFilteringAttributesProcessor> filters) {
+      super(filters.stream().allMatch(filter -> filter.filteredViews));
+      this.filters = filters;
+    }
+
+    @Override
+    boolean includesKey(AttributeKey<?> key) {
+      for (KeyFilteringAttributesProcessor filter : filters) {
+        if (!filter.includesKey(key)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public String toString() {
+      return "AllOfKeyFilteringProcessor{filters=" + filters + "}";
+    }
+  }
+}
@@ -12,8 +12,11 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.github.netmikey.logunit.api.LogCapturer;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.incubator.metrics.BoundLongCounter;
+import io.opentelemetry.api.incubator.metrics.ExtendedLongCounter;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.context.Context;
 import io.opentelemetry.internal.testing.slf4j.SuppressLogger;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.resources.Resource;
@@ -164,6 +167,31 @@ class SdkLongCounterTest {
         "Counters can only increase. Instrument testCounter has recorded a negative value.");
   }
 
+  @Test
+  @SuppressLogger(SdkLongCounter.class)
+  void bind() {
+    ExtendedLongCounter longCounter =
+        (ExtendedLongCounter) sdkMeter.counterBuilder("testCounter").build();
+    Attributes attributes = Attributes.builder().put("K", "V").build();
+    BoundLongCounter boundCounter = longCounter.bind(attributes);
+    boundCounter.add(12);
+    boundCounter.add(-45);
+    longCounter.add(10, Attributes.builder().put("K", "V").build());
+    boundCounter.add(3, Context.root());
+    assertThat(sdkMeterReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasName("testCounter")
+                    .hasLongSumSatisfying(
+                        longSum ->
+                            longSum.hasPointsSatisfying(
+                                point ->
+                                    point.hasValue(25).hasAttributes(attributeEntry("K", "V")))));
+    logs.assertContains(
+        "Counters can only increase. Instrument testCounter has recorded a negative value.");
+  }
+
   @Test
   void stressTest() {
     LongCounter longCounter = sdkMeter.counterBuilder("testCounter").build();
@@ -7,6 +7,7 @@ package io.opentelemetry.sdk.metrics;
 
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.attributeEntry;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -37,6 +38,7 @@ import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import io.opentelemetry.sdk.testing.time.TestClock;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
@@ -553,6 +555,169 @@ class SdkMeterProviderTest {
     }
   }
 
+  @Test
+  void collectAllMetrics_Parallel() {
+    InMemoryMetricReader sequentialReader = InMemoryMetricReader.createDelta();
+    SdkMeterProvider sequentialMeterProvider =
+        SdkMeterProvider.builder()
+            .setClock(testClock)
+            .setResource(RESOURCE)
+            .registerMetricReader(sequentialReader)
+            .build();
+    InMemoryMetricReader parallelReader = InMemoryMetricReader.createDelta();
+    SdkMeterProviderBuilder parallelBuilder =
+        SdkMeterProvider.builder()
+            .setClock(testClock)
+            .setResource(RESOURCE)
+            .registerMetricReader(parallelReader);
+    SdkMeterProviderUtil.setCollectionParallelism(parallelBuilder, 4);
+    SdkMeterProvider parallelMeterProvider = parallelBuilder.build();
+
+    // Enough instruments in one meter for its storages to be split across tasks
+    for (SdkMeterProvider meterProvider :
+        Arrays.asList(sequentialMeterProvider, parallelMeterProvider)) {
+      for (int i = 0; i < 10; i++) {
+        Meter meter = meterProvider.get("meter" + i);
+        for (int j = 0; j < 10 * i; j++) {
+          meter.counterBuilder("counter" + j).build().add(j, Attributes.empty());
+          long value = j;
+          meter
+              .gaugeBuilder("gauge" + j)
+              .ofLongs()
+              .buildWithCallback(measurement -> measurement.record(value));
+        }
+      }
+    }
+
+    List<MetricData> expected = new ArrayList<>(sequentialReader.collectAllMetrics());
+    assertThat(expected).hasSize(900);
+    assertThat(parallelReader.collectAllMetrics()).containsExactlyElementsOf(expected);
+    // Only the gauges have points in the next delta collection
+    expected = new ArrayList<>(sequentialReader.collectAllMetrics());
+    assertThat(expected).hasSize(450);
+    assertThat(parallelReader.collectAllMetrics()).containsExactlyElementsOf(expected);
+    sequentialMeterProvider.close();
+    parallelMeterProvider.close();
+  }
+
+  @Test
+  void collectAllMetrics_CallbackTimeout() {
+    InMemoryMetricReader reader = InMemoryMetricReader.create();
+    SdkMeterProviderBuilder builder =
+        SdkMeterProvider.builder()
+            .setClock(testClock)
+            .setResource(RESOURCE)
+            .registerMetricReader(reader);
+    SdkMeterProviderUtil.setCallbackTimeout(builder, Duration.ofSeconds(10));
+    SdkMeterProvider meterProvider = builder.build();
+    meterProvider
+        .get("meter")
+        .gaugeBuilder("gauge")
+        .ofLongs()
+        .buildWithCallback(measurement -> measurement.record(5));
+
+    reader.collectAllMetrics();
+    assertThat(reader.collectAllMetrics())
+        .satisfiesExactlyInAnyOrder(
+            metric ->
+                assertThat(metric)
+                    .hasName("gauge")
+                    .hasLongGaugeSatisfying(
+                        gauge -> gauge.hasPointsSatisfying(point -> point.hasValue(5))),
+            metric ->
+                assertThat(metric)
+                    .hasInstrumentationScope(
+                        InstrumentationScopeInfo.create("io.opentelemetry.sdk.metrics"))
+                    .hasName("otel.sdk.metric.callback.duration")
+                    .hasUnit("s")
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point ->
+                                    point
+                                        .hasCount(2)
+                                        .hasAttributes(
+                                            attributeEntry("otel.scope.name", "meter"),
+                                            attributeEntry("timed_out", false)))));
+    meterProvider.close();
+  }
+
+  @Test
+  void setCallbackTimeout_Invalid() {
+    assertThatThrownBy(
+            () ->
+                SdkMeterProviderUtil.setCallbackTimeout(
+                    SdkMeterProvider.builder(), Duration.ZERO))
+        .isInstanceOf(IllegalStateException.class)
+        .hasRootCauseInstanceOf(IllegalArgumentException.class)
+        .hasRootCauseMessage("callbackTimeout must be positive");
+  }
+
+  @Test
+  void collectAllMetrics_ThreadLocalSumAggregation() throws InterruptedException {
+    InMemoryMetricReader reader = InMemoryMetricReader.createDelta();
+    SdkMeterProviderBuilder builder =
+        SdkMeterProvider.builder()
+            .setClock(testClock)
+            .setResource(RESOURCE)
+            .registerMetricReader(reader);
+    SdkMeterProviderUtil.setThreadLocalSumAggregation(builder, true);
+    SdkMeterProvider meterProvider = builder.build();
+    Meter meter = meterProvider.get("meter");
+    LongCounter counter = meter.counterBuilder("counter").build();
+    DoubleHistogram doubleHistogram = meter.histogramBuilder("histogram").build();
+    Attributes attributes = Attributes.builder().put("key", "value").build();
+
+    Runnable record =
+        () -> {
+          for (int i = 0; i < 100; i++) {
+            counter.add(1, attributes);
+            doubleHistogram.record(1, attributes);
+          }
+        };
+    Thread thread = new Thread(record);
+    thread.start();
+    record.run();
+    thread.join();
+
+    assertThat(reader.collectAllMetrics())
+        .satisfiesExactlyInAnyOrder(
+            metric ->
+                assertThat(metric)
+                    .hasName("counter")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.hasPointsSatisfying(
+                                point -> point.hasValue(200).hasAttributes(attributes))),
+            metric ->
+                assertThat(metric)
+                    .hasName("histogram")
+                    .hasHistogramSatisfying(
+                        histogram ->
+                            histogram.hasPointsSatisfying(
+                                point -> point.hasCount(200).hasAttributes(attributes))));
+
+    // Sums are reset on each collection like any other DELTA sums
+    counter.add(5, attributes);
+    assertThat(reader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasName("counter")
+                    .hasLongSumSatisfying(
+                        sum -> sum.hasPointsSatisfying(point -> point.hasValue(5))));
+    meterProvider.close();
+  }
+
+  @Test
+  void setCollectionParallelism_Invalid() {
+    assertThatThrownBy(
+            () -> SdkMeterProviderUtil.setCollectionParallelism(SdkMeterProvider.builder(), 0))
+        .isInstanceOf(IllegalStateException.class)
+        .hasRootCauseInstanceOf(IllegalArgumentException.class)
+        .hasRootCauseMessage("collectionParallelism must be positive");
+  }
+
   @Test
   void viewSdk_filterAttributes() {
     InMemoryMetricReader reader = InMemoryMetricReader.create();
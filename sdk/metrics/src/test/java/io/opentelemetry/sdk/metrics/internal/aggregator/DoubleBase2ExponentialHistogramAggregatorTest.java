@@ -150,6 +150,65 @@ class DoubleBase2ExponentialHistogramAggregatorTest {
     assertThat(negativeCounts.get(valueToIndex(expectedScale, 1.0) - negOffset)).isEqualTo(1);
   }
 
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void testRecordings_Striped(MemoryMode memoryMode) {
+    aggregator =
+        new DoubleBase2ExponentialHistogramAggregator(
+            ExemplarReservoir::doubleNoSamples, 160, 20, memoryMode, /* striped= */ true);
+
+    AggregatorHandle<ExponentialHistogramPointData, DoubleExemplarData> aggregatorHandle =
+        aggregator.createHandle();
+    assertThat(aggregatorHandle)
+        .isInstanceOf(DoubleBase2ExponentialHistogramAggregator.StripedHandle.class);
+    aggregatorHandle.recordDouble(0.5);
+    aggregatorHandle.recordDouble(1.0);
+    aggregatorHandle.recordDouble(12.0);
+    aggregatorHandle.recordDouble(15.213);
+    aggregatorHandle.recordDouble(12.0);
+    aggregatorHandle.recordDouble(-13.2);
+    aggregatorHandle.recordDouble(-2.01);
+    aggregatorHandle.recordDouble(-1);
+    aggregatorHandle.recordDouble(0.0);
+    aggregatorHandle.recordLong(0);
+    aggregatorHandle.recordDouble(Double.NaN);
+
+    ExponentialHistogramPointData point =
+        aggregatorHandle.aggregateThenMaybeReset(0, 1, Attributes.empty(), /* reset= */ true);
+    List<Long> positiveCounts =
+        Objects.requireNonNull(point).getPositiveBuckets().getBucketCounts();
+    List<Long> negativeCounts = point.getNegativeBuckets().getBucketCounts();
+    int expectedScale = 5; // should be downscaled from 20 to 5 after recordings
+
+    assertThat(point.getScale()).isEqualTo(expectedScale);
+    assertThat(point.getPositiveBuckets().getScale()).isEqualTo(expectedScale);
+    assertThat(point.getNegativeBuckets().getScale()).isEqualTo(expectedScale);
+    assertThat(point.getZeroCount()).isEqualTo(2);
+    assertThat(point.getCount()).isEqualTo(10);
+    assertThat(point.getMin()).isEqualTo(-13.2);
+    assertThat(point.getMax()).isEqualTo(15.213);
+
+    int posOffset = point.getPositiveBuckets().getOffset();
+    assertThat(point.getPositiveBuckets().getTotalCount()).isEqualTo(5);
+    assertThat(positiveCounts.get(valueToIndex(expectedScale, 0.5) - posOffset)).isEqualTo(1);
+    assertThat(positiveCounts.get(valueToIndex(expectedScale, 1.0) - posOffset)).isEqualTo(1);
+    assertThat(positiveCounts.get(valueToIndex(expectedScale, 12.0) - posOffset)).isEqualTo(2);
+    assertThat(positiveCounts.get(valueToIndex(expectedScale, 15.213) - posOffset)).isEqualTo(1);
+
+    int negOffset = point.getNegativeBuckets().getOffset();
+    assertThat(point.getNegativeBuckets().getTotalCount()).isEqualTo(3);
+    assertThat(negativeCounts.get(valueToIndex(expectedScale, 13.2) - negOffset)).isEqualTo(1);
+    assertThat(negativeCounts.get(valueToIndex(expectedScale, 2.01) - negOffset)).isEqualTo(1);
+    assertThat(negativeCounts.get(valueToIndex(expectedScale, 1.0) - negOffset)).isEqualTo(1);
+
+    // Reset restores the max scale
+    aggregatorHandle.recordDouble(1.0);
+    point = aggregatorHandle.aggregateThenMaybeReset(0, 1, Attributes.empty(), /* reset= */ true);
+    assertThat(point.getScale()).isEqualTo(20);
+    assertThat(point.getPositiveBuckets().getTotalCount()).isEqualTo(1);
+    assertThat(point.getNegativeBuckets().getTotalCount()).isEqualTo(0);
+  }
+
   @ParameterizedTest
   @EnumSource(MemoryMode.class)
   void testInvalidRecording(MemoryMode memoryMode) {
@@ -479,6 +538,67 @@ class DoubleBase2ExponentialHistogramAggregatorTest {
         .isEqualTo(numberOfUpdates);
   }
 
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void testMultithreadedUpdates_Striped(MemoryMode memoryMode) throws InterruptedException {
+    aggregator =
+        new DoubleBase2ExponentialHistogramAggregator(
+            ExemplarReservoir::doubleNoSamples, 160, 20, memoryMode, /* striped= */ true);
+
+    AggregatorHandle<ExponentialHistogramPointData, DoubleExemplarData> aggregatorHandle =
+        aggregator.createHandle();
+    ImmutableList<Double> updates = ImmutableList.of(0D, 0.1D, -0.1D, 1D, -1D, 100D);
+    int numberOfThreads = updates.size();
+    int numberOfUpdates = 10000;
+    ThreadPoolExecutor executor =
+        (ThreadPoolExecutor) Executors.newFixedThreadPool(numberOfThreads);
+
+    executor.invokeAll(
+        updates.stream()
+            .map(
+                v ->
+                    Executors.callable(
+                        () -> {
+                          for (int j = 0; j < numberOfUpdates; j++) {
+                            aggregatorHandle.recordDouble(v);
+                            if (ThreadLocalRandom.current().nextInt(10) == 0) {
+                              aggregatorHandle.aggregateThenMaybeReset(
+                                  0, 1, Attributes.empty(), /* reset= */ false);
+                            }
+                          }
+                        }))
+            .collect(Collectors.toList()));
+
+    ExponentialHistogramPointData point =
+        Objects.requireNonNull(
+            aggregatorHandle.aggregateThenMaybeReset(0, 1, Attributes.empty(), /* reset= */ false));
+    assertThat(point.getZeroCount()).isEqualTo(numberOfUpdates);
+    assertThat(point.getSum()).isCloseTo(100.0D * 10000, Offset.offset(0.0001)); // float error
+    assertThat(point.getScale()).isEqualTo(3);
+    assertThat(point.getPositiveBuckets().getScale()).isEqualTo(3);
+    assertThat(point.getNegativeBuckets().getScale()).isEqualTo(3);
+    ExponentialHistogramBuckets positiveBuckets = point.getPositiveBuckets();
+    assertThat(positiveBuckets.getTotalCount()).isEqualTo(numberOfUpdates * 3);
+    assertThat(positiveBuckets.getOffset()).isEqualTo(-27);
+    ExponentialHistogramBuckets negativeBuckets = point.getNegativeBuckets();
+    assertThat(negativeBuckets.getTotalCount()).isEqualTo(numberOfUpdates * 2);
+    assertThat(negativeBuckets.getOffset()).isEqualTo(-27);
+
+    List<Long> posCounts = positiveBuckets.getBucketCounts();
+    assertThat(posCounts.get(valueToIndex(point.getScale(), 0.1) - positiveBuckets.getOffset()))
+        .isEqualTo(numberOfUpdates);
+    assertThat(posCounts.get(valueToIndex(point.getScale(), 1) - positiveBuckets.getOffset()))
+        .isEqualTo(numberOfUpdates);
+    assertThat(posCounts.get(valueToIndex(point.getScale(), 100) - positiveBuckets.getOffset()))
+        .isEqualTo(numberOfUpdates);
+
+    List<Long> negCounts = negativeBuckets.getBucketCounts();
+    assertThat(negCounts.get(valueToIndex(point.getScale(), 0.1) - negativeBuckets.getOffset()))
+        .isEqualTo(numberOfUpdates);
+    assertThat(negCounts.get(valueToIndex(point.getScale(), 1) - negativeBuckets.getOffset()))
+        .isEqualTo(numberOfUpdates);
+  }
+
   @Test
   public void verifyMutableDataUsedInReusableDataMemoryMode() {
     initialize(MemoryMode.REUSABLE_DATA);
@@ -56,6 +56,34 @@ class DoubleBase2ExponentialHistogramBucketsTest {
     assertThat(b.getOffset()).isEqualTo(-1);
   }
 
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void merge_Valid(MemoryMode memoryMode) {
+    DoubleBase2ExponentialHistogramBuckets a = newBuckets(memoryMode);
+    a.downscale(20);
+    a.record(1);
+    a.record(2);
+    a.record(4);
+    DoubleBase2ExponentialHistogramBuckets b = newBuckets(memoryMode);
+    b.downscale(19);
+    b.record(4);
+
+    // Merging finer scaled buckets into coarser scaled buckets
+    a.merge(b);
+    assertThat(a.getScale()).isEqualTo(0);
+    assertThat(a.getTotalCount()).isEqualTo(4);
+    assertThat(a.getBucketCounts()).isEqualTo(Arrays.asList(1L, 1L, 2L));
+    assertThat(a.getOffset()).isEqualTo(-1);
+    assertThat(b.getScale()).isEqualTo(1);
+    assertThat(b.getTotalCount()).isEqualTo(1);
+
+    // Merging coarser scaled buckets into finer scaled (and empty) buckets
+    DoubleBase2ExponentialHistogramBuckets c = newBuckets(memoryMode);
+    c.merge(a);
+    assertThat(c).isEqualTo(a);
+    assertThat(c.getBucketCounts()).isEqualTo(Arrays.asList(1L, 1L, 2L));
+  }
+
   @ParameterizedTest
   @EnumSource(MemoryMode.class)
   void downscale_NegativeIncrement_Throws(MemoryMode memoryMode) {
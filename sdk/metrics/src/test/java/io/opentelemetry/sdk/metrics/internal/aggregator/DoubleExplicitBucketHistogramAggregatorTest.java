@@ -26,10 +26,13 @@ import io.opentelemetry.sdk.metrics.internal.data.MutableHistogramPointData;
 import io.opentelemetry.sdk.metrics.internal.descriptor.MetricDescriptor;
 import io.opentelemetry.sdk.metrics.internal.exemplar.ExemplarReservoir;
 import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.Collectors;
@@ -71,6 +74,68 @@ class DoubleExplicitBucketHistogramAggregatorTest {
         .isInstanceOf(DoubleExplicitBucketHistogramAggregator.Handle.class);
   }
 
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void createHandle_Striped(MemoryMode memoryMode) {
+    aggregator =
+        new DoubleExplicitBucketHistogramAggregator(
+            boundaries, ExemplarReservoir::doubleNoSamples, memoryMode, /* striped= */ true);
+    assertThat(aggregator.createHandle())
+        .isInstanceOf(DoubleExplicitBucketHistogramAggregator.StripedHandle.class);
+  }
+
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void testRecordings_Striped(MemoryMode memoryMode) {
+    aggregator =
+        new DoubleExplicitBucketHistogramAggregator(
+            boundaries, ExemplarReservoir::doubleNoSamples, memoryMode, /* striped= */ true);
+    AggregatorHandle<HistogramPointData, DoubleExemplarData> aggregatorHandle =
+        aggregator.createHandle();
+    aggregatorHandle.recordLong(20);
+    aggregatorHandle.recordLong(5);
+    aggregatorHandle.recordLong(150);
+    aggregatorHandle.recordLong(2000);
+    assertThat(
+            aggregatorHandle.aggregateThenMaybeReset(0, 1, Attributes.empty(), /* reset= */ true))
+        .isEqualTo(
+            ImmutableHistogramPointData.create(
+                0,
+                1,
+                Attributes.empty(),
+                2175,
+                /* hasMin= */ true,
+                5d,
+                /* hasMax= */ true,
+                2000d,
+                boundariesList,
+                Arrays.asList(1L, 1L, 1L, 1L)));
+
+    aggregatorHandle.recordLong(0);
+    assertThat(
+            aggregatorHandle.aggregateThenMaybeReset(0, 1, Attributes.empty(), /* reset= */ true))
+        .isEqualTo(
+            ImmutableHistogramPointData.create(
+                0,
+                1,
+                Attributes.empty(),
+                0,
+                /* hasMin= */ true,
+                0d,
+                /* hasMax= */ true,
+                0d,
+                boundariesList,
+                Arrays.asList(1L, 0L, 0L, 0L)));
+    assertThat(
+            aggregatorHandle.aggregateThenMaybeReset(0, 1, Attributes.empty(), /* reset= */ true))
+        .satisfies(
+            point -> {
+              assertThat(point.getCount()).isEqualTo(0);
+              assertThat(point.hasMin()).isFalse();
+              assertThat(point.hasMax()).isFalse();
+            });
+  }
+
   @ParameterizedTest
   @EnumSource(MemoryMode.class)
   void testRecordings(MemoryMode memoryMode) {
@@ -303,6 +368,101 @@ class DoubleExplicitBucketHistogramAggregatorTest {
                 Arrays.asList(50000L, 50000L, 0L, 0L)));
   }
 
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void testMultithreadedUpdates_Striped(MemoryMode memoryMode) throws InterruptedException {
+    aggregator =
+        new DoubleExplicitBucketHistogramAggregator(
+            boundaries, ExemplarReservoir::doubleNoSamples, memoryMode, /* striped= */ true);
+    AggregatorHandle<HistogramPointData, DoubleExemplarData> aggregatorHandle =
+        aggregator.createHandle();
+    ImmutableList<Long> updates = ImmutableList.of(1L, 2L, 3L, 5L, 7L, 11L, 13L, 17L, 19L, 23L);
+    int numberOfThreads = updates.size();
+    int numberOfUpdates = 10000;
+    ThreadPoolExecutor executor =
+        (ThreadPoolExecutor) Executors.newFixedThreadPool(numberOfThreads);
+
+    executor.invokeAll(
+        updates.stream()
+            .map(
+                v ->
+                    Executors.callable(
+                        () -> {
+                          for (int j = 0; j < numberOfUpdates; j++) {
+                            aggregatorHandle.recordLong(v);
+                          }
+                        }))
+            .collect(Collectors.toList()));
+
+    assertThat(
+            aggregatorHandle.aggregateThenMaybeReset(0, 1, Attributes.empty(), /* reset= */ false))
+        .isEqualTo(
+            ImmutableHistogramPointData.create(
+                0,
+                1,
+                Attributes.empty(),
+                1010000,
+                /* hasMin= */ true,
+                1d,
+                /* hasMax= */ true,
+                23d,
+                boundariesList,
+                Arrays.asList(50000L, 50000L, 0L, 0L)));
+  }
+
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void testCollectionDuringUpdates_Striped(MemoryMode memoryMode) throws Exception {
+    aggregator =
+        new DoubleExplicitBucketHistogramAggregator(
+            boundaries, ExemplarReservoir::doubleNoSamples, memoryMode, /* striped= */ true);
+    AggregatorHandle<HistogramPointData, DoubleExemplarData> aggregatorHandle =
+        aggregator.createHandle();
+    int numberOfThreads = 4;
+    int numberOfUpdates = 100000;
+    ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < numberOfThreads; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int j = 0; j < numberOfUpdates; j++) {
+                    aggregatorHandle.recordLong(7);
+                  }
+                }));
+      }
+
+      // Points collected while recording must never include part of a recording
+      long deltaCount = 0;
+      boolean reset = false;
+      while (!futures.stream().allMatch(Future::isDone)) {
+        HistogramPointData point =
+            aggregatorHandle.aggregateThenMaybeReset(0, 1, Attributes.empty(), reset);
+        long count = point.getCounts().get(0);
+        assertThat(point.getCount()).isEqualTo(count);
+        assertThat(point.getSum()).isEqualTo(7d * count);
+        if (count > 0) {
+          assertThat(point.getMin()).isEqualTo(7d);
+          assertThat(point.getMax()).isEqualTo(7d);
+        }
+        if (reset) {
+          deltaCount += count;
+        }
+        reset = !reset;
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+
+      HistogramPointData point =
+          aggregatorHandle.aggregateThenMaybeReset(0, 1, Attributes.empty(), /* reset= */ true);
+      assertThat(deltaCount + point.getCount()).isEqualTo((long) numberOfThreads * numberOfUpdates);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test
   void testReusableDataMemoryMode() {
     init(MemoryMode.REUSABLE_DATA);
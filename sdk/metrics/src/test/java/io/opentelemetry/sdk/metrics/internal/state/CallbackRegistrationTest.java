@@ -17,7 +17,9 @@ import static org.mockito.Mockito.when;
 import com.google.common.util.concurrent.AtomicDouble;
 import io.github.netmikey.logunit.api.LogCapturer;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.internal.testing.slf4j.SuppressLogger;
+import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.metrics.InstrumentType;
@@ -29,6 +31,8 @@ import io.opentelemetry.sdk.metrics.internal.export.RegisteredReader;
 import io.opentelemetry.sdk.metrics.internal.view.ViewRegistry;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -246,4 +250,102 @@ class CallbackRegistrationTest {
 
     logs.assertContains("An exception occurred invoking callback");
   }
+
+  @Test
+  void invokeCallback_WithExecutor() {
+    CallbackExecutor callbackExecutor =
+        CallbackExecutor.create(
+            TimeUnit.SECONDS.toNanos(10), Clock.getDefault(), MeterProvider.noop());
+    AtomicDouble doubleCounter = new AtomicDouble();
+    AtomicLong longCounter = new AtomicLong();
+    Runnable callback =
+        () -> {
+          measurement1.record(
+              doubleCounter.addAndGet(1.1), Attributes.builder().put("key", "val").build());
+          measurement2.record(
+              longCounter.incrementAndGet(), Attributes.builder().put("key", "val").build());
+        };
+    CallbackRegistration callbackRegistration =
+        CallbackRegistration.create(Arrays.asList(measurement1, measurement2), callback);
+
+    try {
+      callbackRegistration.invokeCallback(registeredReader, 0, 1, callbackExecutor);
+    } finally {
+      callbackExecutor.shutdown();
+    }
+
+    assertThat(doubleCounter.get()).isEqualTo(1.1);
+    assertThat(longCounter.get()).isEqualTo(1);
+    verify(storage1)
+        .record(createDouble(0, 1, 1.1, Attributes.builder().put("key", "val").build()));
+    verify(storage2).record(createLong(0, 1, 1, Attributes.builder().put("key", "val").build()));
+    verify(storage3).record(createLong(0, 1, 1, Attributes.builder().put("key", "val").build()));
+  }
+
+  @Test
+  void invokeCallback_WithExecutor_TimedOut() throws InterruptedException {
+    CallbackExecutor callbackExecutor =
+        CallbackExecutor.create(
+            TimeUnit.MILLISECONDS.toNanos(500), Clock.getDefault(), MeterProvider.noop());
+    CountDownLatch blockedLatch = new CountDownLatch(1);
+    CountDownLatch releaseLatch = new CountDownLatch(1);
+    AtomicLong counter = new AtomicLong();
+    Runnable callback =
+        () -> {
+          long value = counter.incrementAndGet();
+          if (value == 2) {
+            blockedLatch.countDown();
+            try {
+              releaseLatch.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+          measurement2.record(value, Attributes.builder().put("key", "val").build());
+        };
+    CallbackRegistration callbackRegistration =
+        CallbackRegistration.create(Collections.singletonList(measurement2), callback);
+
+    try {
+      callbackRegistration.invokeCallback(registeredReader, 0, 1, callbackExecutor);
+      verify(storage2).record(createLong(0, 1, 1, Attributes.builder().put("key", "val").build()));
+
+      // The second invocation blocks, so the values observed by the first are recorded
+      callbackRegistration.invokeCallback(registeredReader, 0, 2, callbackExecutor);
+      assertThat(blockedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+      verify(storage2).record(createLong(0, 2, 1, Attributes.builder().put("key", "val").build()));
+      logs.assertContains("did not complete within 500ms");
+
+      // The callback isn't invoked again while the second invocation is still running
+      callbackRegistration.invokeCallback(registeredReader, 0, 3, callbackExecutor);
+      assertThat(counter.get()).isEqualTo(2);
+      verify(storage2).record(createLong(0, 3, 1, Attributes.builder().put("key", "val").build()));
+      verify(storage2, never())
+          .record(createLong(0, 3, 2, Attributes.builder().put("key", "val").build()));
+    } finally {
+      releaseLatch.countDown();
+      callbackExecutor.shutdown();
+    }
+  }
+
+  @Test
+  void invokeCallback_WithExecutor_Shutdown() {
+    CallbackExecutor callbackExecutor =
+        CallbackExecutor.create(
+            TimeUnit.SECONDS.toNanos(10), Clock.getDefault(), MeterProvider.noop());
+    callbackExecutor.shutdown();
+    AtomicLong counter = new AtomicLong();
+    Runnable callback =
+        () ->
+            measurement2.record(
+                counter.incrementAndGet(), Attributes.builder().put("key", "val").build());
+    CallbackRegistration callbackRegistration =
+        CallbackRegistration.create(Collections.singletonList(measurement2), callback);
+
+    // Callbacks are invoked on the collecting thread once the executor is shut down
+    callbackRegistration.invokeCallback(registeredReader, 0, 1, callbackExecutor);
+
+    assertThat(counter.get()).isEqualTo(1);
+    verify(storage2).record(createLong(0, 1, 1, Attributes.builder().put("key", "val").build()));
+  }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics.internal.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OpenAddressingHashMapTest {
+
+  private OpenAddressingHashMap<String, Integer> map;
+
+  @BeforeEach
+  void setup() {
+    map = new OpenAddressingHashMap<>();
+  }
+
+  @Test
+  void putAndGetTest() {
+    assertThat(map.put("One", 1)).isNull();
+    assertThat(map.get("One")).isEqualTo(1);
+    assertThat(map.put("One", 2)).isEqualTo(1);
+    assertThat(map.get("One")).isEqualTo(2);
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  void removeTest() {
+    map.put("One", 1);
+    assertThat(map.remove("One")).isEqualTo(1);
+    assertThat(map.get("One")).isNull();
+    assertThat(map.remove("One")).isNull();
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  void sizeTest() {
+    map.put("One", 1);
+    map.put("Two", 2);
+    assertThat(map.size()).isEqualTo(2);
+  }
+
+  @Test
+  void isEmptyTest() {
+    assertThat(map.isEmpty()).isTrue();
+    map.put("One", 1);
+    assertThat(map.isEmpty()).isFalse();
+  }
+
+  @Test
+  void containsKeyTest() {
+    map.put("One", 1);
+    assertThat(map.containsKey("One")).isTrue();
+    assertThat(map.containsKey("Two")).isFalse();
+  }
+
+  @Test
+  void clearTest() {
+    map.put("One", 1);
+    map.put("Two", 2);
+    map.clear();
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.get("One")).isNull();
+    map.put("Two", 3);
+    assertThat(map.get("Two")).isEqualTo(3);
+  }
+
+  @Test
+  void forEachTest() {
+    map.put("One", 1);
+    map.put("Two", 2);
+
+    Map<String, Integer> actualMap = new HashMap<>();
+    map.forEach(actualMap::put);
+
+    assertThat(actualMap).containsOnlyKeys("One", "Two").containsValues(1, 2);
+  }
+
+  @Test
+  void nullKeysAndValues() {
+    assertThatThrownBy(() -> map.put(null, 1)).isInstanceOf(NullPointerException.class);
+    assertThatThrownBy(() -> map.put("One", null)).isInstanceOf(NullPointerException.class);
+    assertThatThrownBy(() -> map.get(null)).isInstanceOf(NullPointerException.class);
+  }
+
+  @Test
+  void collidingKeys() {
+    OpenAddressingHashMap<CollidingKey, Integer> collidingMap = new OpenAddressingHashMap<>();
+    for (int i = 0; i < 100; i++) {
+      collidingMap.put(new CollidingKey(i), i);
+    }
+    // Removing keys from the middle of the probe sequence leaves the rest reachable
+    for (int i = 0; i < 100; i += 3) {
+      assertThat(collidingMap.remove(new CollidingKey(i))).isEqualTo(i);
+    }
+    for (int i = 0; i < 100; i++) {
+      assertThat(collidingMap.get(new CollidingKey(i))).isEqualTo(i % 3 == 0 ? null : i);
+    }
+    assertThat(collidingMap.size()).isEqualTo(66);
+  }
+
+  @Test
+  void matchesHashMap() {
+    Random random = new Random(0);
+    Map<Integer, Integer> expected = new HashMap<>();
+    OpenAddressingHashMap<Integer, Integer> actual = new OpenAddressingHashMap<>(2);
+    for (int i = 0; i < 100_000; i++) {
+      // Keys which are multiples of a large power of two collide without hash spreading
+      Integer key = random.nextInt(5_000) << 16;
+      int operation = random.nextInt(3);
+      if (operation == 0) {
+        assertThat(actual.put(key, i)).isEqualTo(expected.put(key, i));
+      } else if (operation == 1) {
+        assertThat(actual.remove(key)).isEqualTo(expected.remove(key));
+      } else {
+        assertThat(actual.get(key)).isEqualTo(expected.get(key));
+      }
+      assertThat(actual.size()).isEqualTo(expected.size());
+    }
+    Map<Integer, Integer> actualEntries = new HashMap<>();
+    actual.forEach(actualEntries::put);
+    assertThat(actualEntries).isEqualTo(expected);
+  }
+
+  private static final class CollidingKey {
+    private final int value;
+
+    private CollidingKey(int value) {
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof CollidingKey && ((CollidingKey) o).value == value;
+    }
+
+    @Override
+    public int hashCode() {
+      return 42;
+    }
+  }
+}
@@ -8,6 +8,8 @@ package io.opentelemetry.sdk.metrics.internal.state;
 import static io.opentelemetry.sdk.common.export.MemoryMode.IMMUTABLE_DATA;
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
 import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.attributeEntry;
+import static org.assertj.core.api.Assertions.as;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -16,8 +18,13 @@ import static org.mockito.Mockito.verify;
 import com.google.common.util.concurrent.AtomicDouble;
 import com.google.common.util.concurrent.Uninterruptibles;
 import io.github.netmikey.logunit.api.LogCapturer;
+import io.opentelemetry.api.baggage.Baggage;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.internal.testing.slf4j.SuppressLogger;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
@@ -52,6 +59,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 import org.assertj.core.api.Assertions;
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -155,6 +163,219 @@ public class SynchronousMetricStorageTest {
                             attributeEntry("K", "V"), attributeEntry("modifiedK", "modifiedV"))));
   }
 
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void attributesProcessor_appliedOncePerAttributesInstance(MemoryMode memoryMode) {
+    initialize(memoryMode);
+
+    Attributes attributes = Attributes.builder().put("K", "V").build();
+    AttributesProcessor spyAttributesProcessor =
+        spy(AttributesProcessor.append(Attributes.builder().put("modifiedK", "modifiedV").build()));
+    SynchronousMetricStorage storage =
+        new DefaultSynchronousMetricStorage<>(
+            cumulativeReader,
+            METRIC_DESCRIPTOR,
+            aggregator,
+            spyAttributesProcessor,
+            CARDINALITY_LIMIT);
+    storage.recordDouble(1, attributes, Context.root());
+    storage.recordDouble(2, attributes, Context.root());
+    storage.recordDouble(3, Attributes.builder().put("K", "V").build(), Context.root());
+
+    verify(spyAttributesProcessor, times(2)).process(any(), any());
+    verify(aggregator, times(1)).createHandle();
+    assertThat(storage.collect(RESOURCE, INSTRUMENTATION_SCOPE_INFO, 0, testClock.now()))
+        .hasDoubleSumSatisfying(
+            sum ->
+                sum.hasPointsSatisfying(
+                    point ->
+                        point
+                            .hasValue(6)
+                            .hasAttributes(
+                                attributeEntry("K", "V"),
+                                attributeEntry("modifiedK", "modifiedV"))));
+  }
+
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void attributesProcessor_usesContext(MemoryMode memoryMode) {
+    initialize(memoryMode);
+
+    Attributes attributes = Attributes.builder().put("K", "V").build();
+    SynchronousMetricStorage storage =
+        new DefaultSynchronousMetricStorage<>(
+            cumulativeReader,
+            METRIC_DESCRIPTOR,
+            aggregator,
+            AttributesProcessor.appendBaggageByKeyName(unused -> true),
+            CARDINALITY_LIMIT);
+    storage.recordDouble(
+        1, attributes, Context.root().with(Baggage.builder().put("baggage", "1").build()));
+    storage.recordDouble(
+        2, attributes, Context.root().with(Baggage.builder().put("baggage", "2").build()));
+
+    assertThat(storage.collect(RESOURCE, INSTRUMENTATION_SCOPE_INFO, 0, testClock.now()))
+        .hasDoubleSumSatisfying(
+            sum ->
+                sum.hasPointsSatisfying(
+                    point ->
+                        point
+                            .hasValue(1)
+                            .hasAttributes(
+                                attributeEntry("K", "V"), attributeEntry("baggage", "1")),
+                    point ->
+                        point
+                            .hasValue(2)
+                            .hasAttributes(
+                                attributeEntry("K", "V"), attributeEntry("baggage", "2"))));
+  }
+
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void recordAndCollect_DeltaResetsSameAttributesInstance(MemoryMode memoryMode) {
+    initialize(memoryMode);
+
+    Attributes attributes = Attributes.builder().put("K", "V").build();
+    DefaultSynchronousMetricStorage<?, ?> storage =
+        new DefaultSynchronousMetricStorage<>(
+            deltaReader, METRIC_DESCRIPTOR, aggregator, attributesProcessor, CARDINALITY_LIMIT);
+
+    for (int i = 1; i <= 3; i++) {
+      storage.recordDouble(i, attributes, Context.current());
+      storage.recordDouble(i, attributes, Context.current());
+      long value = 2L * i;
+      assertThat(storage.collect(RESOURCE, INSTRUMENTATION_SCOPE_INFO, 0, 10L * i))
+          .hasDoubleSumSatisfying(
+              sum ->
+                  sum.isDelta()
+                      .hasPointsSatisfying(
+                          point -> point.hasValue(value).hasAttributes(attributeEntry("K", "V"))));
+      deltaReader.setLastCollectEpochNanos(10L * i);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void bind_DeltaResets(MemoryMode memoryMode) {
+    initialize(memoryMode);
+
+    Attributes attributes = Attributes.builder().put("K", "V").build();
+    DefaultSynchronousMetricStorage<?, ?> storage =
+        new DefaultSynchronousMetricStorage<>(
+            deltaReader, METRIC_DESCRIPTOR, aggregator, attributesProcessor, CARDINALITY_LIMIT);
+    BoundMetricStorage bound = storage.bind(attributes);
+
+    for (int i = 1; i <= 3; i++) {
+      bound.recordDouble(i, Context.current());
+      storage.recordDouble(i, attributes, Context.current());
+      bound.recordDouble(i, Context.current());
+      long value = 3L * i;
+      assertThat(storage.collect(RESOURCE, INSTRUMENTATION_SCOPE_INFO, 0, 10L * i))
+          .hasDoubleSumSatisfying(
+              sum ->
+                  sum.isDelta()
+                      .hasPointsSatisfying(
+                          point -> point.hasValue(value).hasAttributes(attributeEntry("K", "V"))));
+      deltaReader.setLastCollectEpochNanos(10L * i);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void bind_CumulativeDoesNotReset(MemoryMode memoryMode) {
+    initialize(memoryMode);
+
+    DefaultSynchronousMetricStorage<?, ?> storage =
+        new DefaultSynchronousMetricStorage<>(
+            cumulativeReader,
+            METRIC_DESCRIPTOR,
+            aggregator,
+            attributesProcessor,
+            CARDINALITY_LIMIT);
+    BoundMetricStorage bound = storage.bind(Attributes.empty());
+
+    for (int i = 1; i <= 3; i++) {
+      bound.recordDouble(2, Context.current());
+      storage.recordDouble(1, Attributes.empty(), Context.current());
+      long value = 3L * i;
+      assertThat(storage.collect(RESOURCE, INSTRUMENTATION_SCOPE_INFO, 0, 10L * i))
+          .hasDoubleSumSatisfying(
+              sum -> sum.isCumulative().hasPointsSatisfying(point -> point.hasValue(value)));
+      cumulativeReader.setLastCollectEpochNanos(10L * i);
+    }
+    verify(aggregator, times(1)).createHandle();
+  }
+
+  @Test
+  void bind_DeltaAtLimit() {
+    initialize(IMMUTABLE_DATA);
+
+    DefaultSynchronousMetricStorage<?, ?> storage =
+        new DefaultSynchronousMetricStorage<>(
+            deltaReader, METRIC_DESCRIPTOR, aggregator, attributesProcessor, CARDINALITY_LIMIT);
+    // Fill the storage, leaving room only for the overflow series
+    for (int i = 0; i < CARDINALITY_LIMIT - 1; i++) {
+      storage.recordDouble(1, Attributes.builder().put("key", "value" + i).build(), Context.root());
+    }
+    BoundMetricStorage bound = storage.bind(Attributes.builder().put("key", "bound").build());
+    bound.recordDouble(3, Context.root());
+
+    assertThat(storage.collect(RESOURCE, INSTRUMENTATION_SCOPE_INFO, 0, 10))
+        .hasDoubleSumSatisfying(
+            sum ->
+                sum.satisfies(
+                    sumData ->
+                        assertThat(sumData.getPoints())
+                            .hasSize(CARDINALITY_LIMIT)
+                            .anySatisfy(
+                                point -> {
+                                  assertThat(point.getValue()).isEqualTo(3);
+                                  assertThat(point.getAttributes())
+                                      .isEqualTo(MetricStorage.CARDINALITY_OVERFLOW);
+                                })));
+    deltaReader.setLastCollectEpochNanos(10);
+
+    // The series recorded to by the bound handle is resolved again after the reset
+    bound.recordDouble(4, Context.root());
+    assertThat(storage.collect(RESOURCE, INSTRUMENTATION_SCOPE_INFO, 0, 20))
+        .hasDoubleSumSatisfying(
+            sum ->
+                sum.hasPointsSatisfying(
+                    point -> point.hasValue(4).hasAttributes(attributeEntry("key", "bound"))));
+  }
+
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void bind_AttributesProcessorUsesContext(MemoryMode memoryMode) {
+    initialize(memoryMode);
+
+    SynchronousMetricStorage storage =
+        new DefaultSynchronousMetricStorage<>(
+            cumulativeReader,
+            METRIC_DESCRIPTOR,
+            aggregator,
+            AttributesProcessor.appendBaggageByKeyName(unused -> true),
+            CARDINALITY_LIMIT);
+    BoundMetricStorage bound = storage.bind(Attributes.builder().put("K", "V").build());
+    bound.recordDouble(1, Context.root().with(Baggage.builder().put("baggage", "1").build()));
+    bound.recordDouble(2, Context.root().with(Baggage.builder().put("baggage", "2").build()));
+
+    assertThat(storage.collect(RESOURCE, INSTRUMENTATION_SCOPE_INFO, 0, testClock.now()))
+        .hasDoubleSumSatisfying(
+            sum ->
+                sum.hasPointsSatisfying(
+                    point ->
+                        point
+                            .hasValue(1)
+                            .hasAttributes(
+                                attributeEntry("K", "V"), attributeEntry("baggage", "1")),
+                    point ->
+                        point
+                            .hasValue(2)
+                            .hasAttributes(
+                                attributeEntry("K", "V"), attributeEntry("baggage", "2"))));
+  }
+
   @ParameterizedTest
   @EnumSource(MemoryMode.class)
   void recordAndCollect_CumulativeDoesNotReset(MemoryMode memoryMode) {
@@ -739,6 +960,116 @@ public class SynchronousMetricStorageTest {
                                         .equals(MetricStorage.CARDINALITY_OVERFLOW))));
   }
 
+  @ParameterizedTest
+  @EnumSource(MemoryMode.class)
+  void recordAndCollect_ThreadLocalSums(MemoryMode memoryMode) {
+    initialize(memoryMode);
+    Aggregator<PointData, ExemplarData> aggregator =
+        ((AggregatorFactory) Aggregation.sum())
+            .createAggregator(DESCRIPTOR, ExemplarFilter.traceBased(), memoryMode);
+    DefaultSynchronousMetricStorage<?, ?> storage =
+        new DefaultSynchronousMetricStorage<>(
+            deltaReader,
+            METRIC_DESCRIPTOR,
+            aggregator,
+            attributesProcessor,
+            CARDINALITY_LIMIT,
+            new ThreadLocalSums(/* longValues= */ false, ExemplarFilter.traceBased()));
+
+    // Record to more attributes than the table of the thread sums before it's merged
+    for (int i = 0; i < 20; i++) {
+      Attributes attributes = Attributes.builder().put("key", "value" + i).build();
+      storage.recordDouble(1, attributes, Context.root());
+      storage.recordDouble(2, attributes, Context.root());
+    }
+    // Measurements which are sampled as exemplars are recorded directly
+    Context sampledContext =
+        Context.root()
+            .with(
+                Span.wrap(
+                    SpanContext.create(
+                        "ff000000000000000000000000000041",
+                        "ff00000000000041",
+                        TraceFlags.getSampled(),
+                        TraceState.getDefault())));
+    storage.recordDouble(4, Attributes.builder().put("key", "value0").build(), sampledContext);
+
+    assertThat(storage.collect(RESOURCE, INSTRUMENTATION_SCOPE_INFO, 0, 10))
+        .hasDoubleSumSatisfying(
+            sum ->
+                sum.satisfies(
+                    sumData ->
+                        assertThat(sumData.getPoints())
+                            .hasSize(20)
+                            .allSatisfy(
+                                point -> {
+                                  boolean sampled =
+                                      "value0"
+                                          .equals(
+                                              point
+                                                  .getAttributes()
+                                                  .get(AttributeKey.stringKey("key")));
+                                  assertThat(point.getValue()).isEqualTo(sampled ? 7 : 3);
+                                  assertThat(point.getExemplars()).hasSize(sampled ? 1 : 0);
+                                })));
+
+    // Sums are merged into the storage on each collection
+    deltaReader.setLastCollectEpochNanos(10);
+    storage.recordDouble(5, Attributes.builder().put("key", "value1").build(), Context.root());
+    assertThat(storage.collect(RESOURCE, INSTRUMENTATION_SCOPE_INFO, 0, 20))
+        .hasDoubleSumSatisfying(
+            sum ->
+                sum.hasPointsSatisfying(
+                    point ->
+                        point
+                            .hasStartEpochNanos(10)
+                            .hasEpochNanos(20)
+                            .hasValue(5)
+                            .hasAttributes(attributeEntry("key", "value1"))));
+  }
+
+  @Test
+  void recordAndCollect_ThreadLocalSumsOfIdleThreadsAreDetached() {
+    initialize(IMMUTABLE_DATA);
+    Aggregator<PointData, ExemplarData> aggregator =
+        ((AggregatorFactory) Aggregation.sum())
+            .createAggregator(DESCRIPTOR, ExemplarFilter.alwaysOff(), IMMUTABLE_DATA);
+    ThreadLocalSums threadLocalSums =
+        new ThreadLocalSums(/* longValues= */ false, ExemplarFilter.alwaysOff());
+    DefaultSynchronousMetricStorage<?, ?> storage =
+        new DefaultSynchronousMetricStorage<>(
+            deltaReader,
+            METRIC_DESCRIPTOR,
+            aggregator,
+            attributesProcessor,
+            CARDINALITY_LIMIT,
+            threadLocalSums);
+
+    storage.recordDouble(1, Attributes.builder().put("key", "value").build(), Context.root());
+    assertThat(storage.collect(RESOURCE, INSTRUMENTATION_SCOPE_INFO, 0, 10))
+        .hasDoubleSumSatisfying(sum -> sum.hasPointsSatisfying(point -> point.hasValue(1)));
+    assertThat(threadLocalSums)
+        .extracting("allTables", as(InstanceOfAssertFactories.COLLECTION))
+        .hasSize(1);
+
+    // The table of a thread which is alive but no longer records is eventually detached
+    for (int i = 0; i < 4; i++) {
+      assertThat(storage.collect(RESOURCE, INSTRUMENTATION_SCOPE_INFO, 0, 10))
+          .isEqualTo(EmptyMetricData.getInstance());
+    }
+    assertThat(threadLocalSums)
+        .extracting("allTables", as(InstanceOfAssertFactories.COLLECTION))
+        .isEmpty();
+
+    // And attached again once it records
+    storage.recordDouble(2, Attributes.builder().put("key", "value").build(), Context.root());
+    assertThat(threadLocalSums)
+        .extracting("allTables", as(InstanceOfAssertFactories.COLLECTION))
+        .hasSize(1);
+    assertThat(storage.collect(RESOURCE, INSTRUMENTATION_SCOPE_INFO, 0, 10))
+        .hasDoubleSumSatisfying(sum -> sum.hasPointsSatisfying(point -> point.hasValue(2)));
+  }
+
   @ParameterizedTest
   @MethodSource("concurrentStressTestArguments")
   void recordAndCollect_concurrentStressTest(
@@ -831,6 +1162,32 @@ public class SynchronousMetricStorageTest {
                   CARDINALITY_LIMIT),
               (BiConsumer<Double, AtomicDouble>)
                   (value, cumulativeCount) -> cumulativeCount.set(value)));
+
+      for (AggregationTemporality temporality : AggregationTemporality.values()) {
+        argumentsList.add(
+            Arguments.of(
+                // Summed by each thread
+                new DefaultSynchronousMetricStorage<>(
+                    RegisteredReader.create(
+                        InMemoryMetricReader.builder()
+                            .setAggregationTemporalitySelector(unused -> temporality)
+                            .setMemoryMode(memoryMode)
+                            .build(),
+                        ViewRegistry.create()),
+                    METRIC_DESCRIPTOR,
+                    aggregator,
+                    AttributesProcessor.noop(),
+                    CARDINALITY_LIMIT,
+                    new ThreadLocalSums(/* longValues= */ false, ExemplarFilter.alwaysOff())),
+                (BiConsumer<Double, AtomicDouble>)
+                    (value, cumulativeCount) -> {
+                      if (temporality == AggregationTemporality.DELTA) {
+                        cumulativeCount.addAndGet(value);
+                      } else {
+                        cumulativeCount.set(value);
+                      }
+                    }));
+      }
     }
 
     return argumentsList.stream();
@@ -11,6 +11,7 @@ import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.asser
 
 import io.opentelemetry.api.baggage.Baggage;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.context.Context;
 import java.util.Collections;
 import org.junit.jupiter.api.Test;
@@ -42,6 +43,78 @@ class AttributesProcessorTest {
         .containsEntry("test", "keep");
   }
 
+  @Test
+  void filterKeyName_EqualsStandardAttributes() {
+    AttributesProcessor processor = AttributesProcessor.filterByKeyName("test"::equals);
+    Attributes expected = Attributes.builder().put("test", "keep").build();
+
+    Attributes processed =
+        processor.process(
+            Attributes.builder().put("remove", "me").put("test", "keep").build(), Context.root());
+    assertThat(processed).isEqualTo(expected).hasSameHashCodeAs(expected);
+    assertThat(expected).isEqualTo(processed);
+    // Attributes which are all kept are returned as is
+    assertThat(processor.process(expected, Context.root())).isSameAs(expected);
+  }
+
+  @Test
+  void filterKeyName_CachesOutputs() {
+    AttributesProcessor processor = AttributesProcessor.filterByKeyName("test"::equals);
+    Attributes attributes = Attributes.builder().put("remove", "me").put("test", "keep").build();
+
+    Attributes processed = processor.process(attributes, Context.root());
+    assertThat(processor.process(attributes, Context.root())).isSameAs(processed);
+    // Attributes with the same keys are filtered the same way
+    assertThat(
+            processor.process(
+                Attributes.builder().put("remove", "me").put("test", "keep").build(),
+                Context.root()))
+        .isNotSameAs(processed)
+        .isEqualTo(processed)
+        .hasSameHashCodeAs(processed);
+    assertThat(
+            processor.process(
+                Attributes.builder().put("remove", "me").put("test", "other").build(),
+                Context.root()))
+        .hasSize(1)
+        .containsEntry("test", "other");
+  }
+
+  @Test
+  void filterKeyName_ManyAttributes() {
+    AttributesProcessor processor = AttributesProcessor.filterByKeyName(key -> key.endsWith("0"));
+    AttributesBuilder builder = Attributes.builder();
+    for (int i = 0; i < 50; i++) {
+      builder.put("key" + i, i);
+    }
+
+    assertThat(processor.process(builder.build(), Context.root()))
+        .hasSize(5)
+        .containsEntry("key0", 0)
+        .containsEntry("key10", 10)
+        .containsEntry("key20", 20)
+        .containsEntry("key30", 30)
+        .containsEntry("key40", 40);
+  }
+
+  @Test
+  void filterKeyName_JoinedFiltersAreFused() {
+    AttributesProcessor first = AttributesProcessor.filterByKeyName(key -> !key.equals("a"));
+    AttributesProcessor second = AttributesProcessor.filterByKeyName(key -> !key.equals("b"));
+    AttributesProcessor processor =
+        first.then(second).then(AttributesProcessor.filterByKeyName(key -> !key.equals("c")));
+
+    assertThat(processor.toString())
+        .startsWith("AllOfKeyFilteringProcessor{filters=[")
+        .doesNotContain("JoinedAttributesProcessor");
+    assertThat(
+            processor.process(
+                Attributes.builder().put("a", 1).put("b", 2).put("c", 3).put("d", 4).build(),
+                Context.root()))
+        .hasSize(1)
+        .containsEntry("d", 4);
+  }
+
   @Test
   void filterKeyName_toString() {
     AttributesProcessor processor =
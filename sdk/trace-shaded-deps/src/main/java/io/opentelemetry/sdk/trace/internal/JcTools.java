@@ -57,28 +57,58 @@ public final class JcTools {
     }
   }
 
+  /**
+   * Offers {@code element} to a {@link Queue} created by {@link #newFixedSizeQueue(int)}, unless it
+   * already holds {@code threshold} or more elements. Since the capacity of JCTools queues is
+   * rounded up to a power of two, this lets callers bound a queue to exactly {@code threshold}
+   * elements.
+   *
+   * @return {@code true} if the element was added to the queue.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> boolean offerIfBelowThreshold(Queue<T> queue, T element, int threshold) {
+    if (queue instanceof MpscArrayQueue) {
+      return ((MpscArrayQueue<T>) queue).offerIfBelowThreshold(element, threshold);
+    }
+    // The fallback ArrayBlockingQueue isn't rounded, so its capacity is the threshold
+    return queue.offer(element);
+  }
+
   /**
    * Remove up to <i>limit</i> elements from the {@link Queue} and hand to consume.
    *
    * @throws IllegalArgumentException consumer is {@code null}
    * @throws IllegalArgumentException if maxExportBatchSize is negative
    */
-  @SuppressWarnings("unchecked")
   public static <T> void drain(Queue<T> queue, int limit, Consumer<T> consumer) {
+    drainAndCount(queue, limit, consumer);
+  }
+
+  /**
+   * Remove up to <i>limit</i> elements from the {@link Queue} and hand to consume.
+   *
+   * @return the number of elements drained.
+   * @throws IllegalArgumentException consumer is {@code null}
+   * @throws IllegalArgumentException if limit is negative
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> int drainAndCount(Queue<T> queue, int limit, Consumer<T> consumer) {
     if (queue instanceof MessagePassingQueue) {
-      ((MessagePassingQueue<T>) queue).drain(consumer::accept, limit);
+      return ((MessagePassingQueue<T>) queue).drain(consumer::accept, limit);
     } else {
-      drainNonJcQueue(queue, limit, consumer);
+      return drainNonJcQueue(queue, limit, consumer);
     }
   }
 
-  private static <T> void drainNonJcQueue(
+  private static <T> int drainNonJcQueue(
       Queue<T> queue, int maxExportBatchSize, Consumer<T> consumer) {
     int polledCount = 0;
     T item;
-    while (polledCount++ < maxExportBatchSize && (item = queue.poll()) != null) {
+    while (polledCount < maxExportBatchSize && (item = queue.poll()) != null) {
       consumer.accept(item);
+      polledCount++;
     }
+    return polledCount;
   }
 
   private JcTools() {}
@@ -70,6 +70,39 @@ class JcToolsTest {
     assertThat(queue).hasSize(1);
   }
 
+  @Test
+  void drainAndCount() {
+    Queue<String> queue = new MpscArrayQueue<>(10);
+    queue.add("Test1");
+    queue.add("Test2");
+    queue.add("Test3");
+
+    assertThat(JcTools.drainAndCount(queue, 2, batch::add)).isEqualTo(2);
+    assertThat(JcTools.drainAndCount(queue, 2, batch::add)).isEqualTo(1);
+    assertThat(batch).containsExactly("Test1", "Test2", "Test3");
+  }
+
+  @Test
+  void drainAndCount_ArrayBlockingQueue() {
+    Queue<String> queue = new ArrayBlockingQueue<>(10);
+    queue.add("Test1");
+    queue.add("Test2");
+
+    assertThat(JcTools.drainAndCount(queue, 5, batch::add)).isEqualTo(2);
+    assertThat(queue).isEmpty();
+  }
+
+  @Test
+  void offerIfBelowThreshold() {
+    // The capacity of the queue is rounded up to 16
+    Queue<String> queue = JcTools.newFixedSizeQueue(10);
+    for (int i = 0; i < 10; i++) {
+      assertThat(JcTools.offerIfBelowThreshold(queue, "Test" + i, 10)).isTrue();
+    }
+    assertThat(JcTools.offerIfBelowThreshold(queue, "Test10", 10)).isFalse();
+    assertThat(queue).hasSize(10);
+  }
+
   @Test
   void newFixedSize_MpscQueue() {
     // Arrange
@@ -6,12 +6,18 @@
 package io.opentelemetry.sdk.trace;
 
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.StatusCode;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 
@@ -39,4 +45,44 @@ public class FillSpanBenchmark {
         .setAttribute(KEY3, "value3")
         .setAttribute(KEY4, "value4");
   }
+
+  /**
+   * Spans to fill: one only ever accessed by the benchmark thread, which may be modified without
+   * locking, and one which has been accessed by another thread, which must be modified under the
+   * span's lock.
+   */
+  @State(Scope.Thread)
+  public static class SpanState {
+    Span ownedSpan;
+    Span sharedSpan;
+
+    @Setup(Level.Iteration)
+    public void setup() throws InterruptedException {
+      ownedSpan = spanBuilder.startSpan();
+      sharedSpan = spanBuilder.startSpan();
+      Thread otherThread = new Thread(sharedSpan::isRecording);
+      otherThread.start();
+      otherThread.join();
+    }
+  }
+
+  @Benchmark
+  public void fillSpan_OwnerThread(SpanState state) {
+    fill(state.ownedSpan);
+  }
+
+  @Benchmark
+  public void fillSpan_SharedSpan(SpanState state) {
+    fill(state.sharedSpan);
+  }
+
+  private static void fill(Span span) {
+    span.setAttribute(KEY1, "value1")
+        .setAttribute(KEY2, "value2")
+        .setAttribute(KEY3, "value3")
+        .setAttribute(KEY4, "value4")
+        .addEvent("event")
+        .updateName("name")
+        .setStatus(StatusCode.ERROR);
+  }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.MemoryMode;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the memory allocated by {@link BatchSpanProcessor} to hand spans to the exporter in each
+ * {@link MemoryMode}. Run it with the GC profiler ({@code -prof gc}) and compare {@code
+ * gc.alloc.rate.norm}, the bytes allocated per operation.
+ *
+ * <p>The spans are created and ended once up front, so that the allocations of the spans themselves
+ * don't hide those of the processor. Each operation passes all spans to the processor and flushes
+ * it, exporting them to an exporter which reads their data but otherwise drops them.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Measurement(iterations = 10, batchSize = 10)
+@Warmup(iterations = 10, batchSize = 10)
+@Fork(1)
+public class BatchSpanProcessorGarbageCollectionBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkState {
+    private final int spanCount = 2048;
+
+    @Param public MemoryMode memoryMode;
+
+    private final List<ReadableSpan> spans = new ArrayList<>();
+    private BatchSpanProcessor processor;
+
+    @Setup
+    public void setup() {
+      processor =
+          BatchSpanProcessor.builder(new DroppingSpanExporter())
+              .setMemoryMode(memoryMode)
+              // Effectively disable scheduled exports so exporting is only done on #forceFlush()
+              .setScheduleDelay(Integer.MAX_VALUE, TimeUnit.MILLISECONDS)
+              .setMaxQueueSize(spanCount)
+              .build();
+      Tracer tracer = SdkTracerProvider.builder().build().get("benchmark");
+      for (int i = 0; i < spanCount; i++) {
+        Span span =
+            tracer
+                .spanBuilder("span")
+                .setAttribute("key", "value")
+                .setAttribute("index", i)
+                .startSpan();
+        span.end();
+        spans.add((ReadableSpan) span);
+      }
+    }
+
+    @TearDown
+    public void tearDown() {
+      processor.shutdown().join(10, TimeUnit.SECONDS);
+    }
+  }
+
+  /** Passes all spans to the processor and flushes it. */
+  @Benchmark
+  @Threads(value = 1)
+  public void exportSpans(BenchmarkState state) {
+    for (ReadableSpan span : state.spans) {
+      state.processor.onEnd(span);
+    }
+    state.processor.forceFlush().join(10, TimeUnit.SECONDS);
+  }
+
+  private static class DroppingSpanExporter implements SpanExporter {
+
+    @SuppressWarnings("unused")
+    private long checksum;
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      // Read the data like a serializing exporter would, without allocating
+      for (SpanData span : spans) {
+        checksum += span.getName().length() + span.getAttributes().size() + span.getEndEpochNanos();
+      }
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+}
@@ -38,9 +38,15 @@ public class BatchSpanProcessorMultiThreadBenchmark {
     private Tracer tracer;
     private int numThreads = 1;
 
-    @Param({"0"})
+    @Param({"0", "10"})
     private int delayMs;
 
+    @Param({"1", "4"})
+    private int maxConcurrentExports;
+
+    @Param({"1", "8"})
+    private int queueShards;
+
     private long exportedSpans;
     private long droppedSpans;
 
@@ -50,7 +56,12 @@ public class BatchSpanProcessorMultiThreadBenchmark {
       MeterProvider meterProvider =
           SdkMeterProvider.builder().registerMetricReader(collector).build();
       SpanExporter exporter = new DelayingSpanExporter(delayMs);
-      processor = BatchSpanProcessor.builder(exporter).setMeterProvider(meterProvider).build();
+      processor =
+          BatchSpanProcessor.builder(exporter)
+              .setMeterProvider(meterProvider)
+              .setMaxConcurrentExports(maxConcurrentExports)
+              .setQueueShards(queueShards)
+              .build();
       tracer =
           SdkTracerProvider.builder().addSpanProcessor(processor).build().get("benchmarkTracer");
     }
@@ -0,0 +1,120 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link BatchSpanProcessor} workers running on platform threads and on virtual threads
+ * (see {@link DaemonThreadFactory#VIRTUAL_THREADS_PROPERTY}), with many processors per JVM as in a
+ * multi-tenant deployment. Virtual threads are only used when running on Java 21+.
+ *
+ * <p>Run with {@code -prof gc} to compare the allocation footprint of starting the workers.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchSpanProcessorVirtualThreadBenchmark {
+
+  private static class NoopSpanExporter implements SpanExporter {
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+
+  @Param({"false", "true"})
+  private boolean virtualThreads;
+
+  @Param({"1", "64"})
+  private int processorCount;
+
+  private final List<BatchSpanProcessor> processors = new ArrayList<>();
+  private final List<CompletableResultCode> flushResults = new ArrayList<>();
+  private ReadableSpan span;
+
+  @Setup(Level.Trial)
+  public final void setup() {
+    System.setProperty(
+        DaemonThreadFactory.VIRTUAL_THREADS_PROPERTY, String.valueOf(virtualThreads));
+    for (int i = 0; i < processorCount; i++) {
+      processors.add(BatchSpanProcessor.builder(new NoopSpanExporter()).build());
+    }
+    Span benchmarkSpan =
+        SdkTracerProvider.builder().build().get("benchmarkTracer").spanBuilder("span").startSpan();
+    benchmarkSpan.end();
+    this.span = (ReadableSpan) benchmarkSpan;
+  }
+
+  @TearDown(Level.Trial)
+  public final void tearDown() {
+    for (BatchSpanProcessor processor : processors) {
+      processor.shutdown().join(10, TimeUnit.SECONDS);
+    }
+    processors.clear();
+    System.clearProperty(DaemonThreadFactory.VIRTUAL_THREADS_PROPERTY);
+  }
+
+  /**
+   * Add a span to every processor and flush them all, measuring how quickly the idle workers wake
+   * up and export.
+   */
+  @Benchmark
+  public void exportAndFlush() {
+    flushResults.clear();
+    for (BatchSpanProcessor processor : processors) {
+      processor.onEnd(span);
+      flushResults.add(processor.forceFlush());
+    }
+    CompletableResultCode.ofAll(flushResults).join(10, TimeUnit.SECONDS);
+  }
+
+  /** Start and shut down the processors, measuring the cost of creating their workers. */
+  @Benchmark
+  public void startAndShutdown() {
+    List<CompletableResultCode> shutdownResults = new ArrayList<>(processorCount);
+    for (int i = 0; i < processorCount; i++) {
+      shutdownResults.add(BatchSpanProcessor.builder(new NoopSpanExporter()).build().shutdown());
+    }
+    CompletableResultCode.ofAll(shutdownResults).join(10, TimeUnit.SECONDS);
+  }
+}
@@ -24,13 +24,16 @@ import io.opentelemetry.sdk.trace.data.ExceptionEventData;
 import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.StatusData;
+import io.opentelemetry.sdk.trace.internal.ExtendedReadableSpan;
 import io.opentelemetry.sdk.trace.internal.ExtendedSpanProcessor;
+import io.opentelemetry.sdk.trace.internal.MutableSpanData;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
@@ -38,7 +41,7 @@ import javax.annotation.concurrent.ThreadSafe;
 
 /** Implementation for the {@link Span} class that records trace events. */
 @ThreadSafe
-final class SdkSpan implements ReadWriteSpan {
+final class SdkSpan implements ReadWriteSpan, ExtendedReadableSpan {
 
   private static final Logger logger = Logger.getLogger(SdkSpan.class.getName());
 
@@ -63,6 +66,24 @@ final class SdkSpan implements ReadWriteSpan {
   // Lock used to internally guard the mutable state of this instance
   private final Object lock = new Object();
 
+  /**
+   * The thread which started this span. Almost all spans are only ever accessed by the thread which
+   * started them, so while {@link #ownerConfined}, the owner thread may modify the span without
+   * taking the {@link #lock}. Any other thread first ends this confinement with {@link
+   * #revokeOwnerConfinement()}, after which all access goes through the lock. Cleared when the span
+   * ends so that the span doesn't retain the thread.
+   */
+  @Nullable private Thread ownerThread;
+
+  // Whether the span has only been accessed by the owner thread.
+  private volatile boolean ownerConfined = true;
+
+  // Set by the owner thread while it is modifying the span without the lock.
+  private volatile int ownerWriting;
+
+  private static final AtomicIntegerFieldUpdater<SdkSpan> OWNER_WRITING =
+      AtomicIntegerFieldUpdater.newUpdater(SdkSpan.class, "ownerWriting");
+
   @GuardedBy("lock")
   private String name;
 
@@ -152,6 +173,7 @@ final class SdkSpan implements ReadWriteSpan {
     this.startEpochNanos = startEpochNanos;
     this.attributes = attributes;
     this.spanLimits = spanLimits;
+    this.ownerThread = Thread.currentThread();
   }
 
   /**
@@ -233,6 +255,7 @@ final class SdkSpan implements ReadWriteSpan {
   @Override
   public SpanData toSpanData() {
     // Copy within synchronized context
+    beforeLock();
     synchronized (lock) {
       return SpanWrapper.create(
           this,
@@ -249,9 +272,34 @@ final class SdkSpan implements ReadWriteSpan {
     }
   }
 
+  @Override
+  public void toSpanData(MutableSpanData spanData) {
+    spanData.setSpan(
+        context, parentSpanContext, resource, instrumentationScopeInfo, kind, startEpochNanos);
+    // Copy within synchronized context
+    beforeLock();
+    synchronized (lock) {
+      // Once the span has ended its events and links are no longer modified, and since the
+      // MutableSpanData only exposes them through unmodifiable views, they needn't be wrapped
+      boolean ended = hasEnded == EndState.ENDED;
+      spanData.setState(
+          name,
+          getImmutableAttributes(),
+          (attributes == null) ? 0 : attributes.getTotalAddedValues(),
+          ended && events != null ? events : getImmutableTimedEvents(),
+          totalRecordedEvents,
+          ended && links != null ? links : getImmutableLinks(),
+          totalRecordedLinks,
+          status,
+          endEpochNanos,
+          hasEnded == EndState.ENDED);
+    }
+  }
+
   @Override
   @Nullable
   public <T> T getAttribute(AttributeKey<T> key) {
+    beforeLock();
     synchronized (lock) {
       return attributes == null ? null : attributes.get(key);
     }
@@ -259,6 +307,7 @@ final class SdkSpan implements ReadWriteSpan {
 
   @Override
   public Attributes getAttributes() {
+    beforeLock();
     synchronized (lock) {
       return attributes == null ? Attributes.empty() : attributes.immutableCopy();
     }
@@ -266,6 +315,7 @@ final class SdkSpan implements ReadWriteSpan {
 
   @Override
   public boolean hasEnded() {
+    beforeLock();
     synchronized (lock) {
       return hasEnded == EndState.ENDED;
     }
@@ -288,6 +338,7 @@ final class SdkSpan implements ReadWriteSpan {
    */
   @Override
   public String getName() {
+    beforeLock();
     synchronized (lock) {
       return name;
     }
@@ -312,6 +363,7 @@ final class SdkSpan implements ReadWriteSpan {
    */
   @Override
   public long getLatencyNanos() {
+    beforeLock();
     synchronized (lock) {
       return (hasEnded == EndState.NOT_ENDED ? clock.now() : endEpochNanos) - startEpochNanos;
     }
@@ -323,26 +375,86 @@ final class SdkSpan implements ReadWriteSpan {
   }
 
   @Override
+  @SuppressWarnings("GuardedBy") // Lock-free while confined to the owner thread
   public <T> ReadWriteSpan setAttribute(AttributeKey<T> key, T value) {
     if (key == null || key.getKey().isEmpty() || value == null) {
       return this;
     }
-    synchronized (lock) {
-      if (!isModifiableByCurrentThread()) {
-        logger.log(Level.FINE, "Calling setAttribute() on an ended Span.");
-        return this;
-      }
-      if (attributes == null) {
-        attributes =
-            AttributesMap.create(
-                spanLimits.getMaxNumberOfAttributes(), spanLimits.getMaxAttributeValueLength());
+    if (tryStartOwnerWrite()) {
+      try {
+        putAttribute(key, value);
+      } finally {
+        finishOwnerWrite();
       }
-
-      attributes.put(key, value);
+      return this;
+    }
+    beforeLock();
+    synchronized (lock) {
+      putAttribute(key, value);
     }
     return this;
   }
 
+  @GuardedBy("lock")
+  private <T> void putAttribute(AttributeKey<T> key, T value) {
+    if (!isModifiableByCurrentThread()) {
+      logger.log(Level.FINE, "Calling setAttribute() on an ended Span.");
+      return;
+    }
+    if (attributes == null) {
+      attributes =
+          AttributesMap.create(
+              spanLimits.getMaxNumberOfAttributes(), spanLimits.getMaxAttributeValueLength());
+    }
+
+    attributes.put(key, value);
+  }
+
+  /**
+   * Starts a lock-free modification of this span by the owner thread, returning {@code false} if
+   * the caller is not the owner thread or the span is no longer confined to it, in which case the
+   * caller must take the {@link #lock} instead. If {@code true} is returned, {@link
+   * #finishOwnerWrite()} must be called once the modification is done.
+   */
+  private boolean tryStartOwnerWrite() {
+    if (!ownerConfined || Thread.currentThread() != ownerThread) {
+      return false;
+    }
+    // Announce the write before checking for revocation, pairs with revokeOwnerConfinement() which
+    // revokes before checking for a write in progress.
+    ownerWriting = 1;
+    if (!ownerConfined) {
+      ownerWriting = 0;
+      return false;
+    }
+    return true;
+  }
+
+  private void finishOwnerWrite() {
+    OWNER_WRITING.lazySet(this, 0);
+  }
+
+  /** Must be called before taking the {@link #lock}. */
+  private void beforeLock() {
+    if (Thread.currentThread() != ownerThread) {
+      revokeOwnerConfinement();
+    }
+  }
+
+  /**
+   * Ends the confinement of this span to the owner thread, waiting for any lock-free modification
+   * by the owner thread in progress to complete. Afterwards, all access goes through the {@link
+   * #lock}.
+   */
+  private void revokeOwnerConfinement() {
+    if (ownerConfined) {
+      ownerConfined = false;
+    }
+    while (ownerWriting != 0) {
+      Thread.yield();
+    }
+  }
+
   @GuardedBy("lock")
   private boolean isModifiableByCurrentThread() {
     return hasEnded == EndState.NOT_ENDED
@@ -409,40 +521,70 @@ final class SdkSpan implements ReadWriteSpan {
     return this;
   }
 
+  @SuppressWarnings("GuardedBy") // Lock-free while confined to the owner thread
   private void addTimedEvent(EventData timedEvent) {
-    synchronized (lock) {
-      if (!isModifiableByCurrentThread()) {
-        logger.log(Level.FINE, "Calling addEvent() on an ended Span.");
-        return;
+    if (tryStartOwnerWrite()) {
+      try {
+        appendTimedEvent(timedEvent);
+      } finally {
+        finishOwnerWrite();
       }
-      if (events == null) {
-        events = new ArrayList<>();
-      }
-      if (events.size() < spanLimits.getMaxNumberOfEvents()) {
-        events.add(timedEvent);
-      }
-      totalRecordedEvents++;
+      return;
+    }
+    beforeLock();
+    synchronized (lock) {
+      appendTimedEvent(timedEvent);
+    }
+  }
+
+  @GuardedBy("lock")
+  private void appendTimedEvent(EventData timedEvent) {
+    if (!isModifiableByCurrentThread()) {
+      logger.log(Level.FINE, "Calling addEvent() on an ended Span.");
+      return;
+    }
+    if (events == null) {
+      events = new ArrayList<>();
+    }
+    if (events.size() < spanLimits.getMaxNumberOfEvents()) {
+      events.add(timedEvent);
     }
+    totalRecordedEvents++;
   }
 
   @Override
+  @SuppressWarnings("GuardedBy") // Lock-free while confined to the owner thread
   public ReadWriteSpan setStatus(StatusCode statusCode, @Nullable String description) {
     if (statusCode == null) {
       return this;
     }
-    synchronized (lock) {
-      if (!isModifiableByCurrentThread()) {
-        logger.log(Level.FINE, "Calling setStatus() on an ended Span.");
-        return this;
-      } else if (this.status.getStatusCode() == StatusCode.OK) {
-        logger.log(Level.FINE, "Calling setStatus() on a Span that is already set to OK.");
-        return this;
+    if (tryStartOwnerWrite()) {
+      try {
+        updateStatus(statusCode, description);
+      } finally {
+        finishOwnerWrite();
       }
-      this.status = StatusData.create(statusCode, description);
+      return this;
+    }
+    beforeLock();
+    synchronized (lock) {
+      updateStatus(statusCode, description);
     }
     return this;
   }
 
+  @GuardedBy("lock")
+  private void updateStatus(StatusCode statusCode, @Nullable String description) {
+    if (!isModifiableByCurrentThread()) {
+      logger.log(Level.FINE, "Calling setStatus() on an ended Span.");
+      return;
+    } else if (this.status.getStatusCode() == StatusCode.OK) {
+      logger.log(Level.FINE, "Calling setStatus() on a Span that is already set to OK.");
+      return;
+    }
+    this.status = StatusData.create(statusCode, description);
+  }
+
   @Override
   public ReadWriteSpan recordException(Throwable exception) {
     recordException(exception, Attributes.empty());
@@ -479,7 +621,7 @@ final class SdkSpan implements ReadWriteSpan {
       attributes.put(EXCEPTION_STACKTRACE, stackTrace);
     }
 
-    additionalAttributes.forEach(attributes::put);
+    attributes.putAll(additionalAttributes);
 
     addTimedEvent(
         ExceptionEventData.create(
@@ -488,20 +630,35 @@ final class SdkSpan implements ReadWriteSpan {
   }
 
   @Override
+  @SuppressWarnings("GuardedBy") // Lock-free while confined to the owner thread
   public ReadWriteSpan updateName(String name) {
     if (name == null) {
       return this;
     }
-    synchronized (lock) {
-      if (!isModifiableByCurrentThread()) {
-        logger.log(Level.FINE, "Calling updateName() on an ended Span.");
-        return this;
+    if (tryStartOwnerWrite()) {
+      try {
+        setName(name);
+      } finally {
+        finishOwnerWrite();
       }
-      this.name = name;
+      return this;
+    }
+    beforeLock();
+    synchronized (lock) {
+      setName(name);
     }
     return this;
   }
 
+  @GuardedBy("lock")
+  private void setName(String name) {
+    if (!isModifiableByCurrentThread()) {
+      logger.log(Level.FINE, "Calling updateName() on an ended Span.");
+      return;
+    }
+    this.name = name;
+  }
+
   @Override
   public Span addLink(SpanContext spanContext, Attributes attributes) {
     if (spanContext == null || !spanContext.isValid()) {
@@ -517,6 +674,7 @@ final class SdkSpan implements ReadWriteSpan {
                 attributes,
                 spanLimits.getMaxNumberOfAttributesPerLink(),
                 spanLimits.getMaxAttributeValueLength()));
+    beforeLock();
     synchronized (lock) {
       if (!isModifiableByCurrentThread()) {
         logger.log(Level.FINE, "Calling addLink() on an ended Span.");
@@ -547,12 +705,15 @@ final class SdkSpan implements ReadWriteSpan {
   }
 
   private void endInternal(long endEpochNanos) {
+    // Once ending, the span is handed to span processors which may access it from other threads.
+    revokeOwnerConfinement();
     synchronized (lock) {
       if (hasEnded != EndState.NOT_ENDED) {
         logger.log(Level.FINE, "Calling end() on an ended or ending Span.");
         return;
       }
       this.endEpochNanos = endEpochNanos;
+      ownerThread = null;
       spanEndingThread = Thread.currentThread();
       hasEnded = EndState.ENDING;
     }
@@ -572,6 +733,7 @@ final class SdkSpan implements ReadWriteSpan {
 
   @Override
   public boolean isRecording() {
+    beforeLock();
     synchronized (lock) {
       return hasEnded != EndState.ENDED;
     }
@@ -635,6 +797,7 @@ final class SdkSpan implements ReadWriteSpan {
     long totalRecordedEvents;
     long endEpochNanos;
     long totalRecordedLinks;
+    beforeLock();
     synchronized (lock) {
       name = this.name;
       attributes = String.valueOf(this.attributes);
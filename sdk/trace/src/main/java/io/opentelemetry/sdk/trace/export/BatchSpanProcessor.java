@@ -12,15 +12,20 @@ import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.internal.DaemonThreadFactory;
 import io.opentelemetry.sdk.internal.ThrowableUtil;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
 import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
 import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.internal.ExtendedReadableSpan;
 import io.opentelemetry.sdk.trace.internal.JcTools;
+import io.opentelemetry.sdk.trace.internal.MutableSpanData;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
@@ -29,8 +34,10 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * Implementation of the {@link SpanProcessor} that batches spans exported by the SDK then pushes
@@ -54,6 +61,8 @@ public final class BatchSpanProcessor implements SpanProcessor {
   private static final String SPAN_PROCESSOR_TYPE_VALUE = BatchSpanProcessor.class.getSimpleName();
 
   private final boolean exportUnsampledSpans;
+  private final int queueShards;
+  private final MemoryMode memoryMode;
   private final Worker worker;
   private final AtomicBoolean isShutdown = new AtomicBoolean(false);
 
@@ -75,8 +84,13 @@ public final class BatchSpanProcessor implements SpanProcessor {
       long scheduleDelayNanos,
       int maxQueueSize,
       int maxExportBatchSize,
-      long exporterTimeoutNanos) {
+      long exporterTimeoutNanos,
+      int maxConcurrentExports,
+      int queueShards,
+      MemoryMode memoryMode) {
     this.exportUnsampledSpans = exportUnsampledSpans;
+    this.queueShards = queueShards;
+    this.memoryMode = memoryMode;
     this.worker =
         new Worker(
             spanExporter,
@@ -84,7 +98,11 @@ public final class BatchSpanProcessor implements SpanProcessor {
             scheduleDelayNanos,
             maxExportBatchSize,
             exporterTimeoutNanos,
-            JcTools.newFixedSizeQueue(maxQueueSize));
+            maxConcurrentExports,
+            queueShards == 1
+                ? JcTools.newFixedSizeQueue(maxQueueSize)
+                : new ShardedQueue<>(maxQueueSize, queueShards),
+            memoryMode);
     Thread workerThread = new DaemonThreadFactory(WORKER_THREAD_NAME).newThread(worker);
     workerThread.start();
   }
@@ -133,7 +151,7 @@ public final class BatchSpanProcessor implements SpanProcessor {
 
   // Visible for testing
   List<SpanData> getBatch() {
-    return worker.batch;
+    return worker.batch.spans;
   }
 
   // Visible for testing
@@ -154,6 +172,12 @@ public final class BatchSpanProcessor implements SpanProcessor {
         + worker.maxExportBatchSize
         + ", exporterTimeoutNanos="
         + worker.exporterTimeoutNanos
+        + ", maxConcurrentExports="
+        + worker.maxConcurrentExports
+        + ", queueShards="
+        + queueShards
+        + ", memoryMode="
+        + memoryMode
         + '}';
   }
 
@@ -169,13 +193,20 @@ public final class BatchSpanProcessor implements SpanProcessor {
     private final long scheduleDelayNanos;
     private final int maxExportBatchSize;
     private final long exporterTimeoutNanos;
+    private final int maxConcurrentExports;
 
     private long nextExportTime;
 
+    // Exports which have been started but have not completed, oldest first, including those which
+    // timed out, so that an exporter which never completes its results can't have more than
+    // maxConcurrentExports exports in flight. Only accessed by the worker thread.
+    private final ArrayDeque<PendingExport> pendingExports = new ArrayDeque<>();
+
     private final Queue<ReadableSpan> queue;
     // When waiting on the spans queue, exporter thread sets this atomic to the number of more
     // spans it needs before doing an export. Writer threads would then wait for the queue to reach
-    // spansNeeded size before notifying the exporter thread about new entries.
+    // spansNeeded size before notifying the exporter thread about new entries, and the writer
+    // thread which notifies resets it so that the exporter thread is only notified once.
     // Integer.MAX_VALUE is used to imply that exporter thread is not expecting any signal. Since
     // exporter thread doesn't expect any signal initially, this value is initialized to
     // Integer.MAX_VALUE.
@@ -183,7 +214,17 @@ public final class BatchSpanProcessor implements SpanProcessor {
     private final BlockingQueue<Boolean> signal;
     private final AtomicReference<CompletableResultCode> flushRequested = new AtomicReference<>();
     private volatile boolean continueWork = true;
-    private final ArrayList<SpanData> batch;
+    // The batch being filled. Replaced by a pooled batch when it's exported if memory mode is
+    // REUSABLE_DATA, cleared once the export has started otherwise.
+    private ExportBatch batch;
+    private final Consumer<ReadableSpan> addToBatch;
+
+    // SpanData which can be reused for later batches, only used if memory mode is REUSABLE_DATA.
+    // Exports return their SpanData when their result completes, which may happen on any thread.
+    @Nullable private final Queue<MutableSpanData> spanDataPool;
+    // Batches which can be reused, only used if memory mode is REUSABLE_DATA. Like SpanData,
+    // batches are returned when the result of their export completes.
+    @Nullable private final Queue<ExportBatch> batchPool;
 
     private Worker(
         SpanExporter spanExporter,
@@ -191,11 +232,14 @@ public final class BatchSpanProcessor implements SpanProcessor {
         long scheduleDelayNanos,
         int maxExportBatchSize,
         long exporterTimeoutNanos,
-        Queue<ReadableSpan> queue) {
+        int maxConcurrentExports,
+        Queue<ReadableSpan> queue,
+        MemoryMode memoryMode) {
       this.spanExporter = spanExporter;
       this.scheduleDelayNanos = scheduleDelayNanos;
       this.maxExportBatchSize = maxExportBatchSize;
       this.exporterTimeoutNanos = exporterTimeoutNanos;
+      this.maxConcurrentExports = maxConcurrentExports;
       this.queue = queue;
       this.signal = new ArrayBlockingQueue<>(1);
       Meter meter = meterProvider.meterBuilder("io.opentelemetry.sdk.trace").build();
@@ -230,14 +274,30 @@ public final class BatchSpanProcessor implements SpanProcessor {
               SPAN_PROCESSOR_DROPPED_LABEL,
               false);
 
-      this.batch = new ArrayList<>(this.maxExportBatchSize);
+      this.batch = new ExportBatch(this.maxExportBatchSize);
+      this.addToBatch = span -> batch.spans.add(toSpanData(span));
+      // Enough for the batch being filled and all batches which may be in flight
+      if (memoryMode == MemoryMode.REUSABLE_DATA) {
+        this.spanDataPool =
+            JcTools.newFixedSizeQueue(maxExportBatchSize * (maxConcurrentExports + 1));
+        this.batchPool = JcTools.newFixedSizeQueue(maxConcurrentExports + 1);
+      } else {
+        this.spanDataPool = null;
+        this.batchPool = null;
+      }
     }
 
     private void addSpan(ReadableSpan span) {
       if (!queue.offer(span)) {
         processedSpansCounter.add(1, droppedAttrs);
       } else {
-        if (queue.size() >= spansNeeded.get()) {
+        // Only read the queue size, which touches indices shared with other producers, when the
+        // worker is actually waiting for spans, and only wake the worker from the producer which
+        // claims the signal, rather than from every producer which adds a span before it wakes.
+        int needed = spansNeeded.get();
+        if (needed != Integer.MAX_VALUE
+            && queue.size() >= needed
+            && spansNeeded.compareAndSet(needed, Integer.MAX_VALUE)) {
           signal.offer(true);
         }
       }
@@ -251,10 +311,9 @@ public final class BatchSpanProcessor implements SpanProcessor {
         if (flushRequested.get() != null) {
           flush();
         }
-        JcTools.drain(
-            queue, maxExportBatchSize - batch.size(), span -> batch.add(span.toSpanData()));
+        drainQueue(maxExportBatchSize - batch.spans.size());
 
-        if (batch.size() >= maxExportBatchSize || System.nanoTime() >= nextExportTime) {
+        if (batch.spans.size() >= maxExportBatchSize || System.nanoTime() >= nextExportTime) {
           exportCurrentBatch();
           updateNextExportTime();
         }
@@ -262,9 +321,13 @@ public final class BatchSpanProcessor implements SpanProcessor {
           try {
             long pollWaitTime = nextExportTime - System.nanoTime();
             if (pollWaitTime > 0) {
-              spansNeeded.set(maxExportBatchSize - batch.size());
-              signal.poll(pollWaitTime, TimeUnit.NANOSECONDS);
-              spansNeeded.set(Integer.MAX_VALUE);
+              int needed = maxExportBatchSize - batch.spans.size();
+              spansNeeded.set(needed);
+              // Spans added before spansNeeded was set didn't signal
+              if (queue.size() < needed || !spansNeeded.compareAndSet(needed, Integer.MAX_VALUE)) {
+                signal.poll(pollWaitTime, TimeUnit.NANOSECONDS);
+                spansNeeded.set(Integer.MAX_VALUE);
+              }
             }
           } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -274,18 +337,61 @@ public final class BatchSpanProcessor implements SpanProcessor {
       }
     }
 
+    @SuppressWarnings("unchecked")
+    private void drainQueue(int limit) {
+      if (queue instanceof ShardedQueue) {
+        ((ShardedQueue<ReadableSpan>) queue).drain(limit, addToBatch);
+      } else {
+        JcTools.drain(queue, limit, addToBatch);
+      }
+    }
+
+    private SpanData toSpanData(ReadableSpan span) {
+      Queue<MutableSpanData> spanDataPool = this.spanDataPool;
+      if (spanDataPool == null || !(span instanceof ExtendedReadableSpan)) {
+        return span.toSpanData();
+      }
+      MutableSpanData spanData = spanDataPool.poll();
+      if (spanData == null) {
+        spanData = new MutableSpanData();
+      }
+      ((ExtendedReadableSpan) span).toSpanData(spanData);
+      return spanData;
+    }
+
+    private void release(ExportBatch exportBatch) {
+      Queue<MutableSpanData> spanDataPool = this.spanDataPool;
+      Queue<ExportBatch> batchPool = this.batchPool;
+      if (spanDataPool == null || batchPool == null) {
+        return;
+      }
+      List<SpanData> spans = exportBatch.spans;
+      for (int i = 0; i < spans.size(); i++) {
+        SpanData spanData = spans.get(i);
+        if (spanData instanceof MutableSpanData) {
+          MutableSpanData mutableSpanData = (MutableSpanData) spanData;
+          mutableSpanData.reset();
+          // If the pool is full, leave the SpanData to the garbage collector
+          spanDataPool.offer(mutableSpanData);
+        }
+      }
+      spans.clear();
+      batchPool.offer(exportBatch);
+    }
+
     private void flush() {
       int spansToFlush = queue.size();
       while (spansToFlush > 0) {
         ReadableSpan span = queue.poll();
         assert span != null;
-        batch.add(span.toSpanData());
+        batch.spans.add(toSpanData(span));
         spansToFlush--;
-        if (batch.size() >= maxExportBatchSize) {
+        if (batch.spans.size() >= maxExportBatchSize) {
           exportCurrentBatch();
         }
       }
       exportCurrentBatch();
+      awaitPendingExports(0);
       CompletableResultCode flushResult = flushRequested.get();
       if (flushResult != null) {
         flushResult.succeed();
@@ -332,24 +438,107 @@ public final class BatchSpanProcessor implements SpanProcessor {
     }
 
     private void exportCurrentBatch() {
-      if (batch.isEmpty()) {
+      if (batch.spans.isEmpty()) {
         return;
       }
 
       try {
-        CompletableResultCode result = spanExporter.export(Collections.unmodifiableList(batch));
-        result.join(exporterTimeoutNanos, TimeUnit.NANOSECONDS);
-        if (result.isSuccess()) {
-          processedSpansCounter.add(batch.size(), exportedAttrs);
-        } else {
-          logger.log(Level.FINE, "Exporter failed");
+        pendingExports.removeIf(pendingExport -> pendingExport.result.isDone());
+        if (pendingExports.size() >= maxConcurrentExports) {
+          // Every export which is still in flight has timed out, since exports which haven't are
+          // awaited until there's room for another one
+          logger.log(Level.FINE, "Timed out exports still in flight, dropping batch");
+          processedSpansCounter.add(batch.spans.size(), droppedAttrs);
+          return;
+        }
+        ExportBatch exportBatch = batch;
+        if (batchPool != null) {
+          // The SpanData are returned to the pool when the export completes, so the batch is handed
+          // over to the export and replaced rather than cleared.
+          ExportBatch nextBatch = batchPool.poll();
+          batch = nextBatch != null ? nextBatch : new ExportBatch(maxExportBatchSize);
+        } else if (maxConcurrentExports > 1) {
+          // When exports may be in flight concurrently, each export gets its own copy of the batch
+          // since the batch is reused as soon as the export has started.
+          exportBatch = new ExportBatch(new ArrayList<>(batch.spans));
         }
+        int batchSize = exportBatch.spans.size();
+        CompletableResultCode result = spanExporter.export(exportBatch.unmodifiableSpans);
+        ExportBatch completedBatch = exportBatch;
+        result.whenComplete(
+            () -> {
+              if (result.isSuccess()) {
+                processedSpansCounter.add(batchSize, exportedAttrs);
+              } else {
+                logger.log(Level.FINE, "Exporter failed");
+              }
+              release(completedBatch);
+            });
+        pendingExports.addLast(
+            new PendingExport(result, System.nanoTime() + exporterTimeoutNanos));
+        awaitPendingExports(maxConcurrentExports - 1);
       } catch (Throwable t) {
         ThrowableUtil.propagateIfFatal(t);
         logger.log(Level.WARNING, "Exporter threw an Exception", t);
       } finally {
-        batch.clear();
+        batch.spans.clear();
       }
     }
+
+    /**
+     * Blocks until no more than {@code maxPending} exports are in flight, or all exports in flight
+     * have timed out. Exports are awaited oldest first, each until it completes or its exporter
+     * timeout elapses. Exports which timed out stay pending until they complete.
+     */
+    private void awaitPendingExports(int maxPending) {
+      pendingExports.removeIf(pendingExport -> pendingExport.result.isDone());
+      for (Iterator<PendingExport> iterator = pendingExports.iterator();
+          pendingExports.size() > maxPending && iterator.hasNext(); ) {
+        PendingExport pendingExport = iterator.next();
+        if (pendingExport.result.isDone()) {
+          iterator.remove();
+          continue;
+        }
+        if (pendingExport.timedOut) {
+          continue;
+        }
+        long remainingNanos = Math.max(0, pendingExport.deadlineNanos - System.nanoTime());
+        if (pendingExport.result.join(remainingNanos, TimeUnit.NANOSECONDS).isDone()) {
+          iterator.remove();
+        } else {
+          pendingExport.timedOut = true;
+          logger.log(Level.FINE, "Exporter timed out");
+        }
+      }
+    }
+  }
+
+  /**
+   * The spans of a batch, with an unmodifiable view of them to pass to the exporter which is only
+   * created once per batch.
+   */
+  private static final class ExportBatch {
+    private final ArrayList<SpanData> spans;
+    private final List<SpanData> unmodifiableSpans;
+
+    private ExportBatch(int capacity) {
+      this(new ArrayList<>(capacity));
+    }
+
+    private ExportBatch(ArrayList<SpanData> spans) {
+      this.spans = spans;
+      this.unmodifiableSpans = Collections.unmodifiableList(spans);
+    }
+  }
+
+  private static final class PendingExport {
+    private final CompletableResultCode result;
+    private final long deadlineNanos;
+    private boolean timedOut;
+
+    private PendingExport(CompletableResultCode result, long deadlineNanos) {
+      this.result = result;
+      this.deadlineNanos = deadlineNanos;
+    }
   }
 }
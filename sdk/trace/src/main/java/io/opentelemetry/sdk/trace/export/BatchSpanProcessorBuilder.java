@@ -9,6 +9,7 @@ import static io.opentelemetry.api.internal.Utils.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.sdk.common.export.MemoryMode;
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
@@ -23,6 +24,12 @@ public final class BatchSpanProcessorBuilder {
   static final int DEFAULT_MAX_EXPORT_BATCH_SIZE = 512;
   // Visible for testing
   static final int DEFAULT_EXPORT_TIMEOUT_MILLIS = 30_000;
+  // Visible for testing
+  static final int DEFAULT_MAX_CONCURRENT_EXPORTS = 1;
+  // Visible for testing
+  static final int DEFAULT_QUEUE_SHARDS = 1;
+  // Visible for testing
+  static final MemoryMode DEFAULT_MEMORY_MODE = MemoryMode.IMMUTABLE_DATA;
 
   private final SpanExporter spanExporter;
   private boolean exportUnsampledSpans = false;
@@ -30,7 +37,10 @@ public final class BatchSpanProcessorBuilder {
   private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
   private int maxExportBatchSize = DEFAULT_MAX_EXPORT_BATCH_SIZE;
   private long exporterTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_EXPORT_TIMEOUT_MILLIS);
+  private int maxConcurrentExports = DEFAULT_MAX_CONCURRENT_EXPORTS;
+  private int queueShards = DEFAULT_QUEUE_SHARDS;
   private MeterProvider meterProvider = MeterProvider.noop();
+  private MemoryMode memoryMode = DEFAULT_MEMORY_MODE;
 
   BatchSpanProcessorBuilder(SpanExporter spanExporter) {
     this.spanExporter = requireNonNull(spanExporter, "spanExporter");
@@ -134,6 +144,87 @@ public final class BatchSpanProcessorBuilder {
     return this;
   }
 
+  /**
+   * Sets the number of shards the queue of Spans is split into. Each thread ending spans enqueues
+   * to a single shard, selected by its thread, and the worker drains the shards round-robin. This
+   * reduces contention between threads when spans are ended at a very high rate from many threads.
+   *
+   * <p>The {@code maxQueueSize} is divided evenly between the shards, and spans are dropped when
+   * the shard of the ending thread is full, even if other shards have remaining capacity. There are
+   * never more shards than {@code maxQueueSize}.
+   *
+   * <p>Default value is {@code 1}, i.e. a single queue shared by all threads.
+   *
+   * @param queueShards the number of queue shards.
+   * @return this.
+   * @see BatchSpanProcessorBuilder#DEFAULT_QUEUE_SHARDS
+   * @since 1.45.0
+   */
+  public BatchSpanProcessorBuilder setQueueShards(int queueShards) {
+    checkArgument(queueShards > 0, "queueShards must be positive.");
+    this.queueShards = queueShards;
+    return this;
+  }
+
+  // Visible for testing
+  int getQueueShards() {
+    return queueShards;
+  }
+
+  /**
+   * Sets the maximum number of export batches which may be in flight at the same time. While fewer
+   * than {@code maxConcurrentExports} exports are outstanding, the worker continues to drain the
+   * queue and prepare the next batch rather than waiting for the previous export to complete, so
+   * that a slow exporter does not stall the pipeline. Once the bound is reached, the worker waits
+   * for the oldest export to complete or reach its exporter timeout.
+   *
+   * <p>Exporters used with a value greater than {@code 1} must support concurrent calls to {@link
+   * SpanExporter#export(java.util.Collection)}.
+   *
+   * <p>Default value is {@code 1}, i.e. each export completes before the next one starts.
+   *
+   * @param maxConcurrentExports the maximum number of in-flight exports.
+   * @return this.
+   * @see BatchSpanProcessorBuilder#DEFAULT_MAX_CONCURRENT_EXPORTS
+   * @since 1.45.0
+   */
+  public BatchSpanProcessorBuilder setMaxConcurrentExports(int maxConcurrentExports) {
+    checkArgument(maxConcurrentExports > 0, "maxConcurrentExports must be positive.");
+    this.maxConcurrentExports = maxConcurrentExports;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxConcurrentExports() {
+    return maxConcurrentExports;
+  }
+
+  /**
+   * Sets the {@link MemoryMode}. If unset, defaults to {@link #DEFAULT_MEMORY_MODE}.
+   *
+   * <p>When memory mode is {@link MemoryMode#REUSABLE_DATA}, the {@link
+   * io.opentelemetry.sdk.trace.data.SpanData} passed to the exporter are reused for later batches
+   * once the export has completed, rather than allocating new {@link
+   * io.opentelemetry.sdk.trace.data.SpanData} for each span, which reduces allocations. The
+   * exporter must not access the {@link io.opentelemetry.sdk.trace.data.SpanData} after the result
+   * of {@link SpanExporter#export(java.util.Collection)} has completed, and should be configured
+   * with {@link MemoryMode#REUSABLE_DATA} itself to also reduce the allocations of exporting.
+   *
+   * @param memoryMode the memory mode.
+   * @return this.
+   * @since 1.45.0
+   */
+  public BatchSpanProcessorBuilder setMemoryMode(MemoryMode memoryMode) {
+    requireNonNull(memoryMode, "memoryMode");
+    this.memoryMode = memoryMode;
+    return this;
+  }
+
+  // Visible for testing
+  MemoryMode getMemoryMode() {
+    return memoryMode;
+  }
+
   /**
    * Sets the {@link MeterProvider} to use to collect metrics related to batch export. If not set,
    * metrics will not be collected.
@@ -163,6 +254,9 @@ public final class BatchSpanProcessorBuilder {
         scheduleDelayNanos,
         maxQueueSize,
         maxExportBatchSize,
-        exporterTimeoutNanos);
+        exporterTimeoutNanos,
+        maxConcurrentExports,
+        queueShards,
+        memoryMode);
   }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import io.opentelemetry.sdk.internal.ThreadHash;
+import io.opentelemetry.sdk.trace.internal.JcTools;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+/**
+ * A multi-producer, single-consumer {@link Queue} split into a number of fixed size shards. Each
+ * producer thread offers to the shard selected by a hash of its thread id, so that producers on
+ * different threads mostly don't contend on the same queue indices. The single consumer drains the
+ * shards round-robin.
+ *
+ * <p>The capacity is divided between the shards, so that the queue never holds more than its
+ * capacity. Because producers are pinned to a shard, an offer may be rejected when the producer's
+ * shard is full even though other shards have remaining capacity.
+ */
+final class ShardedQueue<T> extends AbstractQueue<T> {
+
+  private final Queue<T>[] shards;
+  // The capacity of each shard, which the shard's queue may exceed when rounded up
+  private final int[] shardCapacities;
+
+  // Only accessed by the consumer
+  private int nextShard;
+
+  @SuppressWarnings("unchecked")
+  ShardedQueue(int capacity, int shardCount) {
+    // Every shard holds at least one element
+    shardCount = Math.min(shardCount, capacity);
+    this.shards = new Queue[shardCount];
+    this.shardCapacities = new int[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      // Spread the remainder over the first shards, so that the capacities add up to the capacity
+      int shardCapacity = capacity / shardCount + (i < capacity % shardCount ? 1 : 0);
+      shards[i] = JcTools.newFixedSizeQueue(shardCapacity);
+      shardCapacities[i] = shardCapacity;
+    }
+  }
+
+  @Override
+  public boolean offer(T t) {
+    int shard = (ThreadHash.currentThreadHash() & Integer.MAX_VALUE) % shards.length;
+    return JcTools.offerIfBelowThreshold(shards[shard], t, shardCapacities[shard]);
+  }
+
+  @Override
+  @Nullable
+  public T poll() {
+    for (int i = 0; i < shards.length; i++) {
+      T item = nextShard().poll();
+      if (item != null) {
+        return item;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  @Nullable
+  public T peek() {
+    for (Queue<T> shard : shards) {
+      T item = shard.peek();
+      if (item != null) {
+        return item;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Remove up to {@code limit} elements, visiting the shards round-robin, and hand them to {@code
+   * consumer}. Must only be called by the consumer.
+   *
+   * @return the number of elements drained.
+   */
+  int drain(int limit, Consumer<T> consumer) {
+    int drained = 0;
+    for (int i = 0; i < shards.length && drained < limit; i++) {
+      drained += JcTools.drainAndCount(nextShard(), limit - drained, consumer);
+    }
+    return drained;
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (Queue<T> shard : shards) {
+      size += shard.size();
+    }
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    for (Queue<T> shard : shards) {
+      if (!shard.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    List<T> snapshot = new ArrayList<>();
+    for (Queue<T> shard : shards) {
+      snapshot.addAll(shard);
+    }
+    return snapshot.iterator();
+  }
+
+  private Queue<T> nextShard() {
+    Queue<T> shard = shards[nextShard];
+    nextShard = nextShard + 1 == shards.length ? 0 : nextShard + 1;
+    return shard;
+  }
+}
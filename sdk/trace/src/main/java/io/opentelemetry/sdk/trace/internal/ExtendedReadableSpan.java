@@ -0,0 +1,26 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.internal;
+
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * Extended {@link ReadableSpan} with experimental APIs.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface ExtendedReadableSpan extends ReadableSpan {
+
+  /**
+   * Like {@link #toSpanData()}, but sets the span's data on a reusable {@link MutableSpanData}
+   * instead of allocating a new {@link SpanData}.
+   *
+   * @param spanData the {@link MutableSpanData} to set the span's data on.
+   */
+  void toSpanData(MutableSpanData spanData);
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.internal;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.internal.InstrumentationScopeUtil;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Mutable {@link SpanData}, which is filled from a span with {@link
+ * ExtendedReadableSpan#toSpanData(MutableSpanData)} and reused for other spans once it is no longer
+ * in use.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class MutableSpanData implements SpanData {
+
+  private SpanContext spanContext = SpanContext.getInvalid();
+  private SpanContext parentSpanContext = SpanContext.getInvalid();
+  private Resource resource = Resource.empty();
+  private InstrumentationScopeInfo instrumentationScopeInfo = InstrumentationScopeInfo.empty();
+  private String name = "";
+  private SpanKind kind = SpanKind.INTERNAL;
+  private long startEpochNanos;
+  private long endEpochNanos;
+  private boolean hasEnded;
+  private Attributes attributes = Attributes.empty();
+  private int totalAttributeCount;
+  private final ListView<EventData> events = new ListView<>();
+  private int totalRecordedEvents;
+  private final ListView<LinkData> links = new ListView<>();
+  private int totalRecordedLinks;
+  private StatusData status = StatusData.unset();
+
+  /** Sets the parts of the span which don't change once the span has been started. */
+  public void setSpan(
+      SpanContext spanContext,
+      SpanContext parentSpanContext,
+      Resource resource,
+      InstrumentationScopeInfo instrumentationScopeInfo,
+      SpanKind kind,
+      long startEpochNanos) {
+    this.spanContext = spanContext;
+    this.parentSpanContext = parentSpanContext;
+    this.resource = resource;
+    this.instrumentationScopeInfo = instrumentationScopeInfo;
+    this.kind = kind;
+    this.startEpochNanos = startEpochNanos;
+  }
+
+  /**
+   * Sets the parts of the span which may change until the span has ended. The collections are
+   * assumed to not be modified while this is in use. They're exposed through unmodifiable views,
+   * which are reused for later spans, so that they don't need to be wrapped for each span.
+   */
+  public void setState(
+      String name,
+      Attributes attributes,
+      int totalAttributeCount,
+      List<EventData> events,
+      int totalRecordedEvents,
+      List<LinkData> links,
+      int totalRecordedLinks,
+      StatusData status,
+      long endEpochNanos,
+      boolean hasEnded) {
+    this.name = name;
+    this.attributes = attributes;
+    this.totalAttributeCount = totalAttributeCount;
+    this.events.delegate = events;
+    this.totalRecordedEvents = totalRecordedEvents;
+    this.links.delegate = links;
+    this.totalRecordedLinks = totalRecordedLinks;
+    this.status = status;
+    this.endEpochNanos = endEpochNanos;
+    this.hasEnded = hasEnded;
+  }
+
+  /** Drops the references to the data of the span this was last set from. */
+  public void reset() {
+    setSpan(
+        SpanContext.getInvalid(),
+        SpanContext.getInvalid(),
+        Resource.empty(),
+        InstrumentationScopeInfo.empty(),
+        SpanKind.INTERNAL,
+        0);
+    setState(
+        "",
+        Attributes.empty(),
+        0,
+        Collections.emptyList(),
+        0,
+        Collections.emptyList(),
+        0,
+        StatusData.unset(),
+        0,
+        false);
+  }
+
+  @Override
+  public SpanContext getSpanContext() {
+    return spanContext;
+  }
+
+  @Override
+  public SpanContext getParentSpanContext() {
+    return parentSpanContext;
+  }
+
+  @Override
+  public Resource getResource() {
+    return resource;
+  }
+
+  @Override
+  @Deprecated
+  public io.opentelemetry.sdk.common.InstrumentationLibraryInfo getInstrumentationLibraryInfo() {
+    return InstrumentationScopeUtil.toInstrumentationLibraryInfo(instrumentationScopeInfo);
+  }
+
+  @Override
+  public InstrumentationScopeInfo getInstrumentationScopeInfo() {
+    return instrumentationScopeInfo;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public SpanKind getKind() {
+    return kind;
+  }
+
+  @Override
+  public long getStartEpochNanos() {
+    return startEpochNanos;
+  }
+
+  @Override
+  public Attributes getAttributes() {
+    return attributes;
+  }
+
+  @Override
+  public List<EventData> getEvents() {
+    return events;
+  }
+
+  @Override
+  public List<LinkData> getLinks() {
+    return links;
+  }
+
+  @Override
+  public StatusData getStatus() {
+    return status;
+  }
+
+  @Override
+  public long getEndEpochNanos() {
+    return endEpochNanos;
+  }
+
+  @Override
+  public boolean hasEnded() {
+    return hasEnded;
+  }
+
+  @Override
+  public int getTotalRecordedEvents() {
+    return totalRecordedEvents;
+  }
+
+  @Override
+  public int getTotalRecordedLinks() {
+    return totalRecordedLinks;
+  }
+
+  @Override
+  public int getTotalAttributeCount() {
+    return totalAttributeCount;
+  }
+
+  @Override
+  public String toString() {
+    return "MutableSpanData{"
+        + "spanContext="
+        + spanContext
+        + ", parentSpanContext="
+        + parentSpanContext
+        + ", resource="
+        + resource
+        + ", instrumentationScopeInfo="
+        + instrumentationScopeInfo
+        + ", name="
+        + name
+        + ", kind="
+        + kind
+        + ", startEpochNanos="
+        + startEpochNanos
+        + ", endEpochNanos="
+        + endEpochNanos
+        + ", attributes="
+        + attributes
+        + ", totalAttributeCount="
+        + totalAttributeCount
+        + ", events="
+        + events
+        + ", totalRecordedEvents="
+        + totalRecordedEvents
+        + ", links="
+        + links
+        + ", totalRecordedLinks="
+        + totalRecordedLinks
+        + ", status="
+        + status
+        + ", hasEnded="
+        + hasEnded
+        + "}";
+  }
+
+  /** An unmodifiable view of a list which can be replaced. */
+  private static final class ListView<T> extends AbstractList<T> implements RandomAccess {
+    private List<T> delegate = Collections.emptyList();
+
+    @Override
+    public T get(int index) {
+      return delegate.get(index);
+    }
+
+    @Override
+    public int size() {
+      return delegate.size();
+    }
+  }
+}
@@ -46,6 +46,7 @@ import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.StatusData;
 import io.opentelemetry.sdk.trace.internal.ExtendedSpanProcessor;
+import io.opentelemetry.sdk.trace.internal.MutableSpanData;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.time.Duration;
@@ -56,6 +57,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -284,6 +286,42 @@ class SdkSpanTest {
         /* hasEnded= */ true);
   }
 
+  @Test
+  void toSpanData_MutableSpanData() {
+    SdkSpan span = createTestSpan(SpanKind.INTERNAL);
+    MutableSpanData spanData = new MutableSpanData();
+    try {
+      spanDoWork(span, StatusCode.ERROR, "CANCELLED");
+    } finally {
+      span.end();
+    }
+    span.toSpanData(spanData);
+    EventData event =
+        EventData.create(START_EPOCH_NANOS + NANOS_PER_SECOND, "event2", Attributes.empty(), 0);
+    verifySpanData(
+        spanData,
+        expectedAttributes,
+        Collections.singletonList(event),
+        Collections.singletonList(link),
+        SPAN_NEW_NAME,
+        START_EPOCH_NANOS,
+        testClock.now(),
+        StatusData.create(StatusCode.ERROR, "CANCELLED"),
+        /* hasEnded= */ true);
+    assertThat(spanData.getKind()).isEqualTo(SpanKind.INTERNAL);
+    assertThat(spanData.getTotalRecordedEvents())
+        .isEqualTo(span.toSpanData().getTotalRecordedEvents());
+    assertThat(spanData.getTotalRecordedLinks()).isEqualTo(1);
+    assertThat(spanData.getTotalAttributeCount())
+        .isEqualTo(span.toSpanData().getTotalAttributeCount());
+
+    spanData.reset();
+    assertThat(spanData.getSpanContext()).isEqualTo(SpanContext.getInvalid());
+    assertThat(spanData.getAttributes()).isEqualTo(Attributes.empty());
+    assertThat(spanData.getEvents()).isEmpty();
+    assertThat(spanData.getLinks()).isEmpty();
+  }
+
   @Test
   void toSpanData_immutableLinks() {
     SdkSpan span = createTestSpan(SpanKind.INTERNAL);
@@ -1468,7 +1506,7 @@ class SdkSpanTest {
     Resource resource = this.resource;
     Attributes attributes = TestUtils.generateRandomAttributes();
     AttributesMap attributesWithCapacity = AttributesMap.create(32, Integer.MAX_VALUE);
-    attributes.forEach(attributesWithCapacity::put);
+    attributesWithCapacity.putAll(attributes);
     Attributes event1Attributes = TestUtils.generateRandomAttributes();
     Attributes event2Attributes = TestUtils.generateRandomAttributes();
     SpanContext context =
@@ -1550,4 +1588,61 @@ class SdkSpanTest {
     }
     modifierFuture.get();
   }
+
+  @Test
+  void ownerThreadWrites_visibleToOtherThreads() throws Exception {
+    SdkSpan span = createTestSpan(SpanKind.INTERNAL);
+    span.setAttribute("owner", "value");
+    span.addEvent("owner-event");
+    span.updateName("owner-name");
+    span.setStatus(StatusCode.ERROR, "owner-status");
+
+    ExecutorService es = Executors.newSingleThreadExecutor();
+    try {
+      SpanData spanData = es.submit(span::toSpanData).get();
+      assertThat(spanData.getAttributes().get(stringKey("owner"))).isEqualTo("value");
+      assertThat(spanData.getEvents()).extracting(EventData::getName).contains("owner-event");
+      assertThat(spanData.getName()).isEqualTo("owner-name");
+      assertThat(spanData.getStatus())
+          .isEqualTo(StatusData.create(StatusCode.ERROR, "owner-status"));
+
+      // After another thread has accessed the span, the owner thread goes through the lock
+      span.setAttribute("owner2", "value2");
+      assertThat(es.submit(() -> span.getAttribute(stringKey("owner2"))).get())
+          .isEqualTo("value2");
+    } finally {
+      es.shutdown();
+    }
+  }
+
+  @Test
+  void ownerThreadWrites_concurrentWithOtherThread()
+      throws ExecutionException, InterruptedException {
+    SdkSpan span = createTestSpan(SpanKind.INTERNAL);
+    int eventsPerThread = 5096 * 5;
+    ExecutorService es = Executors.newSingleThreadExecutor();
+    CountDownLatch started = new CountDownLatch(1);
+    Future<?> modifierFuture =
+        es.submit(
+            () -> {
+              started.countDown();
+              for (int i = 0; i < eventsPerThread; ++i) {
+                span.addEvent("other");
+              }
+            });
+    try {
+      started.await();
+      for (int i = 0; i < eventsPerThread; ++i) {
+        span.addEvent("owner");
+      }
+    } catch (Throwable t) {
+      modifierFuture.cancel(true);
+      throw t;
+    } finally {
+      es.shutdown();
+    }
+    modifierFuture.get();
+
+    assertThat(span.toSpanData().getTotalRecordedEvents()).isEqualTo(2 * eventsPerThread);
+  }
 }
@@ -21,6 +21,7 @@ import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.internal.testing.slf4j.SuppressLogger;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.MemoryMode;
 import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.data.SpanData;
@@ -33,6 +34,7 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -92,6 +94,10 @@ class BatchSpanProcessorTest {
     assertThat(builder.getExporterTimeoutNanos())
         .isEqualTo(
             TimeUnit.MILLISECONDS.toNanos(BatchSpanProcessorBuilder.DEFAULT_EXPORT_TIMEOUT_MILLIS));
+    assertThat(builder.getMaxConcurrentExports())
+        .isEqualTo(BatchSpanProcessorBuilder.DEFAULT_MAX_CONCURRENT_EXPORTS);
+    assertThat(builder.getQueueShards()).isEqualTo(BatchSpanProcessorBuilder.DEFAULT_QUEUE_SHARDS);
+    assertThat(builder.getMemoryMode()).isEqualTo(BatchSpanProcessorBuilder.DEFAULT_MEMORY_MODE);
   }
 
   @Test
@@ -121,6 +127,16 @@ class BatchSpanProcessorTest {
     assertThatThrownBy(() -> BatchSpanProcessor.builder(mockSpanExporter).setExporterTimeout(null))
         .isInstanceOf(NullPointerException.class)
         .hasMessage("timeout");
+    assertThatThrownBy(
+            () -> BatchSpanProcessor.builder(mockSpanExporter).setMaxConcurrentExports(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxConcurrentExports must be positive.");
+    assertThatThrownBy(() -> BatchSpanProcessor.builder(mockSpanExporter).setQueueShards(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("queueShards must be positive.");
+    assertThatThrownBy(() -> BatchSpanProcessor.builder(mockSpanExporter).setMemoryMode(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("memoryMode");
   }
 
   @Test
@@ -150,6 +166,35 @@ class BatchSpanProcessorTest {
     assertThat(exported).containsExactly(span1.toSpanData(), span2.toSpanData());
   }
 
+  @Test
+  void exportSpansFromShardedQueue() throws InterruptedException {
+    WaitingSpanExporter waitingSpanExporter =
+        new WaitingSpanExporter(4, CompletableResultCode.ofSuccess());
+    BatchSpanProcessor batchSpanProcessor =
+        BatchSpanProcessor.builder(waitingSpanExporter)
+            .setQueueShards(4)
+            .setMaxExportBatchSize(4)
+            .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+            .build();
+    assertThat(batchSpanProcessor.getQueue()).isInstanceOf(ShardedQueue.class);
+    sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(batchSpanProcessor).build();
+
+    List<ReadableSpan> spans = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      threads.add(new Thread(() -> spans.add(createEndedSpan(SPAN_NAME_1))));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+      thread.join();
+    }
+
+    List<SpanData> exported = waitingSpanExporter.waitForExport();
+    assertThat(exported)
+        .containsExactlyInAnyOrderElementsOf(
+            spans.stream().map(ReadableSpan::toSpanData).collect(Collectors.toList()));
+  }
+
   @Test
   void exportMoreSpansThanTheBufferSize() {
     CompletableSpanExporter spanExporter = new CompletableSpanExporter();
@@ -423,7 +468,8 @@ class BatchSpanProcessorTest {
     sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(bsp).build();
 
     CountDownLatch exported = new CountDownLatch(1);
-    // We return a result we never complete, meaning it will timeout.
+    // We return a result we don't complete until later, meaning it will timeout.
+    CompletableResultCode timedOutResult = new CompletableResultCode();
     when(mockSpanExporter.export(
             argThat(
                 spans -> {
@@ -432,13 +478,14 @@ class BatchSpanProcessorTest {
                   exported.countDown();
                   return true;
                 })))
-        .thenReturn(new CompletableResultCode());
+        .thenReturn(timedOutResult);
     createEndedSpan(SPAN_NAME_1);
     exported.await();
     // Timed out so the span was dropped.
     await().untilAsserted(() -> assertThat(bsp.getBatch()).isEmpty());
 
-    // Still processing new spans.
+    // Still processing new spans once the timed out export completes.
+    timedOutResult.fail();
     CountDownLatch exportedAgain = new CountDownLatch(1);
     reset(mockSpanExporter);
     when(mockSpanExporter.shutdown()).thenReturn(CompletableResultCode.ofSuccess());
@@ -452,10 +499,125 @@ class BatchSpanProcessorTest {
                 })))
         .thenReturn(CompletableResultCode.ofSuccess());
     createEndedSpan(SPAN_NAME_2);
-    exported.await();
+    exportedAgain.await();
     await().untilAsserted(() -> assertThat(bsp.getBatch()).isEmpty());
   }
 
+  @Test
+  @Timeout(10)
+  void dropsBatchesWhileTimedOutExportsAreInFlight() {
+    CompletableSpanExporter spanExporter = new CompletableSpanExporter();
+    BatchSpanProcessor batchSpanProcessor =
+        BatchSpanProcessor.builder(spanExporter)
+            .setMaxExportBatchSize(1)
+            .setExporterTimeout(10, TimeUnit.MILLISECONDS)
+            .setScheduleDelay(1, TimeUnit.MILLISECONDS)
+            .build();
+    sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(batchSpanProcessor).build();
+
+    ReadableSpan span1 = createEndedSpan(SPAN_NAME_1);
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(new ArrayList<>(spanExporter.getExported()))
+                    .containsExactly(span1.toSpanData()));
+
+    // The export times out without completing, so it keeps its slot and the next batch is
+    // dropped rather than exported concurrently.
+    createEndedSpan(SPAN_NAME_2);
+    await()
+        .untilAsserted(
+            () -> {
+              assertThat(batchSpanProcessor.getQueue()).isEmpty();
+              assertThat(batchSpanProcessor.getBatch()).isEmpty();
+            });
+    assertThat(new ArrayList<>(spanExporter.getExported())).containsExactly(span1.toSpanData());
+
+    spanExporter.succeed();
+    ReadableSpan span3 = createEndedSpan(SPAN_NAME_1);
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(new ArrayList<>(spanExporter.getExported()))
+                    .containsExactly(span1.toSpanData(), span3.toSpanData()));
+  }
+
+  @Test
+  @Timeout(10)
+  void concurrentExports() {
+    CompletableSpanExporter spanExporter = new CompletableSpanExporter();
+    BatchSpanProcessor batchSpanProcessor =
+        BatchSpanProcessor.builder(spanExporter)
+            .setMaxExportBatchSize(1)
+            .setMaxConcurrentExports(2)
+            .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+            .build();
+    sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(batchSpanProcessor).build();
+
+    ReadableSpan span1 = createEndedSpan(SPAN_NAME_1);
+    ReadableSpan span2 = createEndedSpan(SPAN_NAME_2);
+    // The second export starts while the first is still in flight.
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(new ArrayList<>(spanExporter.getExported()))
+                    .containsExactly(span1.toSpanData(), span2.toSpanData()));
+
+    // The bound on in flight exports has been reached, so the next span waits in the queue.
+    ReadableSpan span3 = createEndedSpan(SPAN_NAME_1);
+    assertThat(batchSpanProcessor.getQueue()).hasSize(1);
+
+    spanExporter.succeed();
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(new ArrayList<>(spanExporter.getExported()))
+                    .containsExactly(span1.toSpanData(), span2.toSpanData(), span3.toSpanData()));
+  }
+
+  @Test
+  @Timeout(10)
+  void exportReusableData() {
+    List<SpanData> exported = new ArrayList<>();
+    List<String> exportedNames = new ArrayList<>();
+    SpanExporter spanExporter =
+        new SpanExporter() {
+          @Override
+          public CompletableResultCode export(Collection<SpanData> spans) {
+            // The SpanData may only be accessed until the export completes
+            spans.forEach(span -> exportedNames.add(span.getName()));
+            exported.addAll(spans);
+            return CompletableResultCode.ofSuccess();
+          }
+
+          @Override
+          public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+          }
+
+          @Override
+          public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+          }
+        };
+    BatchSpanProcessor batchSpanProcessor =
+        BatchSpanProcessor.builder(spanExporter)
+            .setMaxExportBatchSize(1)
+            .setMemoryMode(MemoryMode.REUSABLE_DATA)
+            .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+            .build();
+    sdkTracerProvider = SdkTracerProvider.builder().addSpanProcessor(batchSpanProcessor).build();
+
+    createEndedSpan(SPAN_NAME_1);
+    await().untilAsserted(() -> assertThat(exportedNames).containsExactly(SPAN_NAME_1));
+
+    createEndedSpan(SPAN_NAME_2);
+    await()
+        .untilAsserted(() -> assertThat(exportedNames).containsExactly(SPAN_NAME_1, SPAN_NAME_2));
+    // The SpanData of the first export was released for reuse once its export completed.
+    assertThat(exported.get(1)).isSameAs(exported.get(0));
+  }
+
   @Test
   void exportNotSampledSpans() {
     WaitingSpanExporter waitingSpanExporter =
@@ -610,7 +772,10 @@ class BatchSpanProcessorTest {
                 + "exportUnsampledSpans=false, "
                 + "scheduleDelayNanos=5000000000, "
                 + "maxExportBatchSize=512, "
-                + "exporterTimeoutNanos=30000000000}");
+                + "exporterTimeoutNanos=30000000000, "
+                + "maxConcurrentExports=1, "
+                + "queueShards=1, "
+                + "memoryMode=IMMUTABLE_DATA}");
   }
 
   @Test
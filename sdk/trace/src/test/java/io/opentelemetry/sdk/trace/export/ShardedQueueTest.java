@@ -0,0 +1,97 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ShardedQueueTest {
+
+  @Test
+  void offerAndPoll() {
+    ShardedQueue<String> queue = new ShardedQueue<>(8, 4);
+    assertThat(queue.isEmpty()).isTrue();
+    assertThat(queue.poll()).isNull();
+    assertThat(queue.peek()).isNull();
+
+    assertThat(queue.offer("a")).isTrue();
+    assertThat(queue.offer("b")).isTrue();
+    assertThat(queue.size()).isEqualTo(2);
+    assertThat(queue.isEmpty()).isFalse();
+    assertThat(queue.peek()).isEqualTo("a");
+
+    assertThat(queue.poll()).isEqualTo("a");
+    assertThat(queue.poll()).isEqualTo("b");
+    assertThat(queue.poll()).isNull();
+    assertThat(queue.isEmpty()).isTrue();
+  }
+
+  @Test
+  void offer_ShardFull() {
+    // All offers from the same thread go to the same shard, which has a capacity of 2.
+    ShardedQueue<String> queue = new ShardedQueue<>(8, 4);
+    assertThat(queue.offer("a")).isTrue();
+    assertThat(queue.offer("b")).isTrue();
+    assertThat(queue.offer("c")).isFalse();
+    assertThat(queue.size()).isEqualTo(2);
+  }
+
+  @Test
+  void offer_CapacityNotExceeded() throws InterruptedException {
+    // Shards of 3, 3, 2 and 2, which are backed by queues rounded up to 4
+    ShardedQueue<String> queue = new ShardedQueue<>(10, 4);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 32; i++) {
+      threads.add(
+          new Thread(
+              () -> {
+                for (int j = 0; j < 4; j++) {
+                  queue.offer("value");
+                }
+              }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+      thread.join();
+    }
+    assertThat(queue.size()).isLessThanOrEqualTo(10);
+  }
+
+  @Test
+  void offer_MoreShardsThanCapacity() {
+    ShardedQueue<String> queue = new ShardedQueue<>(2, 4);
+    assertThat(queue.offer("a")).isTrue();
+    assertThat(queue.offer("b")).isFalse();
+    assertThat(queue.size()).isEqualTo(1);
+  }
+
+  @Test
+  void drain_AcrossShards() throws InterruptedException {
+    ShardedQueue<String> queue = new ShardedQueue<>(64, 4);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      String value = "value" + i;
+      threads.add(new Thread(() -> queue.offer(value)));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+      thread.join();
+    }
+    assertThat(queue).hasSize(8);
+
+    List<String> drained = new ArrayList<>();
+    assertThat(queue.drain(5, drained::add)).isEqualTo(5);
+    assertThat(drained).hasSize(5);
+    assertThat(queue.drain(5, drained::add)).isEqualTo(3);
+    assertThat(drained)
+        .containsExactlyInAnyOrder(
+            "value0", "value1", "value2", "value3", "value4", "value5", "value6", "value7");
+    assertThat(queue.isEmpty()).isTrue();
+  }
+}